@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.core;
+
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+/**
+ * Benchmarks writing and reading a {@link SecurityContext} with a form login
+ * authentication, as stored by session repositories, with the
+ * {@link CompactSecurityContextSerializer}, with Jackson and the
+ * {@code SecurityJackson2Modules}, and with Java serialization.
+ *
+ * <p>
+ * Run with
+ * {@code ./gradlew :spring-security-benchmarks:jmh -PjmhIncludes=SecurityContextSerializationBenchmarks}.
+ * The size of each serialized form is printed when the benchmark starts.
+ *
+ * @since 7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SecurityContextSerializationBenchmarks {
+
+	private final CompactSecurityContextSerializer compact = new CompactSecurityContextSerializer();
+
+	private final ObjectMapper jackson = new ObjectMapper();
+
+	private final DefaultSerializer javaSerializer = new DefaultSerializer();
+
+	private final DefaultDeserializer javaDeserializer = new DefaultDeserializer();
+
+	private SecurityContext context;
+
+	private byte[] compactBytes;
+
+	private byte[] jacksonBytes;
+
+	private byte[] javaBytes;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		this.jackson.registerModules(SecurityJackson2Modules.getModules(getClass().getClassLoader()));
+		User user = new User("user", "password",
+				AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN", "SCOPE_message:read"));
+		user.eraseCredentials();
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(user,
+				null, user.getAuthorities());
+		authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", "3CB4B5F2A2D1A8F1E4C2B5D6A7F8E9C0"));
+		this.context = new SecurityContextImpl(authentication);
+		this.compactBytes = this.compact.serializeToByteArray(this.context);
+		this.jacksonBytes = this.jackson.writeValueAsBytes(this.context);
+		this.javaBytes = this.javaSerializer.serializeToByteArray(this.context);
+		System.out.printf("%nSerialized sizes: compact=%d bytes, jackson=%d bytes, java=%d bytes%n",
+				this.compactBytes.length, this.jacksonBytes.length, this.javaBytes.length);
+	}
+
+	@Benchmark
+	public byte[] compactSerialize() throws Exception {
+		return this.compact.serializeToByteArray(this.context);
+	}
+
+	@Benchmark
+	public SecurityContext compactDeserialize() throws Exception {
+		return this.compact.deserializeFromByteArray(this.compactBytes);
+	}
+
+	@Benchmark
+	public byte[] jacksonSerialize() throws Exception {
+		return this.jackson.writeValueAsBytes(this.context);
+	}
+
+	@Benchmark
+	public SecurityContext jacksonDeserialize() throws Exception {
+		return this.jackson.readValue(this.jacksonBytes, SecurityContext.class);
+	}
+
+	@Benchmark
+	public byte[] javaSerialize() throws Exception {
+		return this.javaSerializer.serializeToByteArray(this.context);
+	}
+
+	@Benchmark
+	public Object javaDeserialize() throws Exception {
+		return this.javaDeserializer.deserializeFromByteArray(this.javaBytes);
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.security.crypto.encrypt.Encryptors;
+
+/**
+ * Benchmarks the throughput of a shared {@code Encryptors.stronger} encryptor, which
+ * pools its ciphers, against the same encryptor behind one lock for encryption and one
+ * for decryption, as {@code AesBytesEncryptor} used to be, with 1, 8 and 32 threads.
+ *
+ * <p>
+ * Run with
+ * {@code ./gradlew :spring-security-benchmarks:jmh -PjmhIncludes=AesBytesEncryptorBenchmarks}.
+ *
+ * @since 7.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AesBytesEncryptorBenchmarks {
+
+	private static final byte[] TOKEN = ("eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJ1c2VyIiwic2NvcGUiOiJtZXNzYWdlOnJlYWQifQ."
+			+ "c2lnbmF0dXJlLXNpZ25hdHVyZS1zaWduYXR1cmUtc2lnbmF0dXJlLXNpZ25hdHVyZQ")
+		.getBytes(StandardCharsets.UTF_8);
+
+	private BytesEncryptor pooled;
+
+	private BytesEncryptor synchronizedEncryptor;
+
+	private byte[] encrypted;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.pooled = Encryptors.stronger("password", "5c0744940b5c369b");
+		BytesEncryptor delegate = Encryptors.stronger("password", "5c0744940b5c369b");
+		this.synchronizedEncryptor = new SynchronizedBytesEncryptor(delegate);
+		this.encrypted = this.pooled.encrypt(TOKEN);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public byte[] pooled1Thread() {
+		return roundtrip(this.pooled);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public byte[] pooled8Threads() {
+		return roundtrip(this.pooled);
+	}
+
+	@Benchmark
+	@Threads(32)
+	public byte[] pooled32Threads() {
+		return roundtrip(this.pooled);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public byte[] synchronized1Thread() {
+		return roundtrip(this.synchronizedEncryptor);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public byte[] synchronized8Threads() {
+		return roundtrip(this.synchronizedEncryptor);
+	}
+
+	@Benchmark
+	@Threads(32)
+	public byte[] synchronized32Threads() {
+		return roundtrip(this.synchronizedEncryptor);
+	}
+
+	private byte[] roundtrip(BytesEncryptor encryptor) {
+		encryptor.encrypt(TOKEN);
+		return encryptor.decrypt(this.encrypted);
+	}
+
+	private static final class SynchronizedBytesEncryptor implements BytesEncryptor {
+
+		private final BytesEncryptor delegate;
+
+		private final Object encryptLock = new Object();
+
+		private final Object decryptLock = new Object();
+
+		private SynchronizedBytesEncryptor(BytesEncryptor delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public byte[] encrypt(byte[] bytes) {
+			synchronized (this.encryptLock) {
+				return this.delegate.encrypt(bytes);
+			}
+		}
+
+		@Override
+		public byte[] decrypt(byte[] encryptedBytes) {
+			synchronized (this.decryptLock) {
+				return this.delegate.decrypt(encryptedBytes);
+			}
+		}
+
+	}
+
+}
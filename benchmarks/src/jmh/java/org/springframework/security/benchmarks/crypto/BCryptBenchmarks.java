@@ -0,0 +1,79 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.security.benchmarks.crypto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Benchmarks the time that {@link BCrypt} takes to hash and to check a password with
+ * the lowest and the default cost.
+ *
+ * <p>
+ * Run with {@code ./gradlew :spring-security-benchmarks:jmh -PjmhIncludes=BCryptBenchmarks}.
+ *
+ * @since 7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BCryptBenchmarks {
+
+	private static final String PASSWORD = "correct horse battery staple";
+
+	@Param({ "4", "10" })
+	private int logRounds;
+
+	private String salt;
+
+	private String hashed;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.salt = BCrypt.gensalt(this.logRounds);
+		this.hashed = BCrypt.hashpw(PASSWORD, this.salt);
+	}
+
+	@Benchmark
+	public String hashpw() {
+		return BCrypt.hashpw(PASSWORD, this.salt);
+	}
+
+	@Benchmark
+	public boolean checkpw() {
+		return BCrypt.checkpw(PASSWORD, this.hashed);
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.crypto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.security.crypto.encrypt.BouncyCastleAesCbcBytesEncryptor;
+import org.springframework.security.crypto.encrypt.BouncyCastleAesGcmBytesEncryptor;
+
+/**
+ * Benchmarks encrypting and decrypting a token with the Bouncy Castle encryptors, both
+ * with byte arrays and with reused {@link ByteBuffer}s.
+ *
+ * <p>
+ * Run with
+ * {@code ./gradlew :spring-security-benchmarks:jmh -PjmhIncludes=BouncyCastleAesBytesEncryptorBenchmarks}.
+ *
+ * @since 7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BouncyCastleAesBytesEncryptorBenchmarks {
+
+	private static final byte[] TOKEN = ("eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJ1c2VyIiwic2NvcGUiOiJtZXNzYWdlOnJlYWQifQ."
+			+ "c2lnbmF0dXJlLXNpZ25hdHVyZS1zaWduYXR1cmUtc2lnbmF0dXJlLXNpZ25hdHVyZQ")
+		.getBytes(StandardCharsets.UTF_8);
+
+	private BouncyCastleAesGcmBytesEncryptor gcm;
+
+	private BouncyCastleAesCbcBytesEncryptor cbc;
+
+	private final ByteBuffer input = ByteBuffer.wrap(TOKEN);
+
+	private final ByteBuffer encrypted = ByteBuffer.allocate(TOKEN.length + 64);
+
+	private final ByteBuffer decrypted = ByteBuffer.allocate(TOKEN.length + 64);
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.gcm = new BouncyCastleAesGcmBytesEncryptor("password", "5c0744940b5c369b");
+		this.cbc = new BouncyCastleAesCbcBytesEncryptor("password", "5c0744940b5c369b");
+	}
+
+	@Benchmark
+	public byte[] gcmByteArrays() {
+		return this.gcm.decrypt(this.gcm.encrypt(TOKEN));
+	}
+
+	@Benchmark
+	public ByteBuffer gcmByteBuffers() {
+		this.gcm.encrypt(this.input.clear(), this.encrypted.clear());
+		this.gcm.decrypt(this.encrypted.flip(), this.decrypted.clear());
+		return this.decrypted;
+	}
+
+	@Benchmark
+	public byte[] cbcByteArrays() {
+		return this.cbc.decrypt(this.cbc.encrypt(TOKEN));
+	}
+
+	@Benchmark
+	public ByteBuffer cbcByteBuffers() {
+		this.cbc.encrypt(this.input.clear(), this.encrypted.clear());
+		this.cbc.decrypt(this.encrypted.flip(), this.decrypted.clear());
+		return this.decrypted;
+	}
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository;
+import org.springframework.security.web.csrf.XorCsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Benchmarks a fully configured {@code springSecurityFilterChain} with mock servlet
+ * requests, covering {@code FilterChainProxy}, {@code StrictHttpFirewall},
+ * {@code SecurityContextHolderFilter}, {@code CsrfFilter}, {@code HeaderWriterFilter}
+ * and {@code AuthorizationFilter}.
+ *
+ * <p>
+ * Run with {@code ./gradlew :spring-security-benchmarks:jmh}. The {@code gc} profiler is
+ * enabled by default, so allocation rates are reported next to the ns/op figures.
+ *
+ * @since 7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterChainProxyBenchmarks {
+
+	private static final String CSRF_TOKEN_ATTRIBUTE = HttpSessionCsrfTokenRepository.class.getName()
+		.concat(".CSRF_TOKEN");
+
+	private AnnotationConfigWebApplicationContext context;
+
+	private Filter springSecurityFilterChain;
+
+	private MockHttpSession authenticatedSession;
+
+	private CsrfToken csrfToken;
+
+	private String maskedCsrfToken;
+
+	private String bearerToken;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		this.context = new AnnotationConfigWebApplicationContext();
+		this.context.setServletContext(new MockServletContext());
+		this.context.register(BenchmarkSecurityConfiguration.class);
+		this.context.refresh();
+		this.springSecurityFilterChain = this.context.getBean("springSecurityFilterChain", Filter.class);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		this.csrfToken = new HttpSessionCsrfTokenRepository().generateToken(request);
+		new XorCsrfTokenRequestAttributeHandler().handle(request, new MockHttpServletResponse(), () -> this.csrfToken);
+		this.maskedCsrfToken = ((CsrfToken) request.getAttribute(CsrfToken.class.getName())).getToken();
+		this.authenticatedSession = new MockHttpSession();
+		this.authenticatedSession.setAttribute(CSRF_TOKEN_ATTRIBUTE, this.csrfToken);
+		this.authenticatedSession.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+				new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated("user", null,
+						AuthorityUtils.createAuthorityList("ROLE_USER"))));
+		JwtClaimsSet claims = JwtClaimsSet.builder()
+			.subject("user")
+			.issuedAt(Instant.now())
+			.expiresAt(Instant.now().plus(1, ChronoUnit.DAYS))
+			.claim("scope", "message:read")
+			.build();
+		JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).build();
+		this.bearerToken = this.context.getBean(JwtEncoder.class)
+			.encode(JwtEncoderParameters.from(header, claims))
+			.getTokenValue();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse anonymousGet() throws Exception {
+		return doFilter(request("GET", "/public/index.html"));
+	}
+
+	@Benchmark
+	public MockHttpServletResponse sessionAuthenticatedPostWithCsrf() throws Exception {
+		MockHttpServletRequest request = request("POST", "/messages");
+		request.setSession(this.authenticatedSession);
+		request.setParameter("_csrf", this.maskedCsrfToken);
+		return doFilter(request);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse bearerJwt() throws Exception {
+		MockHttpServletRequest request = request("GET", "/api/messages");
+		request.addHeader("Authorization", "Bearer " + this.bearerToken);
+		return doFilter(request);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse formLogin() throws Exception {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(CSRF_TOKEN_ATTRIBUTE, this.csrfToken);
+		MockHttpServletRequest request = request("POST", "/login");
+		request.setSession(session);
+		request.setParameter("username", "user");
+		request.setParameter("password", "password");
+		request.setParameter("_csrf", this.maskedCsrfToken);
+		return doFilter(request);
+	}
+
+	private MockHttpServletResponse doFilter(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.springSecurityFilterChain.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String method, String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		request.setServletPath(path);
+		return request;
+	}
+
+	@Configuration
+	@EnableWebSecurity
+	static class BenchmarkSecurityConfiguration {
+
+		private final KeyPair keyPair = generateKeyPair();
+
+		@Bean
+		@Order(0)
+		SecurityFilterChain bearerSecurityFilterChain(HttpSecurity http) throws Exception {
+			PathPatternRequestMatcher.Builder path = PathPatternRequestMatcher.withDefaults();
+			// @formatter:off
+			http
+				.securityMatcher(path.matcher("/api/**"))
+				.authorizeHttpRequests((authorize) -> authorize
+					.anyRequest().authenticated()
+				)
+				.oauth2ResourceServer((oauth2) -> oauth2.jwt(Customizer.withDefaults()));
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		@Order(1)
+		SecurityFilterChain sessionSecurityFilterChain(HttpSecurity http) throws Exception {
+			PathPatternRequestMatcher.Builder path = PathPatternRequestMatcher.withDefaults();
+			// @formatter:off
+			http
+				.authorizeHttpRequests((authorize) -> authorize
+					.requestMatchers(path.matcher("/public/**")).permitAll()
+					.anyRequest().authenticated()
+				)
+				.formLogin(Customizer.withDefaults());
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		UserDetailsService userDetailsService() {
+			// a no-op password encoding keeps the password hashing out of the measurement
+			return new InMemoryUserDetailsManager(
+					User.withUsername("user").password("{noop}password").roles("USER").build());
+		}
+
+		@Bean
+		JwtDecoder jwtDecoder() {
+			return NimbusJwtDecoder.withPublicKey((RSAPublicKey) this.keyPair.getPublic()).build();
+		}
+
+		@Bean
+		JwtEncoder jwtEncoder() {
+			RSAKey key = new RSAKey.Builder((RSAPublicKey) this.keyPair.getPublic())
+				.privateKey((RSAPrivateKey) this.keyPair.getPrivate())
+				.build();
+			return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key)));
+		}
+
+		private static KeyPair generateKeyPair() {
+			try {
+				KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+				generator.initialize(2048);
+				return generator.generateKeyPair();
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+	}
+
+}
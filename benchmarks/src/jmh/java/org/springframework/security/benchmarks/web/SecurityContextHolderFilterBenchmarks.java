@@ -0,0 +1,112 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.DelegatingSecurityContextRepository;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+
+/**
+ * Benchmarks the allocations of {@code SecurityContextHolderFilter} with the default
+ * {@code DelegatingSecurityContextRepository}, for requests that never read the
+ * {@code SecurityContext}, requests that read it from the session and requests that skip
+ * the repository.
+ *
+ * <p>
+ * Run with
+ * {@code ./gradlew :spring-security-benchmarks:jmh -PjmhIncludes=SecurityContextHolderFilterBenchmarks}
+ * and compare the {@code gc.alloc.rate.norm} figures.
+ *
+ * @since 7.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SecurityContextHolderFilterBenchmarks {
+
+	private SecurityContextHolderFilter filter;
+
+	private SecurityContextHolderFilter skippingFilter;
+
+	private MockHttpServletRequest request;
+
+	private MockHttpServletResponse response;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		DelegatingSecurityContextRepository repository = new DelegatingSecurityContextRepository(
+				new RequestAttributeSecurityContextRepository(), new HttpSessionSecurityContextRepository());
+		this.filter = new SecurityContextHolderFilter(repository);
+		this.skippingFilter = new SecurityContextHolderFilter(repository);
+		this.skippingFilter.setSecurityContextRequestMatcher((request) -> false);
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+				new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated("user", null,
+						AuthorityUtils.createAuthorityList("ROLE_USER"))));
+		this.request = new MockHttpServletRequest("GET", "/public/index.html");
+		this.request.setSession(session);
+		this.response = new MockHttpServletResponse();
+	}
+
+	@Benchmark
+	public void contextNotRead() throws Exception {
+		this.filter.doFilter(this.request, this.response, (request, response) -> {
+		});
+	}
+
+	@Benchmark
+	public void contextRead(Blackhole blackhole) throws Exception {
+		this.filter.doFilter(this.request, this.response, readingChain(blackhole));
+	}
+
+	@Benchmark
+	public void repositorySkipped(Blackhole blackhole) throws Exception {
+		this.skippingFilter.doFilter(this.request, this.response, readingChain(blackhole));
+	}
+
+	private static FilterChain readingChain(Blackhole blackhole) {
+		return (request, response) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+	}
+
+}
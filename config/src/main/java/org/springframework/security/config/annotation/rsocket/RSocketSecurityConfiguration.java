@@ -25,6 +25,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.password.ReactivePasswordEncoder;
 import org.springframework.security.config.ObjectPostProcessor;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -46,6 +47,8 @@ class RSocketSecurityConfiguration {
 
 	private PasswordEncoder passwordEncoder;
 
+	private ReactivePasswordEncoder reactivePasswordEncoder;
+
 	private ObjectPostProcessor<ReactiveAuthenticationManager> postProcessor = ObjectPostProcessor.identity();
 
 	@Autowired(required = false)
@@ -63,6 +66,11 @@ class RSocketSecurityConfiguration {
 		this.passwordEncoder = passwordEncoder;
 	}
 
+	@Autowired(required = false)
+	void setReactivePasswordEncoder(ReactivePasswordEncoder reactivePasswordEncoder) {
+		this.reactivePasswordEncoder = reactivePasswordEncoder;
+	}
+
 	@Autowired(required = false)
 	void setAuthenticationManagerPostProcessor(
 			Map<String, ObjectPostProcessor<ReactiveAuthenticationManager>> postProcessors) {
@@ -90,6 +98,7 @@ class RSocketSecurityConfiguration {
 			if (this.passwordEncoder != null) {
 				manager.setPasswordEncoder(this.passwordEncoder);
 			}
+			manager.setReactivePasswordEncoder(this.reactivePasswordEncoder);
 			return this.postProcessor.postProcess(manager);
 		}
 		return null;
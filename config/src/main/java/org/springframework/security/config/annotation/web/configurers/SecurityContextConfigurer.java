@@ -28,6 +28,8 @@ import org.springframework.security.web.context.SecurityContextHolderFilter;
 import org.springframework.security.web.context.SecurityContextPersistenceFilter;
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.session.ForceEagerSessionCreationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.Assert;
 
 /**
  * Allows persisting and restoring of the {@link SecurityContext} found on the
@@ -68,6 +70,8 @@ public final class SecurityContextConfigurer<H extends HttpSecurityBuilder<H>>
 
 	private boolean requireExplicitSave = true;
 
+	private RequestMatcher securityContextRequestMatcher;
+
 	/**
 	 * Creates a new instance
 	 * @see HttpSecurity#securityContext()
@@ -90,6 +94,21 @@ public final class SecurityContextConfigurer<H extends HttpSecurityBuilder<H>>
 		return this;
 	}
 
+	/**
+	 * Specifies the requests that load the {@link SecurityContext} from the
+	 * {@link SecurityContextRepository}. Requests that do not match, such as requests for
+	 * static resources, start with an empty {@link SecurityContext}. Only applies when
+	 * {@link #requireExplicitSave(boolean) explicit save} is required.
+	 * @param securityContextRequestMatcher the {@link RequestMatcher} to use
+	 * @return the {@link SecurityContextConfigurer} for further customizations
+	 * @since 7.0
+	 */
+	public SecurityContextConfigurer<H> securityContextRequestMatcher(RequestMatcher securityContextRequestMatcher) {
+		Assert.notNull(securityContextRequestMatcher, "securityContextRequestMatcher cannot be null");
+		this.securityContextRequestMatcher = securityContextRequestMatcher;
+		return this;
+	}
+
 	boolean isRequireExplicitSave() {
 		return this.requireExplicitSave;
 	}
@@ -112,6 +131,9 @@ public final class SecurityContextConfigurer<H extends HttpSecurityBuilder<H>>
 			SecurityContextHolderFilter securityContextHolderFilter = postProcess(
 					new SecurityContextHolderFilter(securityContextRepository));
 			securityContextHolderFilter.setSecurityContextHolderStrategy(getSecurityContextHolderStrategy());
+			if (this.securityContextRequestMatcher != null) {
+				securityContextHolderFilter.setSecurityContextRequestMatcher(this.securityContextRequestMatcher);
+			}
 			http.addFilter(securityContextHolderFilter);
 		}
 		else {
@@ -32,6 +32,7 @@ import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
+import org.springframework.security.authentication.password.ReactivePasswordEncoder;
 import org.springframework.security.config.ObjectPostProcessor;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.annotation.AnnotationTemplateExpressionDefaults;
@@ -63,6 +64,8 @@ class ServerHttpSecurityConfiguration {
 
 	private PasswordEncoder passwordEncoder;
 
+	private ReactivePasswordEncoder reactivePasswordEncoder;
+
 	private ReactiveUserDetailsPasswordService userDetailsPasswordService;
 
 	private ReactiveCompromisedPasswordChecker compromisedPasswordChecker;
@@ -92,6 +95,11 @@ class ServerHttpSecurityConfiguration {
 		this.passwordEncoder = passwordEncoder;
 	}
 
+	@Autowired(required = false)
+	void setReactivePasswordEncoder(ReactivePasswordEncoder reactivePasswordEncoder) {
+		this.reactivePasswordEncoder = reactivePasswordEncoder;
+	}
+
 	@Autowired(required = false)
 	void setUserDetailsPasswordService(ReactiveUserDetailsPasswordService userDetailsPasswordService) {
 		this.userDetailsPasswordService = userDetailsPasswordService;
@@ -171,6 +179,7 @@ class ServerHttpSecurityConfiguration {
 			if (this.passwordEncoder != null) {
 				manager.setPasswordEncoder(this.passwordEncoder);
 			}
+			manager.setReactivePasswordEncoder(this.reactivePasswordEncoder);
 			manager.setUserDetailsPasswordService(this.userDetailsPasswordService);
 			manager.setCompromisedPasswordChecker(this.compromisedPasswordChecker);
 			return this.postProcessor.postProcess(manager);
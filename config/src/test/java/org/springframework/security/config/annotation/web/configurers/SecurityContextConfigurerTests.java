@@ -55,6 +55,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.config.Customizer.withDefaults;
@@ -90,6 +91,13 @@ public class SecurityContextConfigurerTests {
 		verify(DuplicateDoesNotOverrideConfig.SCR).loadDeferredContext(any(HttpServletRequest.class));
 	}
 
+	@Test
+	public void securityContextWhenRequestNotMatchedThenSecurityContextRepositoryNotUsed() throws Exception {
+		this.spring.register(SecurityContextRequestMatcherConfig.class).autowire();
+		this.mvc.perform(get("/"));
+		verify(SecurityContextRequestMatcherConfig.SCR, never()).loadDeferredContext(any(HttpServletRequest.class));
+	}
+
 	// SEC-2932
 	@Test
 	public void securityContextWhenSecurityContextRepositoryNotConfiguredThenDoesNotThrowException() throws Exception {
@@ -193,6 +201,29 @@ public class SecurityContextConfigurerTests {
 
 	}
 
+	@Configuration
+	@EnableWebSecurity
+	static class SecurityContextRequestMatcherConfig {
+
+		static SecurityContextRepository SCR = mock(SecurityContextRepository.class);
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			// @formatter:off
+			http
+				.authorizeHttpRequests((authorize) -> authorize
+					.anyRequest().permitAll()
+				)
+				.securityContext((securityContext) -> securityContext
+					.securityContextRepository(SCR)
+					.securityContextRequestMatcher((request) -> false)
+				);
+			// @formatter:on
+			return http.build();
+		}
+
+	}
+
 	@Configuration
 	@EnableWebSecurity
 	static class SecurityContextRepositoryDefaultsSecurityContextRepositoryConfig {
@@ -40,6 +40,7 @@ import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
+import org.springframework.security.authentication.password.ReactivePasswordEncoder;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.rsocket.EnableRSocketSecurity;
 import org.springframework.security.config.test.SpringTestContext;
@@ -55,6 +56,8 @@ import org.springframework.security.core.userdetails.PasswordEncodedUser;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.DefaultServerRedirectStrategy;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -68,6 +71,7 @@ import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -120,6 +124,26 @@ public class ServerHttpSecurityConfigurationTests {
 		assertThat(serverHttpSecurity).isNotNull();
 	}
 
+	@Test
+	void loginWhenReactivePasswordEncoderConfiguredThenUsed() {
+		this.spring.register(FormLoginConfig.class, UserDetailsConfig.class, ReactivePasswordEncoderConfig.class)
+			.autowire();
+		MultiValueMap<String, String> data = new LinkedMultiValueMap<>();
+		data.add("username", "user");
+		data.add("password", "password");
+		// @formatter:off
+		this.webClient.mutateWith(csrf())
+				.post()
+				.uri("/login")
+				.body(BodyInserters.fromFormData(data))
+				.exchange()
+				.expectStatus().is3xxRedirection()
+				.expectHeader().location("/");
+		// @formatter:on
+		ReactivePasswordEncoder encoder = this.spring.getContext().getBean(ReactivePasswordEncoder.class);
+		verify(encoder).matches(eq("password"), any());
+	}
+
 	@Test
 	void loginWhenCompromisePasswordCheckerConfiguredAndPasswordCompromisedThenUnauthorized() {
 		this.spring.register(FormLoginConfig.class, UserDetailsConfig.class, CompromisedPasswordCheckerConfig.class)
@@ -346,6 +370,20 @@ public class ServerHttpSecurityConfigurationTests {
 
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class ReactivePasswordEncoderConfig {
+
+		@Bean
+		ReactivePasswordEncoder reactivePasswordEncoder() {
+			PasswordEncoder delegate = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+			ReactivePasswordEncoder encoder = mock(ReactivePasswordEncoder.class);
+			given(encoder.matches(any(), any())).willAnswer((invocation) -> Mono
+				.just(delegate.matches(invocation.getArgument(0), invocation.getArgument(1))));
+			return encoder;
+		}
+
+	}
+
 	static class TestReactivePasswordChecker implements ReactiveCompromisedPasswordChecker {
 
 		@Override
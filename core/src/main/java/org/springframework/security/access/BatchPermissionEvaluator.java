@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.access;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * A {@link PermissionEvaluator} that can check a permission for many domain objects at
+ * once, for example with a single query.
+ *
+ * <p>
+ * It is used when filtering with an expression of the form
+ * {@code hasPermission(filterObject, 'read')}, such as in {@code @PreFilter} and
+ * {@code @PostFilter}, instead of checking each element of the filtered collection on
+ * its own.
+ *
+ * @since 7.0
+ * @see org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler#setParallelBatchSize(int)
+ */
+public interface BatchPermissionEvaluator extends PermissionEvaluator {
+
+	/**
+	 * Determines for each of the given domain objects whether the user has the given
+	 * permission.
+	 * @param authentication represents the user in question. Should not be null.
+	 * @param targetDomainObjects the domain objects for which permissions should be
+	 * checked. May contain null elements for which implementations should return false.
+	 * @param permission a representation of the permission object as supplied by the
+	 * expression system. Not null.
+	 * @return a {@link BitSet} in which the bit at the index of each domain object that
+	 * the permission is granted for is set, never {@code null}. A {@code null} result
+	 * denies the permission for all domain objects.
+	 */
+	BitSet hasPermission(Authentication authentication, List<?> targetDomainObjects, Object permission);
+
+}
@@ -19,11 +19,24 @@ package org.springframework.security.access.expression.method;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import org.aopalliance.intercept.MethodInvocation;
@@ -33,9 +46,22 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.log.LogMessage;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.SpelNodeImpl;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.BatchPermissionEvaluator;
 import org.springframework.security.access.PermissionCacheOptimizer;
+import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.access.expression.AbstractSecurityExpressionHandler;
 import org.springframework.security.access.expression.ExpressionUtils;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
@@ -43,6 +69,7 @@ import org.springframework.security.authentication.AuthenticationTrustResolverIm
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.parameters.DefaultSecurityParameterNameDiscoverer;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * The standard implementation of {@code MethodSecurityExpressionHandler}.
@@ -58,6 +85,9 @@ import org.springframework.util.Assert;
 public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpressionHandler<MethodInvocation>
 		implements MethodSecurityExpressionHandler {
 
+	private static final Pattern BATCH_HAS_PERMISSION = Pattern
+		.compile("\\s*hasPermission\\(\\s*filterObject\\s*,\\s*'([^']*)'\\s*\\)\\s*");
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
@@ -68,6 +98,12 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 
 	private String defaultRolePrefix = "ROLE_";
 
+	private CompilingExpressionParser compilingExpressionParser;
+
+	private int parallelBatchSize;
+
+	private Executor parallelBatchExecutor = ForkJoinPool.commonPool();
+
 	public DefaultMethodSecurityExpressionHandler() {
 	}
 
@@ -143,13 +179,25 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 			MethodSecurityExpressionOperations rootObject) {
 		this.logger.debug(LogMessage.format("Filtering collection with %s elements", filterTarget.size()));
 		List<T> retain = new ArrayList<>(filterTarget.size());
-		if (this.permissionCacheOptimizer != null) {
-			this.permissionCacheOptimizer.cachePermissionsFor(rootObject.getAuthentication(), filterTarget);
+		BitSet permitted = evaluateBatchPermission(filterTarget, filterExpression, rootObject);
+		if (permitted != null) {
+			Iterator<T> filterObjects = filterTarget.iterator();
+			for (int i = 0; filterObjects.hasNext(); i++) {
+				T filterObject = filterObjects.next();
+				if (permitted.get(i)) {
+					retain.add(filterObject);
+				}
+			}
 		}
-		for (T filterObject : filterTarget) {
-			rootObject.setFilterObject(filterObject);
-			if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
-				retain.add(filterObject);
+		else {
+			if (this.permissionCacheOptimizer != null) {
+				this.permissionCacheOptimizer.cachePermissionsFor(rootObject.getAuthentication(), filterTarget);
+			}
+			for (T filterObject : filterTarget) {
+				rootObject.setFilterObject(filterObject);
+				if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
+					retain.add(filterObject);
+				}
 			}
 		}
 		this.logger.debug(LogMessage.format("Retaining elements: %s", retain));
@@ -170,14 +218,22 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 			MethodSecurityExpressionOperations rootObject) {
 		List<Object> retain = new ArrayList<>(filterTarget.length);
 		this.logger.debug(LogMessage.format("Filtering array with %s elements", filterTarget.length));
-		if (this.permissionCacheOptimizer != null) {
-			this.permissionCacheOptimizer.cachePermissionsFor(rootObject.getAuthentication(),
-					Arrays.asList(filterTarget));
+		BitSet permitted = evaluateBatchPermission(Arrays.asList(filterTarget), filterExpression, rootObject);
+		if (permitted != null) {
+			for (int i = permitted.nextSetBit(0); i >= 0 && i < filterTarget.length; i = permitted.nextSetBit(i + 1)) {
+				retain.add(filterTarget[i]);
+			}
 		}
-		for (Object filterObject : filterTarget) {
-			rootObject.setFilterObject(filterObject);
-			if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
-				retain.add(filterObject);
+		else {
+			if (this.permissionCacheOptimizer != null) {
+				this.permissionCacheOptimizer.cachePermissionsFor(rootObject.getAuthentication(),
+						Arrays.asList(filterTarget));
+			}
+			for (Object filterObject : filterTarget) {
+				rootObject.setFilterObject(filterObject);
+				if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
+					retain.add(filterObject);
+				}
 			}
 		}
 		this.logger.debug(LogMessage.format("Retaining elements: %s", retain));
@@ -188,6 +244,110 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return filtered;
 	}
 
+	/**
+	 * Determines whether filtering a {@link Collection} or an array with the given
+	 * expression checks the permissions of all elements with a single call to a
+	 * {@link BatchPermissionEvaluator}, which is the case for expressions of the form
+	 * {@code hasPermission(filterObject, 'permission')} when the
+	 * {@link PermissionEvaluator} is a {@link BatchPermissionEvaluator} and the root
+	 * object of the {@link EvaluationContext} is the default one, so that
+	 * {@code hasPermission} is not overridden by a custom
+	 * {@link #createSecurityExpressionRoot(Authentication, MethodInvocation) root
+	 * object}.
+	 * @param filterExpression the filter expression
+	 * @param ctx the {@link EvaluationContext} that the expression is evaluated with
+	 * @return {@code true} if the elements are filtered in batches
+	 * @since 7.0
+	 */
+	public boolean isBatchFilterExpression(Expression filterExpression, EvaluationContext ctx) {
+		return isBatchFilterExpression(filterExpression, ctx.getRootObject().getValue());
+	}
+
+	private boolean isBatchFilterExpression(Expression filterExpression, Object rootObject) {
+		return getPermissionEvaluator() instanceof BatchPermissionEvaluator && rootObject != null
+				&& rootObject.getClass() == MethodSecurityExpressionRoot.class
+				&& BATCH_HAS_PERMISSION.matcher(filterExpression.getExpressionString()).matches();
+	}
+
+	/**
+	 * Checks the permission of an expression of the form
+	 * {@code hasPermission(filterObject, 'permission')} for all elements at once, if the
+	 * {@link PermissionEvaluator} is a {@link BatchPermissionEvaluator}.
+	 * @return the indexes of the permitted elements, or {@code null} if the elements need
+	 * to be filtered one by one
+	 */
+	private BitSet evaluateBatchPermission(Collection<?> filterTarget, Expression filterExpression,
+			MethodSecurityExpressionOperations rootObject) {
+		if (!isBatchFilterExpression(filterExpression, rootObject)) {
+			return null;
+		}
+		BatchPermissionEvaluator permissionEvaluator = (BatchPermissionEvaluator) getPermissionEvaluator();
+		Matcher matcher = BATCH_HAS_PERMISSION.matcher(filterExpression.getExpressionString());
+		matcher.matches();
+		String permission = matcher.group(1);
+		Authentication authentication = rootObject.getAuthentication();
+		List<?> targets = (filterTarget instanceof List<?> list) ? list : new ArrayList<>(filterTarget);
+		int batchSize = this.parallelBatchSize;
+		if (batchSize <= 0 || targets.size() <= batchSize) {
+			this.logger.trace(LogMessage.format("Checking permission '%s' for %s elements in one batch", permission,
+					targets.size()));
+			return permittedOrNone(permissionEvaluator.hasPermission(authentication, targets, permission),
+					targets.size(), permission);
+		}
+		int batches = (targets.size() + batchSize - 1) / batchSize;
+		this.logger.trace(LogMessage.format("Checking permission '%s' for %s elements in %s parallel batches",
+				permission, targets.size(), batches));
+		BitSet[] results = new BitSet[batches];
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[batches];
+		for (int batch = 0; batch < batches; batch++) {
+			int index = batch;
+			int from = batch * batchSize;
+			List<?> batchTargets = targets.subList(from, Math.min(from + batchSize, targets.size()));
+			futures[batch] = CompletableFuture.runAsync(() -> results[index] = permittedOrNone(
+					permissionEvaluator.hasPermission(authentication, batchTargets, permission),
+					batchTargets.size(), permission), this.parallelBatchExecutor);
+		}
+		try {
+			CompletableFuture.allOf(futures).join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+		BitSet permitted = new BitSet(targets.size());
+		for (int batch = 0; batch < batches; batch++) {
+			int offset = batch * batchSize;
+			BitSet result = results[batch];
+			for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+				permitted.set(offset + i);
+			}
+		}
+		return permitted;
+	}
+
+	/**
+	 * Returns the permitted indexes below {@code length}, so that an evaluator reporting
+	 * indexes outside of its batch cannot permit elements of another batch.
+	 */
+	private BitSet permittedOrNone(BitSet permitted, int length, String permission) {
+		if (permitted == null) {
+			this.logger.warn(LogMessage.format("BatchPermissionEvaluator must not return null, but did for "
+					+ "permission '%s'; denying all elements", permission));
+			return new BitSet();
+		}
+		if (permitted.length() > length) {
+			this.logger.warn(LogMessage.format("BatchPermissionEvaluator returned indexes beyond the %s checked "
+					+ "elements for permission '%s'; ignoring them", length, permission));
+			return permitted.get(0, length);
+		}
+		return permitted;
+	}
+
 	private <K, V> Object filterMap(Map<K, V> filterTarget, Expression filterExpression, EvaluationContext ctx,
 			MethodSecurityExpressionOperations rootObject) {
 		Map<K, V> retain = new LinkedHashMap<>(filterTarget.size());
@@ -258,6 +418,36 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		this.permissionCacheOptimizer = permissionCacheOptimizer;
 	}
 
+	/**
+	 * Sets the number of elements per batch when a {@link BatchPermissionEvaluator}
+	 * checks the elements of a collection or array in parallel. Collections with more
+	 * elements are split into batches of this size that are checked concurrently on the
+	 * {@link #setParallelBatchExecutor(Executor) parallel batch executor}, so the
+	 * {@link BatchPermissionEvaluator} must be thread-safe. The default is {@code 0},
+	 * which checks all elements in one batch on the calling thread.
+	 * @param parallelBatchSize the number of elements per batch, or {@code 0} to not
+	 * check elements in parallel
+	 * @since 7.0
+	 */
+	public void setParallelBatchSize(int parallelBatchSize) {
+		Assert.isTrue(parallelBatchSize >= 0, "parallelBatchSize cannot be negative");
+		this.parallelBatchSize = parallelBatchSize;
+	}
+
+	/**
+	 * Sets the {@link Executor} that checks batches in parallel when a
+	 * {@link #setParallelBatchSize(int) parallel batch size} is configured. The calling
+	 * thread waits for all batches, so a {@link BatchPermissionEvaluator} that blocks on
+	 * I/O should use a dedicated executor rather than the default, the common
+	 * {@link ForkJoinPool}, which is shared with the rest of the application.
+	 * @param parallelBatchExecutor the executor to use
+	 * @since 7.0
+	 */
+	public void setParallelBatchExecutor(Executor parallelBatchExecutor) {
+		Assert.notNull(parallelBatchExecutor, "parallelBatchExecutor cannot be null");
+		this.parallelBatchExecutor = parallelBatchExecutor;
+	}
+
 	@Override
 	public void setReturnObject(Object returnObject, EvaluationContext ctx) {
 		((MethodSecurityExpressionOperations) ctx.getRootObject().getValue()).setReturnObject(returnObject);
@@ -289,4 +479,218 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return this.defaultRolePrefix;
 	}
 
+	/**
+	 * Sets the {@link SpelCompilerMode} of the expressions parsed by this handler,
+	 * replacing the {@link #getExpressionParser() expression parser}. The default is to
+	 * interpret expressions.
+	 *
+	 * <p>
+	 * With {@link SpelCompilerMode#MIXED}, expressions are compiled to bytecode once they
+	 * have been interpreted a number of times and fall back to being interpreted if the
+	 * compiled expression fails. With {@link SpelCompilerMode#IMMEDIATE}, expressions are
+	 * compiled after their first evaluation. Expressions such as {@code hasRole('ADMIN')},
+	 * {@code hasAuthority('SCOPE_read')}, {@code principal.username} or
+	 * {@code #id == 1} can be compiled, while expressions using constructs like
+	 * collection selection stay interpreted; such expressions are reported by
+	 * {@link #getUncompiledExpressions()}.
+	 * @param compilerMode the {@link SpelCompilerMode} to use
+	 * @since 7.0
+	 */
+	public void setSpelCompilerMode(SpelCompilerMode compilerMode) {
+		Assert.notNull(compilerMode, "compilerMode cannot be null");
+		SpelParserConfiguration configuration = new SpelParserConfiguration(compilerMode,
+				ClassUtils.getDefaultClassLoader());
+		this.compilingExpressionParser = new CompilingExpressionParser(configuration);
+		setExpressionParser(this.compilingExpressionParser);
+	}
+
+	/**
+	 * Returns the expressions parsed by this handler that have been evaluated at least
+	 * once and are not compiled, either since they cannot be compiled or, with
+	 * {@link SpelCompilerMode#MIXED}, since they have not been interpreted often enough
+	 * yet or since their compiled form failed and they fell back to being interpreted.
+	 * Expressions that have not been evaluated are not reported, since SpEL can
+	 * only compile an expression once it has observed the types involved in evaluating
+	 * it. This method does not compile any expression.
+	 * @return the expression strings that are not compiled, or an empty set if no
+	 * {@link #setSpelCompilerMode(SpelCompilerMode) compiler mode} is set
+	 * @since 7.0
+	 */
+	public Set<String> getUncompiledExpressions() {
+		if (this.compilingExpressionParser == null) {
+			return Set.of();
+		}
+		return this.compilingExpressionParser.getUncompiledExpressions();
+	}
+
+	/**
+	 * An {@link ExpressionParser} that remembers the {@link SpelExpression}s it parses,
+	 * so that they can be checked for being compiled. Each parsed expression is compiled
+	 * on its own, since SpEL specializes compiled code to the types it observed.
+	 */
+	private static final class CompilingExpressionParser implements ExpressionParser {
+
+		private final SpelExpressionParser delegate;
+
+		private final SpelParserConfiguration configuration;
+
+		private final Set<TrackedSpelExpression> expressions = Collections
+			.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+		private CompilingExpressionParser(SpelParserConfiguration configuration) {
+			this.delegate = new SpelExpressionParser(configuration);
+			this.configuration = configuration;
+		}
+
+		@Override
+		public Expression parseExpression(String expressionString) throws ParseException {
+			return track(this.delegate.parseExpression(expressionString));
+		}
+
+		@Override
+		public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+			return track(this.delegate.parseExpression(expressionString, context));
+		}
+
+		private Expression track(Expression expression) {
+			if (!(expression instanceof SpelExpression spelExpression)) {
+				return expression;
+			}
+			TrackedSpelExpression tracked = new TrackedSpelExpression(spelExpression, this.configuration);
+			this.expressions.add(tracked);
+			return tracked;
+		}
+
+		private Set<String> getUncompiledExpressions() {
+			Set<String> uncompiled = new LinkedHashSet<>();
+			synchronized (this.expressions) {
+				for (TrackedSpelExpression expression : this.expressions) {
+					if (expression.isEvaluated() && !expression.isCompiled()) {
+						uncompiled.add(expression.getExpressionString());
+					}
+				}
+			}
+			return uncompiled;
+		}
+
+	}
+
+	/**
+	 * A {@link SpelExpression} that compiles itself according to the configured
+	 * {@link SpelCompilerMode} and remembers whether it has been evaluated and whether it
+	 * is currently compiled, so that this can be reported without attempting to compile
+	 * it. The underlying {@link SpelExpression} does not compile on its own, so that a
+	 * compiled expression falling back to being interpreted is always observed here.
+	 */
+	private static final class TrackedSpelExpression extends SpelExpression {
+
+		private static final int INTERPRETED_COUNT_THRESHOLD = 100;
+
+		private final SpelCompilerMode compilerMode;
+
+		private final AtomicInteger interpretedCount = new AtomicInteger();
+
+		private volatile boolean evaluated;
+
+		private volatile boolean compiled;
+
+		private TrackedSpelExpression(SpelExpression expression, SpelParserConfiguration configuration) {
+			super(expression.getExpressionString(), (SpelNodeImpl) expression.getAST(),
+					new SpelParserConfiguration(SpelCompilerMode.OFF, configuration.getCompilerClassLoader()));
+			this.compilerMode = configuration.getCompilerMode();
+		}
+
+		@Override
+		public Object getValue() throws EvaluationException {
+			return evaluate(() -> super.getValue());
+		}
+
+		@Override
+		public <T> T getValue(Class<T> expectedResultType) throws EvaluationException {
+			return evaluate(() -> super.getValue(expectedResultType));
+		}
+
+		@Override
+		public Object getValue(Object rootObject) throws EvaluationException {
+			return evaluate(() -> super.getValue(rootObject));
+		}
+
+		@Override
+		public <T> T getValue(Object rootObject, Class<T> expectedResultType) throws EvaluationException {
+			return evaluate(() -> super.getValue(rootObject, expectedResultType));
+		}
+
+		@Override
+		public Object getValue(EvaluationContext context) throws EvaluationException {
+			return evaluate(() -> super.getValue(context));
+		}
+
+		@Override
+		public <T> T getValue(EvaluationContext context, Class<T> expectedResultType) throws EvaluationException {
+			return evaluate(() -> super.getValue(context, expectedResultType));
+		}
+
+		@Override
+		public Object getValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+			return evaluate(() -> super.getValue(context, rootObject));
+		}
+
+		@Override
+		public <T> T getValue(EvaluationContext context, Object rootObject, Class<T> expectedResultType)
+				throws EvaluationException {
+			return evaluate(() -> super.getValue(context, rootObject, expectedResultType));
+		}
+
+		private <T> T evaluate(Supplier<T> evaluation) {
+			this.evaluated = true;
+			T value;
+			try {
+				value = evaluation.get();
+			}
+			catch (SpelEvaluationException ex) {
+				if (this.compilerMode != SpelCompilerMode.MIXED
+						|| ex.getMessageCode() != SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION) {
+					throw ex;
+				}
+				revertToInterpreted();
+				value = evaluation.get();
+			}
+			if (!this.compiled && this.interpretedCount.incrementAndGet() > interpretedCountThreshold()) {
+				compileExpression();
+			}
+			return value;
+		}
+
+		private int interpretedCountThreshold() {
+			return (this.compilerMode != SpelCompilerMode.MIXED) ? 0 : INTERPRETED_COUNT_THRESHOLD;
+		}
+
+		@Override
+		public boolean compileExpression() {
+			try {
+				this.compiled = super.compileExpression();
+			}
+			catch (SpelEvaluationException ex) {
+				this.compiled = false;
+			}
+			return this.compiled;
+		}
+
+		@Override
+		public void revertToInterpreted() {
+			super.revertToInterpreted();
+			this.compiled = false;
+			this.interpretedCount.set(0);
+		}
+
+		private boolean isEvaluated() {
+			return this.evaluated;
+		}
+
+		private boolean isCompiled() {
+			return this.compiled;
+		}
+
+	}
+
 }
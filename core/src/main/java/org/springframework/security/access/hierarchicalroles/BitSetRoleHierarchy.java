@@ -0,0 +1,276 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.access.hierarchicalroles;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * A {@link RoleHierarchy} that is suited for hierarchies with a large number of roles.
+ *
+ * <p>
+ * The hierarchy is defined in the same format as {@link RoleHierarchyImpl}, for example:
+ *
+ * <pre>
+ *     ROLE_A &gt; ROLE_B
+ *     ROLE_B &gt; ROLE_AUTHENTICATED
+ *     ROLE_AUTHENTICATED &gt; ROLE_UNAUTHENTICATED
+ * </pre>
+ *
+ * <p>
+ * Every role of the hierarchy is assigned an integer id and, for every role, the roles
+ * that it reaches in zero or more steps are precomputed as a {@link BitSet}. The
+ * {@link #getReachableGrantedAuthorities(Collection) reachable authorities} are the union
+ * of the bitsets of the given authorities, and are only turned into
+ * {@link GrantedAuthority}s while iterating them. When only a yes or no answer is needed,
+ * {@link #isAnyReachable(Collection, Collection)} answers whether an authority is
+ * reachable without creating any collection.
+ *
+ * @since 7.0
+ * @see RoleHierarchyImpl
+ */
+public final class BitSetRoleHierarchy implements RoleHierarchy {
+
+	private final Map<String, Integer> ids;
+
+	private final GrantedAuthority[] authorities;
+
+	private final BitSet[] reachable;
+
+	private BitSetRoleHierarchy(Map<String, Set<GrantedAuthority>> hierarchy) {
+		this.ids = new HashMap<>();
+		List<GrantedAuthority> authorities = new ArrayList<>();
+		for (Map.Entry<String, Set<GrantedAuthority>> entry : hierarchy.entrySet()) {
+			intern(entry.getKey(), authorities);
+			for (GrantedAuthority lowerRole : entry.getValue()) {
+				intern(lowerRole.getAuthority(), authorities);
+			}
+		}
+		this.authorities = authorities.toArray(new GrantedAuthority[0]);
+		int[][] lowerRoles = new int[this.authorities.length][];
+		for (int id = 0; id < lowerRoles.length; id++) {
+			Set<GrantedAuthority> rolesReachableInOneStep = hierarchy.get(this.authorities[id].getAuthority());
+			if (rolesReachableInOneStep == null) {
+				lowerRoles[id] = new int[0];
+				continue;
+			}
+			lowerRoles[id] = rolesReachableInOneStep.stream()
+				.mapToInt((role) -> this.ids.get(role.getAuthority()))
+				.toArray();
+		}
+		this.reachable = new BitSet[this.authorities.length];
+		boolean[] visiting = new boolean[this.authorities.length];
+		for (int id = 0; id < this.reachable.length; id++) {
+			computeReachable(id, lowerRoles, visiting);
+		}
+	}
+
+	/**
+	 * Create a role hierarchy instance with the given definition, similar to the
+	 * following:
+	 *
+	 * <pre>
+	 *     ROLE_A &gt; ROLE_B
+	 *     ROLE_B &gt; ROLE_AUTHENTICATED
+	 *     ROLE_AUTHENTICATED &gt; ROLE_UNAUTHENTICATED
+	 * </pre>
+	 * @param hierarchy the role hierarchy to use
+	 * @return a {@link BitSetRoleHierarchy} that uses the given {@code hierarchy}
+	 * @throws CycleInRoleHierarchyException if the hierarchy contains a cycle
+	 * @see RoleHierarchyUtils#roleHierarchyFromMap(Map)
+	 */
+	public static BitSetRoleHierarchy fromHierarchy(String hierarchy) {
+		return new BitSetRoleHierarchy(RoleHierarchyImpl.buildRolesReachableInOneStepMap(hierarchy));
+	}
+
+	@Override
+	public Collection<GrantedAuthority> getReachableGrantedAuthorities(
+			Collection<? extends GrantedAuthority> authorities) {
+		if (authorities == null || authorities.isEmpty()) {
+			return AuthorityUtils.NO_AUTHORITIES;
+		}
+		List<GrantedAuthority> granted = new ArrayList<>(authorities.size());
+		BitSet grantedIds = new BitSet(this.authorities.length);
+		BitSet reachableIds = new BitSet(this.authorities.length);
+		for (GrantedAuthority authority : authorities) {
+			String name = authority.getAuthority();
+			if (name == null) {
+				// Do not process authorities without string representation
+				granted.add(authority);
+				continue;
+			}
+			Integer id = this.ids.get(name);
+			if (id == null) {
+				if (!containsAuthority(granted, name)) {
+					granted.add(authority);
+				}
+				continue;
+			}
+			if (!grantedIds.get(id)) {
+				grantedIds.set(id);
+				granted.add(authority);
+				reachableIds.or(this.reachable[id]);
+			}
+		}
+		reachableIds.andNot(grantedIds);
+		return new ReachableAuthorities(granted, reachableIds);
+	}
+
+	/**
+	 * Determines if any of the given authorities can be reached in zero or more steps
+	 * from the granted authorities.
+	 * @param grantedAuthorities the directly assigned authorities
+	 * @param authorities the authorities to look for
+	 * @return {@code true} if at least one of {@code authorities} is reachable
+	 */
+	public boolean isAnyReachable(Collection<? extends GrantedAuthority> grantedAuthorities,
+			Collection<String> authorities) {
+		for (GrantedAuthority grantedAuthority : grantedAuthorities) {
+			String name = grantedAuthority.getAuthority();
+			if (name == null) {
+				continue;
+			}
+			if (authorities.contains(name)) {
+				return true;
+			}
+			Integer id = this.ids.get(name);
+			if (id == null) {
+				continue;
+			}
+			BitSet reachable = this.reachable[id];
+			for (String authority : authorities) {
+				Integer reachableId = this.ids.get(authority);
+				if (reachableId != null && reachable.get(reachableId)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void intern(String role, List<GrantedAuthority> authorities) {
+		if (!this.ids.containsKey(role)) {
+			this.ids.put(role, authorities.size());
+			authorities.add(new SimpleGrantedAuthority(role));
+		}
+	}
+
+	private BitSet computeReachable(int id, int[][] lowerRoles, boolean[] visiting) {
+		if (this.reachable[id] != null) {
+			return this.reachable[id];
+		}
+		if (visiting[id]) {
+			throw new CycleInRoleHierarchyException();
+		}
+		visiting[id] = true;
+		BitSet reachable = new BitSet(this.authorities.length);
+		reachable.set(id);
+		for (int lowerRole : lowerRoles[id]) {
+			reachable.or(computeReachable(lowerRole, lowerRoles, visiting));
+		}
+		visiting[id] = false;
+		this.reachable[id] = reachable;
+		return reachable;
+	}
+
+	private static boolean containsAuthority(List<GrantedAuthority> authorities, String name) {
+		for (GrantedAuthority authority : authorities) {
+			if (name.equals(authority.getAuthority())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The directly assigned authorities followed by the authorities that are reachable
+	 * from them in one or more steps.
+	 */
+	private final class ReachableAuthorities extends AbstractCollection<GrantedAuthority> {
+
+		private final List<GrantedAuthority> granted;
+
+		private final BitSet reachable;
+
+		private final int size;
+
+		private ReachableAuthorities(List<GrantedAuthority> granted, BitSet reachable) {
+			this.granted = granted;
+			this.reachable = reachable;
+			this.size = granted.size() + reachable.cardinality();
+		}
+
+		@Override
+		public boolean contains(Object object) {
+			if (object instanceof GrantedAuthority authority && authority.getAuthority() != null) {
+				Integer id = BitSetRoleHierarchy.this.ids.get(authority.getAuthority());
+				if (id != null && this.reachable.get(id)) {
+					return BitSetRoleHierarchy.this.authorities[id].equals(authority);
+				}
+			}
+			return this.granted.contains(object);
+		}
+
+		@Override
+		public Iterator<GrantedAuthority> iterator() {
+			return new Iterator<>() {
+
+				private int index;
+
+				private int nextId = ReachableAuthorities.this.reachable.nextSetBit(0);
+
+				@Override
+				public boolean hasNext() {
+					return this.index < ReachableAuthorities.this.granted.size() || this.nextId >= 0;
+				}
+
+				@Override
+				public GrantedAuthority next() {
+					if (this.index < ReachableAuthorities.this.granted.size()) {
+						return ReachableAuthorities.this.granted.get(this.index++);
+					}
+					if (this.nextId < 0) {
+						throw new NoSuchElementException();
+					}
+					GrantedAuthority authority = BitSetRoleHierarchy.this.authorities[this.nextId];
+					this.nextId = ReachableAuthorities.this.reachable.nextSetBit(this.nextId + 1);
+					return authority;
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return this.size;
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.access.hierarchicalroles;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link RoleHierarchy} that remembers the authorities that another
+ * {@link RoleHierarchy} reaches from recently expanded collections of authorities, so
+ * that expanding the authorities of the same
+ * {@link org.springframework.security.core.Authentication} again, for example for a URL
+ * authorization rule and for every {@code @PreAuthorize} method invoked by the same
+ * request, does not expand the hierarchy again.
+ *
+ * <p>
+ * Collections of authorities are recognized by identity, which works with the
+ * unmodifiable authorities of
+ * {@link org.springframework.security.authentication.AbstractAuthenticationToken}. They
+ * are only weakly referenced, and their reachable authorities are forgotten when another
+ * collection maps to the same slot. Since an
+ * {@link org.springframework.security.core.Authentication} that is stored in the session
+ * is checked again in later requests, only use this with a {@link RoleHierarchy} that
+ * always returns the same reachable authorities for the same authorities.
+ *
+ * <p>
+ * When this is the {@link RoleHierarchy} bean, both {@code authorizeHttpRequests} and
+ * method security use it, and so share the remembered authorities:
+ *
+ * <pre>
+ * &#64;Bean
+ * static RoleHierarchy roleHierarchy() {
+ *     return new CachingRoleHierarchy(RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN &gt; ROLE_USER"));
+ * }
+ * </pre>
+ *
+ * @since 7.0
+ */
+public final class CachingRoleHierarchy implements RoleHierarchy {
+
+	private static final int SIZE = 256;
+
+	private final RoleHierarchy delegate;
+
+	private final AtomicReferenceArray<Entry> entries = new AtomicReferenceArray<>(SIZE);
+
+	/**
+	 * Creates an instance.
+	 * @param delegate the {@link RoleHierarchy} whose reachable authorities to remember
+	 */
+	public CachingRoleHierarchy(RoleHierarchy delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Collection<? extends GrantedAuthority> getReachableGrantedAuthorities(
+			Collection<? extends GrantedAuthority> authorities) {
+		if (authorities == null) {
+			return this.delegate.getReachableGrantedAuthorities(null);
+		}
+		int slot = System.identityHashCode(authorities) & (SIZE - 1);
+		Entry entry = this.entries.get(slot);
+		if (entry != null && entry.authorities.get() == authorities) {
+			return entry.reachableAuthorities;
+		}
+		List<GrantedAuthority> reachableAuthorities = List
+			.copyOf(this.delegate.getReachableGrantedAuthorities(authorities));
+		this.entries.set(slot, new Entry(authorities, reachableAuthorities));
+		return reachableAuthorities;
+	}
+
+	private static final class Entry {
+
+		private final WeakReference<Collection<? extends GrantedAuthority>> authorities;
+
+		private final List<GrantedAuthority> reachableAuthorities;
+
+		private Entry(Collection<? extends GrantedAuthority> authorities, List<GrantedAuthority> reachableAuthorities) {
+			this.authorities = new WeakReference<>(authorities);
+			this.reachableAuthorities = reachableAuthorities;
+		}
+
+	}
+
+}
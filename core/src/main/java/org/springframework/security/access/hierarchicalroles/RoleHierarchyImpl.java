@@ -198,7 +198,7 @@ public class RoleHierarchyImpl implements RoleHierarchy {
 	 * Parse input and build the map for the roles reachable in one step: the higher role
 	 * will become a key that references a set of the reachable lower roles.
 	 */
-	private static Map<String, Set<GrantedAuthority>> buildRolesReachableInOneStepMap(String hierarchy) {
+	static Map<String, Set<GrantedAuthority>> buildRolesReachableInOneStepMap(String hierarchy) {
 		Map<String, Set<GrantedAuthority>> rolesReachableInOneStepMap = new HashMap<>();
 		for (String line : hierarchy.split("\n")) {
 			// Split on > and trim excessive whitespace
@@ -29,6 +29,7 @@ import org.springframework.security.authentication.password.CompromisedPasswordC
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
+import org.springframework.security.authentication.password.ReactivePasswordEncoder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.SpringSecurityMessageSource;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
@@ -60,6 +61,8 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 
 	private PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
 
+	private ReactivePasswordEncoder reactivePasswordEncoder;
+
 	private ReactiveUserDetailsPasswordService userDetailsPasswordService;
 
 	private Scheduler scheduler = Schedulers.boundedElastic();
@@ -101,10 +104,7 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		String username = authentication.getName();
 		String presentedPassword = (String) authentication.getCredentials();
 		// @formatter:off
-		return retrieveUser(username)
-				.doOnNext(this.preAuthenticationChecks::check)
-				.publishOn(this.scheduler)
-				.filter((userDetails) -> this.passwordEncoder.matches(presentedPassword, userDetails.getPassword()))
+		return matchesPassword(retrieveUser(username).doOnNext(this.preAuthenticationChecks::check), presentedPassword)
 				.switchIfEmpty(Mono.defer(() -> Mono.error(new BadCredentialsException("Invalid Credentials"))))
 				.flatMap((userDetails) -> checkCompromisedPassword(presentedPassword).thenReturn(userDetails))
 				.flatMap((userDetails) -> upgradeEncodingIfNecessary(userDetails, presentedPassword))
@@ -113,6 +113,15 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		// @formatter:on
 	}
 
+	private Mono<UserDetails> matchesPassword(Mono<UserDetails> user, String presentedPassword) {
+		if (this.reactivePasswordEncoder != null) {
+			return user.filterWhen((userDetails) -> this.reactivePasswordEncoder.matches(presentedPassword,
+					userDetails.getPassword()));
+		}
+		return user.publishOn(this.scheduler)
+			.filter((userDetails) -> this.passwordEncoder.matches(presentedPassword, userDetails.getPassword()));
+	}
+
 	private Mono<Void> checkCompromisedPassword(String password) {
 		if (this.compromisedPasswordChecker == null) {
 			return Mono.empty();
@@ -124,6 +133,15 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 	}
 
 	private Mono<UserDetails> upgradeEncodingIfNecessary(UserDetails userDetails, String presentedPassword) {
+		if (this.reactivePasswordEncoder != null) {
+			boolean upgradeEncoding = this.userDetailsPasswordService != null
+					&& this.reactivePasswordEncoder.upgradeEncoding(userDetails.getPassword());
+			if (upgradeEncoding) {
+				return this.reactivePasswordEncoder.encode(presentedPassword)
+					.flatMap((newPassword) -> this.userDetailsPasswordService.updatePassword(userDetails, newPassword));
+			}
+			return Mono.just(userDetails);
+		}
 		boolean upgradeEncoding = this.userDetailsPasswordService != null
 				&& this.passwordEncoder.upgradeEncoding(userDetails.getPassword());
 		if (upgradeEncoding) {
@@ -148,6 +166,20 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		this.passwordEncoder = passwordEncoder;
 	}
 
+	/**
+	 * Sets the {@link ReactivePasswordEncoder} that is used for validating the password
+	 * instead of the {@link #setPasswordEncoder(PasswordEncoder) PasswordEncoder}. Since
+	 * a {@link ReactivePasswordEncoder} does not block, the
+	 * {@link #setScheduler(Scheduler) Scheduler} is not used then. The default is
+	 * {@code null}.
+	 * @param reactivePasswordEncoder the {@link ReactivePasswordEncoder} to use
+	 * @since 7.0
+	 * @see org.springframework.security.authentication.password.BoundedReactivePasswordEncoder
+	 */
+	public void setReactivePasswordEncoder(ReactivePasswordEncoder reactivePasswordEncoder) {
+		this.reactivePasswordEncoder = reactivePasswordEncoder;
+	}
+
 	/**
 	 * Sets the {@link Scheduler} used by the
 	 * {@link UserDetailsRepositoryReactiveAuthenticationManager}. The default is
@@ -171,7 +171,9 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 	/**
 	 * Sets the PasswordEncoder instance to be used to encode and validate passwords. If
 	 * not set, the password will be compared using
-	 * {@link PasswordEncoderFactories#createDelegatingPasswordEncoder()}
+	 * {@link PasswordEncoderFactories#createDelegatingPasswordEncoder()}. To bound how
+	 * many passwords are hashed at once, wrap the encoder in a
+	 * {@link org.springframework.security.authentication.password.BoundedPasswordEncoder}.
 	 * @param passwordEncoder must be an instance of one of the {@code PasswordEncoder}
 	 * types.
 	 */
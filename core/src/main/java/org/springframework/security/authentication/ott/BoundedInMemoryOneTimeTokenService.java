@@ -0,0 +1,349 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.ott;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+/**
+ * An in-memory implementation of the {@link OneTimeTokenService} interface that holds at
+ * most a {@link #setMaxSize(int) maximum number} of {@link OneTimeToken}s and removes
+ * expired tokens as soon as they expire. A random {@link UUID} is used as the token
+ * value.
+ *
+ * <p>
+ * Tokens are scheduled on a timing wheel according to their expiry, so that removing
+ * expired tokens only visits tokens that are due instead of every stored token. Expired
+ * tokens are removed whenever a token is generated or consumed and can also be removed
+ * explicitly with {@link #cleanupExpiredTokens()}.
+ *
+ * <p>
+ * When the maximum number of tokens is reached, the {@link OverflowPolicy} decides
+ * whether the oldest token is evicted to make room for the new one or whether generating
+ * the new token is rejected.
+ *
+ * @since 7.0
+ * @see InMemoryOneTimeTokenService
+ */
+public final class BoundedInMemoryOneTimeTokenService implements OneTimeTokenService {
+
+	private static final int DEFAULT_MAX_SIZE = 10_000;
+
+	private static final int WHEEL_SIZE = 512;
+
+	private static final long TICK_MILLIS = 1000;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	private final Entry[] wheel = new Entry[WHEEL_SIZE];
+
+	private final LongAdder consumedTokens = new LongAdder();
+
+	private final LongAdder expiredTokens = new LongAdder();
+
+	private final LongAdder evictedTokens = new LongAdder();
+
+	private final LongAdder rejectedTokens = new LongAdder();
+
+	private long sweptTick = Long.MIN_VALUE;
+
+	private Clock clock = Clock.systemUTC();
+
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.EVICT_OLDEST;
+
+	/**
+	 * {@inheritDoc}
+	 * @throws IllegalStateException if the maximum number of tokens is reached and the
+	 * {@link OverflowPolicy} is {@link OverflowPolicy#REJECT}
+	 */
+	@Override
+	@NonNull
+	public OneTimeToken generate(GenerateOneTimeTokenRequest request) {
+		String token = UUID.randomUUID().toString();
+		Instant now = this.clock.instant();
+		OneTimeToken ott = new DefaultOneTimeToken(token, request.getUsername(), now.plus(request.getExpiresIn()));
+		this.lock.lock();
+		try {
+			removeExpiredTokens(now);
+			if (this.entries.size() >= this.maxSize) {
+				makeRoom();
+			}
+			Entry entry = new Entry(ott);
+			this.entries.put(token, entry);
+			schedule(entry);
+		}
+		finally {
+			this.lock.unlock();
+		}
+		return ott;
+	}
+
+	@Override
+	public OneTimeToken consume(OneTimeTokenAuthenticationToken authenticationToken) {
+		Instant now = this.clock.instant();
+		this.lock.lock();
+		try {
+			removeExpiredTokens(now);
+			Entry entry = this.entries.remove(authenticationToken.getTokenValue());
+			if (entry == null) {
+				return null;
+			}
+			unlink(entry);
+			if (isExpired(entry.token, now)) {
+				this.expiredTokens.increment();
+				return null;
+			}
+			this.consumedTokens.increment();
+			return entry.token;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the tokens that have expired since the last time expired tokens were
+	 * removed.
+	 */
+	public void cleanupExpiredTokens() {
+		Instant now = this.clock.instant();
+		this.lock.lock();
+		try {
+			removeExpiredTokens(now);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of tokens that are currently stored. This may include tokens
+	 * that have expired during the current second.
+	 * @return the number of stored tokens
+	 */
+	public int getTokenCount() {
+		this.lock.lock();
+		try {
+			return this.entries.size();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of tokens that have been successfully consumed.
+	 * @return the number of consumed tokens
+	 */
+	public long getConsumedTokenCount() {
+		return this.consumedTokens.sum();
+	}
+
+	/**
+	 * Returns the number of tokens that expired before they were consumed.
+	 * @return the number of expired tokens
+	 */
+	public long getExpiredTokenCount() {
+		return this.expiredTokens.sum();
+	}
+
+	/**
+	 * Returns the number of tokens that were evicted to make room for newer tokens.
+	 * @return the number of evicted tokens
+	 * @see OverflowPolicy#EVICT_OLDEST
+	 */
+	public long getEvictedTokenCount() {
+		return this.evictedTokens.sum();
+	}
+
+	/**
+	 * Returns the number of tokens that were not generated because the maximum number of
+	 * tokens was reached.
+	 * @return the number of rejected tokens
+	 * @see OverflowPolicy#REJECT
+	 */
+	public long getRejectedTokenCount() {
+		return this.rejectedTokens.sum();
+	}
+
+	/**
+	 * Sets the maximum number of tokens that are stored at the same time. The default is
+	 * 10,000.
+	 * @param maxSize the maximum number of tokens
+	 */
+	public void setMaxSize(int maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Sets what happens when a token is generated while the maximum number of tokens is
+	 * stored. The default is {@link OverflowPolicy#EVICT_OLDEST}.
+	 * @param overflowPolicy the {@link OverflowPolicy}
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "overflowPolicy cannot be null");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when generating one-time token and checking token
+	 * expiry.
+	 * @param clock the clock
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private void makeRoom() {
+		if (this.overflowPolicy == OverflowPolicy.REJECT) {
+			this.rejectedTokens.increment();
+			throw new IllegalStateException(
+					"Cannot generate a one-time token since the maximum of " + this.maxSize + " tokens is reached");
+		}
+		Iterator<Entry> oldest = this.entries.values().iterator();
+		Entry entry = oldest.next();
+		oldest.remove();
+		unlink(entry);
+		this.evictedTokens.increment();
+		this.logger.trace(LogMessage.format("Evicted one-time token for %s", entry.token.getUsername()));
+	}
+
+	private void removeExpiredTokens(Instant now) {
+		long currentTick = now.toEpochMilli() / TICK_MILLIS;
+		if (this.sweptTick == Long.MIN_VALUE) {
+			this.sweptTick = currentTick;
+			return;
+		}
+		int removed = 0;
+		for (long tick = Math.max(this.sweptTick + 1, currentTick - WHEEL_SIZE + 1); tick <= currentTick; tick++) {
+			int slot = (int) Math.floorMod(tick, (long) WHEEL_SIZE);
+			Entry entry = this.wheel[slot];
+			while (entry != null) {
+				Entry next = entry.next;
+				unlink(entry);
+				if (isExpired(entry.token, now)) {
+					this.entries.remove(entry.token.getTokenValue());
+					removed++;
+				}
+				else {
+					// the wheel wrapped around since this token was scheduled
+					schedule(entry);
+				}
+				entry = next;
+			}
+			this.sweptTick = tick;
+		}
+		if (removed > 0) {
+			this.expiredTokens.add(removed);
+			this.logger.debug(LogMessage.format("Cleaned up %s expired tokens", removed));
+		}
+	}
+
+	private void schedule(Entry entry) {
+		long tick = entry.token.getExpiresAt().toEpochMilli() / TICK_MILLIS + 1;
+		if (this.sweptTick != Long.MIN_VALUE) {
+			tick = Math.max(tick, this.sweptTick + 1);
+		}
+		int slot = (int) Math.floorMod(tick, (long) WHEEL_SIZE);
+		Entry head = this.wheel[slot];
+		entry.slot = slot;
+		entry.previous = null;
+		entry.next = head;
+		if (head != null) {
+			head.previous = entry;
+		}
+		this.wheel[slot] = entry;
+	}
+
+	private void unlink(Entry entry) {
+		if (entry.slot == -1) {
+			return;
+		}
+		if (entry.previous != null) {
+			entry.previous.next = entry.next;
+		}
+		else {
+			this.wheel[entry.slot] = entry.next;
+		}
+		if (entry.next != null) {
+			entry.next.previous = entry.previous;
+		}
+		entry.previous = null;
+		entry.next = null;
+		entry.slot = -1;
+	}
+
+	private static boolean isExpired(OneTimeToken ott, Instant now) {
+		return now.isAfter(ott.getExpiresAt());
+	}
+
+	/**
+	 * What happens when a token is generated while the maximum number of tokens is
+	 * stored.
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Reject generating the token by throwing an {@link IllegalStateException}.
+		 */
+		REJECT,
+
+		/**
+		 * Evict the oldest stored token to make room for the generated token.
+		 */
+		EVICT_OLDEST
+
+	}
+
+	private static final class Entry {
+
+		private final OneTimeToken token;
+
+		private int slot = -1;
+
+		private Entry previous;
+
+		private Entry next;
+
+		private Entry(OneTimeToken token) {
+			this.token = token;
+		}
+
+	}
+
+}
@@ -16,14 +16,18 @@
 
 package org.springframework.security.authentication.ott;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -32,8 +36,11 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.PreparedStatementSetter;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SqlParameterValue;
@@ -53,6 +60,12 @@ import org.springframework.util.CollectionUtils;
  * "classpath:org/springframework/security/core/ott/jdbc/one-time-tokens-schema.sql" and
  * therefore MUST be defined in the database schema.
  *
+ * <p>
+ * On databases that support it, such as PostgreSQL, a token is consumed with a single
+ * {@code DELETE ... RETURNING} statement. Elsewhere, the token is selected and then
+ * deleted, and it is only returned if this consumer is the one that deleted it. See
+ * {@link #setUseDeleteReturning(boolean)}.
+ *
  * @author Max Batischev
  * @since 6.4
  */
@@ -70,8 +83,18 @@ public final class JdbcOneTimeTokenService implements OneTimeTokenService, Dispo
 
 	private ThreadPoolTaskScheduler taskScheduler;
 
+	private Boolean useDeleteReturning;
+
+	private int cleanupBatchSize = DEFAULT_CLEANUP_BATCH_SIZE;
+
+	private Duration cleanupBatchPause = Duration.ZERO;
+
 	private static final String DEFAULT_CLEANUP_CRON = "@hourly";
 
+	private static final int DEFAULT_CLEANUP_BATCH_SIZE = 1000;
+
+	private static final Set<String> DELETE_RETURNING_DATABASES = Set.of("PostgreSQL", "MariaDB", "SQLite");
+
 	private static final String TABLE_NAME = "one_time_tokens";
 
 	// @formatter:off
@@ -89,6 +112,9 @@ public final class JdbcOneTimeTokenService implements OneTimeTokenService, Dispo
 
 	private static final String DELETE_ONE_TIME_TOKEN_SQL = "DELETE FROM " + TABLE_NAME + " WHERE " + FILTER;
 
+	private static final String DELETE_ONE_TIME_TOKEN_RETURNING_SQL = DELETE_ONE_TIME_TOKEN_SQL + " RETURNING "
+			+ COLUMN_NAMES;
+
 	// @formatter:off
 	private static final String SELECT_ONE_TIME_TOKEN_SQL = "SELECT " + COLUMN_NAMES
 			+ " FROM " + TABLE_NAME
@@ -96,8 +122,8 @@ public final class JdbcOneTimeTokenService implements OneTimeTokenService, Dispo
 	// @formatter:on
 
 	// @formatter:off
-	private static final String DELETE_ONE_TIME_TOKENS_BY_EXPIRY_TIME_QUERY = "DELETE FROM "
-			+ TABLE_NAME
+	private static final String SELECT_EXPIRED_ONE_TIME_TOKENS_SQL = "SELECT token_value"
+			+ " FROM " + TABLE_NAME
 			+ " WHERE expires_at < ?";
 	// @formatter:on
 
@@ -147,18 +173,58 @@ public final class JdbcOneTimeTokenService implements OneTimeTokenService, Dispo
 	public OneTimeToken consume(OneTimeTokenAuthenticationToken authenticationToken) {
 		Assert.notNull(authenticationToken, "authenticationToken cannot be null");
 
+		OneTimeToken token = useDeleteReturning() ? deleteOneTimeTokenReturning(authenticationToken)
+				: selectAndDeleteOneTimeToken(authenticationToken);
+		if (token == null || isExpired(token)) {
+			return null;
+		}
+		return token;
+	}
+
+	private OneTimeToken deleteOneTimeTokenReturning(OneTimeTokenAuthenticationToken authenticationToken) {
+		List<SqlParameterValue> parameters = List
+			.of(new SqlParameterValue(Types.VARCHAR, authenticationToken.getTokenValue()));
+		PreparedStatementSetter pss = new ArgumentPreparedStatementSetter(parameters.toArray());
+		List<OneTimeToken> tokens = this.jdbcOperations.query(DELETE_ONE_TIME_TOKEN_RETURNING_SQL, pss,
+				this.oneTimeTokenRowMapper);
+		return CollectionUtils.isEmpty(tokens) ? null : tokens.get(0);
+	}
+
+	private OneTimeToken selectAndDeleteOneTimeToken(OneTimeTokenAuthenticationToken authenticationToken) {
 		List<OneTimeToken> tokens = selectOneTimeToken(authenticationToken);
 		if (CollectionUtils.isEmpty(tokens)) {
 			return null;
 		}
 		OneTimeToken token = tokens.get(0);
-		deleteOneTimeToken(token);
-		if (isExpired(token)) {
+		if (deleteOneTimeToken(token) == 0) {
+			// the token was consumed concurrently
 			return null;
 		}
 		return token;
 	}
 
+	private boolean useDeleteReturning() {
+		Boolean useDeleteReturning = this.useDeleteReturning;
+		if (useDeleteReturning == null) {
+			useDeleteReturning = supportsDeleteReturning();
+			this.useDeleteReturning = useDeleteReturning;
+		}
+		return useDeleteReturning;
+	}
+
+	private boolean supportsDeleteReturning() {
+		try {
+			String databaseProductName = this.jdbcOperations.execute(
+					(ConnectionCallback<String>) (connection) -> connection.getMetaData().getDatabaseProductName());
+			return databaseProductName != null && DELETE_RETURNING_DATABASES.contains(databaseProductName);
+		}
+		catch (DataAccessException ex) {
+			this.logger.debug("Failed to determine the database product, consuming tokens with SELECT and DELETE",
+					ex);
+			return false;
+		}
+	}
+
 	private boolean isExpired(OneTimeToken ott) {
 		return this.clock.instant().isAfter(ott.getExpiresAt());
 	}
@@ -170,11 +236,11 @@ public final class JdbcOneTimeTokenService implements OneTimeTokenService, Dispo
 		return this.jdbcOperations.query(SELECT_ONE_TIME_TOKEN_SQL, pss, this.oneTimeTokenRowMapper);
 	}
 
-	private void deleteOneTimeToken(OneTimeToken oneTimeToken) {
+	private int deleteOneTimeToken(OneTimeToken oneTimeToken) {
 		List<SqlParameterValue> parameters = List
 			.of(new SqlParameterValue(Types.VARCHAR, oneTimeToken.getTokenValue()));
 		PreparedStatementSetter pss = new ArgumentPreparedStatementSetter(parameters.toArray());
-		this.jdbcOperations.update(DELETE_ONE_TIME_TOKEN_SQL, pss);
+		return this.jdbcOperations.update(DELETE_ONE_TIME_TOKEN_SQL, pss);
 	}
 
 	private ThreadPoolTaskScheduler createTaskScheduler(String cleanupCron) {
@@ -188,16 +254,102 @@ public final class JdbcOneTimeTokenService implements OneTimeTokenService, Dispo
 		return taskScheduler;
 	}
 
+	/**
+	 * Deletes the expired tokens. Rather than deleting all expired tokens with a single
+	 * statement, the expired tokens are deleted in batches of
+	 * {@link #setCleanupBatchSize(int)} tokens, optionally pausing for
+	 * {@link #setCleanupBatchPause(Duration)} between batches, so that the cleanup does
+	 * not hold locks on a large part of the table.
+	 */
 	public void cleanupExpiredTokens() {
-		List<SqlParameterValue> parameters = List
-			.of(new SqlParameterValue(Types.TIMESTAMP, Timestamp.from(Instant.now())));
-		PreparedStatementSetter pss = new ArgumentPreparedStatementSetter(parameters.toArray());
-		int deletedCount = this.jdbcOperations.update(DELETE_ONE_TIME_TOKENS_BY_EXPIRY_TIME_QUERY, pss);
+		Timestamp now = Timestamp.from(Instant.now());
+		int deletedCount = 0;
+		while (true) {
+			List<String> expiredTokenValues = selectExpiredTokenValues(now);
+			int deleted = expiredTokenValues.isEmpty() ? 0 : deleteOneTimeTokens(expiredTokenValues);
+			deletedCount += deleted;
+			if (deleted == 0 || expiredTokenValues.size() < this.cleanupBatchSize || !pauseCleanup()) {
+				break;
+			}
+		}
 		if (this.logger.isDebugEnabled()) {
 			this.logger.debug("Cleaned up " + deletedCount + " expired tokens");
 		}
 	}
 
+	private List<String> selectExpiredTokenValues(Timestamp now) {
+		int maxRows = this.cleanupBatchSize;
+		PreparedStatementCreator psc = (connection) -> {
+			PreparedStatement ps = connection.prepareStatement(SELECT_EXPIRED_ONE_TIME_TOKENS_SQL);
+			ps.setMaxRows(maxRows);
+			ps.setTimestamp(1, now);
+			return ps;
+		};
+		return this.jdbcOperations.query(psc, (rs, rowNum) -> rs.getString("token_value"));
+	}
+
+	private int deleteOneTimeTokens(List<String> tokenValues) {
+		List<Object[]> batchArgs = new ArrayList<>(tokenValues.size());
+		for (String tokenValue : tokenValues) {
+			batchArgs.add(new Object[] { tokenValue });
+		}
+		int deleted = 0;
+		for (int count : this.jdbcOperations.batchUpdate(DELETE_ONE_TIME_TOKEN_SQL, batchArgs)) {
+			deleted += (count == Statement.SUCCESS_NO_INFO) ? 1 : count;
+		}
+		return deleted;
+	}
+
+	private boolean pauseCleanup() {
+		if (this.cleanupBatchPause.isZero()) {
+			return true;
+		}
+		try {
+			Thread.sleep(this.cleanupBatchPause.toMillis());
+			return true;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Sets the maximum number of expired tokens that {@link #cleanupExpiredTokens()}
+	 * deletes at once. The default is 1000.
+	 * @param cleanupBatchSize the maximum number of tokens to delete at once
+	 * @since 7.0
+	 */
+	public void setCleanupBatchSize(int cleanupBatchSize) {
+		Assert.isTrue(cleanupBatchSize > 0, "cleanupBatchSize must be greater than 0");
+		this.cleanupBatchSize = cleanupBatchSize;
+	}
+
+	/**
+	 * Sets how long {@link #cleanupExpiredTokens()} pauses between two batches of deleted
+	 * tokens, giving other transactions a chance to acquire the locks on the table. The
+	 * default is to not pause.
+	 * @param cleanupBatchPause the pause between two batches
+	 * @since 7.0
+	 */
+	public void setCleanupBatchPause(Duration cleanupBatchPause) {
+		Assert.notNull(cleanupBatchPause, "cleanupBatchPause cannot be null");
+		Assert.isTrue(!cleanupBatchPause.isNegative(), "cleanupBatchPause cannot be negative");
+		this.cleanupBatchPause = cleanupBatchPause;
+	}
+
+	/**
+	 * Sets whether a token is consumed with a single {@code DELETE ... RETURNING}
+	 * statement. By default, this is used when the database is PostgreSQL, MariaDB or
+	 * SQLite. Otherwise, the token is selected and then deleted.
+	 * @param useDeleteReturning whether to consume tokens with
+	 * {@code DELETE ... RETURNING}
+	 * @since 7.0
+	 */
+	public void setUseDeleteReturning(boolean useDeleteReturning) {
+		this.useDeleteReturning = useDeleteReturning;
+	}
+
 	@Override
 	public void afterPropertiesSet() throws Exception {
 		this.taskScheduler.afterPropertiesSet();
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link PasswordEncoder} that bounds how many passwords are hashed at once, so that a
+ * burst of logins cannot occupy every request thread with a deliberately expensive
+ * password hash.
+ *
+ * <p>
+ * Up to {@code maxConcurrentHashes} passwords are hashed at once, on the calling thread.
+ * Up to {@code maxQueuedHashes} further calls wait for a hashing slot, and any call
+ * beyond that fails immediately with an {@link AuthenticationServiceException}, which
+ * fails the authentication instead of queuing more requests.
+ *
+ * <p>
+ * With an {@link #setObservationRegistry(ObservationRegistry) ObservationRegistry}, the
+ * time spent waiting for a slot and the time spent hashing are observed separately as
+ * {@code spring.security.password.hash.wait} and {@code spring.security.password.hash}.
+ *
+ * <pre>
+ * DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+ * provider.setPasswordEncoder(new BoundedPasswordEncoder(passwordEncoder));
+ * </pre>
+ *
+ * @since 7.0
+ * @see BoundedReactivePasswordEncoder
+ */
+public final class BoundedPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+
+	private final Semaphore slots;
+
+	private final int maxQueuedHashes;
+
+	private final AtomicInteger queuedHashes = new AtomicInteger();
+
+	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+	/**
+	 * Creates an encoder that hashes one password per available processor at once and
+	 * lets up to ten times as many calls wait.
+	 * @param delegate the encoder that hashes the passwords
+	 */
+	public BoundedPasswordEncoder(PasswordEncoder delegate) {
+		this(delegate, Runtime.getRuntime().availableProcessors(),
+				10 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an encoder with the given bounds.
+	 * @param delegate the encoder that hashes the passwords
+	 * @param maxConcurrentHashes the number of passwords that are hashed at once
+	 * @param maxQueuedHashes the number of calls that wait for a hashing slot before
+	 * calls fail
+	 */
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrentHashes, int maxQueuedHashes) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		Assert.isTrue(maxConcurrentHashes > 0, "maxConcurrentHashes must be positive");
+		Assert.isTrue(maxQueuedHashes >= 0, "maxQueuedHashes cannot be negative");
+		this.delegate = delegate;
+		this.slots = new Semaphore(maxConcurrentHashes);
+		this.maxQueuedHashes = maxQueuedHashes;
+	}
+
+	/**
+	 * Sets the {@link ObservationRegistry} that observes waiting for a hashing slot and
+	 * hashing. The default is {@link ObservationRegistry#NOOP}.
+	 * @param observationRegistry the {@link ObservationRegistry} to use
+	 */
+	public void setObservationRegistry(ObservationRegistry observationRegistry) {
+		Assert.notNull(observationRegistry, "observationRegistry cannot be null");
+		this.observationRegistry = observationRegistry;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return hash("encode", () -> this.delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return hash("matches", () -> this.delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return this.delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> T hash(String operation, Supplier<T> hash) {
+		acquireSlot(operation);
+		try {
+			return PasswordHashObservations.hashing(this.observationRegistry, operation).observe(hash);
+		}
+		finally {
+			this.slots.release();
+		}
+	}
+
+	private void acquireSlot(String operation) {
+		Observation waiting = PasswordHashObservations.waiting(this.observationRegistry, operation).start();
+		try {
+			if (this.slots.tryAcquire()) {
+				return;
+			}
+			if (this.queuedHashes.incrementAndGet() > this.maxQueuedHashes) {
+				this.queuedHashes.decrementAndGet();
+				AuthenticationServiceException ex = new AuthenticationServiceException(
+						"Too many passwords are waiting to be hashed");
+				waiting.error(ex);
+				throw ex;
+			}
+			try {
+				this.slots.acquire();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				waiting.error(ex);
+				throw new AuthenticationServiceException("Interrupted while waiting to hash a password", ex);
+			}
+			finally {
+				this.queuedHashes.decrementAndGet();
+			}
+		}
+		finally {
+			waiting.stop();
+		}
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
+import org.springframework.util.CustomizableThreadFactory;
+
+/**
+ * A {@link ReactivePasswordEncoder} that hashes passwords with a {@link PasswordEncoder}
+ * on a dedicated, bounded pool of threads, so that deliberately expensive password
+ * hashes neither block the subscribing thread nor compete with other blocking work.
+ *
+ * <p>
+ * Up to {@code maxConcurrentHashes} passwords are hashed at once. Up to
+ * {@code maxQueuedHashes} further passwords wait for a thread, and any password beyond
+ * that fails immediately with an {@link AuthenticationServiceException}, which fails the
+ * authentication instead of queuing more requests. A password that is still waiting when
+ * its subscriber cancels is not hashed. Subscribers are signalled on
+ * {@link Schedulers#parallel()}, so that the rest of the authentication does not run on,
+ * and hold up, the threads that hash passwords.
+ *
+ * <p>
+ * With an {@link #setObservationRegistry(ObservationRegistry) ObservationRegistry}, the
+ * time spent waiting for a thread and the time spent hashing are observed separately as
+ * {@code spring.security.password.hash.wait} and {@code spring.security.password.hash}.
+ *
+ * <pre>
+ * UserDetailsRepositoryReactiveAuthenticationManager manager = new UserDetailsRepositoryReactiveAuthenticationManager(
+ * 		userDetailsService);
+ * manager.setReactivePasswordEncoder(new BoundedReactivePasswordEncoder(passwordEncoder));
+ * </pre>
+ *
+ * <p>
+ * A {@link ReactivePasswordEncoder} bean is also used by the authentication manager that
+ * {@code @EnableWebFluxSecurity} and {@code @EnableRSocketSecurity} create for a
+ * {@code ReactiveUserDetailsService} bean.
+ *
+ * @since 7.0
+ * @see BoundedPasswordEncoder
+ */
+public final class BoundedReactivePasswordEncoder implements ReactivePasswordEncoder, DisposableBean {
+
+	private final PasswordEncoder delegate;
+
+	private final ThreadPoolExecutor executor;
+
+	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+	/**
+	 * Creates an encoder that hashes on one thread per available processor and lets up
+	 * to ten times as many passwords wait.
+	 * @param delegate the encoder that hashes the passwords
+	 */
+	public BoundedReactivePasswordEncoder(PasswordEncoder delegate) {
+		this(delegate, Runtime.getRuntime().availableProcessors(),
+				10 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an encoder with the given bounds.
+	 * @param delegate the encoder that hashes the passwords
+	 * @param maxConcurrentHashes the number of threads that hash passwords
+	 * @param maxQueuedHashes the number of passwords that wait for a thread before
+	 * passwords are rejected
+	 */
+	public BoundedReactivePasswordEncoder(PasswordEncoder delegate, int maxConcurrentHashes, int maxQueuedHashes) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		Assert.isTrue(maxConcurrentHashes > 0, "maxConcurrentHashes must be positive");
+		Assert.isTrue(maxQueuedHashes >= 0, "maxQueuedHashes cannot be negative");
+		this.delegate = delegate;
+		BlockingQueue<Runnable> queue = (maxQueuedHashes > 0) ? new ArrayBlockingQueue<>(maxQueuedHashes)
+				: new SynchronousQueue<>();
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-encoder-");
+		threadFactory.setDaemon(true);
+		this.executor = new ThreadPoolExecutor(maxConcurrentHashes, maxConcurrentHashes, 0, TimeUnit.MILLISECONDS,
+				queue, threadFactory, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Sets the {@link ObservationRegistry} that observes waiting for a thread and
+	 * hashing. The default is {@link ObservationRegistry#NOOP}.
+	 * @param observationRegistry the {@link ObservationRegistry} to use
+	 */
+	public void setObservationRegistry(ObservationRegistry observationRegistry) {
+		Assert.notNull(observationRegistry, "observationRegistry cannot be null");
+		this.observationRegistry = observationRegistry;
+	}
+
+	@Override
+	public Mono<String> encode(CharSequence rawPassword) {
+		return hash("encode", () -> this.delegate.encode(rawPassword));
+	}
+
+	@Override
+	public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+		return hash("matches", () -> this.delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return this.delegate.upgradeEncoding(encodedPassword);
+	}
+
+	/**
+	 * Stops the threads that hash passwords. Passwords that are waiting are still hashed,
+	 * later passwords are rejected.
+	 */
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+	private <T> Mono<T> hash(String operation, Supplier<T> hash) {
+		return Mono.<T>create((sink) -> {
+			Observation waiting = PasswordHashObservations.waiting(this.observationRegistry, operation).start();
+			Runnable task = () -> {
+				waiting.stop();
+				try {
+					sink.success(PasswordHashObservations.hashing(this.observationRegistry, operation).observe(hash));
+				}
+				catch (RuntimeException ex) {
+					sink.error(ex);
+				}
+			};
+			try {
+				this.executor.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				AuthenticationServiceException rejected = new AuthenticationServiceException(
+						"Too many passwords are waiting to be hashed", ex);
+				waiting.error(rejected);
+				waiting.stop();
+				sink.error(rejected);
+				return;
+			}
+			sink.onCancel(() -> {
+				if (this.executor.remove(task)) {
+					waiting.stop();
+				}
+			});
+		}).publishOn(Schedulers.parallel());
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * The observations of {@link BoundedPasswordEncoder} and
+ * {@link BoundedReactivePasswordEncoder}, which separate the time that a password waits
+ * for a hashing slot from the time that hashing takes.
+ */
+final class PasswordHashObservations {
+
+	static final String WAIT = "spring.security.password.hash.wait";
+
+	static final String HASH = "spring.security.password.hash";
+
+	static final String OPERATION = "spring.security.password.operation";
+
+	private PasswordHashObservations() {
+	}
+
+	static Observation waiting(ObservationRegistry registry, String operation) {
+		return Observation.createNotStarted(WAIT, registry).lowCardinalityKeyValue(OPERATION, operation);
+	}
+
+	static Observation hashing(ObservationRegistry registry, String operation) {
+		return Observation.createNotStarted(HASH, registry).lowCardinalityKeyValue(OPERATION, operation);
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A Reactive API for encoding and matching passwords, which does not block the
+ * subscribing thread while a password is hashed.
+ *
+ * @since 7.0
+ * @see BoundedReactivePasswordEncoder
+ * @see PasswordEncoder
+ */
+public interface ReactivePasswordEncoder {
+
+	/**
+	 * Encode the raw password.
+	 * @param rawPassword the raw password to encode
+	 * @return a {@link Mono} containing the encoded password
+	 * @see PasswordEncoder#encode(CharSequence)
+	 */
+	Mono<String> encode(CharSequence rawPassword);
+
+	/**
+	 * Verify that the raw password matches the encoded password.
+	 * @param rawPassword the raw password to verify
+	 * @param encodedPassword the encoded password
+	 * @return a {@link Mono} containing {@code true} if the passwords match
+	 * @see PasswordEncoder#matches(CharSequence, String)
+	 */
+	Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword);
+
+	/**
+	 * Returns true if the encoded password should be encoded again for better security.
+	 * Since this does not hash the password, it returns its result directly.
+	 * @param encodedPassword the encoded password to check
+	 * @return true if the encoded password should be encoded again
+	 * @see PasswordEncoder#upgradeEncoding(String)
+	 */
+	default boolean upgradeEncoding(String encodedPassword) {
+		return false;
+	}
+
+}
@@ -19,6 +19,8 @@ package org.springframework.security.authorization;
 import java.util.Collection;
 import java.util.function.Supplier;
 
+import org.springframework.security.access.hierarchicalroles.BitSetRoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.CachingRoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.core.Authentication;
@@ -37,6 +39,10 @@ public final class AuthoritiesAuthorizationManager implements AuthorizationManag
 
 	private RoleHierarchy roleHierarchy = new NullRoleHierarchy();
 
+	private boolean cacheReachableAuthorities;
+
+	private RoleHierarchy reachableAuthoritiesRoleHierarchy = this.roleHierarchy;
+
 	/**
 	 * Sets the {@link RoleHierarchy} to be used. Default is {@link NullRoleHierarchy}.
 	 * Cannot be null.
@@ -45,6 +51,37 @@ public final class AuthoritiesAuthorizationManager implements AuthorizationManag
 	public void setRoleHierarchy(RoleHierarchy roleHierarchy) {
 		Assert.notNull(roleHierarchy, "roleHierarchy cannot be null");
 		this.roleHierarchy = roleHierarchy;
+		this.reachableAuthoritiesRoleHierarchy = reachableAuthoritiesRoleHierarchy();
+	}
+
+	/**
+	 * Sets whether to remember the authorities that are reachable through the
+	 * {@link RoleHierarchy} from the authorities of recently checked
+	 * {@link Authentication} instances, so that checking the same {@link Authentication}
+	 * again does not expand the {@link RoleHierarchy} again. Default is {@code false}.
+	 *
+	 * <p>
+	 * This wraps the {@link RoleHierarchy} in a {@link CachingRoleHierarchy} that only
+	 * this instance uses. To also share the remembered authorities with method security,
+	 * use a {@link CachingRoleHierarchy} as the {@link RoleHierarchy} instead. Has no
+	 * effect for {@link NullRoleHierarchy} and {@link BitSetRoleHierarchy}, which have
+	 * nothing to expand.
+	 * @param cacheReachableAuthorities whether to remember reachable authorities
+	 * @since 7.0
+	 * @see CachingRoleHierarchy
+	 */
+	public void setCacheReachableAuthorities(boolean cacheReachableAuthorities) {
+		this.cacheReachableAuthorities = cacheReachableAuthorities;
+		this.reachableAuthoritiesRoleHierarchy = reachableAuthoritiesRoleHierarchy();
+	}
+
+	private RoleHierarchy reachableAuthoritiesRoleHierarchy() {
+		if (!this.cacheReachableAuthorities || this.roleHierarchy instanceof NullRoleHierarchy
+				|| this.roleHierarchy instanceof BitSetRoleHierarchy
+				|| this.roleHierarchy instanceof CachingRoleHierarchy) {
+			return this.roleHierarchy;
+		}
+		return new CachingRoleHierarchy(this.roleHierarchy);
 	}
 
 	/**
@@ -66,6 +103,9 @@ public final class AuthoritiesAuthorizationManager implements AuthorizationManag
 	}
 
 	private boolean isAuthorized(Authentication authentication, Collection<String> authorities) {
+		if (this.roleHierarchy instanceof BitSetRoleHierarchy bitSetRoleHierarchy) {
+			return bitSetRoleHierarchy.isAnyReachable(authentication.getAuthorities(), authorities);
+		}
 		for (GrantedAuthority grantedAuthority : getGrantedAuthorities(authentication)) {
 			if (authorities.contains(grantedAuthority.getAuthority())) {
 				return true;
@@ -75,7 +115,7 @@ public final class AuthoritiesAuthorizationManager implements AuthorizationManag
 	}
 
 	private Collection<? extends GrantedAuthority> getGrantedAuthorities(Authentication authentication) {
-		return this.roleHierarchy.getReachableGrantedAuthorities(authentication.getAuthorities());
+		return this.reachableAuthoritiesRoleHierarchy.getReachableGrantedAuthorities(authentication.getAuthorities());
 	}
 
 }
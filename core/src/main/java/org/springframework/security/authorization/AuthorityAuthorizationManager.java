@@ -54,6 +54,18 @@ public final class AuthorityAuthorizationManager<T> implements AuthorizationMana
 		this.delegate.setRoleHierarchy(roleHierarchy);
 	}
 
+	/**
+	 * Sets whether to remember the authorities that are reachable through the
+	 * {@link RoleHierarchy} from the authorities of recently checked
+	 * {@link Authentication} instances. Default is {@code false}.
+	 * @param cacheReachableAuthorities whether to remember reachable authorities
+	 * @since 7.0
+	 * @see AuthoritiesAuthorizationManager#setCacheReachableAuthorities(boolean)
+	 */
+	public void setCacheReachableAuthorities(boolean cacheReachableAuthorities) {
+		this.delegate.setCacheReachableAuthorities(cacheReachableAuthorities);
+	}
+
 	/**
 	 * Creates an instance of {@link AuthorityAuthorizationManager} with the provided
 	 * authority.
@@ -19,6 +19,9 @@ package org.springframework.security.authorization.method;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -30,11 +33,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -53,6 +58,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authorization.AuthorizationProxyFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * A proxy factory for applying authorization advice to an arbitrary object.
@@ -92,8 +98,12 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	private static final TargetVisitor DEFAULT_VISITOR_SKIP_VALUE_TYPES = TargetVisitor.of(new ClassVisitor(),
 			new IgnoreValueTypeVisitor(), DEFAULT_VISITOR);
 
+	private static final TargetVisitor LAZY_CONTAINER_VISITOR = new LazyContainerTypeVisitor();
+
 	private final AuthorizationProxyMethodInterceptor authorizationProxy = new AuthorizationProxyMethodInterceptor();
 
+	private final Map<Class<?>, ProxyFactory> proxyConfigurations = new ConcurrentReferenceHashMap<>();
+
 	private List<AuthorizationAdvisor> advisors;
 
 	private TargetVisitor visitor = DEFAULT_VISITOR;
@@ -151,6 +161,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Override
 	public void afterSingletonsInstantiated() {
 		AnnotationAwareOrderComparator.sort(this.advisors);
+		this.proxyConfigurations.clear();
 	}
 
 	/**
@@ -183,15 +194,29 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 		if (proxied != null) {
 			return proxied;
 		}
-		ProxyFactory factory = new ProxyFactory(target);
+		ProxyFactory factory = new ProxyFactory();
+		factory.copyConfigurationFrom(this.proxyConfigurations.computeIfAbsent(target.getClass(),
+				this::createProxyConfiguration));
+		factory.setTarget(target);
+		return factory.getProxy();
+	}
+
+	/**
+	 * Creates the proxy configuration shared by all proxies of the given class, so that
+	 * the interfaces of the class are looked up and the advisors are sorted only once per
+	 * class instead of once per proxied object.
+	 */
+	private ProxyFactory createProxyConfiguration(Class<?> targetClass) {
+		ProxyFactory factory = new ProxyFactory();
+		factory.setInterfaces(ClassUtils.getAllInterfacesForClass(targetClass));
 		factory.addAdvisors(this.authorizationProxy);
 		List<Advisor> advisors = new ArrayList<>(this.advisors);
 		AnnotationAwareOrderComparator.sort(advisors);
 		factory.addAdvisors(advisors);
 		factory.addInterface(AuthorizationProxy.class);
 		factory.setOpaque(true);
-		factory.setProxyTargetClass(!Modifier.isFinal(target.getClass().getModifiers()));
-		return factory.getProxy();
+		factory.setProxyTargetClass(!Modifier.isFinal(targetClass.getModifiers()));
+		return factory;
 	}
 
 	/**
@@ -205,6 +230,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void setAdvisors(AuthorizationAdvisor... advisors) {
 		this.advisors = new ArrayList<>(List.of(advisors));
+		this.proxyConfigurations.clear();
 	}
 
 	/**
@@ -218,6 +244,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void setAdvisors(Collection<AuthorizationAdvisor> advisors) {
 		this.advisors = new ArrayList<>(advisors);
+		this.proxyConfigurations.clear();
 	}
 
 	/**
@@ -235,6 +262,7 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 	@Deprecated
 	public void addAdvisor(AuthorizationAdvisor advisor) {
 		this.advisors.add(advisor);
+		this.proxyConfigurations.clear();
 	}
 
 	/**
@@ -333,6 +361,26 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 			return AuthorizationAdvisorProxyFactory.DEFAULT_VISITOR_SKIP_VALUE_TYPES;
 		}
 
+		/**
+		 * A {@link TargetVisitor} that proxies the elements of a {@link List} and the
+		 * values of a {@link Map} when they are first accessed instead of all at once.
+		 * This is handy for large collections of which only some elements are used.
+		 *
+		 * <p>
+		 * The returned {@link List} or {@link Map} is an unmodifiable view of the
+		 * original one. Other types are left to the next visitor, so this is meant to be
+		 * composed with another visitor like so:
+		 *
+		 * <pre>
+		 * 	proxyFactory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyContainers(), TargetVisitor.defaults()));
+		 * </pre>
+		 * @return a {@link TargetVisitor} that proxies container elements lazily
+		 * @since 7.0
+		 */
+		static TargetVisitor lazyContainers() {
+			return AuthorizationAdvisorProxyFactory.LAZY_CONTAINER_VISITOR;
+		}
+
 		/**
 		 * Compose a set of visitors. This is helpful when you are customizing for a given
 		 * type and still want the defaults applied for the remaining types.
@@ -575,6 +623,128 @@ public final class AuthorizationAdvisorProxyFactory implements AuthorizationProx
 
 	}
 
+	private static final class LazyContainerTypeVisitor implements TargetVisitor {
+
+		@Override
+		public Object visit(AuthorizationAdvisorProxyFactory proxyFactory, Object target) {
+			if (target instanceof Queue<?>) {
+				return null;
+			}
+			if (target instanceof List<?> list && list instanceof RandomAccess) {
+				return new LazyProxyList<>(proxyFactory, list);
+			}
+			if (target instanceof Map<?, ?> map && !(map instanceof SortedMap<?, ?>)) {
+				return new LazyProxyMap<>(proxyFactory, map);
+			}
+			return null;
+		}
+
+	}
+
+	private static final class LazyProxyList<T> extends AbstractList<T> implements RandomAccess {
+
+		private final AuthorizationProxyFactory proxyFactory;
+
+		private final List<T> list;
+
+		private final Object[] proxies;
+
+		private LazyProxyList(AuthorizationProxyFactory proxyFactory, List<T> list) {
+			this.proxyFactory = proxyFactory;
+			this.list = list;
+			this.proxies = new Object[list.size()];
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T get(int index) {
+			Object proxy = this.proxies[index];
+			if (proxy == null) {
+				proxy = this.proxyFactory.proxy(this.list.get(index));
+				this.proxies[index] = proxy;
+			}
+			return (T) proxy;
+		}
+
+		@Override
+		public int size() {
+			return this.proxies.length;
+		}
+
+	}
+
+	private static final class LazyProxyMap<K, V> extends AbstractMap<K, V> {
+
+		private final AuthorizationProxyFactory proxyFactory;
+
+		private final Map<K, V> map;
+
+		private final Map<Object, V> proxies = new ConcurrentHashMap<>();
+
+		private LazyProxyMap(AuthorizationProxyFactory proxyFactory, Map<K, V> map) {
+			this.proxyFactory = proxyFactory;
+			this.map = map;
+		}
+
+		@Override
+		public V get(Object key) {
+			V value = this.map.get(key);
+			return (value != null) ? proxy(key, value) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.map.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return this.map.size();
+		}
+
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return new AbstractSet<>() {
+
+				@Override
+				public Iterator<Entry<K, V>> iterator() {
+					Iterator<Entry<K, V>> entries = LazyProxyMap.this.map.entrySet().iterator();
+					return new Iterator<>() {
+
+						@Override
+						public boolean hasNext() {
+							return entries.hasNext();
+						}
+
+						@Override
+						public Entry<K, V> next() {
+							Entry<K, V> entry = entries.next();
+							V value = entry.getValue();
+							return new SimpleImmutableEntry<>(entry.getKey(),
+									(value != null) ? proxy(entry.getKey(), value) : null);
+						}
+
+					};
+				}
+
+				@Override
+				public int size() {
+					return LazyProxyMap.this.map.size();
+				}
+
+			};
+		}
+
+		@SuppressWarnings("unchecked")
+		private V proxy(Object key, V value) {
+			if (key == null) {
+				return (V) this.proxyFactory.proxy(value);
+			}
+			return this.proxies.computeIfAbsent(key, (k) -> (V) this.proxyFactory.proxy(value));
+		}
+
+	}
+
 	private static class ReactiveTypeVisitor implements TargetVisitor {
 
 		@Override
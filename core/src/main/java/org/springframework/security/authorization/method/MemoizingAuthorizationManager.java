@@ -0,0 +1,185 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization.method;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AuthorizationManager} that remembers the results of another
+ * {@link AuthorizationManager} for the current request, so that invoking the same method
+ * with equal arguments again, for example in a loop, does not evaluate the authorization
+ * rule again.
+ *
+ * <p>
+ * Only use this for authorization rules whose result depends solely on the
+ * {@link Authentication}, the invoked method and its arguments, such as
+ * {@code @PreAuthorize("hasRole('ADMIN') or #username == authentication.name")}. The
+ * results are remembered for as long as the same deferred
+ * {@link org.springframework.security.core.context.SecurityContext} is bound to the
+ * {@link SecurityContextHolderStrategy}, which {@code SecurityContextHolderFilter} does
+ * once per request, and for as long as its {@link Authentication} is not replaced. Only
+ * invocations whose arguments are immutable values, such as {@link String}s, boxed
+ * primitives, enums and records of those, are memoized, and they can be narrowed further
+ * with {@link #setMemoizable(Predicate)}.
+ *
+ * <pre>
+ * AuthorizationManagerBeforeMethodInterceptor
+ *     .preAuthorize(new MemoizingAuthorizationManager(new PreAuthorizeAuthorizationManager()));
+ * </pre>
+ *
+ * @since 7.0
+ * @see MemoizingReactiveAuthorizationManager
+ */
+public final class MemoizingAuthorizationManager
+		implements AuthorizationManager<MethodInvocation>, MethodAuthorizationDeniedHandler {
+
+	private final MethodAuthorizationDeniedHandler defaultHandler = new ThrowingMethodAuthorizationDeniedHandler();
+
+	private final AuthorizationManager<MethodInvocation> delegate;
+
+	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+		.getContextHolderStrategy();
+
+	private MethodAuthorizationResultCache cache = new MethodAuthorizationResultCache(1024);
+
+	private Predicate<MethodInvocation> memoizable = (mi) -> true;
+
+	/**
+	 * Creates an instance.
+	 * @param delegate the {@link AuthorizationManager} whose results to remember
+	 */
+	public MemoizingAuthorizationManager(AuthorizationManager<MethodInvocation> delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	@Deprecated
+	public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation mi) {
+		AuthorizationResult result = authorize(authentication, mi);
+		if (result == null || result instanceof AuthorizationDecision) {
+			return (AuthorizationDecision) result;
+		}
+		return new AuthorizationDecision(result.isGranted());
+	}
+
+	@Override
+	public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation mi) {
+		if (!this.memoizable.test(mi) || !MethodAuthorizationResultCache.isMemoizable(mi)) {
+			return this.delegate.authorize(authentication, mi);
+		}
+		Authentication current;
+		try {
+			current = authentication.get();
+		}
+		catch (AuthenticationException ex) {
+			return this.delegate.authorize(authentication, mi);
+		}
+		if (current == null) {
+			return this.delegate.authorize(authentication, mi);
+		}
+		Object scope = this.securityContextHolderStrategy.getDeferredContext();
+		AuthorizationResult result = this.cache.get(scope, current, mi);
+		if (result != null) {
+			return result;
+		}
+		result = this.delegate.authorize(() -> current, mi);
+		if (result != null) {
+			this.cache.put(scope, current, mi, result);
+		}
+		return result;
+	}
+
+	@Override
+	public Object handleDeniedInvocation(MethodInvocation methodInvocation, AuthorizationResult authorizationResult) {
+		if (this.delegate instanceof MethodAuthorizationDeniedHandler handler) {
+			return handler.handleDeniedInvocation(methodInvocation, authorizationResult);
+		}
+		return this.defaultHandler.handleDeniedInvocation(methodInvocation, authorizationResult);
+	}
+
+	/**
+	 * Sets which method invocations to remember the results of. By default, the results
+	 * of all method invocations with immutable arguments are remembered.
+	 * @param memoizable the {@link Predicate} to use
+	 */
+	public void setMemoizable(Predicate<MethodInvocation> memoizable) {
+		Assert.notNull(memoizable, "memoizable cannot be null");
+		this.memoizable = memoizable;
+	}
+
+	/**
+	 * Sets the {@link SecurityContextHolderStrategy} whose deferred
+	 * {@link org.springframework.security.core.context.SecurityContext} scopes the
+	 * remembered results. The default is to use the {@link SecurityContextHolderStrategy}
+	 * stored in {@link SecurityContextHolder}.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 */
+	public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = securityContextHolderStrategy;
+	}
+
+	/**
+	 * Sets the maximum number of results to remember per request. The default is 1024.
+	 * @param maxResults the maximum number of results per request
+	 */
+	public void setMaxResultsPerRequest(int maxResults) {
+		Assert.isTrue(maxResults > 0, "maxResults must be greater than 0");
+		this.cache = new MethodAuthorizationResultCache(maxResults);
+	}
+
+	/**
+	 * Returns the number of times that a remembered result was used.
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return this.cache.getHitCount();
+	}
+
+	/**
+	 * Returns the number of times that the delegate {@link AuthorizationManager} was
+	 * consulted for a memoizable method invocation.
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return this.cache.getMissCount();
+	}
+
+	/**
+	 * Returns the ratio of memoizable method invocations for which a remembered result
+	 * was used.
+	 * @return the hit ratio between 0 and 1
+	 */
+	public double getHitRatio() {
+		return this.cache.getHitRatio();
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization.method;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.aopalliance.intercept.MethodInvocation;
+import reactor.core.publisher.Mono;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ReactiveAuthorizationManager} that remembers the results of another
+ * {@link ReactiveAuthorizationManager} for the current request, so that invoking the
+ * same method with equal arguments again does not evaluate the authorization rule again.
+ *
+ * <p>
+ * Only use this for authorization rules whose result depends solely on the
+ * {@link Authentication}, the invoked method and its arguments. The results are
+ * remembered for as long as the same {@code Mono<SecurityContext>} is in the Reactor
+ * {@link reactor.util.context.Context}, which {@code ReactorContextWebFilter} puts there
+ * once per request, and for as long as its {@link Authentication} is not replaced.
+ * Without a {@code Mono<SecurityContext>} in the Reactor
+ * {@link reactor.util.context.Context}, nothing is remembered. Only invocations whose
+ * arguments are immutable values, such as {@link String}s, boxed primitives, enums and
+ * records of those, are memoized, and they can be narrowed further with
+ * {@link #setMemoizable(Predicate)}.
+ *
+ * @since 7.0
+ * @see MemoizingAuthorizationManager
+ */
+public final class MemoizingReactiveAuthorizationManager
+		implements ReactiveAuthorizationManager<MethodInvocation>, MethodAuthorizationDeniedHandler {
+
+	private final MethodAuthorizationDeniedHandler defaultHandler = new ThrowingMethodAuthorizationDeniedHandler();
+
+	private final ReactiveAuthorizationManager<MethodInvocation> delegate;
+
+	private MethodAuthorizationResultCache cache = new MethodAuthorizationResultCache(1024);
+
+	private Predicate<MethodInvocation> memoizable = (mi) -> true;
+
+	/**
+	 * Creates an instance.
+	 * @param delegate the {@link ReactiveAuthorizationManager} whose results to remember
+	 */
+	public MemoizingReactiveAuthorizationManager(ReactiveAuthorizationManager<MethodInvocation> delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	@Deprecated
+	public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, MethodInvocation mi) {
+		return authorize(authentication, mi).map((result) -> (result instanceof AuthorizationDecision decision)
+				? decision : new AuthorizationDecision(result.isGranted()));
+	}
+
+	@Override
+	public Mono<AuthorizationResult> authorize(Mono<Authentication> authentication, MethodInvocation mi) {
+		if (!this.memoizable.test(mi) || !MethodAuthorizationResultCache.isMemoizable(mi)) {
+			return this.delegate.authorize(authentication, mi);
+		}
+		// @formatter:off
+		return Mono.deferContextual((context) -> context.<Object>getOrEmpty(SecurityContext.class)
+				.map((scope) -> authentication
+						.map(Optional::of)
+						.defaultIfEmpty(Optional.empty())
+						.flatMap((current) -> current
+								.map((auth) -> authorize(scope, auth, mi))
+								.orElseGet(() -> this.delegate.authorize(Mono.empty(), mi))))
+				.orElseGet(() -> this.delegate.authorize(authentication, mi)));
+		// @formatter:on
+	}
+
+	private Mono<AuthorizationResult> authorize(Object scope, Authentication authentication, MethodInvocation mi) {
+		AuthorizationResult result = this.cache.get(scope, authentication, mi);
+		if (result != null) {
+			return Mono.just(result);
+		}
+		return this.delegate.authorize(Mono.just(authentication), mi)
+			.doOnNext((authorized) -> this.cache.put(scope, authentication, mi, authorized));
+	}
+
+	@Override
+	public Object handleDeniedInvocation(MethodInvocation methodInvocation, AuthorizationResult authorizationResult) {
+		if (this.delegate instanceof MethodAuthorizationDeniedHandler handler) {
+			return handler.handleDeniedInvocation(methodInvocation, authorizationResult);
+		}
+		return this.defaultHandler.handleDeniedInvocation(methodInvocation, authorizationResult);
+	}
+
+	/**
+	 * Sets which method invocations to remember the results of. By default, the results
+	 * of all method invocations with immutable arguments are remembered.
+	 * @param memoizable the {@link Predicate} to use
+	 */
+	public void setMemoizable(Predicate<MethodInvocation> memoizable) {
+		Assert.notNull(memoizable, "memoizable cannot be null");
+		this.memoizable = memoizable;
+	}
+
+	/**
+	 * Sets the maximum number of results to remember per request. The default is 1024.
+	 * @param maxResults the maximum number of results per request
+	 */
+	public void setMaxResultsPerRequest(int maxResults) {
+		Assert.isTrue(maxResults > 0, "maxResults must be greater than 0");
+		this.cache = new MethodAuthorizationResultCache(maxResults);
+	}
+
+	/**
+	 * Returns the number of times that a remembered result was used.
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return this.cache.getHitCount();
+	}
+
+	/**
+	 * Returns the number of times that the delegate {@link ReactiveAuthorizationManager}
+	 * was consulted for a memoizable method invocation.
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return this.cache.getMissCount();
+	}
+
+	/**
+	 * Returns the ratio of memoizable method invocations for which a remembered result
+	 * was used.
+	 * @return the hit ratio between 0 and 1
+	 */
+	public double getHitRatio() {
+		return this.cache.getHitRatio();
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization.method;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.aopalliance.intercept.MethodInvocation;
+
+import org.springframework.core.MethodClassKey;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Remembers the {@link AuthorizationResult}s of method invocations per scope, such as
+ * the {@link org.springframework.security.core.context.SecurityContext} that is bound
+ * for the current request, and per {@link Authentication}, keyed by the invoked method,
+ * the target class and the arguments. The results of a scope are discarded once another
+ * scope uses the same slot or once the scope is no longer referenced, and they are not
+ * used for another {@link Authentication}.
+ *
+ * <p>
+ * Only invocations whose arguments are immutable values, that is {@code null},
+ * {@link String}s, boxed primitives, enums, and records of those, are remembered, since
+ * the result for a mutable argument may change when the argument is changed.
+ *
+ * <p>
+ * For internal use only, as this contract is likely to change.
+ *
+ * @since 7.0
+ */
+final class MethodAuthorizationResultCache {
+
+	private static final int SLOTS = 64;
+
+	private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class,
+			Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class);
+
+	private static final ClassValue<Boolean> immutable = new ClassValue<>() {
+
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			return isImmutable(type, new HashSet<>());
+		}
+
+	};
+
+	private final AtomicReferenceArray<Entry> entries = new AtomicReferenceArray<>(SLOTS);
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final int maxResultsPerScope;
+
+	MethodAuthorizationResultCache(int maxResultsPerScope) {
+		this.maxResultsPerScope = maxResultsPerScope;
+	}
+
+	/**
+	 * Returns whether the result of the given invocation can be remembered, which is the
+	 * case if all of its arguments are immutable values.
+	 */
+	static boolean isMemoizable(MethodInvocation mi) {
+		for (Object argument : mi.getArguments()) {
+			if (argument != null && !immutable.get(argument.getClass())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	AuthorizationResult get(Object scope, Authentication authentication, MethodInvocation mi) {
+		Entry entry = this.entries.get(slot(scope));
+		AuthorizationResult result = (entry != null && entry.matches(scope, authentication))
+				? entry.results.get(new Key(mi)) : null;
+		if (result != null) {
+			this.hits.increment();
+		}
+		else {
+			this.misses.increment();
+		}
+		return result;
+	}
+
+	void put(Object scope, Authentication authentication, MethodInvocation mi, AuthorizationResult result) {
+		int slot = slot(scope);
+		Entry entry = this.entries.get(slot);
+		if (entry == null || !entry.matches(scope, authentication)) {
+			removeEndedScopes();
+			entry = new Entry(scope, authentication);
+			this.entries.set(slot, entry);
+		}
+		if (entry.results.size() < this.maxResultsPerScope) {
+			entry.results.put(new Key(mi), result);
+		}
+	}
+
+	long getHitCount() {
+		return this.hits.sum();
+	}
+
+	long getMissCount() {
+		return this.misses.sum();
+	}
+
+	double getHitRatio() {
+		long hits = getHitCount();
+		long total = hits + getMissCount();
+		return (total != 0) ? (double) hits / total : 0;
+	}
+
+	private void removeEndedScopes() {
+		for (int i = 0; i < SLOTS; i++) {
+			Entry entry = this.entries.get(i);
+			if (entry != null && entry.scope.get() == null) {
+				this.entries.compareAndSet(i, entry, null);
+			}
+		}
+	}
+
+	private static int slot(Object scope) {
+		return System.identityHashCode(scope) & (SLOTS - 1);
+	}
+
+	private static boolean isImmutable(Class<?> type, Set<Class<?>> records) {
+		if (type.isPrimitive() || IMMUTABLE_TYPES.contains(type) || Enum.class.isAssignableFrom(type)) {
+			return true;
+		}
+		if (!type.isRecord()) {
+			return false;
+		}
+		// record values cannot form cycles, so a record that refers to itself only
+		// depends on its other components
+		if (!records.add(type)) {
+			return true;
+		}
+		for (RecordComponent component : type.getRecordComponents()) {
+			if (!isImmutable(component.getType(), records)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class Entry {
+
+		private final WeakReference<Object> scope;
+
+		private final WeakReference<Authentication> authentication;
+
+		private final Map<Key, AuthorizationResult> results = new ConcurrentHashMap<>();
+
+		private Entry(Object scope, Authentication authentication) {
+			this.scope = new WeakReference<>(scope);
+			this.authentication = new WeakReference<>(authentication);
+		}
+
+		private boolean matches(Object scope, Authentication authentication) {
+			return this.scope.get() == scope && this.authentication.get() == authentication;
+		}
+
+	}
+
+	private static final class Key {
+
+		private final MethodClassKey method;
+
+		private final List<Object> arguments;
+
+		private Key(MethodInvocation mi) {
+			Object target = mi.getThis();
+			this.method = new MethodClassKey(mi.getMethod(), (target != null) ? target.getClass() : null);
+			// the arguments are immutable, so they can be kept as they are
+			this.arguments = Arrays.asList(mi.getArguments().clone());
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Key key)) {
+				return false;
+			}
+			return this.method.equals(key.method) && this.arguments.equals(key.arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.method, this.arguments);
+		}
+
+	}
+
+}
@@ -17,6 +17,8 @@
 package org.springframework.security.authorization.method;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
 
 import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInterceptor;
@@ -52,6 +54,10 @@ public final class PostFilterAuthorizationReactiveMethodInterceptor implements A
 
 	private int order = AuthorizationInterceptorsOrder.POST_FILTER.getOrder();
 
+	private int batchSize = 256;
+
+	private Duration batchTimeout = Duration.ofMillis(100);
+
 	/**
 	 * Creates an instance.
 	 */
@@ -135,24 +141,26 @@ public final class PostFilterAuthorizationReactiveMethodInterceptor implements A
 	}
 
 	private Mono<?> filterSingleValue(Publisher<?> publisher, EvaluationContext ctx, ExpressionAttribute attribute) {
-		return Mono.from(publisher)
-			.doOnNext((result) -> setFilterObject(ctx, result))
-			.flatMap((result) -> postFilter(ctx, result, attribute));
+		return Mono.from(publisher).flatMap((result) -> postFilter(ctx, result, attribute));
 	}
 
 	private Flux<?> filterMultiValue(Publisher<?> publisher, EvaluationContext ctx, ExpressionAttribute attribute) {
-		return Flux.from(publisher)
-			.doOnNext((result) -> setFilterObject(ctx, result))
-			.flatMap((result) -> postFilter(ctx, result, attribute));
-	}
-
-	private void setFilterObject(EvaluationContext ctx, Object result) {
-		((MethodSecurityExpressionOperations) ctx.getRootObject().getValue()).setFilterObject(result);
+		MethodSecurityExpressionHandler expressionHandler = this.registry.getExpressionHandler();
+		if (expressionHandler instanceof DefaultMethodSecurityExpressionHandler defaultExpressionHandler
+				&& defaultExpressionHandler.isBatchFilterExpression(attribute.getExpression(), ctx)) {
+			return Flux.from(publisher)
+				.bufferTimeout(this.batchSize, this.batchTimeout, true)
+				.concatMapIterable((batch) -> (Collection<?>) expressionHandler.filter(batch,
+						attribute.getExpression(), ctx));
+		}
+		return Flux.from(publisher).concatMap((result) -> postFilter(ctx, result, attribute));
 	}
 
 	private Mono<?> postFilter(EvaluationContext ctx, Object result, ExpressionAttribute attribute) {
-		return ReactiveExpressionUtils.evaluateAsBoolean(attribute.getExpression(), ctx)
-			.flatMap((granted) -> granted ? Mono.just(result) : Mono.empty());
+		return Mono.defer(() -> {
+			((MethodSecurityExpressionOperations) ctx.getRootObject().getValue()).setFilterObject(result);
+			return ReactiveExpressionUtils.evaluateAsBoolean(attribute.getExpression(), ctx);
+		}).flatMap((granted) -> granted ? Mono.just(result) : Mono.empty());
 	}
 
 	@Override
@@ -179,4 +187,30 @@ public final class PostFilterAuthorizationReactiveMethodInterceptor implements A
 		this.order = order;
 	}
 
+	/**
+	 * Sets the maximum number of elements of a multi-value result that are filtered
+	 * together when the {@link MethodSecurityExpressionHandler} checks the permissions
+	 * of the elements in batches. The default is 256.
+	 * @param batchSize the maximum number of elements per batch
+	 * @since 7.0
+	 * @see DefaultMethodSecurityExpressionHandler#isBatchFilterExpression
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the maximum time to wait for a batch to fill up before filtering the elements
+	 * received so far. The default is 100 milliseconds.
+	 * @param batchTimeout the maximum time to wait for a batch to fill up
+	 * @since 7.0
+	 * @see #setBatchSize(int)
+	 */
+	public void setBatchTimeout(Duration batchTimeout) {
+		Assert.notNull(batchTimeout, "batchTimeout cannot be null");
+		Assert.isTrue(!batchTimeout.isNegative() && !batchTimeout.isZero(), "batchTimeout must be positive");
+		this.batchTimeout = batchTimeout;
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.security.concurrent;
 
 import java.util.concurrent.Callable;
 
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
@@ -90,6 +91,9 @@ public final class DelegatingSecurityContextCallable<V> implements Callable<V> {
 
 	@Override
 	public V call() throws Exception {
+		if (this.securityContextHolderStrategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+			return scoped.callWhere(() -> this.delegateSecurityContext, this.delegate::call);
+		}
 		this.originalSecurityContext = this.securityContextHolderStrategy.getContext();
 		try {
 			this.securityContextHolderStrategy.setContext(this.delegateSecurityContext);
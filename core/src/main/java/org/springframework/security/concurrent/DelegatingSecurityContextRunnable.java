@@ -16,6 +16,7 @@
 
 package org.springframework.security.concurrent;
 
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
@@ -88,6 +89,10 @@ public final class DelegatingSecurityContextRunnable implements Runnable {
 
 	@Override
 	public void run() {
+		if (this.securityContextHolderStrategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+			scoped.runWhere(this.delegateSecurityContext, this.delegate);
+			return;
+		}
 		this.originalSecurityContext = this.securityContextHolderStrategy.getContext();
 		try {
 			this.securityContextHolderStrategy.setContext(this.delegateSecurityContext);
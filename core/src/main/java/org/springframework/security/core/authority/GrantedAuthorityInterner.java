@@ -0,0 +1,81 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.authority;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+
+/**
+ * Hands out a canonical {@link SimpleGrantedAuthority} instance per authority, so that
+ * the authorities of all users share the same instances instead of each login creating
+ * its own copies. Since the hash code of the authority is computed once per canonical
+ * instance and equal authorities are usually the same instance, comparing them is cheap.
+ *
+ * <p>
+ * At most {@link #GrantedAuthorityInterner(int) a maximum number} of authorities are
+ * interned; once that number is reached, authorities that are not yet interned are
+ * returned as new instances.
+ *
+ * @since 7.0
+ */
+public final class GrantedAuthorityInterner {
+
+	private static final int DEFAULT_MAX_SIZE = 4096;
+
+	private final Map<String, SimpleGrantedAuthority> authorities = new ConcurrentHashMap<>();
+
+	private final int maxSize;
+
+	/**
+	 * Creates a {@link GrantedAuthorityInterner} that interns up to 4096 authorities.
+	 */
+	public GrantedAuthorityInterner() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates a {@link GrantedAuthorityInterner} that interns up to {@code maxSize}
+	 * authorities.
+	 * @param maxSize the maximum number of authorities to intern
+	 */
+	public GrantedAuthorityInterner(int maxSize) {
+		Assert.isTrue(maxSize > 0, "maxSize must be greater than 0");
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the canonical {@link GrantedAuthority} for the given authority.
+	 * @param authority the textual representation of the authority
+	 * @return the canonical {@link SimpleGrantedAuthority}
+	 */
+	public SimpleGrantedAuthority intern(String authority) {
+		SimpleGrantedAuthority interned = this.authorities.get(authority);
+		if (interned != null) {
+			return interned;
+		}
+		SimpleGrantedAuthority created = new SimpleGrantedAuthority(authority);
+		if (this.authorities.size() >= this.maxSize) {
+			return created;
+		}
+		interned = this.authorities.putIfAbsent(authority, created);
+		return (interned != null) ? interned : created;
+	}
+
+}
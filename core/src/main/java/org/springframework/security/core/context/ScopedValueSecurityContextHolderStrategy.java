@@ -0,0 +1,358 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SecurityContextHolderStrategy} that binds the {@link SecurityContext} to a
+ * {@code java.lang.ScopedValue} instead of a {@link ThreadLocal}, which suits
+ * applications that run a large number of short-lived virtual threads.
+ *
+ * <p>
+ * A context is bound with {@link #callWhere(Supplier, ScopedCallable)} or
+ * {@link #runWhere(SecurityContext, Runnable)} for the duration of an operation. The
+ * binding is inherited by the threads forked while it is bound, for example the subtasks
+ * of a {@code StructuredTaskScope}, and disappears when the operation completes, so no
+ * per-thread cleanup is needed.
+ * {@code SecurityContextHolderFilter} and the {@code DelegatingSecurityContext*} types
+ * in {@code org.springframework.security.concurrent} bind the context this way when
+ * they are configured with this strategy.
+ *
+ * <p>
+ * Within a bound operation, {@link #setContext(SecurityContext)} and
+ * {@link #clearContext()} change the context for the remainder of that operation only.
+ * When they are invoked by a forked thread, they only change the context of that
+ * thread, so that the operation and the other forked threads keep their context.
+ * Outside of any bound operation, and on Java versions before 25 where
+ * {@code ScopedValue} is not available, this strategy behaves like the
+ * {@link ThreadLocal}-based default strategy.
+ *
+ * @since 7.0
+ * @see SecurityContextHolder#MODE_SCOPED_VALUE
+ */
+public final class ScopedValueSecurityContextHolderStrategy implements SecurityContextHolderStrategy {
+
+	private static final ThreadLocal<Supplier<SecurityContext>> fallbackContextHolder = new ThreadLocal<>();
+
+	private static final ThreadLocal<ForkedContext> forkedContextHolder = new ThreadLocal<>();
+
+	private static final Object SCOPED_VALUE;
+
+	private static final MethodHandle WHERE;
+
+	private static final MethodHandle RUN;
+
+	private static final MethodHandle IS_BOUND;
+
+	private static final MethodHandle GET;
+
+	static {
+		Object scopedValue = null;
+		MethodHandle where = null;
+		MethodHandle run = null;
+		MethodHandle isBound = null;
+		MethodHandle get = null;
+		if (Runtime.version().feature() >= 25) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+				Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+				Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+				scopedValue = lookup
+					.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+					.invoke();
+				where = lookup.findStatic(scopedValueClass, "where",
+						MethodType.methodType(carrierClass, scopedValueClass, Object.class));
+				run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class));
+				isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class));
+				get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class));
+			}
+			catch (Throwable ex) {
+				scopedValue = null;
+			}
+		}
+		SCOPED_VALUE = scopedValue;
+		WHERE = where;
+		RUN = run;
+		IS_BOUND = isBound;
+		GET = get;
+	}
+
+	/**
+	 * Whether {@code java.lang.ScopedValue} is available on the current Java version. If
+	 * not, bound operations use a {@link ThreadLocal} that is restored once they
+	 * complete.
+	 * @return {@code true} if contexts are bound to a {@code ScopedValue}
+	 */
+	public static boolean isScopedValueSupported() {
+		return SCOPED_VALUE != null;
+	}
+
+	/**
+	 * Runs the given operation with the given {@link SecurityContext} bound.
+	 * @param context the {@link SecurityContext} to bind
+	 * @param runnable the operation to run
+	 */
+	public void runWhere(SecurityContext context, Runnable runnable) {
+		Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
+		Assert.notNull(runnable, "runnable cannot be null");
+		callWhere(() -> context, () -> {
+			runnable.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Calls the given operation with the {@link SecurityContext} that is returned by
+	 * {@code deferredContext} bound. The {@link Supplier} is only invoked once the
+	 * context is looked up.
+	 * @param deferredContext a {@link Supplier} that returns the {@link SecurityContext}
+	 * @param operation the operation to call
+	 * @param <T> the type of the result
+	 * @param <X> the type of the exception thrown by the operation
+	 * @return the result of the operation
+	 * @throws X if the operation fails
+	 */
+	public <T, X extends Exception> T callWhere(Supplier<SecurityContext> deferredContext,
+			ScopedCallable<T, X> operation) throws X {
+		Assert.notNull(deferredContext, "Only non-null Supplier instances are permitted");
+		Assert.notNull(operation, "operation cannot be null");
+		Supplier<SecurityContext> notNullDeferredContext = notNull(deferredContext);
+		if (SCOPED_VALUE == null) {
+			return callWithThreadLocal(notNullDeferredContext, operation);
+		}
+		Scope scope = new Scope(notNullDeferredContext);
+		ScopedResult<T> result = new ScopedResult<>();
+		Runnable runnable = () -> {
+			try {
+				result.value = operation.call();
+			}
+			catch (Throwable ex) {
+				result.failure = ex;
+			}
+		};
+		try {
+			RUN.invoke(WHERE.invoke(SCOPED_VALUE, scope), runnable);
+		}
+		catch (Throwable ex) {
+			throw new IllegalStateException("Failed to bind the SecurityContext to a ScopedValue", ex);
+		}
+		return result.<X>get();
+	}
+
+	@Override
+	public void clearContext() {
+		Scope scope = currentScope();
+		if (scope != null) {
+			setDeferredContext(scope, null);
+			return;
+		}
+		fallbackContextHolder.remove();
+		forkedContextHolder.remove();
+	}
+
+	@Override
+	public SecurityContext getContext() {
+		return getDeferredContext().get();
+	}
+
+	@Override
+	public Supplier<SecurityContext> getDeferredContext() {
+		Scope scope = currentScope();
+		Supplier<SecurityContext> result = (scope != null) ? getDeferredContext(scope) : getFallbackContext();
+		if (result == null) {
+			SecurityContext context = createEmptyContext();
+			result = () -> context;
+			setDeferredContext(scope, result);
+		}
+		return result;
+	}
+
+	@Override
+	public void setContext(SecurityContext context) {
+		Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
+		setDeferredContext(currentScope(), () -> context);
+	}
+
+	@Override
+	public void setDeferredContext(Supplier<SecurityContext> deferredContext) {
+		Assert.notNull(deferredContext, "Only non-null Supplier instances are permitted");
+		setDeferredContext(currentScope(), notNull(deferredContext));
+	}
+
+	@Override
+	public SecurityContext createEmptyContext() {
+		return new SecurityContextImpl();
+	}
+
+	private static Supplier<SecurityContext> getDeferredContext(Scope scope) {
+		if (scope.owner == Thread.currentThread()) {
+			return scope.deferredContext;
+		}
+		ForkedContext forkedContext = forkedContextHolder.get();
+		if (forkedContext == null) {
+			return scope.deferredContext;
+		}
+		if (forkedContext.scope.get() != scope) {
+			// the subtask that set it has completed
+			forkedContextHolder.remove();
+			return scope.deferredContext;
+		}
+		return forkedContext.deferredContext;
+	}
+
+	private static Supplier<SecurityContext> getFallbackContext() {
+		if (SCOPED_VALUE != null) {
+			// a subtask that set its own context has completed
+			forkedContextHolder.remove();
+		}
+		return fallbackContextHolder.get();
+	}
+
+	private static void setDeferredContext(Scope scope, Supplier<SecurityContext> deferredContext) {
+		if (scope == null) {
+			fallbackContextHolder.set(deferredContext);
+			forkedContextHolder.remove();
+		}
+		else if (scope.owner == Thread.currentThread()) {
+			scope.deferredContext = deferredContext;
+		}
+		else {
+			forkedContextHolder.set(new ForkedContext(scope, deferredContext));
+		}
+	}
+
+	private static <T, X extends Exception> T callWithThreadLocal(Supplier<SecurityContext> deferredContext,
+			ScopedCallable<T, X> operation) throws X {
+		Supplier<SecurityContext> original = fallbackContextHolder.get();
+		fallbackContextHolder.set(deferredContext);
+		try {
+			return operation.call();
+		}
+		finally {
+			if (original != null) {
+				fallbackContextHolder.set(original);
+			}
+			else {
+				fallbackContextHolder.remove();
+			}
+		}
+	}
+
+	private static Scope currentScope() {
+		if (SCOPED_VALUE == null) {
+			return null;
+		}
+		try {
+			return ((boolean) IS_BOUND.invoke(SCOPED_VALUE)) ? (Scope) GET.invoke(SCOPED_VALUE) : null;
+		}
+		catch (Throwable ex) {
+			throw new IllegalStateException("Failed to look up the SecurityContext bound to a ScopedValue", ex);
+		}
+	}
+
+	private static Supplier<SecurityContext> notNull(Supplier<SecurityContext> deferredContext) {
+		return () -> {
+			SecurityContext result = deferredContext.get();
+			Assert.notNull(result, "A Supplier<SecurityContext> returned null and is not allowed.");
+			return result;
+		};
+	}
+
+	/**
+	 * An operation that is called while a {@link SecurityContext} is bound.
+	 *
+	 * @param <T> the type of the result
+	 * @param <X> the type of the exception thrown by the operation
+	 */
+	@FunctionalInterface
+	public interface ScopedCallable<T, X extends Exception> {
+
+		/**
+		 * Calls the operation.
+		 * @return the result of the operation
+		 * @throws X if the operation fails
+		 */
+		T call() throws X;
+
+	}
+
+	/**
+	 * The value that is bound to the {@code ScopedValue}. Only the bound operation and
+	 * the threads it forks see the same instance, and only the thread that runs the
+	 * bound operation changes it.
+	 */
+	private static final class Scope {
+
+		private final Thread owner = Thread.currentThread();
+
+		private volatile Supplier<SecurityContext> deferredContext;
+
+		private Scope(Supplier<SecurityContext> deferredContext) {
+			this.deferredContext = deferredContext;
+		}
+
+	}
+
+	/**
+	 * The context that a forked thread set or cleared while a {@link Scope} is bound,
+	 * which applies to that thread only and only while the same {@link Scope} is bound.
+	 * It is removed once the thread uses this strategy without that {@link Scope} being
+	 * bound, so that threads that are reused do not hold on to it.
+	 */
+	private static final class ForkedContext {
+
+		private final WeakReference<Scope> scope;
+
+		private final Supplier<SecurityContext> deferredContext;
+
+		private ForkedContext(Scope scope, Supplier<SecurityContext> deferredContext) {
+			this.scope = new WeakReference<>(scope);
+			this.deferredContext = deferredContext;
+		}
+
+	}
+
+	private static final class ScopedResult<T> {
+
+		private T value;
+
+		private Throwable failure;
+
+		@SuppressWarnings("unchecked")
+		private <X extends Exception> T get() throws X {
+			if (this.failure == null) {
+				return this.value;
+			}
+			if (this.failure instanceof RuntimeException ex) {
+				throw ex;
+			}
+			if (this.failure instanceof Error error) {
+				throw error;
+			}
+			throw (X) this.failure;
+		}
+
+	}
+
+}
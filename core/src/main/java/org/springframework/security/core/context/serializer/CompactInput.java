@@ -0,0 +1,295 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * The input that {@link CompactTypeSerializer}s read from. Every {@code read} method reads
+ * what the corresponding {@code write} method of {@link CompactOutput} wrote.
+ *
+ * @since 7.0
+ * @see CompactOutput
+ */
+public final class CompactInput {
+
+	private static final int MAX_LENGTH = 16 * 1024 * 1024;
+
+	private final InputStream in;
+
+	private final CompactSecurityContextSerializer serializer;
+
+	private final List<String> dictionary;
+
+	private final List<String> strings = new ArrayList<>();
+
+	CompactInput(InputStream in, CompactSecurityContextSerializer serializer) {
+		this.in = in;
+		this.serializer = serializer;
+		this.dictionary = serializer.getDictionary();
+	}
+
+	/**
+	 * Reads a {@code boolean}.
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	/**
+	 * Reads an {@code int}.
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public int readInt() throws IOException {
+		long value = readLong();
+		if (value != (int) value) {
+			throw new StreamCorruptedException("Expected an int but got " + value);
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Reads a {@code long}.
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public long readLong() throws IOException {
+		long value = readUnsigned();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Reads a {@link String} that may be {@code null}.
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public String readString() throws IOException {
+		long reference = readUnsigned();
+		if (reference == 0) {
+			return null;
+		}
+		if (reference == 1) {
+			byte[] bytes = readBytes(readLength());
+			String value = new String(bytes, StandardCharsets.UTF_8);
+			this.strings.add(value);
+			return value;
+		}
+		long index = reference - 2;
+		if (index < this.dictionary.size()) {
+			return this.dictionary.get((int) index);
+		}
+		index -= this.dictionary.size();
+		if (index >= this.strings.size()) {
+			throw new StreamCorruptedException("Unknown string reference " + reference);
+		}
+		return this.strings.get((int) index);
+	}
+
+	/**
+	 * Reads an {@link Instant} that may be {@code null}.
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public Instant readInstant() throws IOException {
+		return readBoolean() ? Instant.ofEpochSecond(readLong(), readInt()) : null;
+	}
+
+	/**
+	 * Reads authorities.
+	 * @return the authorities
+	 * @throws IOException if the authorities cannot be read
+	 */
+	public List<GrantedAuthority> readAuthorities() throws IOException {
+		int size = readLength();
+		List<GrantedAuthority> authorities = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			authorities.add(readValue(GrantedAuthority.class));
+		}
+		return authorities;
+	}
+
+	/**
+	 * Reads a {@link Map} with {@link String} keys that may be {@code null}.
+	 * @return the map
+	 * @throws IOException if the map cannot be read
+	 */
+	public Map<String, Object> readMap() throws IOException {
+		return readBoolean() ? readEntries() : null;
+	}
+
+	/**
+	 * Reads a value of the given type that may be {@code null}.
+	 * @param type the expected type
+	 * @param <T> the expected type
+	 * @return the value
+	 * @throws IOException if the value cannot be read or is not of the expected type
+	 */
+	public <T> T readValue(Class<T> type) throws IOException {
+		Object value = readValue();
+		if (value != null && !type.isInstance(value)) {
+			throw new StreamCorruptedException(
+					"Expected " + type.getName() + " but got " + value.getClass().getName());
+		}
+		return type.cast(value);
+	}
+
+	/**
+	 * Reads a value of any type that may be {@code null}.
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	public Object readValue() throws IOException {
+		int tag = readByte();
+		return switch (tag) {
+			case CompactOutput.NULL -> null;
+			case CompactOutput.STRING -> readString();
+			case CompactOutput.TRUE -> Boolean.TRUE;
+			case CompactOutput.FALSE -> Boolean.FALSE;
+			case CompactOutput.INT -> readInt();
+			case CompactOutput.LONG -> readLong();
+			case CompactOutput.DOUBLE -> Double.longBitsToDouble(readFixedLong());
+			case CompactOutput.INSTANT -> Instant.ofEpochSecond(readLong(), readInt());
+			case CompactOutput.URL_STRING -> readUrl();
+			case CompactOutput.AUTHORITY -> new SimpleGrantedAuthority(readString());
+			case CompactOutput.LIST -> readElements(new ArrayList<>());
+			case CompactOutput.SET -> readElements(new LinkedHashSet<>());
+			case CompactOutput.MAP -> readEntries();
+			case CompactOutput.TYPE -> readObject();
+			case CompactOutput.JAVA -> readSerializable();
+			default -> throw new StreamCorruptedException("Unknown value tag " + tag);
+		};
+	}
+
+	private Object readObject() throws IOException {
+		int typeId = readLength();
+		int schemaVersion = readLength();
+		CompactTypeSerializer<?> typeSerializer = this.serializer.getTypeSerializer(typeId);
+		if (typeSerializer == null) {
+			throw new StreamCorruptedException("No serializer is registered for type id " + typeId);
+		}
+		if (schemaVersion > typeSerializer.getSchemaVersion()) {
+			throw new StreamCorruptedException("Schema version " + schemaVersion + " of type id " + typeId
+					+ " is newer than the supported version " + typeSerializer.getSchemaVersion());
+		}
+		return typeSerializer.deserialize(this, schemaVersion);
+	}
+
+	private Object readSerializable() throws IOException {
+		byte[] bytes = readBytes(readLength());
+		try (ObjectInputStream objects = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+				this.serializer.getClassLoader())) {
+			return objects.readObject();
+		}
+		catch (ClassNotFoundException ex) {
+			throw new IOException("Failed to deserialize a value with Java serialization", ex);
+		}
+	}
+
+	private URL readUrl() throws IOException {
+		String url = readString();
+		try {
+			return URI.create(url).toURL();
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IOException("Failed to read URL " + url, ex);
+		}
+	}
+
+	private <C extends Collection<Object>> C readElements(C elements) throws IOException {
+		int size = readLength();
+		for (int i = 0; i < size; i++) {
+			elements.add(readValue());
+		}
+		return elements;
+	}
+
+	private Map<String, Object> readEntries() throws IOException {
+		int size = readLength();
+		Map<String, Object> entries = new LinkedHashMap<>(Math.max(16, size * 2));
+		for (int i = 0; i < size; i++) {
+			entries.put(readString(), readValue());
+		}
+		return entries;
+	}
+
+	int readLength() throws IOException {
+		long length = readUnsigned();
+		if (length > MAX_LENGTH) {
+			throw new StreamCorruptedException("Length " + length + " exceeds the maximum of " + MAX_LENGTH);
+		}
+		return (int) length;
+	}
+
+	int readByte() throws IOException {
+		int value = this.in.read();
+		if (value < 0) {
+			throw new EOFException();
+		}
+		return value;
+	}
+
+	private long readUnsigned() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("Malformed variable-length number");
+	}
+
+	private long readFixedLong() throws IOException {
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | readByte();
+		}
+		return value;
+	}
+
+	private byte[] readBytes(int length) throws IOException {
+		byte[] bytes = this.in.readNBytes(length);
+		if (bytes.length != length) {
+			throw new EOFException();
+		}
+		return bytes;
+	}
+
+}
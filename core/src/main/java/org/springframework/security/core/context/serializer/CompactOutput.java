@@ -0,0 +1,314 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * The output that {@link CompactTypeSerializer}s write to.
+ *
+ * <p>
+ * Integers are written as variable-length numbers, and every string is written only
+ * once per serialized {@link org.springframework.security.core.context.SecurityContext}
+ * and referenced by an index afterwards. Strings of the
+ * {@link CompactSecurityContextSerializer#setDictionary(List) dictionary}, such as
+ * well-known authorities and claim names, are never written but always referenced.
+ *
+ * @since 7.0
+ * @see CompactInput
+ */
+public final class CompactOutput {
+
+	static final int NULL = 0;
+
+	static final int STRING = 1;
+
+	static final int TRUE = 2;
+
+	static final int FALSE = 3;
+
+	static final int INT = 4;
+
+	static final int LONG = 5;
+
+	static final int DOUBLE = 6;
+
+	static final int INSTANT = 7;
+
+	static final int URL_STRING = 8;
+
+	static final int AUTHORITY = 9;
+
+	static final int LIST = 10;
+
+	static final int SET = 11;
+
+	static final int MAP = 12;
+
+	static final int TYPE = 13;
+
+	static final int JAVA = 14;
+
+	private final OutputStream out;
+
+	private final CompactSecurityContextSerializer serializer;
+
+	private final Map<String, Integer> dictionary;
+
+	private final Map<String, Integer> strings = new HashMap<>();
+
+	CompactOutput(OutputStream out, CompactSecurityContextSerializer serializer) {
+		this.out = out;
+		this.serializer = serializer;
+		this.dictionary = serializer.getDictionaryIndexes();
+	}
+
+	/**
+	 * Writes a {@code boolean}.
+	 * @param value the value to write
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeBoolean(boolean value) throws IOException {
+		this.out.write(value ? 1 : 0);
+	}
+
+	/**
+	 * Writes an {@code int}, using fewer bytes for values that are closer to zero.
+	 * @param value the value to write
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeInt(int value) throws IOException {
+		writeLong(value);
+	}
+
+	/**
+	 * Writes a {@code long}, using fewer bytes for values that are closer to zero.
+	 * @param value the value to write
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeLong(long value) throws IOException {
+		writeUnsigned((value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * Writes a {@link String} that may be {@code null}.
+	 * @param value the value to write
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeString(String value) throws IOException {
+		if (value == null) {
+			writeUnsigned(0);
+			return;
+		}
+		Integer index = this.dictionary.get(value);
+		if (index == null) {
+			index = this.strings.get(value);
+		}
+		if (index != null) {
+			writeUnsigned(index + 2L);
+			return;
+		}
+		this.strings.put(value, this.dictionary.size() + this.strings.size());
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeUnsigned(1);
+		writeUnsigned(bytes.length);
+		this.out.write(bytes);
+	}
+
+	/**
+	 * Writes an {@link Instant} that may be {@code null}.
+	 * @param value the value to write
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeInstant(Instant value) throws IOException {
+		writeBoolean(value != null);
+		if (value != null) {
+			writeLong(value.getEpochSecond());
+			writeInt(value.getNano());
+		}
+	}
+
+	/**
+	 * Writes the given authorities. {@link SimpleGrantedAuthority} instances are written
+	 * as their {@link String} representation, other authorities as described in
+	 * {@link #writeValue(Object)}.
+	 * @param authorities the authorities to write
+	 * @throws IOException if the authorities cannot be written
+	 */
+	public void writeAuthorities(Collection<? extends GrantedAuthority> authorities) throws IOException {
+		writeUnsigned(authorities.size());
+		for (GrantedAuthority authority : authorities) {
+			writeValue(authority);
+		}
+	}
+
+	/**
+	 * Writes a {@link Map} with {@link String} keys that may be {@code null}. The values
+	 * are written as described in {@link #writeValue(Object)}.
+	 * @param map the map to write
+	 * @throws IOException if the map cannot be written
+	 */
+	public void writeMap(Map<String, ?> map) throws IOException {
+		writeBoolean(map != null);
+		if (map != null) {
+			writeEntries(map);
+		}
+	}
+
+	/**
+	 * Writes a value of any type that may be {@code null}.
+	 * <p>
+	 * Strings, booleans, integers, longs, doubles, {@link Instant}s, {@link URL}s,
+	 * {@link SimpleGrantedAuthority}s, lists, sets and maps with {@link String} keys are
+	 * written compactly, as are the types that have a registered
+	 * {@link CompactTypeSerializer}. Other {@link Serializable} values are written with
+	 * Java serialization.
+	 * @param value the value to write
+	 * @throws IOException if the value cannot be written
+	 */
+	public void writeValue(Object value) throws IOException {
+		if (value == null) {
+			this.out.write(NULL);
+		}
+		else if (value instanceof String string) {
+			this.out.write(STRING);
+			writeString(string);
+		}
+		else if (value instanceof Boolean bool) {
+			this.out.write(bool ? TRUE : FALSE);
+		}
+		else if (value instanceof Integer integer) {
+			this.out.write(INT);
+			writeInt(integer);
+		}
+		else if (value instanceof Long number) {
+			this.out.write(LONG);
+			writeLong(number);
+		}
+		else if (value instanceof Double number) {
+			this.out.write(DOUBLE);
+			writeFixedLong(Double.doubleToLongBits(number));
+		}
+		else if (value instanceof Instant instant) {
+			this.out.write(INSTANT);
+			writeLong(instant.getEpochSecond());
+			writeInt(instant.getNano());
+		}
+		else if (value instanceof URL url) {
+			this.out.write(URL_STRING);
+			writeString(url.toExternalForm());
+		}
+		else if (value.getClass() == SimpleGrantedAuthority.class) {
+			this.out.write(AUTHORITY);
+			writeString(((SimpleGrantedAuthority) value).getAuthority());
+		}
+		else {
+			writeObject(value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void writeObject(Object value) throws IOException {
+		CompactTypeSerializer<Object> typeSerializer = (CompactTypeSerializer<Object>) this.serializer
+			.getTypeSerializer(value.getClass());
+		if (typeSerializer != null) {
+			this.out.write(TYPE);
+			writeUnsigned(typeSerializer.getTypeId());
+			writeUnsigned(typeSerializer.getSchemaVersion());
+			typeSerializer.serialize(value, this);
+		}
+		else if (value instanceof List<?> list) {
+			this.out.write(LIST);
+			writeElements(list);
+		}
+		else if (value instanceof Set<?> set) {
+			this.out.write(SET);
+			writeElements(set);
+		}
+		else if (value instanceof Map<?, ?> map && hasStringKeys(map)) {
+			this.out.write(MAP);
+			writeEntries((Map<String, ?>) map);
+		}
+		else if (value instanceof Serializable) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+				objects.writeObject(value);
+			}
+			this.out.write(JAVA);
+			writeUnsigned(bytes.size());
+			bytes.writeTo(this.out);
+		}
+		else {
+			throw new NotSerializableException(value.getClass().getName());
+		}
+	}
+
+	private void writeElements(Collection<?> elements) throws IOException {
+		writeUnsigned(elements.size());
+		for (Object element : elements) {
+			writeValue(element);
+		}
+	}
+
+	private void writeEntries(Map<String, ?> map) throws IOException {
+		writeUnsigned(map.size());
+		for (Map.Entry<String, ?> entry : map.entrySet()) {
+			writeString(entry.getKey());
+			writeValue(entry.getValue());
+		}
+	}
+
+	private static boolean hasStringKeys(Map<?, ?> map) {
+		for (Object key : map.keySet()) {
+			if (!(key instanceof String)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	void writeUnsigned(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			this.out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		this.out.write((int) value);
+	}
+
+	private void writeFixedLong(long value) throws IOException {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			this.out.write((int) (value >>> shift));
+		}
+	}
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context.serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * A {@link Serializer} and {@link Deserializer} that writes a {@link SecurityContext} in
+ * a compact binary form, for storing it in external session stores such as Spring
+ * Session's Redis or JDBC repositories.
+ *
+ * <p>
+ * {@link UsernamePasswordAuthenticationToken}, {@link User} and, when present on the
+ * classpath, {@code WebAuthenticationDetails}, {@code JwtAuthenticationToken},
+ * {@code OAuth2AuthenticationToken} and {@code Saml2Authentication} are written field by
+ * field. Additional types can be written compactly by registering a
+ * {@link CompactTypeSerializer}. Values of other types are written with Java
+ * serialization.
+ *
+ * <p>
+ * Strings that occur in most contexts, such as well-known authorities and claim names,
+ * are kept in a dictionary and written as a single byte. Applications can extend the
+ * dictionary with their own authorities with {@link #setDictionary(List)}. Since the
+ * dictionary is not part of the serialized form, contexts can only be read by a
+ * serializer with the same dictionary, which is verified when reading.
+ *
+ * <pre>
+ * CompactSecurityContextSerializer serializer = new CompactSecurityContextSerializer();
+ * serializer.setDictionary(List.of("ROLE_MANAGER", "SCOPE_message:read"));
+ * byte[] bytes = serializer.serializeToByteArray(context);
+ * SecurityContext context = serializer.deserializeFromByteArray(bytes);
+ * </pre>
+ *
+ * @since 7.0
+ * @see CompactTypeSerializer
+ */
+public final class CompactSecurityContextSerializer
+		implements Serializer<SecurityContext>, Deserializer<SecurityContext> {
+
+	/**
+	 * The largest type id that is reserved for the {@link CompactTypeSerializer}s of
+	 * Spring Security.
+	 */
+	public static final int MAX_RESERVED_TYPE_ID = 127;
+
+	private static final Log logger = LogFactory.getLog(CompactSecurityContextSerializer.class);
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int EMPTY_CONTEXT = 0;
+
+	private static final int CONTEXT = 1;
+
+	private static final int OTHER_CONTEXT = 2;
+
+	private static final List<String> DEFAULT_DICTIONARY = List.of("ROLE_USER", "ROLE_ADMIN", "ROLE_ANONYMOUS",
+			"OAUTH2_USER", "OIDC_USER", "SCOPE_openid", "SCOPE_profile", "SCOPE_email", "SCOPE_address",
+			"SCOPE_phone", "sub", "iss", "aud", "exp", "iat", "nbf", "jti", "azp", "nonce", "auth_time", "at_hash",
+			"sid", "scope", "scp", "name", "email", "email_verified", "preferred_username", "given_name",
+			"family_name", "alg", "typ", "kid", "JWT", "RS256", "ES256", "HS256");
+
+	private static final List<String> defaultTypeSerializerClasses = Arrays.asList(
+			"org.springframework.security.web.authentication.WebAuthenticationDetailsCompactSerializer",
+			"org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationTokenCompactSerializer",
+			"org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationTokenCompactSerializer",
+			"org.springframework.security.saml2.provider.service.authentication.Saml2AuthenticationCompactSerializer");
+
+	private final ClassLoader classLoader;
+
+	private final Map<Class<?>, CompactTypeSerializer<?>> defaultSerializersByType = new HashMap<>();
+
+	private Map<Class<?>, CompactTypeSerializer<?>> serializersByType;
+
+	private Map<Integer, CompactTypeSerializer<?>> serializersById;
+
+	private List<String> dictionary = DEFAULT_DICTIONARY;
+
+	private Map<String, Integer> dictionaryIndexes = indexes(DEFAULT_DICTIONARY);
+
+	private int dictionaryHash = DEFAULT_DICTIONARY.hashCode();
+
+	/**
+	 * Creates a serializer that uses the class loader of this class to load the default
+	 * {@link CompactTypeSerializer}s and Java serialized values.
+	 */
+	public CompactSecurityContextSerializer() {
+		this(CompactSecurityContextSerializer.class.getClassLoader());
+	}
+
+	/**
+	 * Creates a serializer that uses the given class loader to load the default
+	 * {@link CompactTypeSerializer}s and Java serialized values.
+	 * @param classLoader the class loader to use
+	 */
+	public CompactSecurityContextSerializer(ClassLoader classLoader) {
+		Assert.notNull(classLoader, "classLoader cannot be null");
+		this.classLoader = classLoader;
+		addDefaultTypeSerializer(new UsernamePasswordAuthenticationTokenCompactSerializer());
+		addDefaultTypeSerializer(new UserCompactSerializer());
+		for (String className : defaultTypeSerializerClasses) {
+			CompactTypeSerializer<?> typeSerializer = loadAndGetInstance(className, classLoader);
+			if (typeSerializer != null) {
+				addDefaultTypeSerializer(typeSerializer);
+			}
+		}
+		setTypeSerializers(Collections.emptyList());
+	}
+
+	/**
+	 * Sets additional strings, such as the authorities of the application, that are
+	 * written as an index instead of the string itself. Strings are best ordered by
+	 * descending frequency, since lower indexes take fewer bytes.
+	 *
+	 * <p>
+	 * The dictionary is part of the serialized format: contexts that were written with
+	 * one dictionary cannot be read with another one, so strings should only be added
+	 * when all stored contexts can be discarded.
+	 * @param dictionary the additional strings
+	 */
+	public void setDictionary(List<String> dictionary) {
+		Assert.notNull(dictionary, "dictionary cannot be null");
+		Assert.noNullElements(dictionary, "dictionary cannot contain null elements");
+		List<String> strings = new ArrayList<>(DEFAULT_DICTIONARY);
+		strings.addAll(dictionary);
+		this.dictionary = Collections.unmodifiableList(strings);
+		this.dictionaryIndexes = indexes(this.dictionary);
+		this.dictionaryHash = this.dictionary.hashCode();
+	}
+
+	/**
+	 * Sets additional {@link CompactTypeSerializer}s. A serializer for a type that already
+	 * has a default serializer replaces the default one.
+	 * @param typeSerializers the additional serializers
+	 */
+	public void setTypeSerializers(List<CompactTypeSerializer<?>> typeSerializers) {
+		Assert.notNull(typeSerializers, "typeSerializers cannot be null");
+		Map<Class<?>, CompactTypeSerializer<?>> byType = new HashMap<>(this.defaultSerializersByType);
+		for (CompactTypeSerializer<?> typeSerializer : typeSerializers) {
+			Assert.notNull(typeSerializer, "typeSerializers cannot contain null elements");
+			Assert.isTrue(typeSerializer.getTypeId() > 0, "typeId must be positive");
+			byType.put(typeSerializer.getType(), typeSerializer);
+		}
+		Map<Integer, CompactTypeSerializer<?>> byId = new HashMap<>();
+		for (CompactTypeSerializer<?> typeSerializer : byType.values()) {
+			CompactTypeSerializer<?> existing = byId.put(typeSerializer.getTypeId(), typeSerializer);
+			Assert.isNull(existing, () -> "typeId " + typeSerializer.getTypeId() + " is used by both "
+					+ existing.getType().getName() + " and " + typeSerializer.getType().getName());
+		}
+		this.serializersByType = byType;
+		this.serializersById = byId;
+	}
+
+	@Override
+	public void serialize(SecurityContext context, OutputStream outputStream) throws IOException {
+		Assert.notNull(context, "context cannot be null");
+		CompactOutput output = new CompactOutput(outputStream, this);
+		outputStream.write(FORMAT_VERSION);
+		output.writeInt(this.dictionaryHash);
+		if (context.getClass() != SecurityContextImpl.class) {
+			outputStream.write(OTHER_CONTEXT);
+			output.writeValue(context);
+		}
+		else if (context.getAuthentication() == null) {
+			outputStream.write(EMPTY_CONTEXT);
+		}
+		else {
+			outputStream.write(CONTEXT);
+			output.writeValue(context.getAuthentication());
+		}
+		outputStream.flush();
+	}
+
+	@Override
+	public SecurityContext deserialize(InputStream inputStream) throws IOException {
+		CompactInput input = new CompactInput(inputStream, this);
+		int version = input.readByte();
+		if (version != FORMAT_VERSION) {
+			throw new StreamCorruptedException("Unsupported format version " + version);
+		}
+		if (input.readInt() != this.dictionaryHash) {
+			throw new StreamCorruptedException("The context was serialized with a different dictionary");
+		}
+		int kind = input.readByte();
+		return switch (kind) {
+			case EMPTY_CONTEXT -> new SecurityContextImpl();
+			case CONTEXT -> new SecurityContextImpl(input.readValue(Authentication.class));
+			case OTHER_CONTEXT -> input.readValue(SecurityContext.class);
+			default -> throw new StreamCorruptedException("Unknown context kind " + kind);
+		};
+	}
+
+	ClassLoader getClassLoader() {
+		return this.classLoader;
+	}
+
+	List<String> getDictionary() {
+		return this.dictionary;
+	}
+
+	Map<String, Integer> getDictionaryIndexes() {
+		return this.dictionaryIndexes;
+	}
+
+	CompactTypeSerializer<?> getTypeSerializer(Class<?> type) {
+		return this.serializersByType.get(type);
+	}
+
+	CompactTypeSerializer<?> getTypeSerializer(int typeId) {
+		return this.serializersById.get(typeId);
+	}
+
+	private void addDefaultTypeSerializer(CompactTypeSerializer<?> typeSerializer) {
+		this.defaultSerializersByType.put(typeSerializer.getType(), typeSerializer);
+	}
+
+	private static CompactTypeSerializer<?> loadAndGetInstance(String className, ClassLoader loader) {
+		if (!ClassUtils.isPresent(className, loader)) {
+			return null;
+		}
+		try {
+			Class<?> typeSerializer = ClassUtils.forName(className, loader);
+			logger.debug(LogMessage.format("Loaded compact serializer %s", className));
+			return (CompactTypeSerializer<?>) typeSerializer.getConstructor().newInstance();
+		}
+		catch (Exception | LinkageError ex) {
+			logger.debug(LogMessage.format("Cannot load compact serializer %s", className), ex);
+			return null;
+		}
+	}
+
+	private static Map<String, Integer> indexes(List<String> strings) {
+		Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < strings.size(); i++) {
+			indexes.putIfAbsent(strings.get(i), i);
+		}
+		return indexes;
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context.serializer;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads instances of exactly one type, typically an
+ * {@link org.springframework.security.core.Authentication} or one of its principals,
+ * for the {@link CompactSecurityContextSerializer}.
+ *
+ * <p>
+ * The type id and the schema version are written in front of every serialized value. The
+ * type id identifies this serializer and must never change. The schema version is
+ * incremented whenever the serialized form changes, and
+ * {@link #deserialize(CompactInput, int)} must keep reading values that were written
+ * with earlier schema versions.
+ *
+ * @param <T> the type that is serialized
+ * @since 7.0
+ */
+public interface CompactTypeSerializer<T> {
+
+	/**
+	 * Returns the id that identifies this serializer in the serialized form. Ids up to
+	 * {@value CompactSecurityContextSerializer#MAX_RESERVED_TYPE_ID} are reserved for
+	 * Spring Security.
+	 * @return the type id
+	 */
+	int getTypeId();
+
+	/**
+	 * Returns the type that is serialized. Only instances of exactly this type, not of
+	 * its subtypes, are serialized with this serializer.
+	 * @return the serialized type
+	 */
+	Class<T> getType();
+
+	/**
+	 * Returns the version of the serialized form that {@link #serialize} writes.
+	 * @return the schema version
+	 */
+	default int getSchemaVersion() {
+		return 1;
+	}
+
+	/**
+	 * Writes the given value.
+	 * @param value the value to write
+	 * @param output the output to write to
+	 * @throws IOException if the value cannot be written
+	 */
+	void serialize(T value, CompactOutput output) throws IOException;
+
+	/**
+	 * Reads a value that was written with the given schema version.
+	 * @param input the input to read from
+	 * @param schemaVersion the schema version that the value was written with
+	 * @return the value
+	 * @throws IOException if the value cannot be read
+	 */
+	T deserialize(CompactInput input, int schemaVersion) throws IOException;
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context.serializer;
+
+import java.io.IOException;
+
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * A {@link CompactTypeSerializer} for {@link User}.
+ *
+ * @since 7.0
+ */
+final class UserCompactSerializer implements CompactTypeSerializer<User> {
+
+	@Override
+	public int getTypeId() {
+		return 2;
+	}
+
+	@Override
+	public Class<User> getType() {
+		return User.class;
+	}
+
+	@Override
+	public void serialize(User user, CompactOutput output) throws IOException {
+		output.writeString(user.getUsername());
+		output.writeString(user.getPassword());
+		output.writeBoolean(user.isEnabled());
+		output.writeBoolean(user.isAccountNonExpired());
+		output.writeBoolean(user.isCredentialsNonExpired());
+		output.writeBoolean(user.isAccountNonLocked());
+		output.writeAuthorities(user.getAuthorities());
+	}
+
+	@Override
+	public User deserialize(CompactInput input, int schemaVersion) throws IOException {
+		String username = input.readString();
+		String password = input.readString();
+		User user = new User(username, (password != null) ? password : "", input.readBoolean(), input.readBoolean(),
+				input.readBoolean(), input.readBoolean(), input.readAuthorities());
+		if (password == null) {
+			user.eraseCredentials();
+		}
+		return user;
+	}
+
+}
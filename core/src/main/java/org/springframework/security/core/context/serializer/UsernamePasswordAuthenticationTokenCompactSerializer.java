@@ -0,0 +1,63 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context.serializer;
+
+import java.io.IOException;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+/**
+ * A {@link CompactTypeSerializer} for {@link UsernamePasswordAuthenticationToken}.
+ *
+ * @since 7.0
+ */
+final class UsernamePasswordAuthenticationTokenCompactSerializer
+		implements CompactTypeSerializer<UsernamePasswordAuthenticationToken> {
+
+	@Override
+	public int getTypeId() {
+		return 1;
+	}
+
+	@Override
+	public Class<UsernamePasswordAuthenticationToken> getType() {
+		return UsernamePasswordAuthenticationToken.class;
+	}
+
+	@Override
+	public void serialize(UsernamePasswordAuthenticationToken token, CompactOutput output) throws IOException {
+		output.writeBoolean(token.isAuthenticated());
+		output.writeValue(token.getPrincipal());
+		output.writeValue(token.getCredentials());
+		output.writeAuthorities(token.getAuthorities());
+		output.writeValue(token.getDetails());
+	}
+
+	@Override
+	public UsernamePasswordAuthenticationToken deserialize(CompactInput input, int schemaVersion)
+			throws IOException {
+		boolean authenticated = input.readBoolean();
+		UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(input.readValue(),
+				input.readValue(), input.readAuthorities());
+		if (!authenticated) {
+			token.setAuthenticated(false);
+		}
+		token.setDetails(input.readValue());
+		return token;
+	}
+
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.log.LogMessage;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionRegistry} that is suited for a large number of sessions, including
+ * principals that hold thousands of concurrent sessions.
+ *
+ * <p>
+ * Unlike {@link SessionRegistryImpl}, the session ids of a principal are kept in a
+ * concurrent set, so that registering and removing a session takes constant time
+ * regardless of how many sessions the principal already has. Updates for the same
+ * principal are serialized, while updates for different principals proceed in parallel.
+ *
+ * <p>
+ * Like {@link SessionRegistryImpl}, this registry is notified of destroyed sessions
+ * through {@link SessionDestroyedEvent}s. When a {@link #setMaxInactiveInterval(Duration)
+ * maximum inactive interval} is configured, sessions that have not been used for longer
+ * than that interval are additionally reclaimed by a timing wheel, so that sessions whose
+ * destruction was never published do not accumulate. The timing wheel is swept as part of
+ * {@link #registerNewSession(String, Object)} and can also be swept explicitly with
+ * {@link #removeInactiveSessions()}.
+ *
+ * @since 7.0
+ * @see SessionRegistryImpl
+ */
+public final class InMemorySessionRegistry implements SessionRegistry, ApplicationListener<AbstractSessionEvent> {
+
+	private static final int WHEEL_SIZE = 512;
+
+	private static final int TICKS_PER_INTERVAL = 64;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final ConcurrentMap<Object, Set<String>> principals = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<String, SessionInformation> sessionIds = new ConcurrentHashMap<>();
+
+	private Clock clock = Clock.systemUTC();
+
+	private TimingWheel timingWheel;
+
+	@Override
+	public List<Object> getAllPrincipals() {
+		return new ArrayList<>(this.principals.keySet());
+	}
+
+	@Override
+	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		Set<String> sessionsUsedByPrincipal = this.principals.get(principal);
+		if (sessionsUsedByPrincipal == null) {
+			return Collections.emptyList();
+		}
+		List<SessionInformation> list = new ArrayList<>(sessionsUsedByPrincipal.size());
+		for (String sessionId : sessionsUsedByPrincipal) {
+			SessionInformation sessionInformation = this.sessionIds.get(sessionId);
+			if (sessionInformation == null) {
+				continue;
+			}
+			if (includeExpiredSessions || !sessionInformation.isExpired()) {
+				list.add(sessionInformation);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public SessionInformation getSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		return this.sessionIds.get(sessionId);
+	}
+
+	@Override
+	public void onApplicationEvent(AbstractSessionEvent event) {
+		if (event instanceof SessionDestroyedEvent sessionDestroyedEvent) {
+			removeSessionInformation(sessionDestroyedEvent.getId());
+		}
+		else if (event instanceof SessionIdChangedEvent sessionIdChangedEvent) {
+			SessionInformation info = this.sessionIds.get(sessionIdChangedEvent.getOldSessionId());
+			if (info != null) {
+				removeSessionInformation(sessionIdChangedEvent.getOldSessionId());
+				registerNewSession(sessionIdChangedEvent.getNewSessionId(), info.getPrincipal());
+			}
+		}
+	}
+
+	@Override
+	public void refreshLastRequest(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		SessionInformation info = this.sessionIds.get(sessionId);
+		if (info != null) {
+			info.refreshLastRequest(Date.from(this.clock.instant()));
+		}
+	}
+
+	@Override
+	public void registerNewSession(String sessionId, Object principal) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		Assert.notNull(principal, "Principal required as per interface contract");
+		this.logger.debug(LogMessage.format("Registering session %s, for principal %s", sessionId, principal));
+		SessionInformation info = new SessionInformation(principal, sessionId, Date.from(this.clock.instant()));
+		SessionInformation previous = this.sessionIds.put(sessionId, info);
+		if (previous != null && !previous.getPrincipal().equals(principal)) {
+			removeSessionId(previous.getPrincipal(), sessionId);
+		}
+		this.principals.compute(principal, (key, sessionsUsedByPrincipal) -> {
+			if (sessionsUsedByPrincipal == null) {
+				sessionsUsedByPrincipal = ConcurrentHashMap.newKeySet();
+			}
+			sessionsUsedByPrincipal.add(sessionId);
+			return sessionsUsedByPrincipal;
+		});
+		TimingWheel timingWheel = this.timingWheel;
+		if (timingWheel != null) {
+			long now = this.clock.millis();
+			timingWheel.schedule(sessionId, now + timingWheel.maxInactiveMillis);
+			if (timingWheel.isSweepDue(now)) {
+				timingWheel.sweep(now);
+			}
+		}
+	}
+
+	@Override
+	public void removeSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		SessionInformation info = this.sessionIds.remove(sessionId);
+		if (info == null) {
+			return;
+		}
+		this.logger.debug(LogMessage.format("Removing session %s from set of registered sessions", sessionId));
+		removeSessionId(info.getPrincipal(), sessionId);
+	}
+
+	/**
+	 * Removes every session that has not been used for longer than the
+	 * {@link #setMaxInactiveInterval(Duration) maximum inactive interval}. Only sessions
+	 * whose timing wheel slot has come due are examined, so this is cheap to invoke
+	 * frequently, for example from a scheduled task. Does nothing if no maximum inactive
+	 * interval is configured.
+	 */
+	public void removeInactiveSessions() {
+		TimingWheel timingWheel = this.timingWheel;
+		if (timingWheel != null) {
+			timingWheel.sweep(this.clock.millis());
+		}
+	}
+
+	/**
+	 * Sets the duration after which a session that has not been
+	 * {@link #refreshLastRequest(String) used} is removed from this registry, even if no
+	 * {@link SessionDestroyedEvent} was received for it. This should not be shorter than
+	 * the session timeout of the container, otherwise sessions that are still alive would
+	 * no longer count towards the maximum sessions of their principal. The default is
+	 * {@code null}, which only removes sessions when they are destroyed.
+	 * @param maxInactiveInterval the maximum inactive interval or {@code null} to disable
+	 * removing inactive sessions
+	 */
+	public void setMaxInactiveInterval(Duration maxInactiveInterval) {
+		if (maxInactiveInterval == null) {
+			this.timingWheel = null;
+			return;
+		}
+		Assert.isTrue(!maxInactiveInterval.isNegative() && !maxInactiveInterval.isZero(),
+				"maxInactiveInterval must be positive");
+		TimingWheel timingWheel = new TimingWheel(maxInactiveInterval.toMillis(), this.clock.millis());
+		long deadline = this.clock.millis() + timingWheel.maxInactiveMillis;
+		for (String sessionId : this.sessionIds.keySet()) {
+			timingWheel.schedule(sessionId, deadline);
+		}
+		this.timingWheel = timingWheel;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when registering and refreshing sessions and when
+	 * deciding whether a session is inactive. The default is {@link Clock#systemUTC()}.
+	 * @param clock the clock
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private void removeSessionId(Object principal, String sessionId) {
+		this.principals.computeIfPresent(principal, (key, sessionsUsedByPrincipal) -> {
+			sessionsUsedByPrincipal.remove(sessionId);
+			if (sessionsUsedByPrincipal.isEmpty()) {
+				// No need to keep object in principals Map anymore
+				this.logger.debug(LogMessage.format("Removing principal %s from registry", principal));
+				return null;
+			}
+			return sessionsUsedByPrincipal;
+		});
+	}
+
+	/**
+	 * A hashed timing wheel of session ids. Each slot holds the sessions that may become
+	 * inactive during one tick. Since refreshing a session does not move it, a session
+	 * that turns out to still be active when its slot is swept is rescheduled according
+	 * to its last request.
+	 */
+	private final class TimingWheel {
+
+		private final long maxInactiveMillis;
+
+		private final long tickMillis;
+
+		private final List<Set<String>> slots = new ArrayList<>(WHEEL_SIZE);
+
+		private final ReentrantLock sweepLock = new ReentrantLock();
+
+		private volatile long sweptTick;
+
+		private TimingWheel(long maxInactiveMillis, long now) {
+			this.maxInactiveMillis = maxInactiveMillis;
+			this.tickMillis = Math.max(1, maxInactiveMillis / TICKS_PER_INTERVAL);
+			for (int i = 0; i < WHEEL_SIZE; i++) {
+				this.slots.add(ConcurrentHashMap.newKeySet());
+			}
+			this.sweptTick = now / this.tickMillis;
+		}
+
+		private void schedule(String sessionId, long deadline) {
+			long tick = Math.max((deadline + this.tickMillis - 1) / this.tickMillis, this.sweptTick + 1);
+			this.slots.get((int) (tick % WHEEL_SIZE)).add(sessionId);
+		}
+
+		private boolean isSweepDue(long now) {
+			return now / this.tickMillis > this.sweptTick;
+		}
+
+		private void sweep(long now) {
+			if (!this.sweepLock.tryLock()) {
+				return;
+			}
+			try {
+				long currentTick = now / this.tickMillis;
+				long firstTick = Math.max(this.sweptTick + 1, currentTick - WHEEL_SIZE + 1);
+				int removed = 0;
+				for (long tick = firstTick; tick <= currentTick; tick++) {
+					Set<String> slot = this.slots.get((int) (tick % WHEEL_SIZE));
+					// sessions rescheduled into the same slot wait for its next rotation
+					for (String sessionId : new ArrayList<>(slot)) {
+						slot.remove(sessionId);
+						if (removeIfInactive(sessionId, now)) {
+							removed++;
+						}
+					}
+					this.sweptTick = tick;
+				}
+				if (removed > 0) {
+					InMemorySessionRegistry.this.logger
+						.debug(LogMessage.format("Removed %s inactive sessions from registry", removed));
+				}
+			}
+			finally {
+				this.sweepLock.unlock();
+			}
+		}
+
+		private boolean removeIfInactive(String sessionId, long now) {
+			SessionInformation info = InMemorySessionRegistry.this.sessionIds.get(sessionId);
+			if (info == null) {
+				return false;
+			}
+			long deadline = info.getLastRequest().getTime() + this.maxInactiveMillis;
+			if (deadline > now) {
+				schedule(sessionId, deadline);
+				return false;
+			}
+			if (!InMemorySessionRegistry.this.sessionIds.remove(sessionId, info)) {
+				return false;
+			}
+			removeSessionId(info.getPrincipal(), sessionId);
+			return true;
+		}
+
+	}
+
+}
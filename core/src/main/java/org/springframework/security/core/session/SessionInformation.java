@@ -85,4 +85,12 @@ public class SessionInformation implements Serializable {
 		this.lastRequest = new Date();
 	}
 
+	/**
+	 * Refreshes the internal lastRequest to the given date and time.
+	 * @param lastRequest the date and time of the last request
+	 */
+	void refreshLastRequest(Date lastRequest) {
+		this.lastRequest = lastRequest;
+	}
+
 }
@@ -30,6 +30,7 @@ import org.springframework.jdbc.core.support.JdbcDaoSupport;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.SpringSecurityMessageSource;
 import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.GrantedAuthorityInterner;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -146,6 +147,8 @@ public class JdbcDaoImpl extends JdbcDaoSupport implements UserDetailsService, M
 
 	private boolean enableGroups;
 
+	private GrantedAuthorityInterner grantedAuthorityInterner;
+
 	public JdbcDaoImpl() {
 		this.usersByUsernameQuery = DEF_USERS_BY_USERNAME_QUERY;
 		this.authoritiesByUsernameQuery = DEF_AUTHORITIES_BY_USERNAME_QUERY;
@@ -228,7 +231,7 @@ public class JdbcDaoImpl extends JdbcDaoSupport implements UserDetailsService, M
 	protected List<GrantedAuthority> loadUserAuthorities(String username) {
 		return getJdbcTemplate().query(this.authoritiesByUsernameQuery, (rs, rowNum) -> {
 			String roleName = JdbcDaoImpl.this.rolePrefix + rs.getString(2);
-			return new SimpleGrantedAuthority(roleName);
+			return createAuthority(roleName);
 		}, username);
 	}
 
@@ -240,10 +243,17 @@ public class JdbcDaoImpl extends JdbcDaoSupport implements UserDetailsService, M
 	protected List<GrantedAuthority> loadGroupAuthorities(String username) {
 		return getJdbcTemplate().query(this.groupAuthoritiesByUsernameQuery, (rs, rowNum) -> {
 			String roleName = getRolePrefix() + rs.getString(3);
-			return new SimpleGrantedAuthority(roleName);
+			return createAuthority(roleName);
 		}, username);
 	}
 
+	private GrantedAuthority createAuthority(String roleName) {
+		if (this.grantedAuthorityInterner != null) {
+			return this.grantedAuthorityInterner.intern(roleName);
+		}
+		return new SimpleGrantedAuthority(roleName);
+	}
+
 	/**
 	 * Can be overridden to customize the creation of the final UserDetailsObject which is
 	 * returned by the <tt>loadUserByUsername</tt> method.
@@ -308,6 +318,17 @@ public class JdbcDaoImpl extends JdbcDaoSupport implements UserDetailsService, M
 		return this.rolePrefix;
 	}
 
+	/**
+	 * Sets the {@link GrantedAuthorityInterner} to use for sharing the authorities loaded
+	 * from the db across users. By default, new authorities are created for every user.
+	 * @param grantedAuthorityInterner the {@link GrantedAuthorityInterner} to use
+	 * @since 7.0
+	 */
+	public void setGrantedAuthorityInterner(GrantedAuthorityInterner grantedAuthorityInterner) {
+		Assert.notNull(grantedAuthorityInterner, "grantedAuthorityInterner cannot be null");
+		this.grantedAuthorityInterner = grantedAuthorityInterner;
+	}
+
 	/**
 	 * If <code>true</code> (the default), indicates the
 	 * {@link #getUsersByUsernameQuery()} returns a username in response to a query. If
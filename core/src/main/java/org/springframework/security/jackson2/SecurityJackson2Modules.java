@@ -21,9 +21,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.annotation.JacksonAnnotation;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -125,6 +128,27 @@ public final class SecurityJackson2Modules {
 		}
 	}
 
+	/**
+	 * Enables default typing like {@link #enableDefaultTyping(ObjectMapper)}, but writes
+	 * short type ids instead of class names for the types that the Spring Security
+	 * modules provide mixins for, such as the {@code Authentication} implementations and
+	 * their principals. This shrinks the serialized {@code SecurityContext} and resolves
+	 * these types by a table lookup when reading.
+	 *
+	 * <p>
+	 * Short type ids and class names are read regardless of this setting, so contexts
+	 * that were written before remain readable. Since earlier versions cannot read short
+	 * type ids, they should only be written once all applications that read the
+	 * serialized values have been upgraded.
+	 * @param mapper the {@link ObjectMapper} to configure
+	 * @since 7.0
+	 */
+	public static void enableCompactTypeIds(ObjectMapper mapper) {
+		if (mapper != null) {
+			mapper.setDefaultTyping(createAllowlistedDefaultTyping(true));
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private static Module loadAndGetInstance(String className, ClassLoader loader) {
 		try {
@@ -187,8 +211,13 @@ public final class SecurityJackson2Modules {
 	 * @return a TypeResolverBuilder that restricts allowed types.
 	 */
 	private static TypeResolverBuilder<? extends TypeResolverBuilder> createAllowlistedDefaultTyping() {
+		return createAllowlistedDefaultTyping(false);
+	}
+
+	private static TypeResolverBuilder<? extends TypeResolverBuilder> createAllowlistedDefaultTyping(
+			boolean writeCompactTypeIds) {
 		TypeResolverBuilder<? extends TypeResolverBuilder> result = new AllowlistTypeResolverBuilder(
-				ObjectMapper.DefaultTyping.NON_FINAL);
+				ObjectMapper.DefaultTyping.NON_FINAL, writeCompactTypeIds);
 		result = result.init(JsonTypeInfo.Id.CLASS, null);
 		result = result.inclusion(JsonTypeInfo.As.PROPERTY);
 		return result;
@@ -204,10 +233,17 @@ public final class SecurityJackson2Modules {
 	@SuppressWarnings("serial")
 	static class AllowlistTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
 
+		private final boolean writeCompactTypeIds;
+
 		AllowlistTypeResolverBuilder(ObjectMapper.DefaultTyping defaultTyping) {
+			this(defaultTyping, false);
+		}
+
+		AllowlistTypeResolverBuilder(ObjectMapper.DefaultTyping defaultTyping, boolean writeCompactTypeIds) {
 			super(defaultTyping,
 					// we do explicit validation in the TypeIdResolver
 					BasicPolymorphicTypeValidator.builder().allowIfSubType(Object.class).build());
+			this.writeCompactTypeIds = writeCompactTypeIds;
 		}
 
 		@Override
@@ -215,7 +251,7 @@ public final class SecurityJackson2Modules {
 				PolymorphicTypeValidator subtypeValidator, Collection<NamedType> subtypes, boolean forSer,
 				boolean forDeser) {
 			TypeIdResolver result = super.idResolver(config, baseType, subtypeValidator, subtypes, forSer, forDeser);
-			return new AllowlistTypeIdResolver(result);
+			return new AllowlistTypeIdResolver(result, this.writeCompactTypeIds);
 		}
 
 	}
@@ -225,6 +261,11 @@ public final class SecurityJackson2Modules {
 	 * IllegalStateException if the class being looked up is not in the allowlist, does
 	 * not provide an explicit mixin, and is not annotated with Jackson mappings. See
 	 * https://github.com/spring-projects/spring-security/issues/4370
+	 *
+	 * <p>
+	 * Besides class names, it reads the short type ids of {@code COMPACT_TYPE_IDS} and
+	 * optionally writes them. The allowlist decision is remembered for every type id, so
+	 * that each type id is only checked once.
 	 */
 	static class AllowlistTypeIdResolver implements TypeIdResolver {
 
@@ -247,10 +288,94 @@ public final class SecurityJackson2Modules {
 			ALLOWLIST_CLASS_NAMES = Collections.unmodifiableSet(names);
 		}
 
+		private static final String COMPACT_TYPE_ID_PREFIX = "@";
+
+		/**
+		 * The short type ids of the allowlisted types and of the types that Spring
+		 * Security provides mixins for, which are written instead of their class names.
+		 * Type ids are never reused, so new types are only ever appended.
+		 */
+		private static final Map<String, String> COMPACT_TYPE_IDS;
+		static {
+			Map<String, String> ids = new HashMap<>();
+			String[] classNames = { "java.util.ArrayList", "java.util.Collections$EmptyList",
+					"java.util.Collections$EmptyMap", "java.util.Collections$UnmodifiableRandomAccessList",
+					"java.util.Collections$SingletonList", "java.util.Date", "java.time.Instant", "java.net.URL",
+					"java.util.TreeMap", "java.util.HashMap", "java.util.LinkedHashMap",
+					"org.springframework.security.core.context.SecurityContextImpl", "java.util.Arrays$ArrayList",
+					// CoreJackson2Module
+					"org.springframework.security.authentication.AnonymousAuthenticationToken",
+					"org.springframework.security.authentication.RememberMeAuthenticationToken",
+					"org.springframework.security.core.authority.SimpleGrantedAuthority",
+					"java.util.Collections$UnmodifiableSet", "java.util.Collections$UnmodifiableMap",
+					"org.springframework.security.core.userdetails.User",
+					"org.springframework.security.authentication.UsernamePasswordAuthenticationToken",
+					"org.springframework.security.authentication.BadCredentialsException",
+					// WebJackson2Module and WebServletJackson2Module
+					"org.springframework.security.web.csrf.DefaultCsrfToken",
+					"org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken",
+					"jakarta.servlet.http.Cookie", "org.springframework.security.web.savedrequest.SavedCookie",
+					"org.springframework.security.web.savedrequest.DefaultSavedRequest",
+					"org.springframework.security.web.authentication.WebAuthenticationDetails",
+					"org.springframework.security.web.authentication.switchuser.SwitchUserGrantedAuthority",
+					// OAuth2ClientJackson2Module
+					"org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest",
+					"org.springframework.security.oauth2.client.registration.ClientRegistration",
+					"org.springframework.security.oauth2.core.OAuth2AccessToken",
+					"org.springframework.security.oauth2.core.OAuth2RefreshToken",
+					"org.springframework.security.oauth2.client.OAuth2AuthorizedClient",
+					"org.springframework.security.oauth2.core.user.OAuth2UserAuthority",
+					"org.springframework.security.oauth2.core.user.DefaultOAuth2User",
+					"org.springframework.security.oauth2.core.oidc.OidcIdToken",
+					"org.springframework.security.oauth2.core.oidc.OidcUserInfo",
+					"org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority",
+					"org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser",
+					"org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken",
+					"org.springframework.security.oauth2.core.OAuth2AuthenticationException",
+					"org.springframework.security.oauth2.core.OAuth2Error",
+					// Saml2Jackson2Module
+					"org.springframework.security.saml2.provider.service.authentication.Saml2Authentication",
+					"org.springframework.security.saml2.provider.service.authentication.DefaultSaml2AuthenticatedPrincipal",
+					"org.springframework.security.saml2.provider.service.authentication.logout.Saml2LogoutRequest",
+					"org.springframework.security.saml2.provider.service.authentication.Saml2RedirectAuthenticationRequest",
+					"org.springframework.security.saml2.provider.service.authentication.Saml2PostAuthenticationRequest",
+					"org.springframework.security.saml2.core.Saml2Error",
+					"org.springframework.security.saml2.provider.service.authentication.Saml2AuthenticationException",
+					// CasJackson2Module
+					"org.apereo.cas.client.validation.AssertionImpl",
+					"org.apereo.cas.client.authentication.AttributePrincipalImpl",
+					"org.springframework.security.cas.authentication.CasAuthenticationToken",
+					// LdapJackson2Module
+					"org.springframework.security.ldap.userdetails.LdapAuthority",
+					"org.springframework.security.ldap.userdetails.LdapUserDetailsImpl",
+					"org.springframework.security.ldap.userdetails.Person",
+					"org.springframework.security.ldap.userdetails.InetOrgPerson" };
+			for (int i = 0; i < classNames.length; i++) {
+				ids.put(classNames[i], COMPACT_TYPE_ID_PREFIX + Integer.toString(i + 1, Character.MAX_RADIX));
+			}
+			COMPACT_TYPE_IDS = Collections.unmodifiableMap(ids);
+		}
+
+		private static final Map<String, String> CLASS_NAMES_BY_COMPACT_TYPE_ID;
+		static {
+			Map<String, String> names = new HashMap<>();
+			COMPACT_TYPE_IDS.forEach((className, id) -> names.put(id, className));
+			CLASS_NAMES_BY_COMPACT_TYPE_ID = Collections.unmodifiableMap(names);
+		}
+
 		private final TypeIdResolver delegate;
 
+		private final boolean writeCompactTypeIds;
+
+		private final Map<String, JavaType> allowedTypes = new ConcurrentHashMap<>();
+
 		AllowlistTypeIdResolver(TypeIdResolver delegate) {
+			this(delegate, false);
+		}
+
+		AllowlistTypeIdResolver(TypeIdResolver delegate, boolean writeCompactTypeIds) {
 			this.delegate = delegate;
+			this.writeCompactTypeIds = writeCompactTypeIds;
 		}
 
 		@Override
@@ -260,21 +385,39 @@ public final class SecurityJackson2Modules {
 
 		@Override
 		public String idFromValue(Object value) {
-			return this.delegate.idFromValue(value);
+			return compact(this.delegate.idFromValue(value));
 		}
 
 		@Override
 		public String idFromValueAndType(Object value, Class<?> suggestedType) {
-			return this.delegate.idFromValueAndType(value, suggestedType);
+			return compact(this.delegate.idFromValueAndType(value, suggestedType));
 		}
 
 		@Override
 		public String idFromBaseType() {
-			return this.delegate.idFromBaseType();
+			return compact(this.delegate.idFromBaseType());
+		}
+
+		private String compact(String id) {
+			if (!this.writeCompactTypeIds || id == null) {
+				return id;
+			}
+			return COMPACT_TYPE_IDS.getOrDefault(id, id);
 		}
 
 		@Override
 		public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+			JavaType allowed = this.allowedTypes.get(id);
+			if (allowed != null) {
+				return allowed;
+			}
+			String className = CLASS_NAMES_BY_COMPACT_TYPE_ID.getOrDefault(id, id);
+			JavaType result = allowlistedTypeFromId(context, className);
+			this.allowedTypes.put(id, result);
+			return result;
+		}
+
+		private JavaType allowlistedTypeFromId(DatabindContext context, String id) throws IOException {
 			DeserializationConfig config = (DeserializationConfig) context.getConfig();
 			JavaType result = this.delegate.typeFromId(context, id);
 			String className = result.getRawClass().getName();
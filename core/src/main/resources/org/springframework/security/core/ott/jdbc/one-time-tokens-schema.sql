@@ -3,3 +3,5 @@ create table one_time_tokens(
     username    varchar_ignorecase(50) not null,
     expires_at  timestamp   not null
 );
+
+create index ix_one_time_tokens_expires_at on one_time_tokens (expires_at);
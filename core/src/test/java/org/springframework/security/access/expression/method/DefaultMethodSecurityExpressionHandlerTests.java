@@ -16,9 +16,14 @@
 
 package org.springframework.security.access.expression.method;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,17 +40,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.security.access.BatchPermissionEvaluator;
 import org.springframework.security.access.expression.SecurityExpressionRoot;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -187,6 +198,315 @@ public class DefaultMethodSecurityExpressionHandlerTests {
 		verify(mockAuthenticationSupplier).get();
 	}
 
+	@Test
+	public void getUncompiledExpressionsWhenCompilerModeImmediateThenOnlyNotCompilableExpressions() {
+		this.handler.setSpelCompilerMode(SpelCompilerMode.IMMEDIATE);
+		Expression compilable = this.handler.getExpressionParser()
+			.parseExpression("hasRole('USER') and hasAuthority('ROLE_USER')");
+		Expression notCompilable = this.handler.getExpressionParser()
+			.parseExpression("{1, 2}.?[#this > 1].size() > 0");
+		Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		for (int i = 0; i < 3; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(user, this.methodInvocation);
+			assertThat(compilable.getValue(context, Boolean.class)).isTrue();
+			assertThat(notCompilable.getValue(context, Boolean.class)).isTrue();
+		}
+		assertThat(this.handler.getUncompiledExpressions()).containsExactly("{1, 2}.?[#this > 1].size() > 0");
+		Authentication other = new TestingAuthenticationToken("user", "password", "ROLE_OTHER");
+		EvaluationContext context = this.handler.createEvaluationContext(other, this.methodInvocation);
+		assertThat(compilable.getValue(context, Boolean.class)).isFalse();
+	}
+
+	@Test
+	public void getUncompiledExpressionsWhenNotEvaluatedThenNotReported() {
+		this.handler.setSpelCompilerMode(SpelCompilerMode.IMMEDIATE);
+		this.handler.getExpressionParser().parseExpression("{1, 2}.?[#this > 1].size() > 0");
+		assertThat(this.handler.getUncompiledExpressions()).isEmpty();
+	}
+
+	@Test
+	public void getUncompiledExpressionsWhenInvokedRepeatedlyThenExpressionsStillCompiled() {
+		this.handler.setSpelCompilerMode(SpelCompilerMode.IMMEDIATE);
+		Expression compilable = this.handler.getExpressionParser().parseExpression("hasRole('USER')");
+		for (int i = 0; i < 200; i++) {
+			assertThat(this.handler.getUncompiledExpressions()).isEmpty();
+		}
+		Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		for (int i = 0; i < 3; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(user, this.methodInvocation);
+			assertThat(compilable.getValue(context, Boolean.class)).isTrue();
+		}
+		assertThat(this.handler.getUncompiledExpressions()).isEmpty();
+	}
+
+	@Test
+	public void getUncompiledExpressionsWhenCompilerModeMixedAndCompiledExpressionFailsThenReported() {
+		this.handler.setSpelCompilerMode(SpelCompilerMode.MIXED);
+		Expression expression = this.handler.getExpressionParser().parseExpression("#names.size() > 0");
+		Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		for (int i = 0; i < 102; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(user, this.methodInvocation);
+			context.setVariable("names", new ArrayList<>(List.of("a")));
+			assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		}
+		assertThat(this.handler.getUncompiledExpressions()).isEmpty();
+		EvaluationContext context = this.handler.createEvaluationContext(user, this.methodInvocation);
+		context.setVariable("names", new LinkedList<>(List.of("a")));
+		assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		assertThat(this.handler.getUncompiledExpressions()).containsExactly("#names.size() > 0");
+	}
+
+	@Test
+	public void getValueWhenCompilerModeImmediateAndSameExpressionParsedTwiceThenCompiledSeparately() {
+		this.handler.setSpelCompilerMode(SpelCompilerMode.IMMEDIATE);
+		Expression arrayList = this.handler.getExpressionParser().parseExpression("#names.size() > 0");
+		Expression linkedList = this.handler.getExpressionParser().parseExpression("#names.size() > 0");
+		Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		for (int i = 0; i < 3; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(user, this.methodInvocation);
+			context.setVariable("names", new ArrayList<>(List.of("a")));
+			assertThat(arrayList.getValue(context, Boolean.class)).isTrue();
+			context.setVariable("names", new LinkedList<>(List.of("a")));
+			assertThat(linkedList.getValue(context, Boolean.class)).isTrue();
+		}
+		assertThat(this.handler.getUncompiledExpressions()).isEmpty();
+	}
+
+	@Test
+	public void getUncompiledExpressionsWhenNoCompilerModeThenEmpty() {
+		this.handler.getExpressionParser().parseExpression("hasRole('USER')");
+		assertThat(this.handler.getUncompiledExpressions()).isEmpty();
+	}
+
+	@Test
+	public void setSpelCompilerModeWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.handler.setSpelCompilerMode(null));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenBatchPermissionEvaluatorThenCheckedInOneBatch() {
+		BatchPermissionEvaluator permissionEvaluator = mock(BatchPermissionEvaluator.class);
+		BitSet permitted = new BitSet();
+		permitted.set(0);
+		permitted.set(2);
+		given(permissionEvaluator.hasPermission(eq(this.authentication), anyList(), eq("read"))).willReturn(permitted);
+		this.handler.setPermissionEvaluator(permissionEvaluator);
+		List<String> list = new ArrayList<>(List.of("a", "b", "c"));
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		List<String> filtered = (List<String>) this.handler.filter(list, expression, context);
+		assertThat(filtered).containsExactly("a", "c");
+		verify(permissionEvaluator, never()).hasPermission(any(), any(Object.class), any());
+	}
+
+	@Test
+	public void filterWhenArrayAndBatchPermissionEvaluatorThenCheckedInOneBatch() {
+		this.handler.setPermissionEvaluator(new EvenNumbersPermissionEvaluator());
+		Integer[] array = { 1, 2, 3, 4 };
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		assertThat((Integer[]) this.handler.filter(array, expression, context)).containsExactly(2, 4);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenParallelBatchSizeThenCheckedInBatches() {
+		EvenNumbersPermissionEvaluator permissionEvaluator = new EvenNumbersPermissionEvaluator();
+		this.handler.setPermissionEvaluator(permissionEvaluator);
+		this.handler.setParallelBatchSize(3);
+		List<Integer> list = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			list.add(i);
+		}
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		List<Integer> filtered = (List<Integer>) this.handler.filter(list, expression, context);
+		assertThat(filtered).containsExactly(0, 2, 4, 6, 8);
+		assertThat(permissionEvaluator.batches).hasValue(4);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenParallelBatchExecutorThenBatchesCheckedOnExecutor() {
+		this.handler.setPermissionEvaluator(new EvenNumbersPermissionEvaluator());
+		this.handler.setParallelBatchSize(3);
+		AtomicInteger executed = new AtomicInteger();
+		this.handler.setParallelBatchExecutor((task) -> {
+			executed.incrementAndGet();
+			task.run();
+		});
+		List<Integer> list = new ArrayList<>(List.of(0, 1, 2, 3, 4, 5, 6));
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		List<Integer> filtered = (List<Integer>) this.handler.filter(list, expression, context);
+		assertThat(filtered).containsExactly(0, 2, 4, 6);
+		assertThat(executed).hasValue(3);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenBatchPermissionEvaluatorReturnsIndexesBeyondBatchThenIgnored() {
+		BatchPermissionEvaluator permissionEvaluator = mock(BatchPermissionEvaluator.class);
+		given(permissionEvaluator.hasPermission(any(), anyList(), any()))
+			.willAnswer((invocation) -> BitSet.valueOf(new long[] { 0b10001 }));
+		this.handler.setPermissionEvaluator(permissionEvaluator);
+		this.handler.setParallelBatchSize(3);
+		List<String> list = new ArrayList<>(List.of("a", "b", "c", "d", "e", "f"));
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		List<String> filtered = (List<String>) this.handler.filter(list, expression, context);
+		assertThat(filtered).containsExactly("a", "d");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenSingleBatchReturnsIndexesBeyondTargetsThenIgnored() {
+		BatchPermissionEvaluator permissionEvaluator = mock(BatchPermissionEvaluator.class);
+		given(permissionEvaluator.hasPermission(any(), anyList(), any()))
+			.willReturn(BitSet.valueOf(new long[] { 0b10001 }));
+		this.handler.setPermissionEvaluator(permissionEvaluator);
+		List<String> list = new ArrayList<>(List.of("a", "b", "c"));
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		List<String> filtered = (List<String>) this.handler.filter(list, expression, context);
+		assertThat(filtered).containsExactly("a");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenBatchPermissionEvaluatorAndOtherExpressionThenCheckedOneByOne() {
+		EvenNumbersPermissionEvaluator permissionEvaluator = new EvenNumbersPermissionEvaluator();
+		this.handler.setPermissionEvaluator(permissionEvaluator);
+		List<Integer> list = new ArrayList<>(List.of(1, 2, 3, 4));
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("filterObject > 1 and hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		List<Integer> filtered = (List<Integer>) this.handler.filter(list, expression, context);
+		assertThat(filtered).containsExactly(2, 4);
+		assertThat(permissionEvaluator.batches).hasValue(0);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenBatchPermissionEvaluatorReturnsNullThenAllDenied() {
+		BatchPermissionEvaluator permissionEvaluator = mock(BatchPermissionEvaluator.class);
+		this.handler.setPermissionEvaluator(permissionEvaluator);
+		List<String> list = new ArrayList<>(List.of("a", "b", "c"));
+		Expression expression = this.handler.getExpressionParser()
+			.parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		List<String> filtered = (List<String>) this.handler.filter(list, expression, context);
+		assertThat(filtered).isEmpty();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenBatchPermissionEvaluatorAndCustomRootObjectThenRootObjectHasPermissionUsed() {
+		EvenNumbersPermissionEvaluator permissionEvaluator = new EvenNumbersPermissionEvaluator();
+		DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler() {
+			@Override
+			protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication,
+					MethodInvocation invocation) {
+				return new OddNumbersExpressionRoot(authentication);
+			}
+		};
+		handler.setPermissionEvaluator(permissionEvaluator);
+		List<Integer> list = new ArrayList<>(List.of(1, 2, 3, 4));
+		Expression expression = handler.getExpressionParser().parseExpression("hasPermission(filterObject, 'read')");
+		EvaluationContext context = handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		assertThat(handler.isBatchFilterExpression(expression, context)).isFalse();
+		List<Integer> filtered = (List<Integer>) handler.filter(list, expression, context);
+		assertThat(filtered).containsExactly(1, 3);
+		assertThat(permissionEvaluator.batches).hasValue(0);
+	}
+
+	@Test
+	public void setParallelBatchSizeWhenNegativeThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.handler.setParallelBatchSize(-1));
+	}
+
+	@Test
+	public void setParallelBatchExecutorWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.handler.setParallelBatchExecutor(null));
+	}
+
+	static class EvenNumbersPermissionEvaluator implements BatchPermissionEvaluator {
+
+		private final AtomicInteger batches = new AtomicInteger();
+
+		@Override
+		public BitSet hasPermission(Authentication authentication, List<?> targetDomainObjects, Object permission) {
+			this.batches.incrementAndGet();
+			BitSet permitted = new BitSet(targetDomainObjects.size());
+			for (int i = 0; i < targetDomainObjects.size(); i++) {
+				permitted.set(i, hasPermission(authentication, targetDomainObjects.get(i), permission));
+			}
+			return permitted;
+		}
+
+		@Override
+		public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+			return targetDomainObject instanceof Integer number && number % 2 == 0;
+		}
+
+		@Override
+		public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
+				Object permission) {
+			return false;
+		}
+
+	}
+
+	static class OddNumbersExpressionRoot extends SecurityExpressionRoot
+			implements MethodSecurityExpressionOperations {
+
+		private Object filterObject;
+
+		private Object returnObject;
+
+		OddNumbersExpressionRoot(Authentication authentication) {
+			super(authentication);
+		}
+
+		@Override
+		public boolean hasPermission(Object target, Object permission) {
+			return target instanceof Integer number && number % 2 == 1;
+		}
+
+		@Override
+		public void setFilterObject(Object filterObject) {
+			this.filterObject = filterObject;
+		}
+
+		@Override
+		public Object getFilterObject() {
+			return this.filterObject;
+		}
+
+		@Override
+		public void setReturnObject(Object returnObject) {
+			this.returnObject = returnObject;
+		}
+
+		@Override
+		public Object getReturnObject() {
+			return this.returnObject;
+		}
+
+		@Override
+		public Object getThis() {
+			return null;
+		}
+
+	}
+
 	static class Foo {
 
 		void bar() {
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.access.hierarchicalroles;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BitSetRoleHierarchy}.
+ */
+class BitSetRoleHierarchyTests {
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenNullOrEmptyThenEmpty() {
+		BitSetRoleHierarchy roleHierarchy = BitSetRoleHierarchy.fromHierarchy("ROLE_A > ROLE_B");
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(null)).isEmpty();
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(new ArrayList<>())).isEmpty();
+	}
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenTransitiveThenAllReachable() {
+		BitSetRoleHierarchy roleHierarchy = BitSetRoleHierarchy
+			.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C\nROLE_C > ROLE_D");
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_B")))
+			.extracting(GrantedAuthority::getAuthority)
+			.containsExactlyInAnyOrder("ROLE_B", "ROLE_C", "ROLE_D");
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_A", "ROLE_C")))
+			.extracting(GrantedAuthority::getAuthority)
+			.containsExactlyInAnyOrder("ROLE_A", "ROLE_B", "ROLE_C", "ROLE_D");
+	}
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenNotInHierarchyThenKept() {
+		BitSetRoleHierarchy roleHierarchy = BitSetRoleHierarchy.fromHierarchy("ROLE_A > ROLE_B");
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_0", "ROLE_0", "SCOPE_read");
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(authorities)).extracting(GrantedAuthority::getAuthority)
+			.containsExactly("ROLE_0", "SCOPE_read");
+	}
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenCustomGrantedAuthorityThenOriginalKept() {
+		BitSetRoleHierarchy roleHierarchy = BitSetRoleHierarchy.fromHierarchy("ROLE_A > ROLE_B");
+		GrantedAuthority custom = HierarchicalRolesTestHelper.createAuthorityList("ROLE_A").get(0);
+		Collection<? extends GrantedAuthority> reachable = roleHierarchy.getReachableGrantedAuthorities(List.of(custom));
+		assertThat(reachable).hasSize(2);
+		assertThat(reachable).contains(custom, new SimpleGrantedAuthority("ROLE_B"));
+		assertThat(reachable.iterator().next()).isSameAs(custom);
+	}
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenRandomHierarchyThenSameAsRoleHierarchyImpl() {
+		Random random = new Random(42);
+		StringBuilder hierarchy = new StringBuilder();
+		for (int lower = 1; lower < 200; lower++) {
+			for (int edges = 0; edges < 3; edges++) {
+				int higher = random.nextInt(lower);
+				hierarchy.append("ROLE_").append(higher).append(" > ROLE_").append(lower).append("\n");
+			}
+		}
+		RoleHierarchyImpl expected = RoleHierarchyImpl.fromHierarchy(hierarchy.toString());
+		BitSetRoleHierarchy actual = BitSetRoleHierarchy.fromHierarchy(hierarchy.toString());
+		for (int i = 0; i < 50; i++) {
+			List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_" + random.nextInt(220),
+					"ROLE_" + random.nextInt(220));
+			assertThat(actual.getReachableGrantedAuthorities(authorities))
+				.containsExactlyInAnyOrderElementsOf(expected.getReachableGrantedAuthorities(authorities));
+		}
+	}
+
+	@Test
+	void isAnyReachableWhenReachableThenTrue() {
+		BitSetRoleHierarchy roleHierarchy = BitSetRoleHierarchy.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C");
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_A");
+		assertThat(roleHierarchy.isAnyReachable(authorities, Set.of("ROLE_C"))).isTrue();
+		assertThat(roleHierarchy.isAnyReachable(authorities, Set.of("ROLE_A"))).isTrue();
+		assertThat(roleHierarchy.isAnyReachable(AuthorityUtils.createAuthorityList("ROLE_X"), Set.of("ROLE_X")))
+			.isTrue();
+	}
+
+	@Test
+	void isAnyReachableWhenNotReachableThenFalse() {
+		BitSetRoleHierarchy roleHierarchy = BitSetRoleHierarchy.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C");
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_B");
+		assertThat(roleHierarchy.isAnyReachable(authorities, Set.of("ROLE_A", "ROLE_X"))).isFalse();
+	}
+
+	@Test
+	void fromHierarchyWhenCycleThenCycleInRoleHierarchyException() {
+		assertThatExceptionOfType(CycleInRoleHierarchyException.class)
+			.isThrownBy(() -> BitSetRoleHierarchy.fromHierarchy("ROLE_A > ROLE_A"));
+		assertThatExceptionOfType(CycleInRoleHierarchyException.class)
+			.isThrownBy(() -> BitSetRoleHierarchy.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C\nROLE_C > ROLE_A"));
+		assertThatExceptionOfType(CycleInRoleHierarchyException.class).isThrownBy(() -> BitSetRoleHierarchy
+			.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C\nROLE_C > ROLE_E\nROLE_E > ROLE_D\nROLE_D > ROLE_B"));
+	}
+
+	@Test
+	void fromHierarchyWhenNoCycleThenNoException() {
+		BitSetRoleHierarchy roleHierarchy = BitSetRoleHierarchy
+			.fromHierarchy("ROLE_A > ROLE_B\nROLE_A > ROLE_C\nROLE_C > ROLE_D\nROLE_B > ROLE_D");
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_A")))
+			.hasSize(4);
+	}
+
+}
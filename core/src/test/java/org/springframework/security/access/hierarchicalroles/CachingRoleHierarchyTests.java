@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.access.hierarchicalroles;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link CachingRoleHierarchy}.
+ */
+class CachingRoleHierarchyTests {
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenSameAuthoritiesThenExpandedOnce() {
+		RoleHierarchy delegate = delegate();
+		CachingRoleHierarchy roleHierarchy = new CachingRoleHierarchy(delegate);
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_ADMIN");
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(authorities)).extracting(GrantedAuthority::getAuthority)
+			.containsExactly("ROLE_ADMIN", "ROLE_USER");
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(authorities)).extracting(GrantedAuthority::getAuthority)
+			.containsExactly("ROLE_ADMIN", "ROLE_USER");
+		verify(delegate, times(1)).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenEqualButOtherAuthoritiesThenExpandedAgain() {
+		RoleHierarchy delegate = delegate();
+		CachingRoleHierarchy roleHierarchy = new CachingRoleHierarchy(delegate);
+		roleHierarchy.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+		roleHierarchy.getReachableGrantedAuthorities(AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+		verify(delegate, times(2)).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenNullThenDelegated() {
+		CachingRoleHierarchy roleHierarchy = new CachingRoleHierarchy(
+				RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_USER"));
+		assertThat(roleHierarchy.getReachableGrantedAuthorities(null)).isEmpty();
+	}
+
+	@Test
+	void getReachableGrantedAuthoritiesWhenExpressionRootsForSameAuthenticationThenExpandedOnce() {
+		RoleHierarchy delegate = delegate();
+		CachingRoleHierarchy roleHierarchy = new CachingRoleHierarchy(delegate);
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_ADMIN");
+		for (int i = 0; i < 3; i++) {
+			SecurityExpressionRoot root = new SecurityExpressionRoot(() -> authentication) {
+			};
+			root.setRoleHierarchy(roleHierarchy);
+			assertThat(root.hasRole("USER")).isTrue();
+		}
+		verify(delegate, times(1)).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	void constructorWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new CachingRoleHierarchy(null));
+	}
+
+	private static RoleHierarchy delegate() {
+		RoleHierarchy delegate = mock(RoleHierarchy.class);
+		Collection<GrantedAuthority> reachable = AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER");
+		given(delegate.getReachableGrantedAuthorities(any())).willAnswer((invocation) -> reachable);
+		return delegate;
+	}
+
+}
@@ -30,6 +30,7 @@ import org.springframework.context.MessageSource;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
+import org.springframework.security.authentication.password.ReactivePasswordEncoder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
@@ -47,6 +48,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 /**
@@ -259,6 +261,50 @@ public class UserDetailsRepositoryReactiveAuthenticationManagerTests {
 			.verifyComplete();
 	}
 
+	@Test
+	public void authenticateWhenReactivePasswordEncoderThenSchedulerNotUsed() {
+		ReactivePasswordEncoder reactiveEncoder = mock(ReactivePasswordEncoder.class);
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(reactiveEncoder.matches(any(), any())).willReturn(Mono.just(true));
+		this.manager.setScheduler(this.scheduler);
+		this.manager.setPasswordEncoder(this.encoder);
+		this.manager.setReactivePasswordEncoder(reactiveEncoder);
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+				this.user.getPassword());
+		Authentication result = this.manager.authenticate(token).block();
+		assertThat(result.isAuthenticated()).isTrue();
+		verify(reactiveEncoder).matches(this.user.getPassword(), this.user.getPassword());
+		verifyNoInteractions(this.scheduler, this.encoder);
+	}
+
+	@Test
+	public void authenticateWhenReactivePasswordEncoderDoesNotMatchThenBadCredentials() {
+		ReactivePasswordEncoder reactiveEncoder = mock(ReactivePasswordEncoder.class);
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(reactiveEncoder.matches(any(), any())).willReturn(Mono.just(false));
+		this.manager.setReactivePasswordEncoder(reactiveEncoder);
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+				this.user.getPassword());
+		StepVerifier.create(this.manager.authenticate(token)).expectError(BadCredentialsException.class).verify();
+	}
+
+	@Test
+	public void authenticateWhenReactivePasswordEncoderAndPasswordServiceThenUpdated() {
+		ReactivePasswordEncoder reactiveEncoder = mock(ReactivePasswordEncoder.class);
+		String encodedPassword = "encoded";
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(reactiveEncoder.matches(any(), any())).willReturn(Mono.just(true));
+		given(reactiveEncoder.upgradeEncoding(any())).willReturn(true);
+		given(reactiveEncoder.encode(any())).willReturn(Mono.just(encodedPassword));
+		given(this.userDetailsPasswordService.updatePassword(any(), any())).willReturn(Mono.just(this.user));
+		this.manager.setReactivePasswordEncoder(reactiveEncoder);
+		this.manager.setUserDetailsPasswordService(this.userDetailsPasswordService);
+		UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+				this.user.getPassword());
+		this.manager.authenticate(token).block();
+		verify(this.userDetailsPasswordService).updatePassword(eq(this.user), eq(encodedPassword));
+	}
+
 	@Test
 	public void setMessageSourceWhenNullThenThrowsException() {
 		assertThatIllegalArgumentException().isThrownBy(() -> this.manager.setMessageSource(null));
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.ott;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+/**
+ * Tests for {@link BoundedInMemoryOneTimeTokenService}
+ */
+class BoundedInMemoryOneTimeTokenServiceTests {
+
+	private final Instant now = Instant.now();
+
+	private final BoundedInMemoryOneTimeTokenService oneTimeTokenService = new BoundedInMemoryOneTimeTokenService();
+
+	@Test
+	void generateThenTokenValueShouldBeValidUuidAndProvidedUsernameIsUsed() {
+		OneTimeToken oneTimeToken = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("user"));
+		assertThatNoException().isThrownBy(() -> UUID.fromString(oneTimeToken.getTokenValue()));
+		assertThat(oneTimeToken.getUsername()).isEqualTo("user");
+		assertThat(this.oneTimeTokenService.getTokenCount()).isEqualTo(1);
+	}
+
+	@Test
+	void consumeWhenTokenDoesNotExistsThenNull() {
+		assertThat(this.oneTimeTokenService.consume(new OneTimeTokenAuthenticationToken("123"))).isNull();
+	}
+
+	@Test
+	void consumeWhenTokenExistsThenReturnItselfOnlyOnce() {
+		OneTimeToken generated = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("user"));
+		OneTimeToken consumed = this.oneTimeTokenService.consume(authenticationToken(generated));
+		assertThat(consumed.getTokenValue()).isEqualTo(generated.getTokenValue());
+		assertThat(consumed.getUsername()).isEqualTo(generated.getUsername());
+		assertThat(consumed.getExpiresAt()).isEqualTo(generated.getExpiresAt());
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(generated))).isNull();
+		assertThat(this.oneTimeTokenService.getConsumedTokenCount()).isEqualTo(1);
+		assertThat(this.oneTimeTokenService.getTokenCount()).isZero();
+	}
+
+	@Test
+	void consumeWhenTokenIsExpiredThenReturnNull() {
+		useClockAt(this.now);
+		OneTimeToken generated = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("user"));
+		useClockAt(this.now.plus(10, ChronoUnit.MINUTES));
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(generated))).isNull();
+		assertThat(this.oneTimeTokenService.getExpiredTokenCount()).isEqualTo(1);
+		assertThat(this.oneTimeTokenService.getConsumedTokenCount()).isZero();
+	}
+
+	@Test
+	void cleanupExpiredTokensThenOnlyExpiredTokensRemoved() {
+		useClockAt(this.now);
+		OneTimeToken toExpire = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("user"));
+		useClockAt(this.now.plus(2, ChronoUnit.MINUTES));
+		OneTimeToken toKeep = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("user"));
+		useClockAt(this.now.plus(6, ChronoUnit.MINUTES));
+		this.oneTimeTokenService.cleanupExpiredTokens();
+		assertThat(this.oneTimeTokenService.getTokenCount()).isEqualTo(1);
+		assertThat(this.oneTimeTokenService.getExpiredTokenCount()).isEqualTo(1);
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(toExpire))).isNull();
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(toKeep))).isNotNull();
+	}
+
+	@Test
+	void cleanupExpiredTokensWhenExpiryBeyondOneRotationThenKept() {
+		useClockAt(this.now);
+		OneTimeToken generated = this.oneTimeTokenService
+			.generate(new GenerateOneTimeTokenRequest("user", Duration.ofHours(1)));
+		useClockAt(this.now.plus(30, ChronoUnit.MINUTES));
+		this.oneTimeTokenService.cleanupExpiredTokens();
+		assertThat(this.oneTimeTokenService.getTokenCount()).isEqualTo(1);
+		useClockAt(this.now.plus(61, ChronoUnit.MINUTES));
+		this.oneTimeTokenService.cleanupExpiredTokens();
+		assertThat(this.oneTimeTokenService.getTokenCount()).isZero();
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(generated))).isNull();
+	}
+
+	@Test
+	void generateWhenMaxSizeReachedThenOldestEvicted() {
+		this.oneTimeTokenService.setMaxSize(2);
+		OneTimeToken first = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("first"));
+		OneTimeToken second = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("second"));
+		OneTimeToken third = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("third"));
+		assertThat(this.oneTimeTokenService.getTokenCount()).isEqualTo(2);
+		assertThat(this.oneTimeTokenService.getEvictedTokenCount()).isEqualTo(1);
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(first))).isNull();
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(second))).isNotNull();
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(third))).isNotNull();
+	}
+
+	@Test
+	void generateWhenMaxSizeReachedAndRejectThenIllegalStateException() {
+		this.oneTimeTokenService.setMaxSize(1);
+		this.oneTimeTokenService.setOverflowPolicy(BoundedInMemoryOneTimeTokenService.OverflowPolicy.REJECT);
+		OneTimeToken first = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("first"));
+		assertThatIllegalStateException()
+			.isThrownBy(() -> this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("second")));
+		assertThat(this.oneTimeTokenService.getRejectedTokenCount()).isEqualTo(1);
+		assertThat(this.oneTimeTokenService.consume(authenticationToken(first))).isNotNull();
+	}
+
+	@Test
+	void generateWhenMaxSizeReachedByExpiredTokensThenNotRejected() {
+		useClockAt(this.now);
+		this.oneTimeTokenService.setMaxSize(1);
+		this.oneTimeTokenService.setOverflowPolicy(BoundedInMemoryOneTimeTokenService.OverflowPolicy.REJECT);
+		this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("first"));
+		useClockAt(this.now.plus(6, ChronoUnit.MINUTES));
+		assertThatNoException()
+			.isThrownBy(() -> this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest("second")));
+		assertThat(this.oneTimeTokenService.getExpiredTokenCount()).isEqualTo(1);
+	}
+
+	@Test
+	void setMaxSizeWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.oneTimeTokenService.setMaxSize(0));
+	}
+
+	@Test
+	void setOverflowPolicyWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.oneTimeTokenService.setOverflowPolicy(null));
+	}
+
+	@Test
+	void setClockWhenNullThenThrowIllegalArgumentException() {
+		// @formatter:off
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.oneTimeTokenService.setClock(null))
+				.withMessage("clock cannot be null");
+		// @formatter:on
+	}
+
+	private void useClockAt(Instant instant) {
+		this.oneTimeTokenService.setClock(Clock.fixed(instant, ZoneOffset.UTC));
+	}
+
+	private static OneTimeTokenAuthenticationToken authenticationToken(OneTimeToken token) {
+		return new OneTimeTokenAuthenticationToken(token.getTokenValue());
+	}
+
+}
@@ -21,6 +21,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,14 +29,21 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link JdbcOneTimeTokenService}.
@@ -188,4 +196,71 @@ class JdbcOneTimeTokenServiceTests {
 		this.oneTimeTokenService.setCleanupCron(null);
 	}
 
+	@Test
+	void cleanupExpiredTokensWhenMoreThanBatchSizeThenAllExpiredTokensDeleted() {
+		Clock clock = mock(Clock.class);
+		given(clock.instant()).willReturn(Instant.now().minus(Duration.ofMinutes(10)));
+		this.oneTimeTokenService.setClock(clock);
+		for (int i = 0; i < 5; i++) {
+			this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest(USERNAME));
+		}
+		given(clock.instant()).willReturn(Instant.now());
+		OneTimeToken valid = this.oneTimeTokenService.generate(new GenerateOneTimeTokenRequest(USERNAME));
+		this.oneTimeTokenService.setCleanupBatchSize(2);
+		this.oneTimeTokenService.setCleanupBatchPause(Duration.ofMillis(1));
+
+		this.oneTimeTokenService.cleanupExpiredTokens();
+
+		assertThat(this.jdbcOperations.queryForObject("SELECT COUNT(*) FROM one_time_tokens", Integer.class))
+			.isEqualTo(1);
+		assertThat(this.oneTimeTokenService.consume(new OneTimeTokenAuthenticationToken(valid.getTokenValue())))
+			.isNotNull();
+	}
+
+	@Test
+	void consumeWhenUseDeleteReturningThenSingleStatement() throws Exception {
+		JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+		OneTimeToken token = new DefaultOneTimeToken(TOKEN_VALUE, USERNAME, Instant.now().plus(Duration.ofMinutes(5)));
+		given(jdbcOperations.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+			.willReturn(List.of(token));
+		JdbcOneTimeTokenService oneTimeTokenService = new JdbcOneTimeTokenService(jdbcOperations);
+		oneTimeTokenService.setUseDeleteReturning(true);
+
+		OneTimeToken consumed = oneTimeTokenService.consume(new OneTimeTokenAuthenticationToken(TOKEN_VALUE));
+
+		assertThat(consumed).isEqualTo(token);
+		verify(jdbcOperations).query(
+				eq("DELETE FROM one_time_tokens WHERE token_value = ? RETURNING token_value, username, expires_at"),
+				any(PreparedStatementSetter.class), any(RowMapper.class));
+		verify(jdbcOperations, never()).update(anyString(), any(PreparedStatementSetter.class));
+		oneTimeTokenService.destroy();
+	}
+
+	@Test
+	void consumeWhenTokenDeletedConcurrentlyThenReturnNull() throws Exception {
+		JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+		OneTimeToken token = new DefaultOneTimeToken(TOKEN_VALUE, USERNAME, Instant.now().plus(Duration.ofMinutes(5)));
+		given(jdbcOperations.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+			.willReturn(List.of(token));
+		given(jdbcOperations.update(anyString(), any(PreparedStatementSetter.class))).willReturn(0);
+		JdbcOneTimeTokenService oneTimeTokenService = new JdbcOneTimeTokenService(jdbcOperations);
+		oneTimeTokenService.setUseDeleteReturning(false);
+
+		OneTimeToken consumed = oneTimeTokenService.consume(new OneTimeTokenAuthenticationToken(TOKEN_VALUE));
+
+		assertThat(consumed).isNull();
+		oneTimeTokenService.destroy();
+	}
+
+	@Test
+	void setCleanupBatchSizeWhenZeroThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.oneTimeTokenService.setCleanupBatchSize(0));
+	}
+
+	@Test
+	void setCleanupBatchPauseWhenNegativeThenThrowIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.oneTimeTokenService.setCleanupBatchPause(Duration.ofSeconds(-1)));
+	}
+
 }
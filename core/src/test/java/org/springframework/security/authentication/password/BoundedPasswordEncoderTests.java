@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BoundedPasswordEncoder}
+ */
+public class BoundedPasswordEncoderTests {
+
+	private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+
+	@Test
+	public void constructorWhenNoConcurrentHashesThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new BoundedPasswordEncoder(this.delegate, 0, 1));
+	}
+
+	@Test
+	public void matchesWhenDelegateMatchesThenTrue() {
+		given(this.delegate.matches("password", "encoded")).willReturn(true);
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(this.delegate);
+		assertThat(encoder.matches("password", "encoded")).isTrue();
+	}
+
+	@Test
+	public void encodeThenDelegates() {
+		given(this.delegate.encode("password")).willReturn("encoded");
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(this.delegate);
+		assertThat(encoder.encode("password")).isEqualTo("encoded");
+	}
+
+	@Test
+	public void upgradeEncodingThenDelegates() {
+		given(this.delegate.upgradeEncoding("encoded")).willReturn(true);
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(this.delegate);
+		assertThat(encoder.upgradeEncoding("encoded")).isTrue();
+	}
+
+	@Test
+	public void matchesWhenSaturatedThenAuthenticationServiceException() throws Exception {
+		CountDownLatch hashing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		willAnswer((invocation) -> {
+			hashing.countDown();
+			return release.await(10, TimeUnit.SECONDS);
+		}).given(this.delegate).matches(any(), any());
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(this.delegate, 1, 0);
+		CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> encoder.matches("password", "encoded"));
+		assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThatExceptionOfType(AuthenticationServiceException.class)
+			.isThrownBy(() -> encoder.matches("password", "encoded"));
+		release.countDown();
+		assertThat(first.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(encoder.matches("password", "encoded")).isTrue();
+	}
+
+	@Test
+	public void matchesWhenObservationRegistryThenObservesWaitAndHash() {
+		ObservationHandler<Observation.Context> handler = mock(ObservationHandler.class);
+		given(handler.supportsContext(any())).willReturn(true);
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(handler);
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(this.delegate);
+		encoder.setObservationRegistry(registry);
+		encoder.matches("password", "encoded");
+		ArgumentCaptor<Observation.Context> captor = ArgumentCaptor.forClass(Observation.Context.class);
+		verify(handler, atLeastOnce()).onStop(captor.capture());
+		List<String> names = captor.getAllValues().stream().map(Observation.Context::getName).toList();
+		assertThat(names).containsExactly(PasswordHashObservations.WAIT, PasswordHashObservations.HASH);
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BoundedReactivePasswordEncoder}
+ */
+public class BoundedReactivePasswordEncoderTests {
+
+	private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+
+	private BoundedReactivePasswordEncoder encoder;
+
+	@AfterEach
+	public void destroy() {
+		if (this.encoder != null) {
+			this.encoder.destroy();
+		}
+	}
+
+	@Test
+	public void constructorWhenNegativeQueuedHashesThenException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new BoundedReactivePasswordEncoder(this.delegate, 1, -1));
+	}
+
+	@Test
+	public void matchesThenHashesOnPasswordEncoderThread() {
+		willAnswer((invocation) -> Thread.currentThread().getName().startsWith("password-encoder-"))
+			.given(this.delegate)
+			.matches("password", "encoded");
+		this.encoder = new BoundedReactivePasswordEncoder(this.delegate);
+		StepVerifier.create(this.encoder.matches("password", "encoded")).expectNext(true).verifyComplete();
+	}
+
+	@Test
+	public void matchesThenSignalsOffPasswordEncoderThread() {
+		given(this.delegate.matches("password", "encoded")).willReturn(true);
+		this.encoder = new BoundedReactivePasswordEncoder(this.delegate);
+		StepVerifier.create(this.encoder.matches("password", "encoded").map((matches) -> Thread.currentThread()))
+			.assertNext((thread) -> assertThat(thread.getName()).doesNotStartWith("password-encoder-"))
+			.verifyComplete();
+	}
+
+	@Test
+	public void encodeThenDelegates() {
+		given(this.delegate.encode("password")).willReturn("encoded");
+		this.encoder = new BoundedReactivePasswordEncoder(this.delegate);
+		StepVerifier.create(this.encoder.encode("password")).expectNext("encoded").verifyComplete();
+	}
+
+	@Test
+	public void matchesWhenDelegateFailsThenError() {
+		given(this.delegate.matches(any(), any())).willThrow(new IllegalArgumentException("invalid"));
+		this.encoder = new BoundedReactivePasswordEncoder(this.delegate);
+		StepVerifier.create(this.encoder.matches("password", "encoded"))
+			.expectError(IllegalArgumentException.class)
+			.verify();
+	}
+
+	@Test
+	public void matchesWhenSaturatedThenAuthenticationServiceException() throws Exception {
+		CountDownLatch hashing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		willAnswer((invocation) -> {
+			hashing.countDown();
+			return release.await(10, TimeUnit.SECONDS);
+		}).given(this.delegate).matches(any(), any());
+		this.encoder = new BoundedReactivePasswordEncoder(this.delegate, 1, 0);
+		Disposable first = this.encoder.matches("password", "encoded").subscribe();
+		assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+		StepVerifier.create(this.encoder.matches("password", "encoded"))
+			.expectError(AuthenticationServiceException.class)
+			.verify();
+		release.countDown();
+		first.dispose();
+	}
+
+	@Test
+	public void matchesWhenCancelledWhileQueuedThenNotHashed() throws Exception {
+		CountDownLatch hashing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		willAnswer((invocation) -> {
+			hashing.countDown();
+			return release.await(10, TimeUnit.SECONDS);
+		}).given(this.delegate).matches(any(), any());
+		this.encoder = new BoundedReactivePasswordEncoder(this.delegate, 1, 1);
+		StepVerifier.create(this.encoder.matches("first", "encoded")).then(() -> {
+			try {
+				assertThat(hashing.await(10, TimeUnit.SECONDS)).isTrue();
+			}
+			catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+			this.encoder.matches("queued", "encoded").subscribe().dispose();
+			release.countDown();
+		}).expectNext(true).verifyComplete();
+		verify(this.delegate, never()).matches("queued", "encoded");
+	}
+
+}
@@ -22,14 +22,21 @@ import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.security.access.hierarchicalroles.BitSetRoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link AuthoritiesAuthorizationManager}.
@@ -84,4 +91,63 @@ class AuthoritiesAuthorizationManagerTests {
 		assertThat(manager.check(authentication, Collections.singleton("ROLE_USER")).isGranted()).isTrue();
 	}
 
+	@Test
+	void checkWhenBitSetRoleHierarchySetThenGreaterRoleTakesPrecedence() {
+		AuthoritiesAuthorizationManager manager = new AuthoritiesAuthorizationManager();
+		manager.setRoleHierarchy(BitSetRoleHierarchy.fromHierarchy("ROLE_ADMIN > ROLE_USER"));
+		Supplier<Authentication> admin = () -> new TestingAuthenticationToken("user", "password", "ROLE_ADMIN");
+		Supplier<Authentication> user = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		assertThat(manager.check(admin, Collections.singleton("ROLE_USER")).isGranted()).isTrue();
+		assertThat(manager.check(user, Collections.singleton("ROLE_ADMIN")).isGranted()).isFalse();
+	}
+
+	@Test
+	void checkWhenSameAuthenticationCheckedTwiceThenRoleHierarchyExpandedTwice() {
+		RoleHierarchy roleHierarchy = mock(RoleHierarchy.class);
+		given(roleHierarchy.getReachableGrantedAuthorities(any()))
+			.willReturn(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+		AuthoritiesAuthorizationManager manager = new AuthoritiesAuthorizationManager();
+		manager.setRoleHierarchy(roleHierarchy);
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_ADMIN");
+		assertThat(manager.check(() -> authentication, Collections.singleton("ROLE_USER")).isGranted()).isTrue();
+		assertThat(manager.check(() -> authentication, Collections.singleton("ROLE_OTHER")).isGranted()).isFalse();
+		verify(roleHierarchy, times(2)).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	void checkWhenCacheReachableAuthoritiesAndSameAuthenticationCheckedTwiceThenRoleHierarchyExpandedOnce() {
+		RoleHierarchy roleHierarchy = mock(RoleHierarchy.class);
+		given(roleHierarchy.getReachableGrantedAuthorities(any()))
+			.willReturn(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+		AuthoritiesAuthorizationManager manager = new AuthoritiesAuthorizationManager();
+		manager.setRoleHierarchy(roleHierarchy);
+		manager.setCacheReachableAuthorities(true);
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_ADMIN");
+		assertThat(manager.check(() -> authentication, Collections.singleton("ROLE_USER")).isGranted()).isTrue();
+		assertThat(manager.check(() -> authentication, Collections.singleton("ROLE_OTHER")).isGranted()).isFalse();
+		verify(roleHierarchy, times(1)).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	void checkWhenCacheReachableAuthoritiesAndRoleHierarchyChangedThenNewRoleHierarchyUsed() {
+		AuthoritiesAuthorizationManager manager = new AuthoritiesAuthorizationManager();
+		manager.setCacheReachableAuthorities(true);
+		manager.setRoleHierarchy(RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_USER"));
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_ADMIN");
+		assertThat(manager.check(() -> authentication, Collections.singleton("ROLE_USER")).isGranted()).isTrue();
+		manager.setRoleHierarchy(RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_MANAGER"));
+		assertThat(manager.check(() -> authentication, Collections.singleton("ROLE_USER")).isGranted()).isFalse();
+	}
+
+	@Test
+	void checkWhenOtherAuthenticationThenRoleHierarchyExpandedAgain() {
+		RoleHierarchy roleHierarchy = RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_USER");
+		AuthoritiesAuthorizationManager manager = new AuthoritiesAuthorizationManager();
+		manager.setRoleHierarchy(roleHierarchy);
+		Supplier<Authentication> admin = () -> new TestingAuthenticationToken("user", "password", "ROLE_ADMIN");
+		Supplier<Authentication> user = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		assertThat(manager.check(admin, Collections.singleton("ROLE_USER")).isGranted()).isTrue();
+		assertThat(manager.check(user, Collections.singleton("ROLE_ADMIN")).isGranted()).isFalse();
+	}
+
 }
@@ -27,9 +27,15 @@ import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link AuthorityAuthorizationManager}.
@@ -266,6 +272,20 @@ public class AuthorityAuthorizationManagerTests {
 		assertThat(manager.check(authentication, object).isGranted()).isTrue();
 	}
 
+	@Test
+	void hasRoleWhenCacheReachableAuthoritiesThenRoleHierarchyExpandedOnce() {
+		RoleHierarchy roleHierarchy = mock(RoleHierarchy.class);
+		given(roleHierarchy.getReachableGrantedAuthorities(any()))
+			.willAnswer((invocation) -> AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+		AuthorityAuthorizationManager<Object> manager = AuthorityAuthorizationManager.hasRole("USER");
+		manager.setRoleHierarchy(roleHierarchy);
+		manager.setCacheReachableAuthorities(true);
+		Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_ADMIN");
+		assertThat(manager.check(() -> authentication, new Object()).isGranted()).isTrue();
+		assertThat(manager.check(() -> authentication, new Object()).isGranted()).isTrue();
+		verify(roleHierarchy, times(1)).getReachableGrantedAuthorities(any());
+	}
+
 	// gh-13079
 	@Test
 	void hasAnyRoleWhenEmptyRolePrefixThenNoException() {
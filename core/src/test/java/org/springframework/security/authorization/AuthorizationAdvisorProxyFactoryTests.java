@@ -323,6 +323,66 @@ public class AuthorizationAdvisorProxyFactoryTests {
 		verify(advisor, atLeastOnce()).getPointcut();
 	}
 
+	@Test
+	public void setAdvisorsWhenAlreadyProxiedThenVisits() {
+		AuthorizationAdvisor advisor = mock(AuthorizationAdvisor.class);
+		given(advisor.getAdvice()).willReturn(advisor);
+		given(advisor.getPointcut()).willReturn(Pointcut.TRUE);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		proxy(factory, this.flight);
+		factory.setAdvisors(advisor);
+		Flight flight = proxy(factory, new Flight());
+		flight.getAltitude();
+		verify(advisor, atLeastOnce()).getPointcut();
+	}
+
+	@Test
+	public void proxyWhenSameClassTwiceThenBothHonor() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		Flight first = new Flight();
+		Flight second = new Flight();
+		Flight securedFirst = proxy(factory, first);
+		Flight securedSecond = proxy(factory, second);
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(securedFirst::getAltitude);
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(securedSecond::getAltitude);
+		assertThat(((AuthorizationProxy) securedFirst).toAuthorizedTarget()).isSameAs(first);
+		assertThat(((AuthorizationProxy) securedSecond).toAuthorizedTarget()).isSameAs(second);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenLazyContainersAndListThenProxiesOnAccess() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyContainers(), TargetVisitor.defaults()));
+		List<Flight> flights = new ArrayList<>(List.of(this.flight, new Flight()));
+		List<Flight> secured = proxy(factory, flights);
+		assertThat(secured).hasSize(2);
+		assertThat(secured.get(0)).isInstanceOf(AuthorizationProxy.class).isSameAs(secured.get(0));
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(secured.get(1)::getAltitude);
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(secured::clear);
+		assertThat(flights.get(0)).isSameAs(this.flight);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void proxyWhenLazyContainersAndMapThenProxiesOnAccess() {
+		SecurityContextHolder.getContext().setAuthentication(this.user);
+		AuthorizationAdvisorProxyFactory factory = AuthorizationAdvisorProxyFactory.withDefaults();
+		factory.setTargetVisitor(TargetVisitor.of(TargetVisitor.lazyContainers(), TargetVisitor.defaults()));
+		Map<String, User> users = new HashMap<>(Map.of(this.alan.getId(), this.alan));
+		Map<String, User> secured = proxy(factory, users);
+		assertThat(secured).hasSize(1).containsKey(this.alan.getId());
+		User user = secured.get(this.alan.getId());
+		assertThat(user).isInstanceOf(AuthorizationProxy.class).isSameAs(secured.get(this.alan.getId()));
+		assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(user::getFirstName);
+		secured.forEach(
+				(id, value) -> assertThatExceptionOfType(AccessDeniedException.class).isThrownBy(value::getFirstName));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(secured::clear);
+		SecurityContextHolder.clearContext();
+	}
+
 	@Test
 	public void setTargetVisitorThenUses() {
 		TargetVisitor visitor = mock(TargetVisitor.class);
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization.method;
+
+import java.util.ArrayList;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.access.intercept.method.MockMethodInvocation;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link MemoizingAuthorizationManager}.
+ */
+class MemoizingAuthorizationManagerTests {
+
+	private final Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void authorizeWhenSameInvocationThenDelegateConsultedOnce() throws Exception {
+		AuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate);
+		assertThat(manager.authorize(() -> this.authentication, invocation("one")).isGranted()).isTrue();
+		assertThat(manager.authorize(() -> this.authentication, invocation("one")).isGranted()).isTrue();
+		verify(delegate, times(1)).authorize(any(), any());
+		assertThat(manager.getHitCount()).isEqualTo(1);
+		assertThat(manager.getMissCount()).isEqualTo(1);
+		assertThat(manager.getHitRatio()).isEqualTo(0.5);
+	}
+
+	@Test
+	void authorizeWhenOtherArgumentsThenDelegateConsultedAgain() throws Exception {
+		AuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate);
+		manager.authorize(() -> this.authentication, invocation("one"));
+		manager.authorize(() -> this.authentication, invocation("two"));
+		verify(delegate, times(2)).authorize(any(), any());
+	}
+
+	@Test
+	void authorizeWhenOtherAuthenticationThenDelegateConsultedAgain() throws Exception {
+		AuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate);
+		Authentication other = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		manager.authorize(() -> this.authentication, invocation("one"));
+		manager.authorize(() -> other, invocation("one"));
+		verify(delegate, times(2)).authorize(any(), any());
+	}
+
+	@Test
+	void authorizeWhenSecurityContextReplacedThenDelegateConsultedAgain() throws Exception {
+		AuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate);
+		manager.authorize(() -> this.authentication, invocation("one"));
+		SecurityContextHolder.setContext(new SecurityContextImpl(this.authentication));
+		manager.authorize(() -> this.authentication, invocation("one"));
+		verify(delegate, times(2)).authorize(any(), any());
+	}
+
+	@Test
+	void authorizeWhenRecordOfImmutableValuesThenDelegateConsultedOnce() throws Exception {
+		AuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate);
+		manager.authorize(() -> this.authentication, invocationWithObject(new DocumentId("one", 1)));
+		manager.authorize(() -> this.authentication, invocationWithObject(new DocumentId("one", 1)));
+		verify(delegate, times(1)).authorize(any(), any());
+	}
+
+	@Test
+	void authorizeWhenMutableArgumentThenDelegateConsultedEveryTime() throws Exception {
+		AuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate);
+		MethodInvocation invocation = invocationWithObject(new ArrayList<>());
+		manager.authorize(() -> this.authentication, invocation);
+		manager.authorize(() -> this.authentication, invocation);
+		verify(delegate, times(2)).authorize(any(), any());
+		assertThat(manager.getMissCount()).isZero();
+	}
+
+	@Test
+	void authorizeWhenNotMemoizableThenDelegateConsultedEveryTime() throws Exception {
+		AuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate);
+		manager.setMemoizable((mi) -> false);
+		manager.authorize(() -> this.authentication, invocation("one"));
+		manager.authorize(() -> this.authentication, invocation("one"));
+		verify(delegate, times(2)).authorize(any(), any());
+		assertThat(manager.getMissCount()).isZero();
+	}
+
+	@Test
+	void constructorWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new MemoizingAuthorizationManager(null));
+	}
+
+	@Test
+	void setMaxResultsPerRequestWhenZeroThenIllegalArgumentException() {
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate());
+		assertThatIllegalArgumentException().isThrownBy(() -> manager.setMaxResultsPerRequest(0));
+	}
+
+	@Test
+	void setSecurityContextHolderStrategyWhenNullThenIllegalArgumentException() {
+		MemoizingAuthorizationManager manager = new MemoizingAuthorizationManager(delegate());
+		assertThatIllegalArgumentException().isThrownBy(() -> manager.setSecurityContextHolderStrategy(null));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static AuthorizationManager<MethodInvocation> delegate() {
+		AuthorizationManager<MethodInvocation> delegate = mock(AuthorizationManager.class);
+		given(delegate.authorize(any(), any())).willReturn(new AuthorizationDecision(true));
+		return delegate;
+	}
+
+	private static MethodInvocation invocation(String argument) throws Exception {
+		return new MockMethodInvocation(new TestClass(), TestClass.class, "doSomething", new Class[] { String.class },
+				new Object[] { argument });
+	}
+
+	private static MethodInvocation invocationWithObject(Object argument) throws Exception {
+		return new MockMethodInvocation(new TestClass(), TestClass.class, "doSomethingElse",
+				new Class[] { Object.class }, new Object[] { argument });
+	}
+
+	public static class TestClass {
+
+		public void doSomething(String argument) {
+		}
+
+		public void doSomethingElse(Object argument) {
+		}
+
+	}
+
+	record DocumentId(String name, int version) {
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization.method;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import org.springframework.security.access.intercept.method.MockMethodInvocation;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link MemoizingReactiveAuthorizationManager}.
+ */
+class MemoizingReactiveAuthorizationManagerTests {
+
+	private final Authentication authentication = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+
+	private final Context context = ReactiveSecurityContextHolder.withAuthentication(this.authentication);
+
+	@Test
+	void authorizeWhenSameInvocationThenDelegateConsultedOnce() throws Exception {
+		ReactiveAuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingReactiveAuthorizationManager manager = new MemoizingReactiveAuthorizationManager(delegate);
+		assertThat(authorize(manager, this.authentication, this.context).isGranted()).isTrue();
+		assertThat(authorize(manager, this.authentication, this.context).isGranted()).isTrue();
+		verify(delegate, times(1)).authorize(any(), any());
+		assertThat(manager.getHitRatio()).isEqualTo(0.5);
+	}
+
+	@Test
+	void authorizeWhenOtherSecurityContextThenDelegateConsultedAgain() throws Exception {
+		ReactiveAuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingReactiveAuthorizationManager manager = new MemoizingReactiveAuthorizationManager(delegate);
+		authorize(manager, this.authentication, this.context);
+		authorize(manager, this.authentication, ReactiveSecurityContextHolder.withAuthentication(this.authentication));
+		verify(delegate, times(2)).authorize(any(), any());
+	}
+
+	@Test
+	void authorizeWhenNoSecurityContextThenDelegateConsultedEveryTime() throws Exception {
+		ReactiveAuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingReactiveAuthorizationManager manager = new MemoizingReactiveAuthorizationManager(delegate);
+		manager.authorize(Mono.just(this.authentication), invocation("one")).block();
+		manager.authorize(Mono.just(this.authentication), invocation("one")).block();
+		verify(delegate, times(2)).authorize(any(), any());
+		assertThat(manager.getMissCount()).isZero();
+	}
+
+	@Test
+	void authorizeWhenOtherAuthenticationThenDelegateConsultedAgain() throws Exception {
+		ReactiveAuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingReactiveAuthorizationManager manager = new MemoizingReactiveAuthorizationManager(delegate);
+		Authentication other = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		authorize(manager, this.authentication, this.context);
+		authorize(manager, other, this.context);
+		verify(delegate, times(2)).authorize(any(), any());
+	}
+
+	@Test
+	void authorizeWhenNoAuthenticationThenDelegateConsulted() throws Exception {
+		ReactiveAuthorizationManager<MethodInvocation> delegate = delegate();
+		MemoizingReactiveAuthorizationManager manager = new MemoizingReactiveAuthorizationManager(delegate);
+		assertThat(manager.authorize(Mono.empty(), invocation("one")).contextWrite(this.context).block().isGranted())
+			.isTrue();
+		assertThat(manager.getMissCount()).isZero();
+	}
+
+	private static AuthorizationResult authorize(MemoizingReactiveAuthorizationManager manager,
+			Authentication authentication, Context context) throws Exception {
+		return manager.authorize(Mono.just(authentication), invocation("one")).contextWrite(context).block();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ReactiveAuthorizationManager<MethodInvocation> delegate() {
+		ReactiveAuthorizationManager<MethodInvocation> delegate = mock(ReactiveAuthorizationManager.class);
+		given(delegate.authorize(any(), any())).willReturn(Mono.just(new AuthorizationDecision(true)));
+		return delegate;
+	}
+
+	private static MethodInvocation invocation(String argument) throws Exception {
+		return new MockMethodInvocation(new TestClass(), TestClass.class, "doSomething", new Class[] { String.class },
+				new Object[] { argument });
+	}
+
+	public static class TestClass {
+
+		public void doSomething(String argument) {
+		}
+
+	}
+
+}
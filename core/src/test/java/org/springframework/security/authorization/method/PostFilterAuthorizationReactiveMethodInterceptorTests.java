@@ -16,8 +16,12 @@
 
 package org.springframework.security.authorization.method;
 
+import java.io.Serializable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
@@ -25,10 +29,12 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.annotation.AnnotationConfigurationException;
+import org.springframework.security.access.BatchPermissionEvaluator;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.access.intercept.method.MockMethodInvocation;
 import org.springframework.security.access.prepost.PostFilter;
+import org.springframework.security.core.Authentication;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -105,6 +111,54 @@ public class PostFilterAuthorizationReactiveMethodInterceptorTests {
 			.containsOnly("john");
 	}
 
+	@Test
+	public void invokeWhenFluxAndBatchPermissionEvaluatorThenFilteredInBatches() throws Throwable {
+		Flux<Integer> flux = Flux.range(0, 10);
+		MockMethodInvocation methodInvocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingFluxWithPermission", new Class[] { Flux.class }, new Object[] { flux }) {
+			@Override
+			public Object proceed() {
+				return flux;
+			}
+		};
+		EvenNumbersPermissionEvaluator permissionEvaluator = new EvenNumbersPermissionEvaluator();
+		DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+		expressionHandler.setPermissionEvaluator(permissionEvaluator);
+		PostFilterAuthorizationReactiveMethodInterceptor interceptor = new PostFilterAuthorizationReactiveMethodInterceptor(
+				expressionHandler);
+		interceptor.setBatchSize(3);
+		Object result = interceptor.invoke(methodInvocation);
+		assertThat(result).asInstanceOf(InstanceOfAssertFactories.type(Flux.class))
+			.extracting(Flux::collectList)
+			.extracting(Mono::block, InstanceOfAssertFactories.list(Integer.class))
+			.containsExactly(0, 2, 4, 6, 8);
+		assertThat(permissionEvaluator.batches).hasValue(4);
+	}
+
+	@Test
+	public void invokeWhenFluxThenFilteredInOrder() throws Throwable {
+		Flux<String> flux = Flux.just("john", "bob", "john", "john");
+		MockMethodInvocation methodInvocation = new MockMethodInvocation(new TestClass(), TestClass.class,
+				"doSomethingFlux", new Class[] { Flux.class }, new Object[] { flux }) {
+			@Override
+			public Object proceed() {
+				return flux;
+			}
+		};
+		PostFilterAuthorizationReactiveMethodInterceptor interceptor = new PostFilterAuthorizationReactiveMethodInterceptor();
+		Object result = interceptor.invoke(methodInvocation);
+		assertThat(result).asInstanceOf(InstanceOfAssertFactories.type(Flux.class))
+			.extracting(Flux::collectList)
+			.extracting(Mono::block, InstanceOfAssertFactories.list(String.class))
+			.containsExactly("john", "john", "john");
+	}
+
+	@Test
+	public void setBatchSizeWhenZeroThenException() {
+		PostFilterAuthorizationReactiveMethodInterceptor interceptor = new PostFilterAuthorizationReactiveMethodInterceptor();
+		assertThatIllegalArgumentException().isThrownBy(() -> interceptor.setBatchSize(0));
+	}
+
 	@Test
 	public void checkInheritedAnnotationsWhenConflictingThenAnnotationConfigurationException() throws Exception {
 		MockMethodInvocation methodInvocation = new MockMethodInvocation(new ConflictingAnnotations(),
@@ -131,6 +185,11 @@ public class PostFilterAuthorizationReactiveMethodInterceptorTests {
 			return mono;
 		}
 
+		@PostFilter("hasPermission(filterObject, 'read')")
+		public Flux<Integer> doSomethingFluxWithPermission(Flux<Integer> flux) {
+			return flux;
+		}
+
 		@Override
 		public void inheritedAnnotations() {
 
@@ -138,6 +197,33 @@ public class PostFilterAuthorizationReactiveMethodInterceptorTests {
 
 	}
 
+	static class EvenNumbersPermissionEvaluator implements BatchPermissionEvaluator {
+
+		private final AtomicInteger batches = new AtomicInteger();
+
+		@Override
+		public BitSet hasPermission(Authentication authentication, List<?> targetDomainObjects, Object permission) {
+			this.batches.incrementAndGet();
+			BitSet permitted = new BitSet(targetDomainObjects.size());
+			for (int i = 0; i < targetDomainObjects.size(); i++) {
+				permitted.set(i, hasPermission(authentication, targetDomainObjects.get(i), permission));
+			}
+			return permitted;
+		}
+
+		@Override
+		public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+			return targetDomainObject instanceof Integer number && number % 2 == 0;
+		}
+
+		@Override
+		public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
+				Object permission) {
+			return false;
+		}
+
+	}
+
 	public static class NoPostFilterClass {
 
 		public void doSomething() {
@@ -31,6 +31,7 @@ import org.mockito.stubbing.Answer;
 import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.support.ExecutorServiceAdapter;
 import org.springframework.security.core.context.MockSecurityContextHolderStrategy;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
@@ -142,6 +143,19 @@ public class DelegatingSecurityContextRunnableTests {
 		verify(securityContextHolderStrategy, atLeastOnce()).getContext();
 	}
 
+	@Test
+	public void callWhenScopedValueSecurityContextHolderStrategyThenBoundDuringRun() throws Exception {
+		ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+		givenDelegateRunWillAnswerWithCurrentSecurityContext(strategy);
+		DelegatingSecurityContextRunnable runnable = new DelegatingSecurityContextRunnable(this.delegate,
+				this.securityContext);
+		runnable.setSecurityContextHolderStrategy(strategy);
+		this.executor = synchronousExecutor();
+		this.executor.submit(runnable).get();
+		verify(this.delegate).run();
+		assertThat(strategy.getContext()).isEqualTo(strategy.createEmptyContext());
+	}
+
 	// SEC-3031
 	@Test
 	public void callOnSameThread() throws Exception {
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.authority;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link GrantedAuthorityInterner}.
+ */
+class GrantedAuthorityInternerTests {
+
+	@Test
+	void internWhenSameAuthorityThenSameInstance() {
+		GrantedAuthorityInterner interner = new GrantedAuthorityInterner();
+		SimpleGrantedAuthority authority = interner.intern("ROLE_USER");
+		assertThat(authority.getAuthority()).isEqualTo("ROLE_USER");
+		assertThat(interner.intern(new String("ROLE_USER"))).isSameAs(authority);
+		assertThat(interner.intern("ROLE_ADMIN")).isNotSameAs(authority);
+	}
+
+	@Test
+	void internWhenMaxSizeReachedThenNewInstance() {
+		GrantedAuthorityInterner interner = new GrantedAuthorityInterner(1);
+		SimpleGrantedAuthority user = interner.intern("ROLE_USER");
+		SimpleGrantedAuthority admin = interner.intern("ROLE_ADMIN");
+		assertThat(admin).isEqualTo(new SimpleGrantedAuthority("ROLE_ADMIN"));
+		assertThat(interner.intern("ROLE_ADMIN")).isNotSameAs(admin);
+		assertThat(interner.intern("ROLE_USER")).isSameAs(user);
+	}
+
+	@Test
+	void constructorWhenMaxSizeZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new GrantedAuthorityInterner(0));
+	}
+
+}
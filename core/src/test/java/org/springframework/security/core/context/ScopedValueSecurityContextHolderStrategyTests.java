@@ -0,0 +1,171 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link ScopedValueSecurityContextHolderStrategy}.
+ */
+class ScopedValueSecurityContextHolderStrategyTests {
+
+	ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+
+	SecurityContext context = new SecurityContextImpl(new TestingAuthenticationToken("user", "password"));
+
+	@AfterEach
+	void clearContext() {
+		this.strategy.clearContext();
+	}
+
+	@Test
+	void getContextWhenNotBoundThenEmptyAndSameInstance() {
+		SecurityContext context = this.strategy.getContext();
+		assertThat(context).isEqualTo(this.strategy.createEmptyContext());
+		assertThat(this.strategy.getContext()).isSameAs(context);
+	}
+
+	@Test
+	void setContextWhenNotBoundThenReturned() {
+		this.strategy.setContext(this.context);
+		assertThat(this.strategy.getContext()).isSameAs(this.context);
+		this.strategy.clearContext();
+		assertThat(this.strategy.getContext()).isEqualTo(this.strategy.createEmptyContext());
+	}
+
+	@Test
+	void runWhereThenBoundOnlyDuringOperation() {
+		SecurityContext original = new SecurityContextImpl(new TestingAuthenticationToken("original", "password"));
+		this.strategy.setContext(original);
+		this.strategy.runWhere(this.context, () -> assertThat(this.strategy.getContext()).isSameAs(this.context));
+		assertThat(this.strategy.getContext()).isSameAs(original);
+	}
+
+	@Test
+	void callWhereThenDeferredContextNotInvokedUntilLookedUp() {
+		Supplier<SecurityContext> deferredContext = mock(Supplier.class);
+		String result = this.strategy.callWhere(deferredContext, () -> "result");
+		assertThat(result).isEqualTo("result");
+		verifyNoInteractions(deferredContext);
+	}
+
+	@Test
+	void callWhereWhenDeferredContextReturnsNullThenIllegalArgumentException() {
+		this.strategy.runWhere(this.context, () -> {
+			this.strategy.setDeferredContext(() -> null);
+			assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(this.strategy::getContext);
+		});
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> this.strategy.callWhere(() -> null, this.strategy::getContext));
+	}
+
+	@Test
+	void setContextWhenBoundThenOnlyChangesOperation() {
+		SecurityContext changed = new SecurityContextImpl(new TestingAuthenticationToken("changed", "password"));
+		this.strategy.runWhere(this.context, () -> {
+			this.strategy.setContext(changed);
+			assertThat(this.strategy.getContext()).isSameAs(changed);
+			this.strategy.clearContext();
+			assertThat(this.strategy.getContext()).isEqualTo(this.strategy.createEmptyContext());
+		});
+		assertThat(this.strategy.getContext()).isEqualTo(this.strategy.createEmptyContext());
+	}
+
+	@Test
+	void setContextWhenForkedThreadThenOperationAndOtherForkedThreadsUnchanged() throws Exception {
+		assumeTrue(ScopedValueSecurityContextHolderStrategy.isScopedValueSupported(), "ScopedValue is not available");
+		SecurityContext changed = new SecurityContextImpl(new TestingAuthenticationToken("changed", "password"));
+		AtomicReference<SecurityContext> changedInFork = new AtomicReference<>();
+		AtomicReference<SecurityContext> clearedInFork = new AtomicReference<>();
+		AtomicReference<SecurityContext> otherFork = new AtomicReference<>();
+		this.strategy.callWhere(() -> this.context, () -> {
+			fork(() -> {
+				this.strategy.setContext(changed);
+				changedInFork.set(this.strategy.getContext());
+				this.strategy.clearContext();
+				clearedInFork.set(this.strategy.getContext());
+			});
+			assertThat(this.strategy.getContext()).isSameAs(this.context);
+			fork(() -> otherFork.set(this.strategy.getContext()));
+			assertThat(this.strategy.getContext()).isSameAs(this.context);
+			return null;
+		});
+		assertThat(changedInFork).hasValue(changed);
+		assertThat(clearedInFork.get()).isEqualTo(this.strategy.createEmptyContext());
+		assertThat(otherFork).hasValue(this.context);
+	}
+
+	@Test
+	void runWhereWhenNestedThenInnerContextRestored() {
+		SecurityContext inner = new SecurityContextImpl(new TestingAuthenticationToken("inner", "password"));
+		this.strategy.runWhere(this.context, () -> {
+			this.strategy.runWhere(inner, () -> assertThat(this.strategy.getContext()).isSameAs(inner));
+			assertThat(this.strategy.getContext()).isSameAs(this.context);
+		});
+	}
+
+	@Test
+	void callWhereWhenCheckedExceptionThenRethrown() {
+		assertThatExceptionOfType(IOException.class)
+			.isThrownBy(() -> this.strategy.callWhere(() -> this.context, () -> {
+				throw new IOException("failed");
+			}))
+			.withMessage("failed");
+		assertThat(this.strategy.getContext()).isEqualTo(this.strategy.createEmptyContext());
+	}
+
+	@Test
+	void setContextWhenNullThenIllegalArgumentException() {
+		assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> this.strategy.setContext(null));
+		assertThatExceptionOfType(IllegalArgumentException.class)
+			.isThrownBy(() -> this.strategy.runWhere(null, () -> {
+			}));
+	}
+
+	private static void fork(Runnable subtask) throws Exception {
+		Object scope = openStructuredTaskScope();
+		assumeTrue(scope != null, "StructuredTaskScope is not available");
+		Class<?> scopeClass = Class.forName("java.util.concurrent.StructuredTaskScope");
+		try (AutoCloseable closeable = (AutoCloseable) scope) {
+			scopeClass.getMethod("fork", Runnable.class).invoke(scope, subtask);
+			scopeClass.getMethod("join").invoke(scope);
+		}
+	}
+
+	private static Object openStructuredTaskScope() {
+		try {
+			return Class.forName("java.util.concurrent.StructuredTaskScope").getMethod("open").invoke(null);
+		}
+		catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+			return null;
+		}
+	}
+
+}
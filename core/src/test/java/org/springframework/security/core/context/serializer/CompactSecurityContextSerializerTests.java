@@ -0,0 +1,225 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CompactSecurityContextSerializer}.
+ */
+public class CompactSecurityContextSerializerTests {
+
+	private final CompactSecurityContextSerializer serializer = new CompactSecurityContextSerializer();
+
+	@Test
+	public void serializeWhenNoAuthenticationThenRoundTrips() throws IOException {
+		SecurityContext context = roundTrip(new SecurityContextImpl());
+		assertThat(context).isEqualTo(new SecurityContextImpl());
+	}
+
+	@Test
+	public void serializeWhenUsernamePasswordAuthenticationTokenThenRoundTrips() throws IOException {
+		User user = new User("user", "password", true, true, false, true,
+				AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_MANAGER"));
+		user.eraseCredentials();
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(user,
+				null, user.getAuthorities());
+		authentication.setDetails(Map.of("remoteAddress", "127.0.0.1"));
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		assertThat(context.getAuthentication()).isEqualTo(authentication);
+		User principal = (User) context.getAuthentication().getPrincipal();
+		assertThat(principal.getPassword()).isNull();
+		assertThat(principal.isCredentialsNonExpired()).isFalse();
+		assertThat(principal.getAuthorities()).isEqualTo(user.getAuthorities());
+	}
+
+	@Test
+	public void serializeWhenUnauthenticatedThenRoundTrips() throws IOException {
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken
+			.unauthenticated("user", "password");
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		assertThat(context.getAuthentication()).isEqualTo(authentication);
+		assertThat(context.getAuthentication().isAuthenticated()).isFalse();
+	}
+
+	@Test
+	public void serializeWhenValuesThenRoundTrips() throws IOException {
+		Map<String, Object> details = Map.of("int", -1, "long", Long.MAX_VALUE, "double", 0.5, "boolean", true,
+				"instant", Instant.ofEpochSecond(-1, 1), "list", List.of("ROLE_USER", "value"), "map",
+				Map.of("key", "value"));
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated("user",
+				null, AuthorityUtils.NO_AUTHORITIES);
+		authentication.setDetails(details);
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		assertThat(context.getAuthentication().getDetails()).isEqualTo(details);
+	}
+
+	@Test
+	public void serializeWhenUnknownAuthenticationThenUsesJavaSerialization() throws IOException {
+		TestingAuthenticationToken authentication = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		assertThat(context.getAuthentication()).isEqualTo(authentication);
+	}
+
+	@Test
+	public void serializeWhenUsernamePasswordAuthenticationTokenThenSmallerThanJavaSerialization() throws IOException {
+		User user = new User("user", "password", AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+		user.eraseCredentials();
+		SecurityContext context = new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+		ByteArrayOutputStream java = new ByteArrayOutputStream();
+		try (ObjectOutputStream objects = new ObjectOutputStream(java)) {
+			objects.writeObject(context);
+		}
+		assertThat(this.serializer.serializeToByteArray(context)).hasSizeLessThan(java.size() / 5);
+	}
+
+	@Test
+	public void serializeWhenDictionaryThenAuthoritiesAreNotWritten() throws IOException {
+		SecurityContext context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated("user",
+				null, AuthorityUtils.createAuthorityList("ROLE_MANAGER")));
+		int size = this.serializer.serializeToByteArray(context).length;
+		this.serializer.setDictionary(List.of("ROLE_MANAGER"));
+		assertThat(this.serializer.serializeToByteArray(context)).hasSizeLessThan(size - "ROLE_MANAGER".length());
+		assertThat(roundTrip(context)).isEqualTo(context);
+	}
+
+	@Test
+	public void deserializeWhenDifferentDictionaryThenException() throws IOException {
+		SecurityContext context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated("user",
+				null, AuthorityUtils.createAuthorityList("ROLE_MANAGER")));
+		byte[] bytes = this.serializer.serializeToByteArray(context);
+		this.serializer.setDictionary(List.of("ROLE_MANAGER"));
+		assertThatExceptionOfType(StreamCorruptedException.class)
+			.isThrownBy(() -> this.serializer.deserializeFromByteArray(bytes));
+	}
+
+	@Test
+	public void deserializeWhenUnsupportedFormatVersionThenException() throws IOException {
+		byte[] bytes = this.serializer.serializeToByteArray(new SecurityContextImpl());
+		bytes[0] = 2;
+		assertThatExceptionOfType(StreamCorruptedException.class)
+			.isThrownBy(() -> this.serializer.deserializeFromByteArray(bytes));
+	}
+
+	@Test
+	public void deserializeWhenTruncatedThenException() throws IOException {
+		byte[] bytes = this.serializer.serializeToByteArray(new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated("user", null, AuthorityUtils.NO_AUTHORITIES)));
+		byte[] truncated = new byte[bytes.length - 1];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		assertThatExceptionOfType(IOException.class)
+			.isThrownBy(() -> this.serializer.deserializeFromByteArray(truncated));
+	}
+
+	@Test
+	public void serializeWhenTypeSerializerThenUsesIt() throws IOException {
+		this.serializer.setTypeSerializers(List.of(new DetailsSerializer(1)));
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated("user",
+				null, AuthorityUtils.NO_AUTHORITIES);
+		authentication.setDetails(new Details("details"));
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		assertThat(context.getAuthentication().getDetails()).isEqualTo(new Details("details"));
+	}
+
+	@Test
+	public void deserializeWhenNewerSchemaVersionThenException() throws IOException {
+		this.serializer.setTypeSerializers(List.of(new DetailsSerializer(2)));
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated("user",
+				null, AuthorityUtils.NO_AUTHORITIES);
+		authentication.setDetails(new Details("details"));
+		byte[] bytes = this.serializer.serializeToByteArray(new SecurityContextImpl(authentication));
+		this.serializer.setTypeSerializers(List.of(new DetailsSerializer(1)));
+		assertThatExceptionOfType(StreamCorruptedException.class)
+			.isThrownBy(() -> this.serializer.deserializeFromByteArray(bytes));
+	}
+
+	@Test
+	public void setTypeSerializersWhenDuplicateTypeIdThenException() {
+		CompactTypeSerializer<Details> duplicate = new DetailsSerializer(1) {
+			@Override
+			public int getTypeId() {
+				return 1;
+			}
+		};
+		assertThatIllegalArgumentException().isThrownBy(() -> this.serializer.setTypeSerializers(List.of(duplicate)));
+	}
+
+	private SecurityContext roundTrip(SecurityContext context) throws IOException {
+		return this.serializer.deserializeFromByteArray(this.serializer.serializeToByteArray(context));
+	}
+
+	record Details(String value) implements Serializable {
+
+	}
+
+	static class DetailsSerializer implements CompactTypeSerializer<Details> {
+
+		private final int schemaVersion;
+
+		DetailsSerializer(int schemaVersion) {
+			this.schemaVersion = schemaVersion;
+		}
+
+		@Override
+		public int getTypeId() {
+			return 128;
+		}
+
+		@Override
+		public Class<Details> getType() {
+			return Details.class;
+		}
+
+		@Override
+		public int getSchemaVersion() {
+			return this.schemaVersion;
+		}
+
+		@Override
+		public void serialize(Details details, CompactOutput output) throws IOException {
+			output.writeString(details.value());
+		}
+
+		@Override
+		public Details deserialize(CompactInput input, int schemaVersion) throws IOException {
+			return new Details(input.readString());
+		}
+
+	}
+
+}
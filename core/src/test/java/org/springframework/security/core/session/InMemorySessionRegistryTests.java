@@ -0,0 +1,192 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.context.SecurityContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link InMemorySessionRegistry}.
+ */
+class InMemorySessionRegistryTests {
+
+	private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+	private final InMemorySessionRegistry sessionRegistry = new InMemorySessionRegistry();
+
+	@Test
+	void registerNewSessionWhenManySessionsForPrincipalThenAllRegistered() {
+		for (int i = 0; i < 1000; i++) {
+			this.sessionRegistry.registerNewSession("session" + i, "principal");
+		}
+		assertThat(this.sessionRegistry.getAllSessions("principal", false)).hasSize(1000);
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("principal");
+	}
+
+	@Test
+	void registerNewSessionWhenSessionIdRegisteredForOtherPrincipalThenMoved() {
+		this.sessionRegistry.registerNewSession("session", "principal");
+		this.sessionRegistry.registerNewSession("session", "other");
+		assertThat(this.sessionRegistry.getAllSessions("principal", true)).isEmpty();
+		assertThat(this.sessionRegistry.getAllSessions("other", true)).extracting(SessionInformation::getSessionId)
+			.containsExactly("session");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("other");
+	}
+
+	@Test
+	void removeSessionInformationWhenLastSessionThenPrincipalRemoved() {
+		this.sessionRegistry.registerNewSession("session1", "principal");
+		this.sessionRegistry.registerNewSession("session2", "principal");
+		this.sessionRegistry.removeSessionInformation("session1");
+		assertThat(this.sessionRegistry.getSessionInformation("session1")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("principal");
+		this.sessionRegistry.removeSessionInformation("session2");
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+		assertThat(this.sessionRegistry.getAllSessions("principal", true)).isEmpty();
+	}
+
+	@Test
+	void getAllSessionsWhenExpiredThenOnlyIncludedWhenRequested() {
+		this.sessionRegistry.registerNewSession("session1", "principal");
+		this.sessionRegistry.registerNewSession("session2", "principal");
+		this.sessionRegistry.getSessionInformation("session1").expireNow();
+		assertThat(this.sessionRegistry.getAllSessions("principal", false)).extracting(SessionInformation::getSessionId)
+			.containsExactly("session2");
+		assertThat(this.sessionRegistry.getAllSessions("principal", true)).hasSize(2);
+	}
+
+	@Test
+	void onApplicationEventWhenSessionDestroyedThenRemoved() {
+		this.sessionRegistry.registerNewSession("session", "principal");
+		this.sessionRegistry.onApplicationEvent(new SessionDestroyedEvent("") {
+			@Override
+			public String getId() {
+				return "session";
+			}
+
+			@Override
+			public List<SecurityContext> getSecurityContexts() {
+				return null;
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("session")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+	}
+
+	@Test
+	void onApplicationEventWhenSessionIdChangedThenReregistered() {
+		this.sessionRegistry.registerNewSession("old", "principal");
+		this.sessionRegistry.onApplicationEvent(new SessionIdChangedEvent("") {
+			@Override
+			public String getOldSessionId() {
+				return "old";
+			}
+
+			@Override
+			public String getNewSessionId() {
+				return "new";
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("old")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("new").getPrincipal()).isEqualTo("principal");
+	}
+
+	@Test
+	void removeInactiveSessionsWhenNoMaxInactiveIntervalThenKept() {
+		this.sessionRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("session", "principal");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofDays(1)), ZoneOffset.UTC));
+		this.sessionRegistry.removeInactiveSessions();
+		assertThat(this.sessionRegistry.getSessionInformation("session")).isNotNull();
+	}
+
+	@Test
+	void removeInactiveSessionsWhenInactiveThenRemoved() {
+		this.sessionRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.sessionRegistry.setMaxInactiveInterval(Duration.ofMinutes(30));
+		this.sessionRegistry.registerNewSession("session", "principal");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(29)), ZoneOffset.UTC));
+		this.sessionRegistry.removeInactiveSessions();
+		assertThat(this.sessionRegistry.getSessionInformation("session")).isNotNull();
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+		this.sessionRegistry.removeInactiveSessions();
+		assertThat(this.sessionRegistry.getSessionInformation("session")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+	}
+
+	@Test
+	void removeInactiveSessionsWhenRefreshedThenKeptUntilInactive() {
+		this.sessionRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.sessionRegistry.setMaxInactiveInterval(Duration.ofMinutes(30));
+		this.sessionRegistry.registerNewSession("session", "principal");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(20)), ZoneOffset.UTC));
+		this.sessionRegistry.refreshLastRequest("session");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(45)), ZoneOffset.UTC));
+		this.sessionRegistry.removeInactiveSessions();
+		assertThat(this.sessionRegistry.getSessionInformation("session")).isNotNull();
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(51)), ZoneOffset.UTC));
+		this.sessionRegistry.removeInactiveSessions();
+		assertThat(this.sessionRegistry.getSessionInformation("session")).isNull();
+	}
+
+	@Test
+	void refreshLastRequestWhenClockSetThenLastRequestFromClock() {
+		this.sessionRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("session", "principal");
+		assertThat(this.sessionRegistry.getSessionInformation("session").getLastRequest()).isEqualTo(Date.from(NOW));
+		Instant later = NOW.plus(Duration.ofMinutes(5));
+		this.sessionRegistry.setClock(Clock.fixed(later, ZoneOffset.UTC));
+		this.sessionRegistry.refreshLastRequest("session");
+		assertThat(this.sessionRegistry.getSessionInformation("session").getLastRequest())
+			.isEqualTo(Date.from(later));
+	}
+
+	@Test
+	void registerNewSessionWhenSweepDueThenInactiveSessionsRemoved() {
+		this.sessionRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.sessionRegistry.setMaxInactiveInterval(Duration.ofMinutes(30));
+		this.sessionRegistry.registerNewSession("inactive", "principal");
+		this.sessionRegistry.setClock(Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+		this.sessionRegistry.registerNewSession("active", "principal");
+		assertThat(this.sessionRegistry.getSessionInformation("inactive")).isNull();
+		assertThat(this.sessionRegistry.getAllSessions("principal", true)).extracting(SessionInformation::getSessionId)
+			.containsExactly("active");
+	}
+
+	@Test
+	void setMaxInactiveIntervalWhenNegativeThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.sessionRegistry.setMaxInactiveInterval(Duration.ofMinutes(-1)));
+	}
+
+	@Test
+	void setClockWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.sessionRegistry.setClock(null));
+	}
+
+}
@@ -20,7 +20,9 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.context.MessageSource;
 import org.springframework.security.PopulatedDatabase;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.GrantedAuthorityInterner;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -122,6 +124,20 @@ public class JdbcDaoImplTests {
 			.contains("ARBITRARY_PREFIX_ROLE_SUPERVISOR");
 	}
 
+	@Test
+	public void loadUserByUsernameWhenGrantedAuthorityInternerThenSharesAuthorities() {
+		JdbcDaoImpl dao = makePopulatedJdbcDao();
+		dao.setGrantedAuthorityInterner(new GrantedAuthorityInterner());
+		GrantedAuthority rodTeller = dao.loadUserByUsername("rod")
+			.getAuthorities()
+			.stream()
+			.filter((authority) -> authority.getAuthority().equals("ROLE_TELLER"))
+			.findFirst()
+			.get();
+		GrantedAuthority scottTeller = dao.loadUserByUsername("scott").getAuthorities().iterator().next();
+		assertThat(scottTeller).isSameAs(rodTeller);
+	}
+
 	@Test
 	public void testGroupAuthoritiesAreLoadedCorrectly() throws Exception {
 		JdbcDaoImpl dao = makePopulatedJdbcDao();
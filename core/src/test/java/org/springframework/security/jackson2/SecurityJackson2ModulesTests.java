@@ -31,6 +31,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
@@ -94,6 +101,56 @@ public class SecurityJackson2ModulesTests {
 		assertThat(this.mapper.readValue(content, Object.class)).isInstanceOf(HashMap.class);
 	}
 
+	@Test
+	public void writeValueWhenCompactTypeIdsThenWritesShortTypeIds() throws Exception {
+		ObjectMapper compact = compactMapper();
+		SecurityContext context = securityContext();
+		String json = compact.writeValueAsString(context);
+		assertThat(json).doesNotContain(UsernamePasswordAuthenticationToken.class.getName());
+		assertThat(json).doesNotContain(SimpleGrantedAuthority.class.getName());
+		assertThat(json.length()).isLessThan(securityMapper().writeValueAsString(context).length());
+		assertThat(compact.readValue(json, SecurityContext.class)).isEqualTo(context);
+	}
+
+	@Test
+	public void readValueWhenClassNamesThenReadsWithCompactTypeIds() throws Exception {
+		SecurityContext context = securityContext();
+		String json = securityMapper().writeValueAsString(context);
+		assertThat(compactMapper().readValue(json, SecurityContext.class)).isEqualTo(context);
+	}
+
+	@Test
+	public void readValueWhenCompactTypeIdsThenReadsWithoutWritingThem() throws Exception {
+		SecurityContext context = securityContext();
+		String json = compactMapper().writeValueAsString(context);
+		assertThat(securityMapper().readValue(json, SecurityContext.class)).isEqualTo(context);
+	}
+
+	@Test
+	public void readValueWhenUnknownCompactTypeIdThenThrowsException() {
+		String content = "{\"@class\":\"@zzz\",\"property\":\"bar\"}";
+		assertThatExceptionOfType(Exception.class).isThrownBy(() -> compactMapper().readValue(content, Object.class));
+	}
+
+	private static ObjectMapper securityMapper() {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModules(SecurityJackson2Modules.getModules(SecurityJackson2ModulesTests.class.getClassLoader()));
+		return mapper;
+	}
+
+	private static ObjectMapper compactMapper() {
+		ObjectMapper mapper = securityMapper();
+		SecurityJackson2Modules.enableCompactTypeIds(mapper);
+		return mapper;
+	}
+
+	private static SecurityContext securityContext() {
+		User user = new User("user", "password", AuthorityUtils.createAuthorityList("ROLE_USER"));
+		user.eraseCredentials();
+		return new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+	}
+
 	@Target({ ElementType.TYPE, ElementType.ANNOTATION_TYPE })
 	@Retention(RetentionPolicy.RUNTIME)
 	@Documented
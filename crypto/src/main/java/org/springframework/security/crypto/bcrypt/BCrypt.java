@@ -15,7 +15,6 @@
 package org.springframework.security.crypto.bcrypt;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.util.Arrays;
 
@@ -66,9 +65,6 @@ public class BCrypt {
 
 	private static final int BCRYPT_SALT_LEN = 16;
 
-	// Blowfish parameters
-	private static final int BLOWFISH_NUM_ROUNDS = 16;
-
 	// Initial contents of key schedule
 	private static final int P_orig[] = { 0x243f6a88, 0x85a308d3, 0x13198a2e, 0x03707344, 0xa4093822, 0x299f31d0,
 			0x082efa98, 0xec4e6c89, 0x452821e6, 0x38d01377, 0xbe5466cf, 0x34e90c6c, 0xc0ac29b7, 0xc97c50dd, 0x3f84d5b5,
@@ -276,7 +272,6 @@ public class BCrypt {
 	 * @throws IllegalArgumentException if maxolen is invalid
 	 */
 	static byte[] decode_base64(String s, int maxolen) throws IllegalArgumentException {
-		StringBuilder rs = new StringBuilder();
 		int off = 0, slen = s.length(), olen = 0;
 		byte ret[];
 		byte c1, c2, c3, c4, o;
@@ -285,6 +280,8 @@ public class BCrypt {
 			throw new IllegalArgumentException("Invalid maxolen");
 		}
 
+		// every character decodes to at most one byte
+		ret = new byte[Math.min(maxolen, slen)];
 		while (off < slen - 1 && olen < maxolen) {
 			c1 = char64(s.charAt(off++));
 			c2 = char64(s.charAt(off++));
@@ -293,7 +290,7 @@ public class BCrypt {
 			}
 			o = (byte) (c1 << 2);
 			o |= (c2 & 0x30) >> 4;
-			rs.append((char) o);
+			ret[olen] = o;
 			if (++olen >= maxolen || off >= slen) {
 				break;
 			}
@@ -303,22 +300,18 @@ public class BCrypt {
 			}
 			o = (byte) ((c2 & 0x0f) << 4);
 			o |= (c3 & 0x3c) >> 2;
-			rs.append((char) o);
+			ret[olen] = o;
 			if (++olen >= maxolen || off >= slen) {
 				break;
 			}
 			c4 = char64(s.charAt(off++));
 			o = (byte) ((c3 & 0x03) << 6);
 			o |= c4;
-			rs.append((char) o);
+			ret[olen] = o;
 			++olen;
 		}
 
-		ret = new byte[olen];
-		for (off = 0; off < olen; off++) {
-			ret[off] = (byte) rs.charAt(off);
-		}
-		return ret;
+		return (olen != ret.length) ? Arrays.copyOf(ret, olen) : ret;
 	}
 
 	/**
@@ -327,76 +320,81 @@ public class BCrypt {
 	 * @param off the position in the array of the blocks
 	 */
 	private void encipher(int lr[], int off) {
-		int i, n, l = lr[off], r = lr[off + 1];
-
-		l ^= this.P[0];
-		for (i = 0; i <= BLOWFISH_NUM_ROUNDS - 2;) {
-			// Feistel substitution on left word
-			n = this.S[(l >> 24) & 0xff];
-			n += this.S[0x100 | ((l >> 16) & 0xff)];
-			n ^= this.S[0x200 | ((l >> 8) & 0xff)];
-			n += this.S[0x300 | (l & 0xff)];
-			r ^= n ^ this.P[++i];
-
-			// Feistel substitution on right word
-			n = this.S[(r >> 24) & 0xff];
-			n += this.S[0x100 | ((r >> 16) & 0xff)];
-			n ^= this.S[0x200 | ((r >> 8) & 0xff)];
-			n += this.S[0x300 | (r & 0xff)];
-			l ^= n ^ this.P[++i];
-		}
-		lr[off] = r ^ this.P[BLOWFISH_NUM_ROUNDS + 1];
-		lr[off + 1] = l;
+		long block = encipher(this.P, this.S, lr[off], lr[off + 1]);
+		lr[off] = (int) (block >>> 32);
+		lr[off + 1] = (int) block;
 	}
 
 	/**
-	 * Cycically extract a word of key material
-	 * @param data the string to extract the data from
-	 * @param offp a "pointer" (as a one-entry array) to the current offset into data
-	 * @param signp a "pointer" (as a one-entry array) to the cumulative flag for
-	 * non-benign sign extension
-	 * @return correct and buggy next word of material from data as int[2]
+	 * Blowfish encipher a single 64-bit block with the 16 Feistel rounds written out, so
+	 * that the halves stay in registers
+	 * @param P the P-array of the key schedule
+	 * @param S the S-boxes of the key schedule
+	 * @param l the left 32-bit half block
+	 * @param r the right 32-bit half block
+	 * @return the enciphered block, with the left half in the upper 32 bits
 	 */
-	private static int[] streamtowords(byte data[], int offp[], int signp[]) {
-		int i;
-		int words[] = { 0, 0 };
-		int off = offp[0];
-		int sign = signp[0];
-
-		for (i = 0; i < 4; i++) {
-			words[0] = (words[0] << 8) | (data[off] & 0xff);
-			words[1] = (words[1] << 8) | data[off]; // sign extension bug
-			if (i > 0) {
-				sign |= words[1] & 0x80;
-			}
-			off = (off + 1) % data.length;
-		}
-
-		offp[0] = off;
-		signp[0] = sign;
-		return words;
+	private static long encipher(int P[], int S[], int l, int r) {
+		l ^= P[0];
+		r ^= feistel(S, l) ^ P[1];
+		l ^= feistel(S, r) ^ P[2];
+		r ^= feistel(S, l) ^ P[3];
+		l ^= feistel(S, r) ^ P[4];
+		r ^= feistel(S, l) ^ P[5];
+		l ^= feistel(S, r) ^ P[6];
+		r ^= feistel(S, l) ^ P[7];
+		l ^= feistel(S, r) ^ P[8];
+		r ^= feistel(S, l) ^ P[9];
+		l ^= feistel(S, r) ^ P[10];
+		r ^= feistel(S, l) ^ P[11];
+		l ^= feistel(S, r) ^ P[12];
+		r ^= feistel(S, l) ^ P[13];
+		l ^= feistel(S, r) ^ P[14];
+		r ^= feistel(S, l) ^ P[15];
+		l ^= feistel(S, r) ^ P[16];
+		return ((long) (r ^ P[17]) << 32) | (l & 0xffffffffL);
 	}
 
 	/**
-	 * Cycically extract a word of key material
-	 * @param data the string to extract the data from
-	 * @param offp a "pointer" (as a one-entry array) to the current offset into data
-	 * @return the next word of material from data
+	 * The Blowfish F function: the Feistel substitution on a 32-bit half block. The
+	 * offsets of the S-boxes are added rather than ORed, so that they become part of the
+	 * addressing of the loads
+	 * @param S the S-boxes of the key schedule
+	 * @param x the half block
+	 * @return the substituted value
 	 */
-	private static int streamtoword(byte data[], int offp[]) {
-		int signp[] = { 0 };
-		return streamtowords(data, offp, signp)[0];
+	private static int feistel(int S[], int x) {
+		return ((S[x >>> 24] + S[0x100 + ((x >>> 16) & 0xff)]) ^ S[0x200 + ((x >>> 8) & 0xff)])
+				+ S[0x300 + (x & 0xff)];
 	}
 
 	/**
-	 * Cycically extract a word of key material, with sign-extension bug
+	 * Cyclically extract the words of key material that are XORed into the P-array
 	 * @param data the string to extract the data from
-	 * @param offp a "pointer" (as a one-entry array) to the current offset into data
-	 * @return the next word of material from data
+	 * @param words the destination for the correct words
+	 * @param words_bug the destination for the words with the sign extension bug
+	 * @return the cumulative flag for non-benign sign extension
 	 */
-	private static int streamtoword_bug(byte data[], int offp[]) {
-		int signp[] = { 0 };
-		return streamtowords(data, offp, signp)[1];
+	private static int streamtowords(byte data[], int words[], int words_bug[]) {
+		int i, j;
+		int off = 0;
+		int sign = 0;
+
+		for (i = 0; i < words.length; i++) {
+			int word = 0, word_bug = 0;
+			for (j = 0; j < 4; j++) {
+				word = (word << 8) | (data[off] & 0xff);
+				word_bug = (word_bug << 8) | data[off]; // sign extension bug
+				if (j > 0) {
+					sign |= word_bug & 0x80;
+				}
+				off = (off + 1) % data.length;
+			}
+			words[i] = word;
+			words_bug[i] = word_bug;
+		}
+
+		return sign;
 	}
 
 	/**
@@ -409,62 +407,60 @@ public class BCrypt {
 
 	/**
 	 * Key the Blowfish cipher
-	 * @param key an array containing the key
-	 * @param sign_ext_bug true to implement the 2x bug
-	 * @param safety bit 16 is set when the safety measure is requested
+	 * @param keywords the words of key material extracted from the key
 	 */
-	private void key(byte key[], boolean sign_ext_bug, int safety) {
+	private void key(int keywords[]) {
 		int i;
-		int koffp[] = { 0 };
-		int lr[] = { 0, 0 };
-		int plen = this.P.length, slen = this.S.length;
+		int P[] = this.P, S[] = this.S;
+		int plen = P.length, slen = S.length;
+		int l = 0, r = 0;
+		long block;
 
 		for (i = 0; i < plen; i++) {
-			if (!sign_ext_bug) {
-				this.P[i] = this.P[i] ^ streamtoword(key, koffp);
-			}
-			else {
-				this.P[i] = this.P[i] ^ streamtoword_bug(key, koffp);
-			}
+			P[i] ^= keywords[i];
 		}
 
 		for (i = 0; i < plen; i += 2) {
-			encipher(lr, 0);
-			this.P[i] = lr[0];
-			this.P[i + 1] = lr[1];
+			block = encipher(P, S, l, r);
+			l = (int) (block >>> 32);
+			r = (int) block;
+			P[i] = l;
+			P[i + 1] = r;
 		}
 
 		for (i = 0; i < slen; i += 2) {
-			encipher(lr, 0);
-			this.S[i] = lr[0];
-			this.S[i + 1] = lr[1];
+			block = encipher(P, S, l, r);
+			l = (int) (block >>> 32);
+			r = (int) block;
+			S[i] = l;
+			S[i + 1] = r;
 		}
 	}
 
 	/**
 	 * Perform the "enhanced key schedule" step described by Provos and Mazieres in "A
 	 * Future-Adaptable Password Scheme" https://www.openbsd.org/papers/bcrypt-paper.ps
-	 * @param data salt information
-	 * @param key password information
+	 * @param datawords the words of salt information
+	 * @param keywords the correct words of password information
+	 * @param keywords_bug the words of password information with the sign extension bug
+	 * @param sign the cumulative flag for non-benign sign extension of the password
 	 * @param sign_ext_bug true to implement the 2x bug
 	 * @param safety bit 16 is set when the safety measure is requested
 	 */
-	private void ekskey(byte data[], byte key[], boolean sign_ext_bug, int safety) {
+	private void ekskey(int datawords[], int keywords[], int keywords_bug[], int sign, boolean sign_ext_bug,
+			int safety) {
 		int i;
-		int koffp[] = { 0 }, doffp[] = { 0 };
-		int lr[] = { 0, 0 };
-		int plen = this.P.length, slen = this.S.length;
-		int signp[] = { 0 }; // non-benign sign-extension flag
+		int P[] = this.P, S[] = this.S;
+		int plen = P.length, slen = S.length;
+		int l = 0, r = 0, doff = 0;
+		long block;
 		int diff = 0; // zero iff correct and buggy are same
 
 		for (i = 0; i < plen; i++) {
-			int words[] = streamtowords(key, koffp, signp);
-			diff |= words[0] ^ words[1];
-			this.P[i] = this.P[i] ^ words[sign_ext_bug ? 1 : 0];
+			diff |= keywords[i] ^ keywords_bug[i];
+			P[i] ^= sign_ext_bug ? keywords_bug[i] : keywords[i];
 		}
 
-		int sign = signp[0];
-
 		/*
 		 * At this point, "diff" is zero iff the correct and buggy algorithms produced
 		 * exactly the same result. If so and if "sign" is non-zero, which indicates that
@@ -491,22 +487,27 @@ public class BCrypt {
 		 * that could be directly specified by a password to the buggy algorithm (and to
 		 * the fully correct one as well, but that's a side-effect).
 		 */
-		this.P[0] ^= sign;
+		P[0] ^= sign;
 
+		// the salt is four words long, so its key material repeats every four words
 		for (i = 0; i < plen; i += 2) {
-			lr[0] ^= streamtoword(data, doffp);
-			lr[1] ^= streamtoword(data, doffp);
-			encipher(lr, 0);
-			this.P[i] = lr[0];
-			this.P[i + 1] = lr[1];
+			l ^= datawords[doff++ & 3];
+			r ^= datawords[doff++ & 3];
+			block = encipher(P, S, l, r);
+			l = (int) (block >>> 32);
+			r = (int) block;
+			P[i] = l;
+			P[i + 1] = r;
 		}
 
 		for (i = 0; i < slen; i += 2) {
-			lr[0] ^= streamtoword(data, doffp);
-			lr[1] ^= streamtoword(data, doffp);
-			encipher(lr, 0);
-			this.S[i] = lr[0];
-			this.S[i + 1] = lr[1];
+			l ^= datawords[doff++ & 3];
+			r ^= datawords[doff++ & 3];
+			block = encipher(P, S, l, r);
+			l = (int) (block >>> 32);
+			r = (int) block;
+			S[i] = l;
+			S[i + 1] = r;
 		}
 	}
 
@@ -552,11 +553,19 @@ public class BCrypt {
 			throw new IllegalArgumentException("Bad salt length");
 		}
 
+		// The key material is the same in every round, so extract it only once
+		int plen = P_orig.length;
+		int keywords[] = new int[plen], keywords_bug[] = new int[plen];
+		int saltwords[] = new int[plen], saltwords_bug[] = new int[plen];
+		int sign = streamtowords(password, keywords, keywords_bug);
+		streamtowords(salt, saltwords, saltwords_bug);
+		int passwordwords[] = sign_ext_bug ? keywords_bug : keywords;
+
 		init_key();
-		ekskey(salt, password, sign_ext_bug, safety);
+		ekskey(saltwords, keywords, keywords_bug, sign, sign_ext_bug, safety);
 		for (int i = 0; i < rounds; i++) {
-			key(password, sign_ext_bug, safety);
-			key(salt, false, safety);
+			key(passwordwords);
+			key(saltwords);
 		}
 
 		for (int i = 0; i < 64; i++) {
@@ -575,7 +584,7 @@ public class BCrypt {
 		return ret;
 	}
 
-	private static String hashpwforcheck(byte[] passwordb, String salt) {
+	private static CharSequence hashpwforcheck(byte[] passwordb, String salt) {
 		return hashpw(passwordb, salt, true);
 	}
 
@@ -600,16 +609,16 @@ public class BCrypt {
 	 * @return the hashed password
 	 */
 	public static String hashpw(byte passwordb[], String salt) {
-		return hashpw(passwordb, salt, false);
+		return hashpw(passwordb, salt, false).toString();
 	}
 
-	private static String hashpw(byte passwordb[], String salt, boolean for_check) {
+	private static StringBuilder hashpw(byte passwordb[], String salt, boolean for_check) {
 		BCrypt B;
 		String real_salt;
 		byte saltb[], hashed[];
 		char minor = (char) 0;
 		int rounds, off;
-		StringBuilder rs = new StringBuilder();
+		StringBuilder rs = new StringBuilder(60);
 
 		// Enforce max length for new passwords only
 		if (!for_check && passwordb.length > 72) {
@@ -671,7 +680,7 @@ public class BCrypt {
 		rs.append("$");
 		encode_base64(saltb, saltb.length, rs);
 		encode_base64(hashed, bf_crypt_ciphertext.length * 4 - 1, rs);
-		return rs.toString();
+		return rs;
 	}
 
 	/**
@@ -779,8 +788,16 @@ public class BCrypt {
 		return equalsNoEarlyReturn(hashed, hashpwforcheck(passwordb, hashed));
 	}
 
-	static boolean equalsNoEarlyReturn(String a, String b) {
-		return MessageDigest.isEqual(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+	static boolean equalsNoEarlyReturn(CharSequence a, CharSequence b) {
+		int length = a.length();
+		if (length != b.length()) {
+			return false;
+		}
+		int diff = 0;
+		for (int i = 0; i < length; i++) {
+			diff |= a.charAt(i) ^ b.charAt(i);
+		}
+		return diff == 0;
 	}
 
 }
@@ -33,6 +33,12 @@ import org.springframework.security.crypto.util.EncodingUtils;
 /**
  * Encryptor that uses AES encryption.
  *
+ * <p>
+ * Since a {@link Cipher} is not thread-safe, concurrent calls take a {@link Cipher} from
+ * a lock-free pool, creating a new one when the pool is empty. Up to one {@link Cipher}
+ * per available processor is returned to the pool, which covers the carrier threads of
+ * virtual threads as well.
+ *
  * @author Keith Donald
  * @author Dave Syer
  */
@@ -40,9 +46,7 @@ public final class AesBytesEncryptor implements BytesEncryptor {
 
 	private final SecretKey secretKey;
 
-	private final Cipher encryptor;
-
-	private final Cipher decryptor;
+	private final CipherPool<Cipher> ciphers;
 
 	private final BytesKeyGenerator ivGenerator;
 
@@ -111,29 +115,30 @@ public final class AesBytesEncryptor implements BytesEncryptor {
 	public AesBytesEncryptor(SecretKey secretKey, BytesKeyGenerator ivGenerator, CipherAlgorithm alg) {
 		this.secretKey = new SecretKeySpec(secretKey.getEncoded(), "AES");
 		this.alg = alg;
-		this.encryptor = alg.createCipher();
-		this.decryptor = alg.createCipher();
+		this.ciphers = new CipherPool<>(alg::createCipher);
+		this.ciphers.release(alg.createCipher());
 		this.ivGenerator = (ivGenerator != null) ? ivGenerator : alg.defaultIvGenerator();
 	}
 
 	@Override
 	public byte[] encrypt(byte[] bytes) {
-		synchronized (this.encryptor) {
-			byte[] iv = this.ivGenerator.generateKey();
-			CipherUtils.initCipher(this.encryptor, Cipher.ENCRYPT_MODE, this.secretKey, this.alg.getParameterSpec(iv));
-			byte[] encrypted = CipherUtils.doFinal(this.encryptor, bytes);
-			return (this.ivGenerator != NULL_IV_GENERATOR) ? EncodingUtils.concatenate(iv, encrypted) : encrypted;
-		}
+		Cipher encryptor = this.ciphers.borrow();
+		byte[] iv = this.ivGenerator.generateKey();
+		CipherUtils.initCipher(encryptor, Cipher.ENCRYPT_MODE, this.secretKey, this.alg.getParameterSpec(iv));
+		byte[] encrypted = CipherUtils.doFinal(encryptor, bytes);
+		this.ciphers.release(encryptor);
+		return (this.ivGenerator != NULL_IV_GENERATOR) ? EncodingUtils.concatenate(iv, encrypted) : encrypted;
 	}
 
 	@Override
 	public byte[] decrypt(byte[] encryptedBytes) {
-		synchronized (this.decryptor) {
-			byte[] iv = iv(encryptedBytes);
-			CipherUtils.initCipher(this.decryptor, Cipher.DECRYPT_MODE, this.secretKey, this.alg.getParameterSpec(iv));
-			return CipherUtils.doFinal(this.decryptor,
-					(this.ivGenerator != NULL_IV_GENERATOR) ? encrypted(encryptedBytes, iv.length) : encryptedBytes);
-		}
+		Cipher decryptor = this.ciphers.borrow();
+		byte[] iv = iv(encryptedBytes);
+		CipherUtils.initCipher(decryptor, Cipher.DECRYPT_MODE, this.secretKey, this.alg.getParameterSpec(iv));
+		byte[] decrypted = CipherUtils.doFinal(decryptor,
+				(this.ivGenerator != NULL_IV_GENERATOR) ? encrypted(encryptedBytes, iv.length) : encryptedBytes);
+		this.ciphers.release(decryptor);
+		return decrypted;
 	}
 
 	private byte[] iv(byte[] encrypted) {
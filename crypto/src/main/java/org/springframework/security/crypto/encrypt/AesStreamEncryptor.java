@@ -0,0 +1,369 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.encrypt;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.util.Objects;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.security.crypto.encrypt.AesBytesEncryptor.CipherAlgorithm;
+import org.springframework.security.crypto.keygen.BytesKeyGenerator;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+
+/**
+ * A {@link StreamEncryptor} that uses AES encryption, deriving the key from a password
+ * and a salt like {@link AesBytesEncryptor}.
+ *
+ * <p>
+ * The stream is encrypted in chunks of {@link #setChunkSize(int) a fixed size}, so that
+ * only one chunk is held in memory. The encrypted stream starts with a format version
+ * and a random 16-byte stream id, followed by the chunks. Each chunk is written as a flag
+ * that marks the final chunk, the length of the encrypted chunk, a random 16-byte
+ * initialization vector and the encrypted chunk. Chunks are encrypted with
+ * {@link CipherAlgorithm#GCM}, which authenticates the format version, the stream id, the
+ * position of every chunk and whether it is the final one along with the chunk itself,
+ * so that modified, reordered, removed or truncated chunks and chunks that are spliced in
+ * from other streams are detected. {@link CipherAlgorithm#CBC} is not supported, since it
+ * would leave the chunks unauthenticated.
+ *
+ * @since 7.0
+ */
+public final class AesStreamEncryptor implements StreamEncryptor {
+
+	/**
+	 * The default number of bytes that are encrypted at once.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+	private static final int VERSION = 1;
+
+	private static final int FINAL_CHUNK = 1;
+
+	private static final int IV_LENGTH = 16;
+
+	private static final int STREAM_ID_LENGTH = 16;
+
+	// the format version and the stream id, followed by the chunk index and flags
+	private static final int AAD_LENGTH = 1 + STREAM_ID_LENGTH + 8 + 1;
+
+	// GCM adds a 16-byte tag
+	private static final int MAX_OVERHEAD = 16;
+
+	private static final CipherAlgorithm ALG = CipherAlgorithm.GCM;
+
+	private final SecretKey secretKey;
+
+	private final BytesKeyGenerator ivGenerator = KeyGenerators.secureRandom(IV_LENGTH);
+
+	private final BytesKeyGenerator streamIdGenerator = KeyGenerators.secureRandom(STREAM_ID_LENGTH);
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * Constructs an encryptor that uses AES encryption with {@link CipherAlgorithm#GCM}.
+	 * @param password the password value
+	 * @param salt the hex-encoded salt value
+	 */
+	public AesStreamEncryptor(String password, CharSequence salt) {
+		this(CipherUtils.newSecretKey("PBKDF2WithHmacSHA1",
+				new PBEKeySpec(password.toCharArray(), Hex.decode(salt), 1024, 256)));
+	}
+
+	/**
+	 * Constructs an encryptor that uses AES encryption with {@link CipherAlgorithm#GCM}.
+	 * @param secretKey the secret (symmetric) key
+	 */
+	public AesStreamEncryptor(SecretKey secretKey) {
+		this.secretKey = new SecretKeySpec(secretKey.getEncoded(), "AES");
+	}
+
+	/**
+	 * Sets the number of bytes that are encrypted at once, which defaults to
+	 * {@link #DEFAULT_CHUNK_SIZE}. Decrypting requires a chunk size that is at least the
+	 * one that was used for encrypting.
+	 * @param chunkSize the chunk size
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE - MAX_OVERHEAD) {
+			throw new IllegalArgumentException("chunkSize must be positive");
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public OutputStream encrypt(OutputStream out) {
+		return new EncryptingOutputStream(out, this.chunkSize);
+	}
+
+	@Override
+	public InputStream decrypt(InputStream in) {
+		return new DecryptingInputStream(in, this.chunkSize);
+	}
+
+	private void initCipher(Cipher cipher, int mode, byte[] iv, byte[] aad, long index, int flags) {
+		CipherUtils.initCipher(cipher, mode, this.secretKey, ALG.getParameterSpec(iv));
+		int offset = 1 + STREAM_ID_LENGTH;
+		for (int i = 0; i < 8; i++) {
+			aad[offset + i] = (byte) (index >>> (56 - 8 * i));
+		}
+		aad[offset + 8] = (byte) flags;
+		cipher.updateAAD(aad);
+	}
+
+	private static byte[] newAad(byte[] streamId) {
+		byte[] aad = new byte[AAD_LENGTH];
+		aad[0] = VERSION;
+		System.arraycopy(streamId, 0, aad, 1, STREAM_ID_LENGTH);
+		return aad;
+	}
+
+	private final class EncryptingOutputStream extends OutputStream {
+
+		private final OutputStream out;
+
+		private final Cipher cipher = ALG.createCipher();
+
+		private final byte[] chunk;
+
+		private final byte[] encrypted;
+
+		private final byte[] streamId = AesStreamEncryptor.this.streamIdGenerator.generateKey();
+
+		private final byte[] aad = newAad(this.streamId);
+
+		private int length;
+
+		private long index;
+
+		private boolean closed;
+
+		private EncryptingOutputStream(OutputStream out, int chunkSize) {
+			this.out = out;
+			this.chunk = new byte[chunkSize];
+			this.encrypted = new byte[chunkSize + MAX_OVERHEAD];
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			ensureOpen();
+			if (this.length == this.chunk.length) {
+				writeChunk(0);
+			}
+			this.chunk[this.length++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			ensureOpen();
+			while (len > 0) {
+				// a full chunk is only written once more bytes follow, since the last chunk
+				// is written on close
+				if (this.length == this.chunk.length) {
+					writeChunk(0);
+				}
+				int copied = Math.min(len, this.chunk.length - this.length);
+				System.arraycopy(b, off, this.chunk, this.length, copied);
+				this.length += copied;
+				off += copied;
+				len -= copied;
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			this.out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			try {
+				writeChunk(FINAL_CHUNK);
+			}
+			finally {
+				this.out.close();
+			}
+		}
+
+		private void writeChunk(int flags) throws IOException {
+			if (this.index == 0) {
+				this.out.write(VERSION);
+				this.out.write(this.streamId);
+			}
+			byte[] iv = AesStreamEncryptor.this.ivGenerator.generateKey();
+			initCipher(this.cipher, Cipher.ENCRYPT_MODE, iv, this.aad, this.index, flags);
+			int encryptedLength;
+			try {
+				encryptedLength = this.cipher.doFinal(this.chunk, 0, this.length, this.encrypted, 0);
+			}
+			catch (GeneralSecurityException ex) {
+				throw new IllegalStateException("Unable to encrypt chunk " + this.index, ex);
+			}
+			this.out.write(flags);
+			writeInt(encryptedLength);
+			this.out.write(iv);
+			this.out.write(this.encrypted, 0, encryptedLength);
+			this.length = 0;
+			this.index++;
+		}
+
+		private void writeInt(int value) throws IOException {
+			this.out.write(value >>> 24);
+			this.out.write(value >>> 16);
+			this.out.write(value >>> 8);
+			this.out.write(value);
+		}
+
+		private void ensureOpen() throws IOException {
+			if (this.closed) {
+				throw new IOException("Stream closed");
+			}
+		}
+
+	}
+
+	private final class DecryptingInputStream extends InputStream {
+
+		private final InputStream in;
+
+		private final Cipher cipher = ALG.createCipher();
+
+		private final byte[] encrypted;
+
+		private final byte[] chunk;
+
+		private byte[] aad;
+
+		private int position;
+
+		private int length;
+
+		private long index;
+
+		private boolean finalChunk;
+
+		private DecryptingInputStream(InputStream in, int chunkSize) {
+			this.in = in;
+			this.encrypted = new byte[chunkSize + MAX_OVERHEAD];
+			this.chunk = new byte[chunkSize + MAX_OVERHEAD];
+		}
+
+		@Override
+		public int read() throws IOException {
+			return fill() ? this.chunk[this.position++] & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			if (len == 0) {
+				return 0;
+			}
+			if (!fill()) {
+				return -1;
+			}
+			int read = Math.min(len, this.length - this.position);
+			System.arraycopy(this.chunk, this.position, b, off, read);
+			this.position += read;
+			return read;
+		}
+
+		@Override
+		public int available() {
+			return this.length - this.position;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.in.close();
+		}
+
+		private boolean fill() throws IOException {
+			while (this.position == this.length) {
+				if (this.finalChunk) {
+					return false;
+				}
+				readChunk();
+			}
+			return true;
+		}
+
+		private void readChunk() throws IOException {
+			if (this.index == 0) {
+				int version = this.in.read();
+				if (version != VERSION) {
+					throw new IOException("Unsupported format version " + version);
+				}
+				this.aad = newAad(readFully(new byte[STREAM_ID_LENGTH], STREAM_ID_LENGTH));
+			}
+			int flags = this.in.read();
+			if (flags < 0) {
+				throw new EOFException("The stream ends before the final chunk");
+			}
+			if ((flags & ~FINAL_CHUNK) != 0) {
+				throw new IOException("Invalid flags " + flags + " of chunk " + this.index);
+			}
+			int encryptedLength = readInt();
+			if (encryptedLength < 0 || encryptedLength > this.encrypted.length) {
+				throw new IOException("Invalid length " + encryptedLength + " of chunk " + this.index);
+			}
+			byte[] iv = readFully(new byte[IV_LENGTH], IV_LENGTH);
+			readFully(this.encrypted, encryptedLength);
+			initCipher(this.cipher, Cipher.DECRYPT_MODE, iv, this.aad, this.index, flags);
+			try {
+				this.length = this.cipher.doFinal(this.encrypted, 0, encryptedLength, this.chunk, 0);
+			}
+			catch (GeneralSecurityException ex) {
+				throw new IOException("Unable to decrypt chunk " + this.index, ex);
+			}
+			this.position = 0;
+			this.index++;
+			this.finalChunk = flags == FINAL_CHUNK;
+			if (this.finalChunk && this.in.read() != -1) {
+				throw new IOException("Unexpected data after the final chunk");
+			}
+		}
+
+		private int readInt() throws IOException {
+			byte[] bytes = readFully(new byte[4], 4);
+			return ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8)
+					| (bytes[3] & 0xFF);
+		}
+
+		private byte[] readFully(byte[] bytes, int length) throws IOException {
+			if (this.in.readNBytes(bytes, 0, length) != length) {
+				throw new EOFException("The stream ends within chunk " + this.index);
+			}
+			return bytes;
+		}
+
+	}
+
+}
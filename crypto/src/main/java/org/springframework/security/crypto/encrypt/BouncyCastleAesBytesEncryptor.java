@@ -16,6 +16,10 @@
 
 package org.springframework.security.crypto.encrypt;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import org.bouncycastle.crypto.PBEParametersGenerator;
 import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
 import org.bouncycastle.crypto.params.KeyParameter;
@@ -25,7 +29,8 @@ import org.springframework.security.crypto.keygen.BytesKeyGenerator;
 import org.springframework.security.crypto.keygen.KeyGenerators;
 
 /**
- * Base class for AES-256 encryption using Bouncy Castle.
+ * Base class for AES-256 encryption using Bouncy Castle. The encrypted form is the
+ * initialization vector followed by the cipher text.
  *
  * @author William Tran
  *
@@ -51,4 +56,137 @@ abstract class BouncyCastleAesBytesEncryptor implements BytesEncryptor {
 		this.secretKey = (KeyParameter) keyGenerator.generateDerivedParameters(256);
 	}
 
+	@Override
+	public byte[] encrypt(byte[] bytes) {
+		byte[] iv = this.ivGenerator.generateKey();
+		byte[] encrypted = new byte[iv.length + getOutputSize(true, bytes.length)];
+		System.arraycopy(iv, 0, encrypted, 0, iv.length);
+		int length = iv.length + process(true, iv, bytes, 0, bytes.length, encrypted, iv.length);
+		return (length != encrypted.length) ? Arrays.copyOf(encrypted, length) : encrypted;
+	}
+
+	@Override
+	public byte[] decrypt(byte[] encryptedBytes) {
+		int ivLength = this.ivGenerator.getKeyLength();
+		if (encryptedBytes.length < ivLength) {
+			throw new IllegalArgumentException("encryptedBytes are shorter than the initialization vector");
+		}
+		byte[] iv = Arrays.copyOf(encryptedBytes, ivLength);
+		byte[] decrypted = new byte[getOutputSize(false, encryptedBytes.length - ivLength)];
+		int length = process(false, iv, encryptedBytes, ivLength, encryptedBytes.length - ivLength, decrypted, 0);
+		return (length != decrypted.length) ? Arrays.copyOf(decrypted, length) : decrypted;
+	}
+
+	/**
+	 * Encrypts the remaining bytes of the input buffer into the output buffer, which
+	 * avoids the intermediate arrays of {@link #encrypt(byte[])} when the buffers are
+	 * backed by arrays. The written bytes are the same as the ones returned by
+	 * {@link #encrypt(byte[])}. The buffers must not share content.
+	 * @param input the bytes to encrypt, which are consumed
+	 * @param output the buffer to write to, which must have at least
+	 * {@link #getMaxEncryptedLength(int)} bytes remaining
+	 * @return the number of bytes written to the output buffer
+	 * @throws BufferOverflowException if the output buffer has not enough space
+	 * @since 7.0
+	 */
+	public int encrypt(ByteBuffer input, ByteBuffer output) {
+		int length = input.remaining();
+		if (output.remaining() < getMaxEncryptedLength(length)) {
+			throw new BufferOverflowException();
+		}
+		byte[] iv = this.ivGenerator.generateKey();
+		output.put(iv);
+		return iv.length + process(true, iv, input, length, output);
+	}
+
+	/**
+	 * Decrypts the remaining bytes of the input buffer into the output buffer, which
+	 * avoids the intermediate arrays of {@link #decrypt(byte[])} when the buffers are
+	 * backed by arrays. The buffers must not share content.
+	 * @param input the bytes to decrypt, as written by {@link #encrypt(ByteBuffer, ByteBuffer)}
+	 * or {@link #encrypt(byte[])}, which are consumed
+	 * @param output the buffer to write to, which must have at least
+	 * {@link #getMaxDecryptedLength(int)} bytes remaining
+	 * @return the number of bytes written to the output buffer
+	 * @throws BufferOverflowException if the output buffer has not enough space
+	 * @throws IllegalStateException if the input cannot be decrypted, in which case the
+	 * output buffer holds none of the decrypted bytes
+	 * @since 7.0
+	 */
+	public int decrypt(ByteBuffer input, ByteBuffer output) {
+		int ivLength = this.ivGenerator.getKeyLength();
+		int length = input.remaining() - ivLength;
+		if (length < 0) {
+			throw new IllegalArgumentException("input is shorter than the initialization vector");
+		}
+		if (output.remaining() < getOutputSize(false, length)) {
+			throw new BufferOverflowException();
+		}
+		byte[] iv = new byte[ivLength];
+		input.get(iv);
+		return process(false, iv, input, length, output);
+	}
+
+	/**
+	 * Returns the maximum number of bytes that encrypting the given number of bytes
+	 * writes.
+	 * @param length the number of bytes to encrypt
+	 * @return the maximum number of encrypted bytes
+	 * @since 7.0
+	 */
+	public int getMaxEncryptedLength(int length) {
+		return this.ivGenerator.getKeyLength() + getOutputSize(true, length);
+	}
+
+	/**
+	 * Returns the maximum number of bytes that decrypting the given number of bytes
+	 * writes.
+	 * @param length the number of bytes to decrypt, including the initialization vector
+	 * @return the maximum number of decrypted bytes
+	 * @since 7.0
+	 */
+	public int getMaxDecryptedLength(int length) {
+		return getOutputSize(false, Math.max(0, length - this.ivGenerator.getKeyLength()));
+	}
+
+	private int process(boolean forEncryption, byte[] iv, ByteBuffer input, int length, ByteBuffer output) {
+		byte[] in;
+		int inOffset;
+		if (input.hasArray()) {
+			in = input.array();
+			inOffset = input.arrayOffset() + input.position();
+		}
+		else {
+			in = new byte[length];
+			input.duplicate().get(in);
+			inOffset = 0;
+		}
+		int written;
+		if (output.hasArray()) {
+			written = process(forEncryption, iv, in, inOffset, length, output.array(),
+					output.arrayOffset() + output.position());
+			output.position(output.position() + written);
+		}
+		else {
+			byte[] out = new byte[getOutputSize(forEncryption, length)];
+			written = process(forEncryption, iv, in, inOffset, length, out, 0);
+			output.put(out, 0, written);
+		}
+		input.position(input.position() + length);
+		return written;
+	}
+
+	/**
+	 * Returns the maximum number of bytes that processing the given number of bytes,
+	 * without the initialization vector, writes.
+	 */
+	abstract int getOutputSize(boolean forEncryption, int length);
+
+	/**
+	 * Encrypts or decrypts the given bytes, without the initialization vector, and
+	 * returns the number of bytes written.
+	 */
+	abstract int process(boolean forEncryption, byte[] iv, byte[] in, int inOffset, int length, byte[] out,
+			int outOffset);
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.security.crypto.encrypt;
 
+import java.util.Arrays;
+
 import org.bouncycastle.crypto.BufferedBlockCipher;
 import org.bouncycastle.crypto.InvalidCipherTextException;
 import org.bouncycastle.crypto.engines.AESEngine;
@@ -27,17 +29,26 @@ import org.bouncycastle.crypto.params.ParametersWithIV;
 
 import org.springframework.security.crypto.encrypt.AesBytesEncryptor.CipherAlgorithm;
 import org.springframework.security.crypto.keygen.BytesKeyGenerator;
-import org.springframework.security.crypto.util.EncodingUtils;
 
 /**
  * An Encryptor equivalent to {@link AesBytesEncryptor} using {@link CipherAlgorithm#CBC}
  * that uses Bouncy Castle instead of JCE. The algorithm is equivalent to
  * "AES/CBC/PKCS5Padding".
  *
+ * <p>
+ * Ciphers are pooled separately for encryption and decryption and keep the expanded key
+ * between calls, so that it is only computed once per pooled cipher.
+ *
  * @author William Tran
  */
 public class BouncyCastleAesCbcBytesEncryptor extends BouncyCastleAesBytesEncryptor {
 
+	private static final int BLOCK_SIZE = 16;
+
+	private final CipherPool<BufferedBlockCipher> encryptors = new CipherPool<>(() -> newCipher(true));
+
+	private final CipherPool<BufferedBlockCipher> decryptors = new CipherPool<>(() -> newCipher(false));
+
 	public BouncyCastleAesCbcBytesEncryptor(String password, CharSequence salt) {
 		super(password, salt);
 	}
@@ -47,40 +58,34 @@ public class BouncyCastleAesCbcBytesEncryptor extends BouncyCastleAesBytesEncryp
 	}
 
 	@Override
-	public byte[] encrypt(byte[] bytes) {
-		byte[] iv = this.ivGenerator.generateKey();
-		CBCModeCipher cbcModeCipher = CBCBlockCipher.newInstance(AESEngine.newInstance());
-		PaddedBufferedBlockCipher blockCipher = new PaddedBufferedBlockCipher(cbcModeCipher, new PKCS7Padding());
-		blockCipher.init(true, new ParametersWithIV(this.secretKey, iv));
-		byte[] encrypted = process(blockCipher, bytes);
-		return (iv != null) ? EncodingUtils.concatenate(iv, encrypted) : encrypted;
+	int getOutputSize(boolean forEncryption, int length) {
+		return forEncryption ? (length / BLOCK_SIZE + 1) * BLOCK_SIZE : length;
 	}
 
 	@Override
-	public byte[] decrypt(byte[] encryptedBytes) {
-		CBCModeCipher cbcModeCipher = CBCBlockCipher.newInstance(AESEngine.newInstance());
-		byte[] iv = EncodingUtils.subArray(encryptedBytes, 0, this.ivGenerator.getKeyLength());
-		encryptedBytes = EncodingUtils.subArray(encryptedBytes, this.ivGenerator.getKeyLength(), encryptedBytes.length);
-		PaddedBufferedBlockCipher blockCipher = new PaddedBufferedBlockCipher(cbcModeCipher, new PKCS7Padding());
-		blockCipher.init(false, new ParametersWithIV(this.secretKey, iv));
-		return process(blockCipher, encryptedBytes);
-	}
-
-	private byte[] process(BufferedBlockCipher blockCipher, byte[] in) {
-		byte[] buf = new byte[blockCipher.getOutputSize(in.length)];
-		int bytesWritten = blockCipher.processBytes(in, 0, in.length, buf, 0);
+	int process(boolean forEncryption, byte[] iv, byte[] in, int inOffset, int length, byte[] out, int outOffset) {
+		CipherPool<BufferedBlockCipher> ciphers = forEncryption ? this.encryptors : this.decryptors;
+		BufferedBlockCipher blockCipher = ciphers.borrow();
+		// without a key, the cipher reuses the key that it was created with
+		blockCipher.init(forEncryption, new ParametersWithIV(null, iv));
+		int bytesWritten = blockCipher.processBytes(in, inOffset, length, out, outOffset);
 		try {
-			bytesWritten += blockCipher.doFinal(buf, bytesWritten);
+			bytesWritten += blockCipher.doFinal(out, outOffset + bytesWritten);
 		}
 		catch (InvalidCipherTextException ex) {
+			// the blocks written before the padding check failed are not trustworthy
+			Arrays.fill(out, outOffset, outOffset + getOutputSize(forEncryption, length), (byte) 0);
 			throw new IllegalStateException("unable to encrypt/decrypt", ex);
 		}
-		if (bytesWritten == buf.length) {
-			return buf;
-		}
-		byte[] out = new byte[bytesWritten];
-		System.arraycopy(buf, 0, out, 0, bytesWritten);
-		return out;
+		ciphers.release(blockCipher);
+		return bytesWritten;
+	}
+
+	private BufferedBlockCipher newCipher(boolean forEncryption) {
+		CBCModeCipher cbcModeCipher = CBCBlockCipher.newInstance(AESEngine.newInstance());
+		BufferedBlockCipher blockCipher = new PaddedBufferedBlockCipher(cbcModeCipher, new PKCS7Padding());
+		blockCipher.init(forEncryption, new ParametersWithIV(this.secretKey, new byte[BLOCK_SIZE]));
+		return blockCipher;
 	}
 
 }
@@ -16,26 +16,35 @@
 
 package org.springframework.security.crypto.encrypt;
 
+import java.util.Arrays;
+
 import org.bouncycastle.crypto.InvalidCipherTextException;
 import org.bouncycastle.crypto.engines.AESEngine;
-import org.bouncycastle.crypto.modes.AEADBlockCipher;
 import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.modes.GCMModeCipher;
 import org.bouncycastle.crypto.params.AEADParameters;
 
 import org.springframework.security.crypto.encrypt.AesBytesEncryptor.CipherAlgorithm;
 import org.springframework.security.crypto.keygen.BytesKeyGenerator;
-import org.springframework.security.crypto.util.EncodingUtils;
 
 /**
  * An Encryptor equivalent to {@link AesBytesEncryptor} using {@link CipherAlgorithm#GCM}
  * that uses Bouncy Castle instead of JCE. The algorithm is equivalent to
  * "AES/GCM/NoPadding".
  *
+ * <p>
+ * Ciphers are pooled and keep the expanded key and the hash subkey between calls, so
+ * that they are only computed once per pooled cipher.
+ *
  * @author William Tran
  *
  */
 public class BouncyCastleAesGcmBytesEncryptor extends BouncyCastleAesBytesEncryptor {
 
+	private static final int MAC_SIZE = 128;
+
+	private final CipherPool<GCMModeCipher> ciphers = new CipherPool<>(this::newCipher);
+
 	public BouncyCastleAesGcmBytesEncryptor(String password, CharSequence salt) {
 		super(password, salt);
 	}
@@ -45,38 +54,44 @@ public class BouncyCastleAesGcmBytesEncryptor extends BouncyCastleAesBytesEncryp
 	}
 
 	@Override
-	public byte[] encrypt(byte[] bytes) {
-		byte[] iv = this.ivGenerator.generateKey();
-		AEADBlockCipher blockCipher = GCMBlockCipher.newInstance(AESEngine.newInstance());
-		blockCipher.init(true, new AEADParameters(this.secretKey, 128, iv, null));
-		byte[] encrypted = process(blockCipher, bytes);
-		return (iv != null) ? EncodingUtils.concatenate(iv, encrypted) : encrypted;
+	int getOutputSize(boolean forEncryption, int length) {
+		return forEncryption ? length + MAC_SIZE / 8 : Math.max(0, length - MAC_SIZE / 8);
 	}
 
 	@Override
-	public byte[] decrypt(byte[] encryptedBytes) {
-		byte[] iv = EncodingUtils.subArray(encryptedBytes, 0, this.ivGenerator.getKeyLength());
-		encryptedBytes = EncodingUtils.subArray(encryptedBytes, this.ivGenerator.getKeyLength(), encryptedBytes.length);
-		AEADBlockCipher blockCipher = GCMBlockCipher.newInstance(AESEngine.newInstance());
-		blockCipher.init(false, new AEADParameters(this.secretKey, 128, iv, null));
-		return process(blockCipher, encryptedBytes);
-	}
-
-	private byte[] process(AEADBlockCipher blockCipher, byte[] in) {
-		byte[] buf = new byte[blockCipher.getOutputSize(in.length)];
-		int bytesWritten = blockCipher.processBytes(in, 0, in.length, buf, 0);
+	int process(boolean forEncryption, byte[] iv, byte[] in, int inOffset, int length, byte[] out, int outOffset) {
+		GCMModeCipher blockCipher = init(this.ciphers.borrow(), forEncryption, iv);
+		int bytesWritten = blockCipher.processBytes(in, inOffset, length, out, outOffset);
 		try {
-			bytesWritten += blockCipher.doFinal(buf, bytesWritten);
+			bytesWritten += blockCipher.doFinal(out, outOffset + bytesWritten);
 		}
 		catch (InvalidCipherTextException ex) {
+			// the plaintext written before the tag check failed is not authentic
+			Arrays.fill(out, outOffset, outOffset + getOutputSize(forEncryption, length), (byte) 0);
 			throw new IllegalStateException("unable to encrypt/decrypt", ex);
 		}
-		if (bytesWritten == buf.length) {
-			return buf;
+		this.ciphers.release(blockCipher);
+		return bytesWritten;
+	}
+
+	private GCMModeCipher init(GCMModeCipher blockCipher, boolean forEncryption, byte[] iv) {
+		try {
+			// without a key, the cipher reuses the key that it was created with
+			blockCipher.init(forEncryption, new AEADParameters(null, MAC_SIZE, iv, null));
+			return blockCipher;
 		}
-		byte[] out = new byte[bytesWritten];
-		System.arraycopy(buf, 0, out, 0, bytesWritten);
-		return out;
+		catch (IllegalArgumentException ex) {
+			// a cipher refuses to encrypt twice with the same iv, which fixed iv generators do
+			GCMModeCipher newBlockCipher = GCMBlockCipher.newInstance(AESEngine.newInstance());
+			newBlockCipher.init(forEncryption, new AEADParameters(this.secretKey, MAC_SIZE, iv, null));
+			return newBlockCipher;
+		}
+	}
+
+	private GCMModeCipher newCipher() {
+		GCMModeCipher blockCipher = GCMBlockCipher.newInstance(AESEngine.newInstance());
+		blockCipher.init(false, new AEADParameters(this.secretKey, MAC_SIZE, new byte[16], null));
+		return blockCipher;
 	}
 
 }
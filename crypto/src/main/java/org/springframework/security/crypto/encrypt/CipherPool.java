@@ -0,0 +1,67 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.encrypt;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free pool of ciphers, which are not thread-safe. A cipher is created when the
+ * pool is empty, and up to one cipher per available processor is kept for reuse, which
+ * covers the carrier threads of virtual threads as well.
+ *
+ * <p>
+ * A cipher that failed should not be {@link #release(Object) released}, so that it is
+ * never reused in an unknown state.
+ *
+ * @param <C> the type of cipher
+ */
+final class CipherPool<C> {
+
+	private final Queue<C> ciphers = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger pooledCiphers = new AtomicInteger();
+
+	private final int maxPooledCiphers = Runtime.getRuntime().availableProcessors();
+
+	private final Supplier<C> cipherFactory;
+
+	CipherPool(Supplier<C> cipherFactory) {
+		this.cipherFactory = cipherFactory;
+	}
+
+	C borrow() {
+		C cipher = this.ciphers.poll();
+		if (cipher == null) {
+			return this.cipherFactory.get();
+		}
+		this.pooledCiphers.decrementAndGet();
+		return cipher;
+	}
+
+	void release(C cipher) {
+		if (this.pooledCiphers.incrementAndGet() <= this.maxPooledCiphers) {
+			this.ciphers.offer(cipher);
+		}
+		else {
+			this.pooledCiphers.decrementAndGet();
+		}
+	}
+
+}
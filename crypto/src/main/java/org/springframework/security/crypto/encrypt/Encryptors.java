@@ -21,7 +21,8 @@ import org.springframework.security.crypto.keygen.KeyGenerators;
 
 /**
  * Factory for commonly used encryptors. Defines the public API for constructing
- * {@link BytesEncryptor} and {@link TextEncryptor} implementations.
+ * {@link BytesEncryptor}, {@link StreamEncryptor} and {@link TextEncryptor}
+ * implementations.
  *
  * @author Keith Donald
  */
@@ -69,6 +70,23 @@ public final class Encryptors {
 		return new AesBytesEncryptor(password.toString(), salt, KeyGenerators.secureRandom(16));
 	}
 
+	/**
+	 * Creates a password-based stream encryptor using 256 bit AES encryption with Galois
+	 * Counter Mode (GCM), for payloads that are too large to be held in memory. Derives
+	 * the secret key like {@link #stronger(CharSequence, CharSequence)} and encrypts the
+	 * stream in authenticated chunks of {@link AesStreamEncryptor#DEFAULT_CHUNK_SIZE},
+	 * each with a random 16-byte initialization vector.
+	 * @param password the password used to generate the encryptor's secret key; should
+	 * not be shared
+	 * @param salt a hex-encoded, random, site-global salt value to use to generate the
+	 * key
+	 * @since 7.0
+	 * @see AesStreamEncryptor
+	 */
+	public static StreamEncryptor strongerStream(CharSequence password, CharSequence salt) {
+		return new AesStreamEncryptor(password.toString(), salt);
+	}
+
 	/**
 	 * Creates a text encryptor that uses "stronger" password-based encryption. Encrypted
 	 * text is hex-encoded.
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.encrypt;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service interface for symmetric encryption of streams, for payloads that are too large
+ * to be held in memory by a {@link BytesEncryptor}.
+ *
+ * @since 7.0
+ * @see Encryptors#strongerStream(CharSequence, CharSequence)
+ */
+public interface StreamEncryptor {
+
+	/**
+	 * Returns a stream that encrypts the bytes written to it and writes them to the given
+	 * stream. The encrypted form is only complete once the returned stream is closed,
+	 * which also closes the given stream.
+	 * @param out the stream to write the encrypted bytes to
+	 * @return the stream to write the bytes to encrypt to
+	 */
+	OutputStream encrypt(OutputStream out);
+
+	/**
+	 * Returns a stream that reads and decrypts the bytes of the given stream. Closing the
+	 * returned stream closes the given stream.
+	 * @param in the stream to read the encrypted bytes from
+	 * @return the stream to read the decrypted bytes from
+	 */
+	InputStream decrypt(InputStream in);
+
+}
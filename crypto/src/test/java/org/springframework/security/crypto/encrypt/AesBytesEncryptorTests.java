@@ -16,6 +16,13 @@
 
 package org.springframework.security.crypto.encrypt;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.crypto.SecretKey;
 import javax.crypto.spec.PBEKeySpec;
 
@@ -28,6 +35,7 @@ import org.springframework.security.crypto.keygen.BytesKeyGenerator;
 import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -96,4 +104,36 @@ public class AesBytesEncryptorTests {
 		assertThat(new String(decryption)).isEqualTo(this.secret);
 	}
 
+	@Test
+	public void roundtripWhenConcurrentThenEncryptsAndDecrypts() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		BytesEncryptor encryptor = Encryptors.stronger(this.password, this.hexSalt);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<String>> roundtrips = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				String secret = this.secret + i;
+				roundtrips.add(() -> new String(encryptor.decrypt(encryptor.encrypt(secret.getBytes()))));
+			}
+			List<Future<String>> decryptions = executor.invokeAll(roundtrips);
+			for (int i = 0; i < decryptions.size(); i++) {
+				assertThat(decryptions.get(i).get()).isEqualTo(this.secret + i);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void decryptWhenPreviousDecryptionFailedThenDecrypts() {
+		CryptoAssumptions.assumeGCMJCE();
+		BytesEncryptor encryptor = Encryptors.stronger(this.password, this.hexSalt);
+		byte[] encryption = encryptor.encrypt(this.secret.getBytes());
+		byte[] tampered = encryption.clone();
+		tampered[tampered.length - 1] ^= 1;
+		assertThatIllegalStateException().isThrownBy(() -> encryptor.decrypt(tampered));
+		assertThat(new String(encryptor.decrypt(encryption))).isEqualTo(this.secret);
+	}
+
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.encrypt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Tests for {@link AesStreamEncryptor}
+ */
+public class AesStreamEncryptorTests {
+
+	private static final int CHUNK_SIZE = 32;
+
+	// the format version and the stream id
+	private static final int HEADER_LENGTH = 1 + 16;
+
+	// the flags, the length, the iv, and the encrypted chunk with its tag
+	private static final int GCM_FRAME_LENGTH = 1 + 4 + 16 + CHUNK_SIZE + 16;
+
+	private String password = "password";
+
+	private String hexSalt = "deadbeef";
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 10 * CHUNK_SIZE, 1000 })
+	public void decryptWhenGcmThenReturnsEncryptedBytes(int length) throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		AesStreamEncryptor encryptor = encryptor();
+		byte[] bytes = randomBytes(length);
+		assertThat(decrypt(encryptor, encrypt(encryptor, bytes))).containsExactly(bytes);
+	}
+
+	@Test
+	public void encryptWhenWrittenByteByByteThenSameAsWrittenAtOnce() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		AesStreamEncryptor encryptor = encryptor();
+		byte[] bytes = randomBytes(3 * CHUNK_SIZE + 5);
+		ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+		try (OutputStream out = encryptor.encrypt(encrypted)) {
+			for (byte b : bytes) {
+				out.write(b);
+			}
+		}
+		try (InputStream in = encryptor.decrypt(new ByteArrayInputStream(encrypted.toByteArray()))) {
+			for (byte b : bytes) {
+				assertThat(in.read()).isEqualTo(b & 0xFF);
+			}
+			assertThat(in.read()).isEqualTo(-1);
+		}
+	}
+
+	@Test
+	public void decryptWhenTamperedThenException() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		AesStreamEncryptor encryptor = encryptor();
+		byte[] encrypted = encrypt(encryptor, randomBytes(2 * CHUNK_SIZE));
+		encrypted[HEADER_LENGTH + GCM_FRAME_LENGTH - 1] ^= 1;
+		assertThatIOException().isThrownBy(() -> decrypt(encryptor, encrypted));
+	}
+
+	@Test
+	public void decryptWhenChunksReorderedThenException() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		AesStreamEncryptor encryptor = encryptor();
+		byte[] encrypted = encrypt(encryptor, randomBytes(3 * CHUNK_SIZE));
+		byte[] reordered = encrypted.clone();
+		System.arraycopy(encrypted, HEADER_LENGTH, reordered, HEADER_LENGTH + GCM_FRAME_LENGTH, GCM_FRAME_LENGTH);
+		System.arraycopy(encrypted, HEADER_LENGTH + GCM_FRAME_LENGTH, reordered, HEADER_LENGTH, GCM_FRAME_LENGTH);
+		assertThatIOException().isThrownBy(() -> decrypt(encryptor, reordered));
+	}
+
+	@Test
+	public void decryptWhenChunkSplicedFromOtherStreamThenException() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		AesStreamEncryptor encryptor = encryptor();
+		byte[] encrypted = encrypt(encryptor, randomBytes(2 * CHUNK_SIZE));
+		byte[] other = encrypt(encryptor, randomBytes(2 * CHUNK_SIZE + 1));
+		byte[] spliced = encrypted.clone();
+		System.arraycopy(other, HEADER_LENGTH, spliced, HEADER_LENGTH, GCM_FRAME_LENGTH);
+		assertThatIOException().isThrownBy(() -> decrypt(encryptor, spliced))
+			.withMessage("Unable to decrypt chunk 0");
+	}
+
+	@Test
+	public void decryptWhenFinalChunkMissingThenException() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		AesStreamEncryptor encryptor = encryptor();
+		byte[] encrypted = encrypt(encryptor, randomBytes(2 * CHUNK_SIZE));
+		byte[] truncated = Arrays.copyOf(encrypted, HEADER_LENGTH + GCM_FRAME_LENGTH);
+		assertThatExceptionOfType(EOFException.class).isThrownBy(() -> decrypt(encryptor, truncated))
+			.withMessage("The stream ends before the final chunk");
+	}
+
+	@Test
+	public void decryptWhenDataAfterFinalChunkThenException() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		AesStreamEncryptor encryptor = encryptor();
+		byte[] encrypted = encrypt(encryptor, randomBytes(CHUNK_SIZE));
+		byte[] appended = Arrays.copyOf(encrypted, encrypted.length + 1);
+		assertThatIOException().isThrownBy(() -> decrypt(encryptor, appended))
+			.withMessage("Unexpected data after the final chunk");
+	}
+
+	@Test
+	public void decryptWhenChunkLargerThanChunkSizeThenException() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		AesStreamEncryptor encryptor = encryptor();
+		encryptor.setChunkSize(2 * CHUNK_SIZE);
+		byte[] encrypted = encrypt(encryptor, randomBytes(2 * CHUNK_SIZE));
+		assertThatIOException().isThrownBy(() -> decrypt(encryptor(), encrypted))
+			.withMessageStartingWith("Invalid length");
+	}
+
+	@Test
+	public void setChunkSizeWhenNotPositiveThenException() {
+		AesStreamEncryptor encryptor = new AesStreamEncryptor(this.password, this.hexSalt);
+		assertThatIllegalArgumentException().isThrownBy(() -> encryptor.setChunkSize(0));
+	}
+
+	@Test
+	public void writeWhenClosedThenException() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		OutputStream out = encryptor().encrypt(new ByteArrayOutputStream());
+		out.close();
+		assertThatIOException().isThrownBy(() -> out.write(1));
+	}
+
+	private AesStreamEncryptor encryptor() {
+		AesStreamEncryptor encryptor = new AesStreamEncryptor(this.password, this.hexSalt);
+		encryptor.setChunkSize(CHUNK_SIZE);
+		return encryptor;
+	}
+
+	private static byte[] encrypt(StreamEncryptor encryptor, byte[] bytes) throws IOException {
+		ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+		try (OutputStream out = encryptor.encrypt(encrypted)) {
+			out.write(bytes);
+		}
+		return encrypted.toByteArray();
+	}
+
+	private static byte[] decrypt(StreamEncryptor encryptor, byte[] encrypted) throws IOException {
+		try (InputStream in = encryptor.decrypt(new ByteArrayInputStream(encrypted))) {
+			return in.readAllBytes();
+		}
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+
+}
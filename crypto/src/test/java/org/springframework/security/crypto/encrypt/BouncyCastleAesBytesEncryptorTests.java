@@ -16,8 +16,15 @@
 
 package org.springframework.security.crypto.encrypt;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.bouncycastle.util.Arrays;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,7 +34,9 @@ import org.springframework.security.crypto.codec.Hex;
 import org.springframework.security.crypto.keygen.KeyGenerators;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 public class BouncyCastleAesBytesEncryptorTests {
 
@@ -71,6 +80,120 @@ public class BouncyCastleAesBytesEncryptorTests {
 		assertThat(decrypted2).containsExactly(this.testData);
 	}
 
+	@Test
+	public void bcCbcWithSharedIvEncryptsRepeatedly() {
+		BytesEncryptor bcEncryptor = new BouncyCastleAesCbcBytesEncryptor(this.password, this.salt,
+				KeyGenerators.shared(16));
+		encryptsRepeatedly(bcEncryptor);
+	}
+
+	@Test
+	public void bcGcmWithSharedIvEncryptsRepeatedly() {
+		BytesEncryptor bcEncryptor = new BouncyCastleAesGcmBytesEncryptor(this.password, this.salt,
+				KeyGenerators.shared(16));
+		encryptsRepeatedly(bcEncryptor);
+	}
+
+	private void encryptsRepeatedly(BytesEncryptor bcEncryptor) {
+		byte[] encrypted1 = bcEncryptor.encrypt(this.testData);
+		byte[] encrypted2 = bcEncryptor.encrypt(this.testData);
+		assertThat(encrypted2).containsExactly(encrypted1);
+		assertThat(bcEncryptor.decrypt(encrypted2)).containsExactly(this.testData);
+	}
+
+	@Test
+	public void bcCbcWithByteBuffersThenEquivalentToByteArrays() {
+		roundtripsWithByteBuffers(new BouncyCastleAesCbcBytesEncryptor(this.password, this.salt));
+	}
+
+	@Test
+	public void bcGcmWithByteBuffersThenEquivalentToByteArrays() {
+		roundtripsWithByteBuffers(new BouncyCastleAesGcmBytesEncryptor(this.password, this.salt));
+	}
+
+	private void roundtripsWithByteBuffers(BouncyCastleAesBytesEncryptor bcEncryptor) {
+		ByteBuffer input = ByteBuffer.allocateDirect(this.testData.length).put(this.testData).flip();
+		ByteBuffer encrypted = ByteBuffer.allocate(bcEncryptor.getMaxEncryptedLength(this.testData.length));
+		int encryptedLength = bcEncryptor.encrypt(input, encrypted);
+		assertThat(input.hasRemaining()).isFalse();
+		assertThat(encryptedLength).isEqualTo(encrypted.position());
+		byte[] encryptedBytes = new byte[encryptedLength];
+		encrypted.flip().duplicate().get(encryptedBytes);
+		assertThat(bcEncryptor.decrypt(encryptedBytes)).containsExactly(this.testData);
+		ByteBuffer decrypted = ByteBuffer.allocateDirect(bcEncryptor.getMaxDecryptedLength(encryptedLength));
+		int decryptedLength = bcEncryptor.decrypt(encrypted, decrypted);
+		byte[] decryptedBytes = new byte[decryptedLength];
+		decrypted.flip().get(decryptedBytes);
+		assertThat(decryptedBytes).containsExactly(this.testData);
+		ByteBuffer output = ByteBuffer.allocate(this.testData.length);
+		assertThatExceptionOfType(BufferOverflowException.class)
+			.isThrownBy(() -> bcEncryptor.encrypt(ByteBuffer.wrap(this.testData), output));
+	}
+
+	@Test
+	public void bcGcmWhenPreviousDecryptionFailedThenDecrypts() {
+		BytesEncryptor bcEncryptor = new BouncyCastleAesGcmBytesEncryptor(this.password, this.salt);
+		byte[] encrypted = bcEncryptor.encrypt(this.testData);
+		byte[] tampered = encrypted.clone();
+		tampered[tampered.length - 1] ^= 1;
+		assertThatIllegalStateException().isThrownBy(() -> bcEncryptor.decrypt(tampered));
+		assertThat(bcEncryptor.decrypt(encrypted)).containsExactly(this.testData);
+	}
+
+	@Test
+	public void bcGcmWhenTamperedThenOutputBufferHoldsNoPlaintext() {
+		BouncyCastleAesBytesEncryptor bcEncryptor = new BouncyCastleAesGcmBytesEncryptor(this.password, this.salt);
+		byte[] tampered = bcEncryptor.encrypt(this.testData);
+		tampered[tampered.length - 1] ^= 1;
+		ByteBuffer input = ByteBuffer.wrap(tampered);
+		byte[] out = new byte[bcEncryptor.getMaxDecryptedLength(tampered.length)];
+		ByteBuffer output = ByteBuffer.wrap(out);
+		assertThatIllegalStateException().isThrownBy(() -> bcEncryptor.decrypt(input, output));
+		assertThat(output.position()).isZero();
+		assertThat(out).containsOnly(0);
+	}
+
+	@Test
+	public void bcCbcWhenTamperedThenOutputBufferHoldsNoPlaintext() {
+		BouncyCastleAesBytesEncryptor bcEncryptor = new BouncyCastleAesCbcBytesEncryptor(this.password, this.salt);
+		byte[] tampered = bcEncryptor.encrypt(this.testData);
+		// the last block is padding only, so this turns its last byte into an invalid pad length
+		tampered[tampered.length - 17] ^= 1;
+		ByteBuffer input = ByteBuffer.wrap(tampered);
+		byte[] out = new byte[bcEncryptor.getMaxDecryptedLength(tampered.length)];
+		ByteBuffer output = ByteBuffer.wrap(out);
+		assertThatIllegalStateException().isThrownBy(() -> bcEncryptor.decrypt(input, output));
+		assertThat(output.position()).isZero();
+		assertThat(out).containsOnly(0);
+	}
+
+	@Test
+	public void bcCbcWhenConcurrentThenEncryptsAndDecrypts() throws Exception {
+		roundtripsConcurrently(new BouncyCastleAesCbcBytesEncryptor(this.password, this.salt));
+	}
+
+	@Test
+	public void bcGcmWhenConcurrentThenEncryptsAndDecrypts() throws Exception {
+		roundtripsConcurrently(new BouncyCastleAesGcmBytesEncryptor(this.password, this.salt));
+	}
+
+	private void roundtripsConcurrently(BytesEncryptor bcEncryptor) throws Exception {
+		byte[] data = Arrays.copyOf(this.testData, 1024);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<byte[]>> results = new ArrayList<>();
+			for (int i = 0; i < 64; i++) {
+				results.add(executor.submit(() -> bcEncryptor.decrypt(bcEncryptor.encrypt(data))));
+			}
+			for (Future<byte[]> result : results) {
+				assertThat(result.get()).containsExactly(data);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	public void bcCbcWithWrongLengthIv() {
 		assertThatIllegalArgumentException().isThrownBy(
@@ -16,6 +16,12 @@
 
 package org.springframework.security.crypto.encrypt;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +50,20 @@ public class EncryptorsTests {
 		assertThat(new String(result)).isNotEqualTo(new String(encryptor.encrypt("text".getBytes())));
 	}
 
+	@Test
+	public void strongerStream() throws Exception {
+		CryptoAssumptions.assumeGCMJCE();
+		StreamEncryptor encryptor = Encryptors.strongerStream("password", "5c0744940b5c369b");
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		try (OutputStream out = encryptor.encrypt(result)) {
+			out.write("text".getBytes(StandardCharsets.UTF_8));
+		}
+		assertThat(result.toString(StandardCharsets.UTF_8)).doesNotContain("text");
+		try (InputStream in = encryptor.decrypt(new ByteArrayInputStream(result.toByteArray()))) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("text");
+		}
+	}
+
 	@Test
 	public void preferred() {
 		CryptoAssumptions.assumeGCMJCE();
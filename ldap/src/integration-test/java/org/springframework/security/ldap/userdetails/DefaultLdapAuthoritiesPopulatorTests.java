@@ -31,6 +31,7 @@ import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.ldap.core.DistinguishedName;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.GrantedAuthorityInterner;
 import org.springframework.security.ldap.ApacheDsContainerConfig;
 import org.springframework.security.ldap.SpringSecurityLdapTemplate;
 import org.springframework.test.context.ContextConfiguration;
@@ -183,6 +184,29 @@ public class DefaultLdapAuthoritiesPopulatorTests {
 		assertThat(authorities).contains("ROLE_MANAGER");
 	}
 
+	@Test
+	public void grantedAuthorityInternerSharesRolesAcrossUsers() {
+		this.populator.setGroupRoleAttribute("ou");
+		this.populator.setConvertToUpperCase(true);
+		this.populator.setGroupSearchFilter("(member={0})");
+		this.populator.setGrantedAuthorityInterner(new GrantedAuthorityInterner());
+
+		DirContextAdapter ben = new DirContextAdapter(
+				new DistinguishedName("uid=ben,ou=people,dc=springframework,dc=org"));
+		DirContextAdapter jerry = new DirContextAdapter(
+				new DistinguishedName("cn=mouse\\, jerry,ou=people,dc=springframework,dc=org"));
+
+		GrantedAuthority benManager = manager(this.populator.getGrantedAuthorities(ben, "ben"));
+		GrantedAuthority jerryManager = manager(this.populator.getGrantedAuthorities(jerry, "notused"));
+
+		assertThat(benManager).isSameAs(jerryManager);
+	}
+
+	@Test
+	public void setGrantedAuthorityInternerWhenNullThenException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.populator.setGrantedAuthorityInterner(null));
+	}
+
 	@Test
 	public void customAuthoritiesMappingFunction() {
 		this.populator.setAuthorityMapper((record) -> {
@@ -204,4 +228,11 @@ public class DefaultLdapAuthoritiesPopulatorTests {
 		assertThatIllegalArgumentException().isThrownBy(() -> this.populator.setAuthorityMapper(null));
 	}
 
+	private static GrantedAuthority manager(Collection<GrantedAuthority> authorities) {
+		return authorities.stream()
+			.filter((authority) -> "ROLE_MANAGER".equals(authority.getAuthority()))
+			.findFirst()
+			.orElseThrow();
+	}
+
 }
@@ -35,6 +35,7 @@ import org.springframework.ldap.core.ContextSource;
 import org.springframework.ldap.core.DirContextOperations;
 import org.springframework.ldap.core.LdapTemplate;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.GrantedAuthorityInterner;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.ldap.SpringSecurityLdapTemplate;
 import org.springframework.util.Assert;
@@ -152,6 +153,8 @@ public class DefaultLdapAuthoritiesPopulator implements LdapAuthoritiesPopulator
 	 */
 	private Function<Map<String, List<String>>, GrantedAuthority> authorityMapper;
 
+	private GrantedAuthorityInterner grantedAuthorityInterner;
+
 	/**
 	 * Constructor for group search scenarios. <tt>userRoleAttributes</tt> may still be
 	 * set as a property.
@@ -182,6 +185,9 @@ public class DefaultLdapAuthoritiesPopulator implements LdapAuthoritiesPopulator
 			if (this.convertToUpperCase) {
 				role = role.toUpperCase(Locale.ROOT);
 			}
+			if (this.grantedAuthorityInterner != null) {
+				return this.grantedAuthorityInterner.intern(this.rolePrefix + role);
+			}
 			return new SimpleGrantedAuthority(this.rolePrefix + role);
 		};
 	}
@@ -316,6 +322,19 @@ public class DefaultLdapAuthoritiesPopulator implements LdapAuthoritiesPopulator
 		this.authorityMapper = authorityMapper;
 	}
 
+	/**
+	 * Sets the {@link GrantedAuthorityInterner} which the default mapping function uses
+	 * to share the {@link GrantedAuthority} instances of the roles found in the directory
+	 * across users. By default, new instances are created for every user. Has no effect
+	 * when a custom {@link #setAuthorityMapper(Function) mapping function} is used.
+	 * @param grantedAuthorityInterner the {@link GrantedAuthorityInterner} to use
+	 * @since 7.0
+	 */
+	public void setGrantedAuthorityInterner(GrantedAuthorityInterner grantedAuthorityInterner) {
+		Assert.notNull(grantedAuthorityInterner, "grantedAuthorityInterner must not be null");
+		this.grantedAuthorityInterner = grantedAuthorityInterner;
+	}
+
 	/**
 	 * Returns the current LDAP template. Method available so that classes extending this
 	 * can override the template used
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.authentication;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.serializer.CompactInput;
+import org.springframework.security.core.context.serializer.CompactOutput;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+import org.springframework.security.core.context.serializer.CompactTypeSerializer;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+
+/**
+ * A {@link CompactTypeSerializer} for {@link OAuth2AuthenticationToken}, which is
+ * registered with the {@link CompactSecurityContextSerializer} by default.
+ *
+ * <p>
+ * {@link DefaultOAuth2User} and {@link DefaultOidcUser} principals are written along with
+ * the token, and the attributes, ID Token and UserInfo of their
+ * {@link OAuth2UserAuthority} and {@link OidcUserAuthority} authorities are written only
+ * once.
+ *
+ * @since 7.0
+ */
+public final class OAuth2AuthenticationTokenCompactSerializer
+		implements CompactTypeSerializer<OAuth2AuthenticationToken> {
+
+	private static final int OTHER = 0;
+
+	private static final int OAUTH2_USER = 1;
+
+	private static final int OIDC_USER = 2;
+
+	@Override
+	public int getTypeId() {
+		return 5;
+	}
+
+	@Override
+	public Class<OAuth2AuthenticationToken> getType() {
+		return OAuth2AuthenticationToken.class;
+	}
+
+	@Override
+	public void serialize(OAuth2AuthenticationToken token, CompactOutput output) throws IOException {
+		OAuth2User principal = token.getPrincipal();
+		output.writeString(token.getAuthorizedClientRegistrationId());
+		output.writeBoolean(token.isAuthenticated());
+		UserClaims claims = null;
+		if (principal.getClass() == DefaultOidcUser.class) {
+			DefaultOidcUser user = (DefaultOidcUser) principal;
+			claims = new UserClaims(user.getAttributes(), user.getIdToken(), user.getUserInfo());
+			output.writeInt(OIDC_USER);
+			writeIdToken(user.getIdToken(), output);
+			writeUserInfo(user.getUserInfo(), output);
+			output.writeString(nameAttributeKey(user));
+		}
+		else if (principal.getClass() == DefaultOAuth2User.class) {
+			claims = new UserClaims(principal.getAttributes(), null, null);
+			output.writeInt(OAUTH2_USER);
+			output.writeMap(principal.getAttributes());
+			output.writeString(nameAttributeKey(principal));
+		}
+		else {
+			output.writeInt(OTHER);
+			output.writeValue(principal);
+		}
+		writeAuthorities(token.getAuthorities(), claims, output);
+		if (claims != null) {
+			boolean sameAuthorities = sameElements(principal.getAuthorities(), token.getAuthorities());
+			output.writeBoolean(sameAuthorities);
+			if (!sameAuthorities) {
+				writeAuthorities(principal.getAuthorities(), claims, output);
+			}
+		}
+		output.writeValue(token.getDetails());
+	}
+
+	@Override
+	public OAuth2AuthenticationToken deserialize(CompactInput input, int schemaVersion) throws IOException {
+		String registrationId = input.readString();
+		boolean authenticated = input.readBoolean();
+		int kind = input.readInt();
+		if (kind == OIDC_USER) {
+			OidcIdToken idToken = readIdToken(input);
+			OidcUserInfo userInfo = readUserInfo(input);
+			String nameAttributeKey = input.readString();
+			// the attributes of a DefaultOidcUser are the claims of both tokens
+			Map<String, Object> attributes = new OidcUserAuthority(idToken, userInfo).getAttributes();
+			UserClaims claims = new UserClaims(attributes, idToken, userInfo);
+			List<GrantedAuthority> authorities = readAuthorities(claims, input);
+			List<GrantedAuthority> userAuthorities = input.readBoolean() ? authorities
+					: readAuthorities(claims, input);
+			OAuth2User principal = new DefaultOidcUser(userAuthorities, idToken, userInfo, nameAttributeKey);
+			return token(principal, authorities, registrationId, authenticated, input);
+		}
+		if (kind == OAUTH2_USER) {
+			Map<String, Object> attributes = input.readMap();
+			String nameAttributeKey = input.readString();
+			UserClaims claims = new UserClaims(attributes, null, null);
+			List<GrantedAuthority> authorities = readAuthorities(claims, input);
+			List<GrantedAuthority> userAuthorities = input.readBoolean() ? authorities
+					: readAuthorities(claims, input);
+			OAuth2User principal = new DefaultOAuth2User(userAuthorities, attributes, nameAttributeKey);
+			return token(principal, authorities, registrationId, authenticated, input);
+		}
+		OAuth2User principal = input.readValue(OAuth2User.class);
+		return token(principal, readAuthorities(null, input), registrationId, authenticated, input);
+	}
+
+	private static OAuth2AuthenticationToken token(OAuth2User principal, List<GrantedAuthority> authorities,
+			String registrationId, boolean authenticated, CompactInput input) throws IOException {
+		OAuth2AuthenticationToken token = new OAuth2AuthenticationToken(principal, authorities, registrationId);
+		if (!authenticated) {
+			token.setAuthenticated(false);
+		}
+		token.setDetails(input.readValue());
+		return token;
+	}
+
+	private static void writeAuthorities(Collection<? extends GrantedAuthority> authorities, UserClaims claims,
+			CompactOutput output) throws IOException {
+		output.writeInt(authorities.size());
+		for (GrantedAuthority authority : authorities) {
+			if (claims != null && claims.idToken() != null && authority.getClass() == OidcUserAuthority.class) {
+				OidcUserAuthority oidcAuthority = (OidcUserAuthority) authority;
+				output.writeInt(OIDC_USER);
+				output.writeString(oidcAuthority.getAuthority());
+				output.writeString(oidcAuthority.getUserNameAttributeName());
+				boolean sameIdToken = sameIdToken(oidcAuthority.getIdToken(), claims.idToken());
+				output.writeBoolean(sameIdToken);
+				if (!sameIdToken) {
+					writeIdToken(oidcAuthority.getIdToken(), output);
+				}
+				boolean sameUserInfo = Objects.equals(oidcAuthority.getUserInfo(), claims.userInfo());
+				output.writeBoolean(sameUserInfo);
+				if (!sameUserInfo) {
+					writeUserInfo(oidcAuthority.getUserInfo(), output);
+				}
+			}
+			else if (claims != null && authority.getClass() == OAuth2UserAuthority.class) {
+				OAuth2UserAuthority oauth2Authority = (OAuth2UserAuthority) authority;
+				output.writeInt(OAUTH2_USER);
+				output.writeString(oauth2Authority.getAuthority());
+				output.writeString(oauth2Authority.getUserNameAttributeName());
+				boolean sameAttributes = oauth2Authority.getAttributes().equals(claims.attributes());
+				output.writeBoolean(sameAttributes);
+				if (!sameAttributes) {
+					output.writeMap(oauth2Authority.getAttributes());
+				}
+			}
+			else {
+				output.writeInt(OTHER);
+				output.writeValue(authority);
+			}
+		}
+	}
+
+	private static List<GrantedAuthority> readAuthorities(UserClaims claims, CompactInput input) throws IOException {
+		int size = input.readInt();
+		List<GrantedAuthority> authorities = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			int kind = input.readInt();
+			if (kind == OIDC_USER) {
+				String authority = input.readString();
+				String userNameAttributeName = input.readString();
+				OidcIdToken idToken = input.readBoolean() ? claims.idToken() : readIdToken(input);
+				OidcUserInfo userInfo = input.readBoolean() ? claims.userInfo() : readUserInfo(input);
+				authorities.add(new OidcUserAuthority(authority, idToken, userInfo, userNameAttributeName));
+			}
+			else if (kind == OAUTH2_USER) {
+				String authority = input.readString();
+				String userNameAttributeName = input.readString();
+				Map<String, Object> attributes = input.readBoolean() ? claims.attributes() : input.readMap();
+				authorities.add(new OAuth2UserAuthority(authority, attributes, userNameAttributeName));
+			}
+			else {
+				authorities.add(input.readValue(GrantedAuthority.class));
+			}
+		}
+		return authorities;
+	}
+
+	private static void writeIdToken(OidcIdToken idToken, CompactOutput output) throws IOException {
+		output.writeString(idToken.getTokenValue());
+		output.writeInstant(idToken.getIssuedAt());
+		output.writeInstant(idToken.getExpiresAt());
+		output.writeMap(idToken.getClaims());
+	}
+
+	private static OidcIdToken readIdToken(CompactInput input) throws IOException {
+		return new OidcIdToken(input.readString(), input.readInstant(), input.readInstant(), input.readMap());
+	}
+
+	private static void writeUserInfo(OidcUserInfo userInfo, CompactOutput output) throws IOException {
+		output.writeMap((userInfo != null) ? userInfo.getClaims() : null);
+	}
+
+	private static OidcUserInfo readUserInfo(CompactInput input) throws IOException {
+		Map<String, Object> claims = input.readMap();
+		return (claims != null) ? new OidcUserInfo(claims) : null;
+	}
+
+	private static boolean sameIdToken(OidcIdToken idToken, OidcIdToken other) {
+		return idToken.equals(other) && idToken.getClaims().equals(other.getClaims());
+	}
+
+	private static boolean sameElements(Collection<?> elements, Collection<?> others) {
+		return elements.size() == others.size() && elements.containsAll(others);
+	}
+
+	/**
+	 * {@link DefaultOAuth2User} does not expose the key of its name attribute, so the
+	 * first attribute whose value is the name is used.
+	 */
+	private static String nameAttributeKey(OAuth2User user) {
+		String name = user.getName();
+		for (Map.Entry<String, Object> attribute : user.getAttributes().entrySet()) {
+			if (attribute.getValue() != null && name.equals(attribute.getValue().toString())) {
+				return attribute.getKey();
+			}
+		}
+		throw new IllegalStateException("Failed to find the name attribute of " + user.getClass().getName());
+	}
+
+	private record UserClaims(Map<String, Object> attributes, OidcIdToken idToken, OidcUserInfo userInfo) {
+
+	}
+
+}
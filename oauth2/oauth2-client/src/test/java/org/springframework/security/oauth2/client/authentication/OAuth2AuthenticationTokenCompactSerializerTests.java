@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.client.authentication;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link OAuth2AuthenticationTokenCompactSerializer}.
+ */
+public class OAuth2AuthenticationTokenCompactSerializerTests {
+
+	private final CompactSecurityContextSerializer serializer = new CompactSecurityContextSerializer();
+
+	@Test
+	public void serializeWhenOAuth2UserThenRoundTrips() throws IOException {
+		OAuth2AuthenticationToken authentication = TestOAuth2AuthenticationTokens.authenticated();
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		OAuth2AuthenticationToken result = (OAuth2AuthenticationToken) context.getAuthentication();
+		assertThat(result).isEqualTo(authentication);
+		assertThat(result.getName()).isEqualTo(authentication.getName());
+		assertThat(result.getAuthorizedClientRegistrationId())
+			.isEqualTo(authentication.getAuthorizedClientRegistrationId());
+	}
+
+	@Test
+	public void serializeWhenOidcUserThenRoundTrips() throws IOException {
+		OAuth2AuthenticationToken authentication = TestOAuth2AuthenticationTokens.oidcAuthenticated();
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		OAuth2AuthenticationToken result = (OAuth2AuthenticationToken) context.getAuthentication();
+		assertThat(result).isEqualTo(authentication);
+		DefaultOidcUser principal = (DefaultOidcUser) result.getPrincipal();
+		DefaultOidcUser expected = (DefaultOidcUser) authentication.getPrincipal();
+		assertThat(principal.getIdToken()).isEqualTo(expected.getIdToken());
+		assertThat(principal.getIdToken().getClaims()).isEqualTo(expected.getIdToken().getClaims());
+		assertThat(principal.getUserInfo()).isEqualTo(expected.getUserInfo());
+		assertThat(result.getAuthorities()).hasAtLeastOneElementOfType(OidcUserAuthority.class);
+	}
+
+	@Test
+	public void serializeWhenOidcUserThenSmallerThanJavaSerialization() throws IOException {
+		SecurityContext context = new SecurityContextImpl(TestOAuth2AuthenticationTokens.oidcAuthenticated());
+		byte[] compact = this.serializer.serializeToByteArray(context);
+		byte[] java = new DefaultSerializer().serializeToByteArray(context);
+		assertThat(compact).hasSizeLessThan(java.length / 5);
+	}
+
+	private SecurityContext roundTrip(SecurityContext context) throws IOException {
+		return this.serializer.deserializeFromByteArray(this.serializer.serializeToByteArray(context));
+	}
+
+}
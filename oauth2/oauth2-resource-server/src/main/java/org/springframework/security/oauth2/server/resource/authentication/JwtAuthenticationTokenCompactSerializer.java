@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.authentication;
+
+import java.io.IOException;
+
+import org.springframework.security.core.context.serializer.CompactInput;
+import org.springframework.security.core.context.serializer.CompactOutput;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+import org.springframework.security.core.context.serializer.CompactTypeSerializer;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * A {@link CompactTypeSerializer} for {@link JwtAuthenticationToken}, which is registered
+ * with the {@link CompactSecurityContextSerializer} by default.
+ *
+ * @since 7.0
+ */
+public final class JwtAuthenticationTokenCompactSerializer implements CompactTypeSerializer<JwtAuthenticationToken> {
+
+	@Override
+	public int getTypeId() {
+		return 4;
+	}
+
+	@Override
+	public Class<JwtAuthenticationToken> getType() {
+		return JwtAuthenticationToken.class;
+	}
+
+	@Override
+	public void serialize(JwtAuthenticationToken token, CompactOutput output) throws IOException {
+		Jwt jwt = token.getToken();
+		output.writeString(jwt.getTokenValue());
+		output.writeInstant(jwt.getIssuedAt());
+		output.writeInstant(jwt.getExpiresAt());
+		output.writeMap(jwt.getHeaders());
+		output.writeMap(jwt.getClaims());
+		output.writeString(token.getName());
+		output.writeBoolean(token.isAuthenticated());
+		output.writeAuthorities(token.getAuthorities());
+		output.writeValue(token.getDetails());
+	}
+
+	@Override
+	public JwtAuthenticationToken deserialize(CompactInput input, int schemaVersion) throws IOException {
+		String tokenValue = input.readString();
+		Jwt jwt = new Jwt(tokenValue, input.readInstant(), input.readInstant(), input.readMap(), input.readMap());
+		String name = input.readString();
+		boolean authenticated = input.readBoolean();
+		JwtAuthenticationToken token = new JwtAuthenticationToken(jwt, input.readAuthorities(), name);
+		if (!authenticated) {
+			token.setAuthenticated(false);
+		}
+		token.setDetails(input.readValue());
+		return token;
+	}
+
+}
@@ -27,6 +27,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.log.LogMessage;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.GrantedAuthorityInterner;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.util.Assert;
@@ -55,6 +56,8 @@ public final class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Coll
 
 	private String authoritiesClaimName;
 
+	private GrantedAuthorityInterner grantedAuthorityInterner;
+
 	/**
 	 * Extract {@link GrantedAuthority}s from the given {@link Jwt}.
 	 * @param jwt The {@link Jwt} token
@@ -64,7 +67,7 @@ public final class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Coll
 	public Collection<GrantedAuthority> convert(Jwt jwt) {
 		Collection<GrantedAuthority> grantedAuthorities = new ArrayList<>();
 		for (String authority : getAuthorities(jwt)) {
-			grantedAuthorities.add(new SimpleGrantedAuthority(this.authorityPrefix + authority));
+			grantedAuthorities.add(createAuthority(this.authorityPrefix + authority));
 		}
 		return grantedAuthorities;
 	}
@@ -105,6 +108,25 @@ public final class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Coll
 		this.authoritiesClaimName = authoritiesClaimName;
 	}
 
+	/**
+	 * Sets the {@link GrantedAuthorityInterner} to use for sharing the
+	 * {@link GrantedAuthority authorities} mapped by this converter across tokens. By
+	 * default, new {@link GrantedAuthority authorities} are created for every token.
+	 * @param grantedAuthorityInterner the {@link GrantedAuthorityInterner} to use
+	 * @since 7.0
+	 */
+	public void setGrantedAuthorityInterner(GrantedAuthorityInterner grantedAuthorityInterner) {
+		Assert.notNull(grantedAuthorityInterner, "grantedAuthorityInterner cannot be null");
+		this.grantedAuthorityInterner = grantedAuthorityInterner;
+	}
+
+	private GrantedAuthority createAuthority(String authority) {
+		if (this.grantedAuthorityInterner != null) {
+			return this.grantedAuthorityInterner.intern(authority);
+		}
+		return new SimpleGrantedAuthority(authority);
+	}
+
 	private String getAuthoritiesClaimName(Jwt jwt) {
 		if (this.authoritiesClaimName != null) {
 			return this.authoritiesClaimName;
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.oauth2.server.resource.authentication;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.TestJwts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JwtAuthenticationTokenCompactSerializer}.
+ */
+public class JwtAuthenticationTokenCompactSerializerTests {
+
+	private final CompactSecurityContextSerializer serializer = new CompactSecurityContextSerializer();
+
+	@Test
+	public void serializeWhenJwtAuthenticationTokenThenRoundTrips() throws IOException {
+		Jwt jwt = TestJwts.jwt().claim("scope", "message:read message:write").build();
+		JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwt,
+				AuthorityUtils.createAuthorityList("SCOPE_message:read", "SCOPE_message:write"), "name");
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		JwtAuthenticationToken result = (JwtAuthenticationToken) context.getAuthentication();
+		assertThat(result).isEqualTo(authentication);
+		assertThat(result.getName()).isEqualTo("name");
+		assertThat(result.getToken().getHeaders()).isEqualTo(jwt.getHeaders());
+		assertThat(result.getToken().getClaims()).isEqualTo(jwt.getClaims());
+	}
+
+	@Test
+	public void serializeWhenUnauthenticatedThenRoundTrips() throws IOException {
+		JwtAuthenticationToken authentication = new JwtAuthenticationToken(TestJwts.user());
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		assertThat(context.getAuthentication()).isEqualTo(authentication);
+		assertThat(context.getAuthentication().isAuthenticated()).isFalse();
+	}
+
+	private SecurityContext roundTrip(SecurityContext context) throws IOException {
+		return this.serializer.deserializeFromByteArray(this.serializer.serializeToByteArray(context));
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.Collections;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.GrantedAuthorityInterner;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.TestJwts;
@@ -270,4 +271,28 @@ public class JwtGrantedAuthoritiesConverterTests {
 				new SimpleGrantedAuthority("SCOPE_message:write"));
 	}
 
+	@Test
+	public void convertWhenGrantedAuthorityInternerThenSharesAuthorities() {
+		// @formatter:off
+		Jwt jwt = TestJwts.jwt()
+				.claim("scope", "message:read message:write")
+				.build();
+		// @formatter:on
+		JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
+		jwtGrantedAuthoritiesConverter.setGrantedAuthorityInterner(new GrantedAuthorityInterner());
+		GrantedAuthority[] first = jwtGrantedAuthoritiesConverter.convert(jwt).toArray(new GrantedAuthority[0]);
+		GrantedAuthority[] second = jwtGrantedAuthoritiesConverter.convert(jwt).toArray(new GrantedAuthority[0]);
+		assertThat(first).containsExactly(new SimpleGrantedAuthority("SCOPE_message:read"),
+				new SimpleGrantedAuthority("SCOPE_message:write"));
+		assertThat(second[0]).isSameAs(first[0]);
+		assertThat(second[1]).isSameAs(first[1]);
+	}
+
+	@Test
+	public void setGrantedAuthorityInternerWhenNullThenException() {
+		JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> jwtGrantedAuthoritiesConverter.setGrantedAuthorityInterner(null));
+	}
+
 }
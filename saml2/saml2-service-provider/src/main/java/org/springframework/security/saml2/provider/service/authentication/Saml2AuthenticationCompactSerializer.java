@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.saml2.provider.service.authentication;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.context.serializer.CompactInput;
+import org.springframework.security.core.context.serializer.CompactOutput;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+import org.springframework.security.core.context.serializer.CompactTypeSerializer;
+
+/**
+ * A {@link CompactTypeSerializer} for {@link Saml2Authentication}, which is registered
+ * with the {@link CompactSecurityContextSerializer} by default. A
+ * {@link DefaultSaml2AuthenticatedPrincipal} is written along with the authentication.
+ *
+ * @since 7.0
+ */
+public final class Saml2AuthenticationCompactSerializer implements CompactTypeSerializer<Saml2Authentication> {
+
+	@Override
+	public int getTypeId() {
+		return 6;
+	}
+
+	@Override
+	public Class<Saml2Authentication> getType() {
+		return Saml2Authentication.class;
+	}
+
+	@Override
+	public void serialize(Saml2Authentication authentication, CompactOutput output) throws IOException {
+		Object principal = authentication.getPrincipal();
+		boolean defaultPrincipal = principal.getClass() == DefaultSaml2AuthenticatedPrincipal.class;
+		output.writeBoolean(defaultPrincipal);
+		if (defaultPrincipal) {
+			DefaultSaml2AuthenticatedPrincipal saml2Principal = (DefaultSaml2AuthenticatedPrincipal) principal;
+			output.writeString(saml2Principal.getName());
+			output.writeMap(saml2Principal.getAttributes());
+			output.writeValue(saml2Principal.getSessionIndexes());
+			output.writeString(saml2Principal.getRelyingPartyRegistrationId());
+		}
+		else {
+			output.writeValue(principal);
+		}
+		output.writeString(authentication.getSaml2Response());
+		output.writeBoolean(authentication.isAuthenticated());
+		output.writeAuthorities(authentication.getAuthorities());
+		output.writeValue(authentication.getDetails());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Saml2Authentication deserialize(CompactInput input, int schemaVersion) throws IOException {
+		AuthenticatedPrincipal principal;
+		if (input.readBoolean()) {
+			String name = input.readString();
+			Map<String, List<Object>> attributes = (Map<String, List<Object>>) (Map<String, ?>) input.readMap();
+			List<String> sessionIndexes = input.readValue(List.class);
+			DefaultSaml2AuthenticatedPrincipal saml2Principal = new DefaultSaml2AuthenticatedPrincipal(name,
+					attributes, sessionIndexes);
+			String registrationId = input.readString();
+			if (registrationId != null) {
+				saml2Principal.setRelyingPartyRegistrationId(registrationId);
+			}
+			principal = saml2Principal;
+		}
+		else {
+			principal = input.readValue(AuthenticatedPrincipal.class);
+		}
+		String saml2Response = input.readString();
+		boolean authenticated = input.readBoolean();
+		Saml2Authentication authentication = new Saml2Authentication(principal, saml2Response,
+				input.readAuthorities());
+		if (!authenticated) {
+			authentication.setAuthenticated(false);
+		}
+		authentication.setDetails(input.readValue());
+		return authentication;
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.saml2.provider.service.authentication;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link Saml2AuthenticationCompactSerializer}.
+ */
+public class Saml2AuthenticationCompactSerializerTests {
+
+	private final CompactSecurityContextSerializer serializer = new CompactSecurityContextSerializer();
+
+	@Test
+	public void serializeWhenSaml2AuthenticationThenRoundTrips() throws IOException {
+		DefaultSaml2AuthenticatedPrincipal principal = new DefaultSaml2AuthenticatedPrincipal("user",
+				Map.of("email", List.of("user@example.org")), List.of("session-index"));
+		principal.setRelyingPartyRegistrationId("simplesamlphp");
+		Saml2Authentication authentication = new Saml2Authentication(principal, "response",
+				AuthorityUtils.createAuthorityList("ROLE_USER"));
+		SecurityContext context = roundTrip(new SecurityContextImpl(authentication));
+		Saml2Authentication result = (Saml2Authentication) context.getAuthentication();
+		assertThat(result).isEqualTo(authentication);
+		assertThat(result.getSaml2Response()).isEqualTo("response");
+		DefaultSaml2AuthenticatedPrincipal resultPrincipal = (DefaultSaml2AuthenticatedPrincipal) result
+			.getPrincipal();
+		assertThat(resultPrincipal.getAttributes()).isEqualTo(principal.getAttributes());
+		assertThat(resultPrincipal.getSessionIndexes()).containsExactly("session-index");
+		assertThat(resultPrincipal.getRelyingPartyRegistrationId()).isEqualTo("simplesamlphp");
+	}
+
+	private SecurityContext roundTrip(SecurityContext context) throws IOException {
+		return this.serializer.deserializeFromByteArray(this.serializer.serializeToByteArray(context));
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcherEntry;
+import org.springframework.security.web.util.matcher.RequestMatcherIndex;
+
+/**
+ * An index over a list of {@link SecurityFilterChain}s that narrows down which chains
+ * can possibly match a given request before consulting them.
+ *
+ * <p>
+ * Each {@link DefaultSecurityFilterChain} is indexed by its {@link RequestMatcher} using
+ * a {@link RequestMatcherIndex}. All other chains are opaque, meaning that they are a
+ * candidate for every request. Candidate chains are consulted in their declared order,
+ * so the first matching chain is the same one that a linear scan would have selected.
+ *
+ * @since 7.0
+ * @see FilterChainProxy#setIndexFilterChains(boolean)
+ */
+final class FilterChainIndex {
+
+	private static final Log logger = LogFactory.getLog(FilterChainIndex.class);
+
+	private static final String PROBE_SEGMENT = "filter-chain-index-probe";
+
+	private final List<SecurityFilterChain> filterChains;
+
+	private final RequestMatcherIndex<SecurityFilterChain> index;
+
+	FilterChainIndex(List<SecurityFilterChain> filterChains) {
+		this.filterChains = new ArrayList<>(filterChains);
+		List<RequestMatcherEntry<SecurityFilterChain>> entries = new ArrayList<>();
+		for (SecurityFilterChain chain : this.filterChains) {
+			entries.add(new RequestMatcherEntry<>(requestMatcher(chain), chain));
+		}
+		this.index = new RequestMatcherIndex<>(entries);
+	}
+
+	/**
+	 * Returns the first {@link SecurityFilterChain} matching the supplied request.
+	 * @param request the request to match
+	 * @return the first matching {@link SecurityFilterChain} or {@code null} if none
+	 * match
+	 */
+	SecurityFilterChain getFilterChain(HttpServletRequest request) {
+		RequestMatcherIndex.Match<SecurityFilterChain> match = this.index.match(request);
+		if (logger.isTraceEnabled()) {
+			logger.trace(LogMessage.format("Tried %d of %d filter chains", match.getEvaluations(),
+					this.filterChains.size()));
+		}
+		return match.isMatch() ? match.getEntry().getEntry() : null;
+	}
+
+	/**
+	 * Verifies that, for a representative request built from each indexed path prefix,
+	 * this index selects the same {@link SecurityFilterChain} as a linear scan over all
+	 * chains.
+	 * @throws IllegalStateException if the index and the linear scan disagree
+	 */
+	void verify() {
+		Set<String> probes = new LinkedHashSet<>();
+		probes.add("/");
+		probes.addAll(this.index.getIndexedPathPrefixes());
+		for (String prefix : probes) {
+			String base = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+			for (String path : Arrays.asList(prefix, base + "/", base + "/" + PROBE_SEGMENT)) {
+				verify(path);
+			}
+		}
+	}
+
+	private void verify(String path) {
+		SecurityFilterChain linear;
+		SecurityFilterChain indexed;
+		try {
+			linear = linearScan(new ProbeRequest(path));
+			indexed = getFilterChain(new ProbeRequest(path));
+		}
+		catch (RuntimeException ex) {
+			logger.debug(LogMessage.format("Could not verify filter chain index for %s", path), ex);
+			return;
+		}
+		if (linear != indexed) {
+			throw new IllegalStateException("The filter chain index selected " + indexed + " for path '" + path
+					+ "', but a linear scan selected " + linear + ". Please disable filter chain indexing.");
+		}
+	}
+
+	private SecurityFilterChain linearScan(HttpServletRequest request) {
+		for (SecurityFilterChain chain : this.filterChains) {
+			if (chain.matches(request)) {
+				return chain;
+			}
+		}
+		return null;
+	}
+
+	private static RequestMatcher requestMatcher(SecurityFilterChain chain) {
+		if (chain instanceof DefaultSecurityFilterChain defaultChain) {
+			return defaultChain.getRequestMatcher();
+		}
+		return chain::matches;
+	}
+
+	private static final class ProbeRequest extends FilterInvocation.DummyRequest {
+
+		private final Map<String, Object> attributes = new HashMap<>();
+
+		private ProbeRequest(String path) {
+			setContextPath("");
+			setServletPath(path);
+			setRequestURI(path);
+			setMethod("GET");
+		}
+
+		@Override
+		public Object getAttribute(String attributeName) {
+			return this.attributes.get(attributeName);
+		}
+
+		@Override
+		public void setAttribute(String name, Object value) {
+			this.attributes.put(name, value);
+		}
+
+		@Override
+		public void removeAttribute(String name) {
+			this.attributes.remove(name);
+		}
+
+	}
+
+}
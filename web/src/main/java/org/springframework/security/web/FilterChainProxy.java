@@ -162,6 +162,10 @@ public class FilterChainProxy extends GenericFilterBean {
 
 	private FilterChainDecorator filterChainDecorator = new VirtualFilterChainDecorator();
 
+	private boolean indexFilterChains;
+
+	private FilterChainIndex filterChainIndex;
+
 	public FilterChainProxy() {
 	}
 
@@ -176,6 +180,11 @@ public class FilterChainProxy extends GenericFilterBean {
 	@Override
 	public void afterPropertiesSet() {
 		this.filterChainValidator.validate(this);
+		if (this.indexFilterChains) {
+			FilterChainIndex filterChainIndex = new FilterChainIndex(this.filterChains);
+			filterChainIndex.verify();
+			this.filterChainIndex = filterChainIndex;
+		}
 	}
 
 	@Override
@@ -239,6 +248,10 @@ public class FilterChainProxy extends GenericFilterBean {
 	 * @return an ordered array of Filters defining the filter chain
 	 */
 	private List<Filter> getFilters(HttpServletRequest request) {
+		if (this.filterChainIndex != null) {
+			SecurityFilterChain chain = this.filterChainIndex.getFilterChain(request);
+			return (chain != null) ? chain.getFilters() : null;
+		}
 		int count = 0;
 		for (SecurityFilterChain chain : this.filterChains) {
 			if (logger.isTraceEnabled()) {
@@ -304,6 +317,33 @@ public class FilterChainProxy extends GenericFilterBean {
 		this.filterChainDecorator = filterChainDecorator;
 	}
 
+	/**
+	 * Whether to resolve the {@link SecurityFilterChain} for each request using an index
+	 * built from the chains' {@link RequestMatcher}s instead of trying each chain in turn.
+	 *
+	 * <p>
+	 * Chains that use a
+	 * {@link org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher}
+	 * are indexed by the literal prefix of their pattern, so that only chains whose
+	 * prefix matches the request path are consulted. Chains with any other
+	 * {@link RequestMatcher} are consulted for every request. The first matching chain
+	 * in declaration order is still the one that is selected.
+	 *
+	 * <p>
+	 * When enabled, {@link #afterPropertiesSet()} verifies that the index selects the
+	 * same chain as a linear scan for requests derived from each declared pattern and
+	 * throws an {@link IllegalStateException} if it does not.
+	 *
+	 * <p>
+	 * This is useful for applications that declare many {@link SecurityFilterChain}s.
+	 * Defaults to {@code false}.
+	 * @param indexFilterChains whether to index the {@link SecurityFilterChain}s
+	 * @since 7.0
+	 */
+	public void setIndexFilterChains(boolean indexFilterChains) {
+		this.indexFilterChains = indexFilterChains;
+	}
+
 	/**
 	 * Sets the "firewall" implementation which will be used to validate and wrap (or
 	 * potentially reject) the incoming requests. The default implementation should be
@@ -19,6 +19,7 @@ package org.springframework.security.web.access.intercept;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,8 +36,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.web.util.UrlUtils;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
-import org.springframework.security.web.util.matcher.RequestMatcher.MatchResult;
 import org.springframework.security.web.util.matcher.RequestMatcherEntry;
+import org.springframework.security.web.util.matcher.RequestMatcherIndex;
 import org.springframework.util.Assert;
 
 /**
@@ -53,12 +54,15 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 	private final Log logger = LogFactory.getLog(getClass());
 
-	private final List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings;
+	private final RequestMatcherIndex<AuthorizationManager<RequestAuthorizationContext>> mappings;
+
+	private IntConsumer matcherEvaluationsConsumer = (evaluations) -> {
+	};
 
 	private RequestMatcherDelegatingAuthorizationManager(
 			List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings) {
 		Assert.notEmpty(mappings, "mappings cannot be empty");
-		this.mappings = mappings;
+		this.mappings = new RequestMatcherIndex<>(mappings);
 	}
 
 	/**
@@ -77,19 +81,17 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(LogMessage.format("Authorizing %s", requestLine(request)));
 		}
-		for (RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>> mapping : this.mappings) {
-
-			RequestMatcher matcher = mapping.getRequestMatcher();
-			MatchResult matchResult = matcher.matcher(request);
-			if (matchResult.isMatch()) {
-				AuthorizationManager<RequestAuthorizationContext> manager = mapping.getEntry();
-				if (this.logger.isTraceEnabled()) {
-					this.logger.trace(
-							LogMessage.format("Checking authorization on %s using %s", requestLine(request), manager));
-				}
-				return manager.check(authentication,
-						new RequestAuthorizationContext(request, matchResult.getVariables()));
+		RequestMatcherIndex.Match<AuthorizationManager<RequestAuthorizationContext>> match = this.mappings
+			.match(request);
+		this.matcherEvaluationsConsumer.accept(match.getEvaluations());
+		if (match.isMatch()) {
+			AuthorizationManager<RequestAuthorizationContext> manager = match.getEntry().getEntry();
+			if (this.logger.isTraceEnabled()) {
+				this.logger.trace(
+						LogMessage.format("Checking authorization on %s using %s", requestLine(request), manager));
 			}
+			return manager.check(authentication,
+					new RequestAuthorizationContext(request, match.getMatchResult().getVariables()));
 		}
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(LogMessage.of(() -> "Denying request since did not find matching RequestMatcher"));
@@ -97,6 +99,25 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 		return DENY;
 	}
 
+	/**
+	 * Use this {@link IntConsumer} to observe how many {@link RequestMatcher}s were
+	 * evaluated for each authorization decision.
+	 *
+	 * <p>
+	 * Mappings are indexed by HTTP method and by the literal path prefix of any
+	 * {@link org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher},
+	 * so only the mappings that could possibly match are evaluated, still in declaration
+	 * order. This consumer can be used to record that number, for example in a
+	 * distribution summary. By default, the number is discarded.
+	 * @param matcherEvaluationsConsumer the {@link IntConsumer} to use
+	 * @since 7.0
+	 * @see RequestMatcherIndex
+	 */
+	public void setMatcherEvaluationsConsumer(IntConsumer matcherEvaluationsConsumer) {
+		Assert.notNull(matcherEvaluationsConsumer, "matcherEvaluationsConsumer cannot be null");
+		this.matcherEvaluationsConsumer = matcherEvaluationsConsumer;
+	}
+
 	private static String requestLine(HttpServletRequest request) {
 		return request.getMethod() + " " + UrlUtils.buildRequestUrl(request);
 	}
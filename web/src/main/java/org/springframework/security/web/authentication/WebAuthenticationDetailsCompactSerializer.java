@@ -0,0 +1,56 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication;
+
+import java.io.IOException;
+
+import org.springframework.security.core.context.serializer.CompactInput;
+import org.springframework.security.core.context.serializer.CompactOutput;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+import org.springframework.security.core.context.serializer.CompactTypeSerializer;
+
+/**
+ * A {@link CompactTypeSerializer} for {@link WebAuthenticationDetails}, which is
+ * registered with the {@link CompactSecurityContextSerializer} by default.
+ *
+ * @since 7.0
+ */
+public final class WebAuthenticationDetailsCompactSerializer
+		implements CompactTypeSerializer<WebAuthenticationDetails> {
+
+	@Override
+	public int getTypeId() {
+		return 3;
+	}
+
+	@Override
+	public Class<WebAuthenticationDetails> getType() {
+		return WebAuthenticationDetails.class;
+	}
+
+	@Override
+	public void serialize(WebAuthenticationDetails details, CompactOutput output) throws IOException {
+		output.writeString(details.getRemoteAddress());
+		output.writeString(details.getSessionId());
+	}
+
+	@Override
+	public WebAuthenticationDetails deserialize(CompactInput input, int schemaVersion) throws IOException {
+		return new WebAuthenticationDetails(input.readString(), input.readString());
+	}
+
+}
@@ -61,19 +61,17 @@ public final class DelegatingSecurityContextRepository implements SecurityContex
 		return result;
 	}
 
+	/**
+	 * Returns a {@link DeferredSecurityContext} that only loads the deferred contexts of
+	 * the delegates once it is first accessed, so that requests that never access the
+	 * {@link SecurityContext} do not consult any of the delegates.
+	 */
 	@Override
 	public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
-		DeferredSecurityContext deferredSecurityContext = null;
-		for (SecurityContextRepository delegate : this.delegates) {
-			if (deferredSecurityContext == null) {
-				deferredSecurityContext = delegate.loadDeferredContext(request);
-			}
-			else {
-				DeferredSecurityContext next = delegate.loadDeferredContext(request);
-				deferredSecurityContext = new DelegatingDeferredSecurityContext(deferredSecurityContext, next);
-			}
+		if (this.delegates.size() == 1) {
+			return this.delegates.get(0).loadDeferredContext(request);
 		}
-		return deferredSecurityContext;
+		return new DelegatingDeferredSecurityContext(this.delegates, request);
 	}
 
 	@Override
@@ -95,27 +93,49 @@ public final class DelegatingSecurityContextRepository implements SecurityContex
 
 	static final class DelegatingDeferredSecurityContext implements DeferredSecurityContext {
 
-		private final DeferredSecurityContext previous;
+		private final List<SecurityContextRepository> delegates;
 
-		private final DeferredSecurityContext next;
+		private final HttpServletRequest request;
 
-		DelegatingDeferredSecurityContext(DeferredSecurityContext previous, DeferredSecurityContext next) {
-			this.previous = previous;
-			this.next = next;
+		private DeferredSecurityContext[] deferredSecurityContexts;
+
+		DelegatingDeferredSecurityContext(List<SecurityContextRepository> delegates, HttpServletRequest request) {
+			this.delegates = delegates;
+			this.request = request;
 		}
 
 		@Override
 		public SecurityContext get() {
-			SecurityContext securityContext = this.previous.get();
-			if (!this.previous.isGenerated()) {
-				return securityContext;
+			DeferredSecurityContext[] deferredSecurityContexts = getDeferredSecurityContexts();
+			int last = deferredSecurityContexts.length - 1;
+			for (int i = 0; i < last; i++) {
+				SecurityContext securityContext = deferredSecurityContexts[i].get();
+				if (!deferredSecurityContexts[i].isGenerated()) {
+					return securityContext;
+				}
 			}
-			return this.next.get();
+			return deferredSecurityContexts[last].get();
 		}
 
 		@Override
 		public boolean isGenerated() {
-			return this.previous.isGenerated() && this.next.isGenerated();
+			for (DeferredSecurityContext deferredSecurityContext : getDeferredSecurityContexts()) {
+				if (!deferredSecurityContext.isGenerated()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private DeferredSecurityContext[] getDeferredSecurityContexts() {
+			if (this.deferredSecurityContexts == null) {
+				DeferredSecurityContext[] deferredSecurityContexts = new DeferredSecurityContext[this.delegates.size()];
+				for (int i = 0; i < deferredSecurityContexts.length; i++) {
+					deferredSecurityContexts[i] = this.delegates.get(i).loadDeferredContext(this.request);
+				}
+				this.deferredSecurityContexts = deferredSecurityContexts;
+			}
+			return this.deferredSecurityContexts;
 		}
 
 	}
@@ -16,6 +16,8 @@
 
 package org.springframework.security.web.context;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import jakarta.servlet.AsyncContext;
@@ -109,6 +111,14 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
 
+	private boolean saveOnlyWhenChanged;
+
+	private String fingerprintAttributeName = fingerprintAttributeName(SPRING_SECURITY_CONTEXT_KEY);
+
+	private final LongAdder savedContexts = new LongAdder();
+
+	private final LongAdder skippedSaves = new LongAdder();
+
 	/**
 	 * Gets the security context for the current request (if available) and returns it.
 	 * <p>
@@ -123,7 +133,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		HttpServletRequest request = requestResponseHolder.getRequest();
 		HttpServletResponse response = requestResponseHolder.getResponse();
 		HttpSession httpSession = request.getSession(false);
-		SecurityContext context = readSecurityContextFromSession(httpSession);
+		SecurityContext context = rememberFingerprint(request, readSecurityContextFromSession(httpSession));
 		if (context == null) {
 			context = generateNewContext();
 			if (this.logger.isTraceEnabled()) {
@@ -142,7 +152,8 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	@Override
 	public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
-		Supplier<SecurityContext> supplier = () -> readSecurityContextFromSession(request.getSession(false));
+		Supplier<SecurityContext> supplier = () -> rememberFingerprint(request,
+				readSecurityContextFromSession(request.getSession(false)));
 		return new SupplierDeferredSecurityContext(supplier, this.securityContextHolderStrategy);
 	}
 
@@ -164,26 +175,44 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		SecurityContext emptyContext = generateNewContext();
 		if (emptyContext.equals(context)) {
 			HttpSession session = request.getSession(false);
-			removeContextFromSession(context, session);
+			removeContextFromSession(context, session, request);
 		}
 		else {
 			boolean createSession = this.allowSessionCreation;
 			HttpSession session = request.getSession(createSession);
-			setContextInSession(context, session);
+			setContextInSession(context, session, request);
 		}
 	}
 
-	private void setContextInSession(SecurityContext context, HttpSession session) {
+	private void setContextInSession(SecurityContext context, HttpSession session, HttpServletRequest request) {
 		if (session != null) {
+			if (this.saveOnlyWhenChanged) {
+				ContextFingerprint fingerprint = ContextFingerprint.of(context);
+				if (fingerprint.equals(request.getAttribute(this.fingerprintAttributeName))
+						&& session.getAttribute(this.springSecurityContextKey) != null) {
+					this.skippedSaves.increment();
+					this.logger.trace(LogMessage.format("Did not store unchanged %s to HttpSession", context));
+					return;
+				}
+				request.setAttribute(this.fingerprintAttributeName, fingerprint);
+			}
 			session.setAttribute(this.springSecurityContextKey, context);
+			this.savedContexts.increment();
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug(LogMessage.format("Stored %s to HttpSession [%s]", context, session));
 			}
 		}
 	}
 
-	private void removeContextFromSession(SecurityContext context, HttpSession session) {
+	private void removeContextFromSession(SecurityContext context, HttpSession session, HttpServletRequest request) {
 		if (session != null) {
+			if (this.saveOnlyWhenChanged) {
+				request.removeAttribute(this.fingerprintAttributeName);
+				if (session.getAttribute(this.springSecurityContextKey) == null) {
+					this.skippedSaves.increment();
+					return;
+				}
+			}
 			session.removeAttribute(this.springSecurityContextKey);
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug(LogMessage.format("Removed %s from HttpSession [%s]", context, session));
@@ -200,6 +229,13 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		return session.getAttribute(this.springSecurityContextKey) != null;
 	}
 
+	private SecurityContext rememberFingerprint(HttpServletRequest request, SecurityContext context) {
+		if (this.saveOnlyWhenChanged && context != null) {
+			request.setAttribute(this.fingerprintAttributeName, ContextFingerprint.of(context));
+		}
+		return context;
+	}
+
 	/**
 	 * @param httpSession the session obtained from the request.
 	 */
@@ -282,6 +318,48 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 	public void setSpringSecurityContextKey(String springSecurityContextKey) {
 		Assert.hasText(springSecurityContextKey, "springSecurityContextKey cannot be empty");
 		this.springSecurityContextKey = springSecurityContextKey;
+		this.fingerprintAttributeName = fingerprintAttributeName(springSecurityContextKey);
+	}
+
+	/**
+	 * If set to true, the {@link SecurityContext} is only written to the
+	 * {@link HttpSession} when it differs from the context that was loaded from the
+	 * {@link HttpSession} for the same request. This avoids redundant session writes,
+	 * which are expensive for session stores that serialize and send every
+	 * {@link HttpSession#setAttribute(String, Object)} over the network. Off by default.
+	 * <p>
+	 * Whether the context differs is decided by a fingerprint of the context type, the
+	 * authentication type, name and authenticated flag, and the hash codes of the
+	 * authorities, the principal and the details. Changes that are not reflected by the
+	 * fingerprint, for example to the credentials, are not written.
+	 * @param saveOnlyWhenChanged whether unchanged contexts are not written
+	 * @since 7.0
+	 * @see #getSavedContextCount()
+	 * @see #getSkippedSaveCount()
+	 */
+	public void setSaveOnlyWhenChanged(boolean saveOnlyWhenChanged) {
+		this.saveOnlyWhenChanged = saveOnlyWhenChanged;
+	}
+
+	/**
+	 * Returns the number of times that the {@link SecurityContext} was written to the
+	 * {@link HttpSession}.
+	 * @return the number of written contexts
+	 * @since 7.0
+	 */
+	public long getSavedContextCount() {
+		return this.savedContexts.sum();
+	}
+
+	/**
+	 * Returns the number of times that writing or removing the {@link SecurityContext}
+	 * was skipped since the {@link HttpSession} already held the same context.
+	 * @return the number of skipped writes
+	 * @since 7.0
+	 * @see #setSaveOnlyWhenChanged(boolean)
+	 */
+	public long getSkippedSaveCount() {
+		return this.skippedSaves.sum();
 	}
 
 	/**
@@ -295,6 +373,10 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		this.contextObject = this.securityContextHolderStrategy.createEmptyContext();
 	}
 
+	private static String fingerprintAttributeName(String springSecurityContextKey) {
+		return HttpSessionSecurityContextRepository.class.getName() + "." + springSecurityContextKey + ".FINGERPRINT";
+	}
+
 	private boolean isTransient(Object object) {
 		if (object == null) {
 			return false;
@@ -313,6 +395,25 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		this.trustResolver = trustResolver;
 	}
 
+	/**
+	 * A cheap summary of a {@link SecurityContext} that changes whenever the identity,
+	 * the authorities or the details of the {@link Authentication} change.
+	 */
+	private record ContextFingerprint(Class<?> contextType, Class<?> authenticationType, String name,
+			boolean authenticated, int authoritiesHash, int principalHash, int detailsHash) {
+
+		static ContextFingerprint of(SecurityContext context) {
+			Authentication authentication = context.getAuthentication();
+			if (authentication == null) {
+				return new ContextFingerprint(context.getClass(), null, null, false, 0, 0, 0);
+			}
+			return new ContextFingerprint(context.getClass(), authentication.getClass(), authentication.getName(),
+					authentication.isAuthenticated(), Objects.hashCode(authentication.getAuthorities()),
+					Objects.hashCode(authentication.getPrincipal()), Objects.hashCode(authentication.getDetails()));
+		}
+
+	}
+
 	private static class SaveToSessionRequestWrapper extends HttpServletRequestWrapper {
 
 		private final SaveContextOnUpdateOrErrorResponseWrapper response;
@@ -26,9 +26,12 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.Assert;
 import org.springframework.web.filter.GenericFilterBean;
 
@@ -40,6 +43,10 @@ import org.springframework.web.filter.GenericFilterBean;
  * must be explicitly invoked to save the {@link SecurityContext}. This improves the
  * efficiency and provides better flexibility by allowing different authentication
  * mechanisms to choose individually if authentication should be persisted.
+ * <p>
+ * When configured with a {@link ScopedValueSecurityContextHolderStrategy}, the
+ * {@link SecurityContext} is bound for the remainder of the filter chain instead of being
+ * set and cleared.
  *
  * @author Rob Winch
  * @author Marcus da Coregio
@@ -54,6 +61,8 @@ public class SecurityContextHolderFilter extends GenericFilterBean {
 	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
 		.getContextHolderStrategy();
 
+	private RequestMatcher securityContextRequestMatcher = AnyRequestMatcher.INSTANCE;
+
 	/**
 	 * Creates a new instance.
 	 * @param securityContextRepository the repository to use. Cannot be null.
@@ -76,7 +85,15 @@ public class SecurityContextHolderFilter extends GenericFilterBean {
 			return;
 		}
 		request.setAttribute(FILTER_APPLIED, Boolean.TRUE);
+		if (!this.securityContextRequestMatcher.matches(request)) {
+			doFilterWithoutRepository(request, response, chain);
+			return;
+		}
 		Supplier<SecurityContext> deferredContext = this.securityContextRepository.loadDeferredContext(request);
+		if (this.securityContextHolderStrategy instanceof ScopedValueSecurityContextHolderStrategy scoped) {
+			doFilterWhere(scoped, deferredContext, request, response, chain);
+			return;
+		}
 		try {
 			this.securityContextHolderStrategy.setDeferredContext(deferredContext);
 			chain.doFilter(request, response);
@@ -87,6 +104,52 @@ public class SecurityContextHolderFilter extends GenericFilterBean {
 		}
 	}
 
+	private void doFilterWithoutRepository(HttpServletRequest request, HttpServletResponse response,
+			FilterChain chain) throws ServletException, IOException {
+		this.securityContextHolderStrategy.clearContext();
+		try {
+			chain.doFilter(request, response);
+		}
+		finally {
+			this.securityContextHolderStrategy.clearContext();
+			request.removeAttribute(FILTER_APPLIED);
+		}
+	}
+
+	private void doFilterWhere(ScopedValueSecurityContextHolderStrategy strategy,
+			Supplier<SecurityContext> deferredContext, HttpServletRequest request, HttpServletResponse response,
+			FilterChain chain) throws ServletException, IOException {
+		try {
+			strategy.callWhere(deferredContext, () -> {
+				chain.doFilter(request, response);
+				return null;
+			});
+		}
+		catch (IOException | ServletException | RuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new ServletException(ex);
+		}
+		finally {
+			request.removeAttribute(FILTER_APPLIED);
+		}
+	}
+
+	/**
+	 * Sets the {@link RequestMatcher} for the requests that load the
+	 * {@link SecurityContext} from the {@link SecurityContextRepository}. Requests that
+	 * do not match, such as requests for static resources that are permitted to anyone,
+	 * skip the {@link SecurityContextRepository} and start with an empty
+	 * {@link SecurityContext}. The default is to match any request.
+	 * @param securityContextRequestMatcher the {@link RequestMatcher} to use
+	 * @since 7.0
+	 */
+	public void setSecurityContextRequestMatcher(RequestMatcher securityContextRequestMatcher) {
+		Assert.notNull(securityContextRequestMatcher, "securityContextRequestMatcher cannot be null");
+		this.securityContextRequestMatcher = securityContextRequestMatcher;
+	}
+
 	/**
 	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
 	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
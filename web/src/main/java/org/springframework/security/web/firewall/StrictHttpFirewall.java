@@ -117,9 +117,9 @@ public class StrictHttpFirewall implements HttpFirewall {
 	private static final List<String> FORBIDDEN_PARAGRAPH_SEPARATOR = Collections
 		.unmodifiableList(Arrays.asList("\u2029"));
 
-	private Set<String> encodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist encodedUrlBlocklist = new UrlBlocklist();
 
-	private Set<String> decodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist decodedUrlBlocklist = new UrlBlocklist();
 
 	private Set<String> allowedHttpMethods = createDefaultAllowedHttpMethods();
 
@@ -543,19 +543,20 @@ public class StrictHttpFirewall implements HttpFirewall {
 	}
 
 	private void rejectedBlocklistedUrls(HttpServletRequest request) {
-		for (String forbidden : this.encodedUrlBlocklist) {
-			if (encodedUrlContains(request, forbidden)) {
-				throw new RequestRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
+		String forbidden = this.encodedUrlBlocklist.findIn(request.getContextPath());
+		if (forbidden == null) {
+			forbidden = this.encodedUrlBlocklist.findIn(request.getRequestURI());
 		}
-		for (String forbidden : this.decodedUrlBlocklist) {
-			if (decodedUrlContains(request, forbidden)) {
-				throw new RequestRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
+		if (forbidden == null) {
+			forbidden = this.decodedUrlBlocklist.findIn(request.getServletPath());
+		}
+		if (forbidden == null) {
+			forbidden = this.decodedUrlBlocklist.findIn(request.getPathInfo());
+		}
+		if (forbidden != null) {
+			throw new RequestRejectedException(
+					"The request was rejected because the URL contained a potentially malicious String \""
+							+ forbidden + "\"");
 		}
 	}
 
@@ -600,20 +601,6 @@ public class StrictHttpFirewall implements HttpFirewall {
 		return true;
 	}
 
-	private static boolean encodedUrlContains(HttpServletRequest request, String value) {
-		if (valueContains(request.getContextPath(), value)) {
-			return true;
-		}
-		return valueContains(request.getRequestURI(), value);
-	}
-
-	private static boolean decodedUrlContains(HttpServletRequest request, String value) {
-		if (valueContains(request.getServletPath(), value)) {
-			return true;
-		}
-		return valueContains(request.getPathInfo(), value);
-	}
-
 	private static boolean containsOnlyPrintableAsciiCharacters(String uri) {
 		if (uri == null) {
 			return true;
@@ -628,10 +615,6 @@ public class StrictHttpFirewall implements HttpFirewall {
 		return true;
 	}
 
-	private static boolean valueContains(String value, String contains) {
-		return value != null && value.contains(contains);
-	}
-
 	/**
 	 * Checks whether a path is normalized (doesn't contain path traversal sequences like
 	 * "./", "/../" or "/.")
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link Set} of blocklisted URL fragments that can find any of its entries in a value
+ * using a single pass over that value.
+ *
+ * <p>
+ * The entries are compiled into a lookup table keyed by their first character, so that
+ * each character of the value is only compared against the entries that start with it.
+ * The table is rebuilt lazily whenever the set is modified, so it may be freely
+ * customized while configuring a firewall.
+ *
+ * @since 7.0
+ * @see StrictHttpFirewall#getEncodedUrlBlocklist()
+ * @see StrictHttpFirewall#getDecodedUrlBlocklist()
+ */
+public final class UrlBlocklist extends AbstractSet<String> {
+
+	private final Set<String> entries = new HashSet<>();
+
+	private volatile Table table;
+
+	/**
+	 * Finds the first entry of this blocklist that is contained in the given value.
+	 * @param value the value to search, may be {@code null}
+	 * @return the blocklisted entry that was found or {@code null} if the value does not
+	 * contain any
+	 */
+	@Nullable
+	public String findIn(@Nullable String value) {
+		if (value == null) {
+			return null;
+		}
+		Table table = this.table;
+		if (table == null) {
+			table = new Table(this.entries);
+			this.table = table;
+		}
+		return table.findIn(value);
+	}
+
+	@Override
+	public boolean add(String entry) {
+		boolean added = this.entries.add(entry);
+		if (added) {
+			this.table = null;
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object entry) {
+		boolean removed = this.entries.remove(entry);
+		if (removed) {
+			this.table = null;
+		}
+		return removed;
+	}
+
+	@Override
+	public boolean contains(Object entry) {
+		return this.entries.contains(entry);
+	}
+
+	@Override
+	public void clear() {
+		this.entries.clear();
+		this.table = null;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		Iterator<String> delegate = this.entries.iterator();
+		return new Iterator<>() {
+
+			@Override
+			public boolean hasNext() {
+				return delegate.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return delegate.next();
+			}
+
+			@Override
+			public void remove() {
+				delegate.remove();
+				UrlBlocklist.this.table = null;
+			}
+
+		};
+	}
+
+	@Override
+	public int size() {
+		return this.entries.size();
+	}
+
+	private static final class Table {
+
+		private static final String[] NONE = new String[0];
+
+		private final String[][] ascii = new String[128][];
+
+		private final char[] otherFirstCharacters;
+
+		private final String[][] other;
+
+		private final boolean containsEmpty;
+
+		private Table(Set<String> entries) {
+			Map<Character, List<String>> byFirstCharacter = new TreeMap<>();
+			boolean containsEmpty = false;
+			for (String entry : entries) {
+				if (entry.isEmpty()) {
+					containsEmpty = true;
+					continue;
+				}
+				byFirstCharacter.computeIfAbsent(entry.charAt(0), (key) -> new ArrayList<>()).add(entry);
+			}
+			this.containsEmpty = containsEmpty;
+			List<Character> otherFirstCharacters = new ArrayList<>();
+			List<String[]> other = new ArrayList<>();
+			for (Map.Entry<Character, List<String>> candidates : byFirstCharacter.entrySet()) {
+				String[] sorted = candidates.getValue().toArray(NONE);
+				// prefer reporting the most specific entry
+				Arrays.sort(sorted, Comparator.comparingInt(String::length).reversed());
+				char first = candidates.getKey();
+				if (first < this.ascii.length) {
+					this.ascii[first] = sorted;
+				}
+				else {
+					otherFirstCharacters.add(first);
+					other.add(sorted);
+				}
+			}
+			this.otherFirstCharacters = new char[otherFirstCharacters.size()];
+			for (int i = 0; i < this.otherFirstCharacters.length; i++) {
+				this.otherFirstCharacters[i] = otherFirstCharacters.get(i);
+			}
+			this.other = other.toArray(new String[0][]);
+		}
+
+		private String findIn(String value) {
+			if (this.containsEmpty) {
+				return "";
+			}
+			int length = value.length();
+			for (int i = 0; i < length; i++) {
+				String[] candidates = candidates(value.charAt(i));
+				if (candidates == null) {
+					continue;
+				}
+				for (String candidate : candidates) {
+					if (value.startsWith(candidate, i)) {
+						return candidate;
+					}
+				}
+			}
+			return null;
+		}
+
+		private String[] candidates(char ch) {
+			if (ch < this.ascii.length) {
+				return this.ascii[ch];
+			}
+			if (this.otherFirstCharacters.length == 0) {
+				return null;
+			}
+			int index = Arrays.binarySearch(this.otherFirstCharacters, ch);
+			return (index >= 0) ? this.other[index] : null;
+		}
+
+	}
+
+}
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -33,10 +34,12 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.security.web.firewall.UrlBlocklist;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
@@ -124,9 +127,9 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 	private static final List<String> FORBIDDEN_PARAGRAPH_SEPARATOR = Collections
 		.unmodifiableList(Arrays.asList("\u2029"));
 
-	private Set<String> encodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist encodedUrlBlocklist = new UrlBlocklist();
 
-	private Set<String> decodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist decodedUrlBlocklist = new UrlBlocklist();
 
 	private Set<HttpMethod> allowedHttpMethods = createDefaultAllowedHttpMethods();
 
@@ -580,19 +583,17 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 	}
 
 	private void rejectedBlocklistedUrls(ServerHttpRequest request) {
-		for (String forbidden : this.encodedUrlBlocklist) {
-			if (encodedUrlContains(request, forbidden)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
+		String forbidden = this.encodedUrlBlocklist.findIn(request.getPath().value());
+		if (forbidden == null) {
+			forbidden = this.encodedUrlBlocklist.findIn(request.getURI().getRawPath());
 		}
-		for (String forbidden : this.decodedUrlBlocklist) {
-			if (decodedUrlContains(request, forbidden)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
-			}
+		if (forbidden == null) {
+			forbidden = this.decodedUrlBlocklist.findIn(request.getURI().getPath());
+		}
+		if (forbidden != null) {
+			throw new ServerExchangeRejectedException(
+					"The request was rejected because the URL contained a potentially malicious String \""
+							+ forbidden + "\"");
 		}
 	}
 
@@ -617,7 +618,7 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 	}
 
 	private boolean isNormalized(ServerHttpRequest request) {
-		if (!isNormalized(request.getPath().value())) {
+		if (!isNormalized(request.getPath())) {
 			return false;
 		}
 		if (!isNormalized(request.getURI().getRawPath())) {
@@ -657,17 +658,6 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		}
 	}
 
-	private static boolean encodedUrlContains(ServerHttpRequest request, String value) {
-		if (valueContains(request.getPath().value(), value)) {
-			return true;
-		}
-		return valueContains(request.getURI().getRawPath(), value);
-	}
-
-	private static boolean decodedUrlContains(ServerHttpRequest request, String value) {
-		return valueContains(request.getURI().getPath(), value);
-	}
-
 	private static boolean containsOnlyPrintableAsciiCharacters(String uri) {
 		if (uri == null) {
 			return true;
@@ -682,8 +672,22 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		return true;
 	}
 
-	private static boolean valueContains(String value, String contains) {
-		return value != null && value.contains(contains);
+	/**
+	 * Checks whether an already parsed path is normalized (doesn't contain path traversal
+	 * segments like "." or "..")
+	 * @param path the path to test
+	 * @return true if the path doesn't contain any path-traversal segments.
+	 */
+	private static boolean isNormalized(PathContainer path) {
+		for (PathContainer.Element element : path.elements()) {
+			if (element instanceof PathContainer.PathSegment) {
+				String segment = element.value();
+				if (".".equals(segment) || "..".equals(segment)) {
+					return false;
+				}
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -712,29 +716,49 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 
 	private final class StrictFirewallServerWebExchange extends ServerWebExchangeDecorator {
 
+		private volatile StrictFirewallHttpRequest request;
+
 		private StrictFirewallServerWebExchange(ServerWebExchange delegate) {
 			super(delegate);
 		}
 
 		@Override
 		public ServerHttpRequest getRequest() {
-			return new StrictFirewallHttpRequest(super.getRequest());
+			ServerHttpRequest delegate = super.getRequest();
+			StrictFirewallHttpRequest request = this.request;
+			if (request == null || request.getDelegate() != delegate) {
+				request = new StrictFirewallHttpRequest(delegate);
+				this.request = request;
+			}
+			return request;
 		}
 
 		private final class StrictFirewallHttpRequest extends ServerHttpRequestDecorator {
 
+			private volatile StrictFirewallHttpHeaders headers;
+
+			private volatile MultiValueMap<String, String> queryParams;
+
 			private StrictFirewallHttpRequest(ServerHttpRequest delegate) {
 				super(delegate);
 			}
 
 			@Override
 			public HttpHeaders getHeaders() {
-				return new StrictFirewallHttpHeaders(super.getHeaders());
+				StrictFirewallHttpHeaders headers = this.headers;
+				if (headers == null) {
+					headers = new StrictFirewallHttpHeaders(super.getHeaders());
+					this.headers = headers;
+				}
+				return headers;
 			}
 
 			@Override
 			public MultiValueMap<String, String> getQueryParams() {
 				MultiValueMap<String, String> queryParams = super.getQueryParams();
+				if (queryParams == this.queryParams) {
+					return queryParams;
+				}
 				for (Map.Entry<String, List<String>> paramEntry : queryParams.entrySet()) {
 					String paramName = paramEntry.getKey();
 					validateAllowedParameterName(paramName);
@@ -742,6 +766,7 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 						validateAllowedParameterValue(paramName, paramValue);
 					}
 				}
+				this.queryParams = queryParams;
 				return queryParams;
 			}
 
@@ -750,15 +775,29 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 				return new StrictFirewallBuilder(super.mutate());
 			}
 
+			/**
+			 * Validates each header the first time it is read. The request headers of a
+			 * {@link ServerHttpRequest} are read-only, so the outcome is remembered per
+			 * header name for the rest of the exchange.
+			 */
 			private final class StrictFirewallHttpHeaders extends HttpHeaders {
 
+				private final Set<String> validatedHeaderNames = ConcurrentHashMap.newKeySet();
+
+				private final Set<String> validatedHeaders = ConcurrentHashMap.newKeySet();
+
+				private volatile boolean headerNamesValidated;
+
 				private StrictFirewallHttpHeaders(HttpHeaders delegate) {
 					super(delegate);
 				}
 
 				@Override
 				public String getFirst(String headerName) {
-					validateAllowedHeaderName(headerName);
+					if (headerName != null && this.validatedHeaders.contains(headerName)) {
+						return super.getFirst(headerName);
+					}
+					validateHeaderName(headerName);
 					String headerValue = super.getFirst(headerName);
 					validateAllowedHeaderValue(headerName, headerValue);
 					return headerValue;
@@ -766,7 +805,10 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 
 				@Override
 				public List<String> get(String headerName) {
-					validateAllowedHeaderName(headerName);
+					if (headerName != null && this.validatedHeaders.contains(headerName)) {
+						return super.get(headerName);
+					}
+					validateHeaderName(headerName);
 					List<String> headerValues = super.get(headerName);
 					if (headerValues == null) {
 						return headerValues;
@@ -774,18 +816,35 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 					for (String headerValue : headerValues) {
 						validateAllowedHeaderValue(headerName, headerValue);
 					}
+					if (headerName != null) {
+						this.validatedHeaders.add(headerName);
+					}
 					return headerValues;
 				}
 
 				@Override
 				public Set<String> headerNames() {
 					Set<String> headerNames = super.headerNames();
+					if (this.headerNamesValidated) {
+						return headerNames;
+					}
 					for (String headerName : headerNames) {
-						validateAllowedHeaderName(headerName);
+						validateHeaderName(headerName);
 					}
+					this.headerNamesValidated = true;
 					return headerNames;
 				}
 
+				private void validateHeaderName(String headerName) {
+					if (headerName != null && this.validatedHeaderNames.contains(headerName)) {
+						return;
+					}
+					validateAllowedHeaderName(headerName);
+					if (headerName != null) {
+						this.validatedHeaderNames.add(headerName);
+					}
+				}
+
 			}
 
 			private final class StrictFirewallBuilder implements Builder {
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.Nullable;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.util.Assert;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+/**
+ * An index over an ordered list of {@link RequestMatcherEntry}s that narrows down which
+ * entries can possibly match a given request before evaluating their
+ * {@link RequestMatcher}s.
+ *
+ * <p>
+ * Entries whose {@link RequestMatcher} is a {@link PathPatternRequestMatcher} are placed
+ * in a path segment trie under the literal prefix of their pattern and, when the matcher
+ * requires one, under their {@link HttpMethod}. All other entries are opaque and are a
+ * candidate for every request. For a given request, only the candidate entries are
+ * evaluated and they are evaluated in their declared order, so the first matching entry
+ * is the same one that a linear scan would have found.
+ *
+ * @param <T> the type of the entry
+ * @since 7.0
+ */
+public final class RequestMatcherIndex<T> {
+
+	private static final String NON_LITERAL_CHARACTERS = "*?{}%;\\";
+
+	private final List<RequestMatcherEntry<T>> entries;
+
+	private final Node anyMethod = new Node();
+
+	private final Map<String, Node> methods = new HashMap<>();
+
+	private final List<String> prefixes = new ArrayList<>();
+
+	private boolean indexed;
+
+	/**
+	 * Creates an index over the given entries, preserving their order.
+	 * @param entries the entries to index
+	 */
+	public RequestMatcherIndex(List<RequestMatcherEntry<T>> entries) {
+		Assert.notNull(entries, "entries cannot be null");
+		this.entries = new ArrayList<>(entries);
+		for (int position = 0; position < this.entries.size(); position++) {
+			RequestMatcher matcher = this.entries.get(position).getRequestMatcher();
+			Node node = this.anyMethod;
+			List<String> prefix = Collections.emptyList();
+			if (matcher instanceof PathPatternRequestMatcher pathPattern) {
+				HttpMethod method = pathPattern.getMethod();
+				if (method != null) {
+					node = this.methods.computeIfAbsent(method.name(), (key) -> new Node());
+				}
+				prefix = literalPrefix(pathPattern);
+				this.indexed = true;
+			}
+			for (String segment : prefix) {
+				node = node.children.computeIfAbsent(segment.toLowerCase(Locale.ROOT), (key) -> new Node());
+			}
+			node.add(position);
+			if (!prefix.isEmpty()) {
+				this.prefixes.add("/" + String.join("/", prefix));
+			}
+		}
+	}
+
+	/**
+	 * Finds the first entry whose {@link RequestMatcher} matches the supplied request.
+	 * @param request the request to match
+	 * @return the {@link Match}, never {@code null}
+	 */
+	public Match<T> match(HttpServletRequest request) {
+		List<Node> candidates = candidates(request);
+		int[] cursors = new int[candidates.size()];
+		int evaluations = 0;
+		while (true) {
+			int next = -1;
+			int position = Integer.MAX_VALUE;
+			for (int i = 0; i < cursors.length; i++) {
+				Node node = candidates.get(i);
+				if (cursors[i] < node.size && node.positions[cursors[i]] < position) {
+					position = node.positions[cursors[i]];
+					next = i;
+				}
+			}
+			if (next == -1) {
+				return new Match<>(null, RequestMatcher.MatchResult.notMatch(), evaluations);
+			}
+			cursors[next]++;
+			evaluations++;
+			RequestMatcherEntry<T> entry = this.entries.get(position);
+			RequestMatcher.MatchResult result = entry.getRequestMatcher().matcher(request);
+			if (result.isMatch()) {
+				return new Match<>(entry, result, evaluations);
+			}
+		}
+	}
+
+	/**
+	 * The literal path prefixes, relative to the application, under which entries have
+	 * been indexed. These are useful for building representative requests to verify the
+	 * index against.
+	 * @return the indexed path prefixes
+	 */
+	public List<String> getIndexedPathPrefixes() {
+		return Collections.unmodifiableList(this.prefixes);
+	}
+
+	private List<Node> candidates(HttpServletRequest request) {
+		List<Node> candidates = new ArrayList<>(4);
+		candidates.add(this.anyMethod);
+		if (!this.indexed) {
+			return candidates;
+		}
+		Node methodRoot = this.methods.get(request.getMethod());
+		if (methodRoot != null) {
+			candidates.add(methodRoot);
+		}
+		Node anyMethodNode = this.anyMethod;
+		Node methodNode = methodRoot;
+		for (PathContainer.Element element : getPathContainer(request).elements()) {
+			if (!(element instanceof PathContainer.PathSegment segment)) {
+				continue;
+			}
+			String value = segment.valueToMatch().toLowerCase(Locale.ROOT);
+			anyMethodNode = (anyMethodNode != null) ? anyMethodNode.children.get(value) : null;
+			methodNode = (methodNode != null) ? methodNode.children.get(value) : null;
+			if (anyMethodNode == null && methodNode == null) {
+				break;
+			}
+			if (anyMethodNode != null) {
+				candidates.add(anyMethodNode);
+			}
+			if (methodNode != null) {
+				candidates.add(methodNode);
+			}
+		}
+		return candidates;
+	}
+
+	private static PathContainer getPathContainer(HttpServletRequest request) {
+		RequestPath path;
+		if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
+			path = ServletRequestPathUtils.getParsedRequestPath(request);
+		}
+		else {
+			path = ServletRequestPathUtils.parseAndCache(request);
+			ServletRequestPathUtils.clearParsedRequestPath(request);
+		}
+		PathContainer contextPath = path.contextPath();
+		return path.subPath(contextPath.elements().size());
+	}
+
+	private static List<String> literalPrefix(PathPatternRequestMatcher matcher) {
+		List<String> prefix = new ArrayList<>();
+		String[] segments = matcher.getPattern().getPatternString().split("/");
+		for (int i = 1; i < segments.length; i++) {
+			if (!isLiteral(segments[i])) {
+				break;
+			}
+			prefix.add(segments[i]);
+		}
+		return prefix;
+	}
+
+	private static boolean isLiteral(String segment) {
+		if (segment.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < segment.length(); i++) {
+			if (NON_LITERAL_CHARACTERS.indexOf(segment.charAt(i)) != -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The outcome of {@link #match(HttpServletRequest)}
+	 *
+	 * @param <T> the type of the entry
+	 */
+	public static final class Match<T> {
+
+		private final RequestMatcherEntry<T> entry;
+
+		private final RequestMatcher.MatchResult result;
+
+		private final int evaluations;
+
+		private Match(@Nullable RequestMatcherEntry<T> entry, RequestMatcher.MatchResult result, int evaluations) {
+			this.entry = entry;
+			this.result = result;
+			this.evaluations = evaluations;
+		}
+
+		/**
+		 * The first matching entry
+		 * @return the matching entry or {@code null} if no entry matched
+		 */
+		@Nullable
+		public RequestMatcherEntry<T> getEntry() {
+			return this.entry;
+		}
+
+		/**
+		 * The {@link RequestMatcher.MatchResult} of the matching entry
+		 * @return the {@link RequestMatcher.MatchResult}
+		 */
+		public RequestMatcher.MatchResult getMatchResult() {
+			return this.result;
+		}
+
+		/**
+		 * The number of {@link RequestMatcher}s that were evaluated to find the entry
+		 * @return the number of evaluated {@link RequestMatcher}s
+		 */
+		public int getEvaluations() {
+			return this.evaluations;
+		}
+
+		/**
+		 * Whether an entry matched
+		 * @return {@code true} if an entry matched
+		 */
+		public boolean isMatch() {
+			return this.entry != null;
+		}
+
+	}
+
+	private static final class Node {
+
+		private final Map<String, Node> children = new HashMap<>();
+
+		private int[] positions = new int[0];
+
+		private int size;
+
+		private void add(int position) {
+			if (this.size == this.positions.length) {
+				this.positions = Arrays.copyOf(this.positions, Math.max(4, this.size * 2));
+			}
+			this.positions[this.size++] = position;
+		}
+
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link FilterChainIndex}
+ */
+public class FilterChainIndexTests {
+
+	private final PathPatternRequestMatcher.Builder builder = PathPatternRequestMatcher.withDefaults();
+
+	@Test
+	public void getFilterChainWhenPathMatchesPrefixThenReturnsChain() {
+		SecurityFilterChain api = chain(this.builder.matcher("/api/**"));
+		SecurityFilterChain admin = chain(this.builder.matcher("/admin/**"));
+		SecurityFilterChain any = chain(AnyRequestMatcher.INSTANCE);
+		FilterChainIndex index = new FilterChainIndex(List.of(api, admin, any));
+		assertThat(index.getFilterChain(request("/api/users"))).isSameAs(api);
+		assertThat(index.getFilterChain(request("/admin"))).isSameAs(admin);
+		assertThat(index.getFilterChain(request("/other"))).isSameAs(any);
+	}
+
+	@Test
+	public void getFilterChainWhenNoChainMatchesThenNull() {
+		FilterChainIndex index = new FilterChainIndex(List.of(chain(this.builder.matcher("/api/**"))));
+		assertThat(index.getFilterChain(request("/other"))).isNull();
+	}
+
+	@Test
+	public void getFilterChainWhenOpaqueChainDeclaredFirstThenFirstMatchWins() {
+		RequestMatcher opaque = mock(RequestMatcher.class);
+		given(opaque.matcher(any())).willReturn(RequestMatcher.MatchResult.match());
+		SecurityFilterChain first = chain(opaque);
+		SecurityFilterChain api = chain(this.builder.matcher("/api/**"));
+		FilterChainIndex index = new FilterChainIndex(List.of(first, api));
+		assertThat(index.getFilterChain(request("/api/users"))).isSameAs(first);
+	}
+
+	@Test
+	public void getFilterChainWhenNestedPrefixesThenDeclarationOrderWins() {
+		SecurityFilterChain broad = chain(this.builder.matcher("/api/**"));
+		SecurityFilterChain narrow = chain(this.builder.matcher("/api/v1/**"));
+		FilterChainIndex index = new FilterChainIndex(List.of(broad, narrow));
+		assertThat(index.getFilterChain(request("/api/v1/users"))).isSameAs(broad);
+		index = new FilterChainIndex(List.of(narrow, broad));
+		assertThat(index.getFilterChain(request("/api/v1/users"))).isSameAs(narrow);
+		assertThat(index.getFilterChain(request("/api/v2/users"))).isSameAs(broad);
+	}
+
+	@Test
+	public void getFilterChainWhenPrefixDoesNotMatchThenChainNotConsulted() {
+		PathPatternRequestMatcher tenant = spy(this.builder.matcher("/tenant/**"));
+		SecurityFilterChain api = chain(this.builder.matcher("/api/**"));
+		FilterChainIndex index = new FilterChainIndex(List.of(chain(tenant), api));
+		assertThat(index.getFilterChain(request("/api/users"))).isSameAs(api);
+		verify(tenant, never()).matcher(any());
+	}
+
+	@Test
+	public void getFilterChainWhenContextPathThenUsesPathWithinApplication() {
+		SecurityFilterChain api = chain(this.builder.matcher("/api/**"));
+		FilterChainIndex index = new FilterChainIndex(List.of(api));
+		MockHttpServletRequest request = request("/api/users");
+		request.setContextPath("/context");
+		request.setRequestURI("/context/api/users");
+		assertThat(index.getFilterChain(request)).isSameAs(api);
+	}
+
+	@Test
+	public void verifyWhenChainsAreIndexableThenSucceeds() {
+		SecurityFilterChain api = chain(this.builder.matcher("/api/{version}/**"));
+		SecurityFilterChain login = chain(this.builder.matcher("/login"));
+		SecurityFilterChain any = chain(AnyRequestMatcher.INSTANCE);
+		new FilterChainIndex(List.of(api, login, any)).verify();
+	}
+
+	@Test
+	public void verifyWhenChainDisagreesWithLinearScanThenIllegalStateException() {
+		PathPatternRequestMatcher inconsistent = spy(this.builder.matcher("/admin/**"));
+		willReturn(true).given(inconsistent).matches(any());
+		willReturn(RequestMatcher.MatchResult.match()).given(inconsistent).matcher(any());
+		SecurityFilterChain api = chain(this.builder.matcher("/api/**"));
+		FilterChainIndex index = new FilterChainIndex(List.of(chain(inconsistent), api));
+		assertThatIllegalStateException().isThrownBy(index::verify);
+	}
+
+	private static SecurityFilterChain chain(RequestMatcher matcher) {
+		return new DefaultSecurityFilterChain(matcher);
+	}
+
+	private static MockHttpServletRequest request(String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServletPath(path);
+		return request;
+	}
+
+}
@@ -49,6 +49,7 @@ import org.springframework.security.web.firewall.HttpFirewall;
 import org.springframework.security.web.firewall.RequestRejectedException;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
 import org.springframework.security.web.servlet.TestMockHttpServletMappings;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -440,6 +441,24 @@ public class FilterChainProxyTests {
 		assertFilterChainObservation(contexts.next(), "after", 3);
 	}
 
+	@Test
+	public void doFilterWhenIndexFilterChainsThenUsesFirstMatchingChain() throws Exception {
+		PathPatternRequestMatcher.Builder builder = PathPatternRequestMatcher.withDefaults();
+		Filter api = mockFilter();
+		Filter admin = mockFilter();
+		FilterChainProxy fcp = new FilterChainProxy(
+				Arrays.asList(new DefaultSecurityFilterChain(builder.matcher("/api/**"), api),
+						new DefaultSecurityFilterChain(builder.matcher("/admin/**"), admin)));
+		fcp.setIndexFilterChains(true);
+		fcp.afterPropertiesSet();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/users");
+		request.setServletPath("/admin/users");
+		fcp.doFilter(request, this.response, this.chain);
+		verify(admin).doFilter(any(), any(), any());
+		verifyNoMoreInteractions(api);
+		verify(this.chain).doFilter(any(), any());
+	}
+
 	static void assertFilterChainObservation(Observation.Context context, String filterSection, int chainPosition) {
 		assertThat(context).isInstanceOf(ObservationFilterChainDecorator.FilterChainObservationContext.class);
 		ObservationFilterChainDecorator.FilterChainObservationContext filterChainObservationContext = (ObservationFilterChainDecorator.FilterChainObservationContext) context;
@@ -16,10 +16,13 @@
 
 package org.springframework.security.web.access.intercept;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.TestAuthentication;
 import org.springframework.security.authentication.TestingAuthenticationToken;
@@ -29,6 +32,7 @@ import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcherEntry;
@@ -405,4 +409,37 @@ public class RequestMatcherDelegatingAuthorizationManagerTests {
 		assertThat(decision.isGranted()).isFalse();
 	}
 
+	@Test
+	public void checkWhenPathPatternMappingsThenEvaluatesOnlyCandidateMatchers() {
+		PathPatternRequestMatcher.Builder path = PathPatternRequestMatcher.withDefaults();
+		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
+			.requestMatchers(path.matcher("/admin/**"))
+			.hasRole("ADMIN")
+			.requestMatchers(path.matcher("/api/**"))
+			.authenticated()
+			.requestMatchers(path.matcher(HttpMethod.GET, "/public/**"))
+			.permitAll()
+			.anyRequest()
+			.denyAll()
+			.build();
+		List<Integer> evaluations = new ArrayList<>();
+		manager.setMatcherEvaluationsConsumer(evaluations::add);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public/image.png");
+		AuthorizationDecision decision = manager.check(TestAuthentication::anonymousUser, request);
+		assertThat(decision.isGranted()).isTrue();
+		request = new MockHttpServletRequest("POST", "/public/image.png");
+		decision = manager.check(TestAuthentication::anonymousUser, request);
+		assertThat(decision.isGranted()).isFalse();
+		assertThat(evaluations).containsExactly(1, 1);
+	}
+
+	@Test
+	public void setMatcherEvaluationsConsumerWhenNullThenException() {
+		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
+			.anyRequest()
+			.permitAll()
+			.build();
+		assertThatIllegalArgumentException().isThrownBy(() -> manager.setMatcherEvaluationsConsumer(null));
+	}
+
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.authentication;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.serializer.CompactSecurityContextSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WebAuthenticationDetailsCompactSerializer}.
+ */
+public class WebAuthenticationDetailsCompactSerializerTests {
+
+	private final CompactSecurityContextSerializer serializer = new CompactSecurityContextSerializer();
+
+	@Test
+	public void serializeWhenWebAuthenticationDetailsThenRoundTrips() throws IOException {
+		UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated("user",
+				null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+		authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", "session-id"));
+		SecurityContext context = new SecurityContextImpl(authentication);
+		byte[] bytes = this.serializer.serializeToByteArray(context);
+		assertThat(this.serializer.deserializeFromByteArray(bytes)).isEqualTo(context);
+		assertThat(bytes).hasSizeLessThan(64);
+	}
+
+}
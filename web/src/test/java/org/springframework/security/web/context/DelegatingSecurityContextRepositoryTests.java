@@ -92,6 +92,15 @@ public class DelegatingSecurityContextRepositoryTests {
 		}
 	}
 
+	@Test
+	public void loadDeferredContextWhenNotAccessedThenDelegatesNotUsed() {
+		SecurityContextRepository first = mock(SecurityContextRepository.class);
+		SecurityContextRepository second = mock(SecurityContextRepository.class);
+		DelegatingSecurityContextRepository repository = new DelegatingSecurityContextRepository(first, second);
+		repository.loadDeferredContext(this.request);
+		verifyNoInteractions(first, second);
+	}
+
 	@Test
 	public void saveContextAlwaysCallsDelegates() {
 		List<SecurityContextRepository> delegates = new ArrayList<>();
@@ -58,6 +58,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -170,6 +171,71 @@ public class HttpSessionSecurityContextRepositoryTests {
 		verifyNoInteractions(session);
 	}
 
+	@Test
+	public void saveContextWhenSaveOnlyWhenChangedAndUnchangedThenSessionNotWritten() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSaveOnlyWhenChanged(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		HttpSession session = mock(HttpSession.class);
+		request.setSession(session);
+		SecurityContext stored = new SecurityContextImpl(new TestingAuthenticationToken("someone", "passwd", "ROLE_A"));
+		given(session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.willReturn(stored);
+		assertThat(repo.loadDeferredContext(request).get()).isSameAs(stored);
+		repo.saveContext(new SecurityContextImpl(this.testToken), request, new MockHttpServletResponse());
+		repo.saveContext(stored, request, new MockHttpServletResponse());
+		verify(session, never()).setAttribute(any(), any());
+		assertThat(repo.getSkippedSaveCount()).isEqualTo(2);
+		assertThat(repo.getSavedContextCount()).isZero();
+	}
+
+	@Test
+	public void saveContextWhenSaveOnlyWhenChangedAndChangedThenSessionWritten() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSaveOnlyWhenChanged(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext stored = new SecurityContextImpl(this.testToken);
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, stored);
+		SecurityContext loaded = repo.loadDeferredContext(request).get();
+		loaded.setAuthentication(new TestingAuthenticationToken("someone", "passwd", "ROLE_A", "ROLE_B"));
+		repo.saveContext(loaded, request, new MockHttpServletResponse());
+		assertThat(repo.getSavedContextCount()).isEqualTo(1);
+		repo.saveContext(loaded, request, new MockHttpServletResponse());
+		assertThat(repo.getSavedContextCount()).isEqualTo(1);
+		assertThat(repo.getSkippedSaveCount()).isEqualTo(1);
+		loaded.setAuthentication(new TestingAuthenticationToken("someone-else", "passwd", "ROLE_A", "ROLE_B"));
+		repo.saveContext(loaded, request, new MockHttpServletResponse());
+		assertThat(repo.getSavedContextCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void saveContextWhenSaveOnlyWhenChangedAndNotInSessionThenSessionWritten() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSaveOnlyWhenChanged(true);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext context = new SecurityContextImpl(this.testToken);
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		repo.loadDeferredContext(request).get();
+		request.getSession().invalidate();
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		assertThat(request.getSession(false).getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(context);
+		assertThat(repo.getSavedContextCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void saveContextWhenNotSaveOnlyWhenChangedThenSessionAlwaysWritten() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext context = new SecurityContextImpl(this.testToken);
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		repo.loadDeferredContext(request).get();
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		assertThat(repo.getSavedContextCount()).isEqualTo(2);
+		assertThat(repo.getSkippedSaveCount()).isZero();
+	}
+
 	@Test
 	public void existingContextIsSuccessFullyLoadedFromSessionAndSavedBack() {
 		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
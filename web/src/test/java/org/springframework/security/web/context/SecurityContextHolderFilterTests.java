@@ -37,6 +37,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockFilterChain;
 import org.springframework.security.authentication.TestAuthentication;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ScopedValueSecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
@@ -114,6 +115,36 @@ class SecurityContextHolderFilterTests {
 		verify(this.strategy).clearContext();
 	}
 
+	@Test
+	void doFilterWhenScopedValueSecurityContextHolderStrategyThenBoundDuringChain() throws Exception {
+		ScopedValueSecurityContextHolderStrategy strategy = new ScopedValueSecurityContextHolderStrategy();
+		Authentication authentication = TestAuthentication.authenticatedUser();
+		SecurityContext expectedContext = new SecurityContextImpl(authentication);
+		given(this.repository.loadDeferredContext(this.requestArg.capture()))
+			.willReturn(new SupplierDeferredSecurityContext(() -> expectedContext, strategy));
+		FilterChain filterChain = (request, response) -> assertThat(strategy.getContext()).isEqualTo(expectedContext);
+
+		this.filter.setSecurityContextHolderStrategy(strategy);
+		this.filter.doFilter(this.request, this.response, filterChain);
+
+		assertThat(strategy.getContext()).isEqualTo(strategy.createEmptyContext());
+		verify(this.request).removeAttribute(FILTER_APPLIED);
+	}
+
+	@Test
+	void doFilterWhenSecurityContextRequestMatcherDoesNotMatchThenRepositoryNotUsed() throws Exception {
+		SecurityContextHolder.setContext(new SecurityContextImpl(TestAuthentication.authenticatedUser()));
+		FilterChain filterChain = (request, response) -> assertThat(SecurityContextHolder.getContext())
+			.isEqualTo(SecurityContextHolder.createEmptyContext());
+
+		this.filter.setSecurityContextRequestMatcher((request) -> false);
+		this.filter.doFilter(this.request, this.response, filterChain);
+
+		verifyNoInteractions(this.repository);
+		verify(this.request).removeAttribute(FILTER_APPLIED);
+		assertThat(SecurityContextHolder.getContext()).isEqualTo(SecurityContextHolder.createEmptyContext());
+	}
+
 	@Test
 	void doFilterWhenFilterAppliedThenDoNothing() throws Exception {
 		given(this.request.getAttribute(FILTER_APPLIED)).willReturn(true);
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UrlBlocklist}
+ */
+public class UrlBlocklistTests {
+
+	private final UrlBlocklist blocklist = new UrlBlocklist();
+
+	@Test
+	public void findInWhenNullThenNull() {
+		this.blocklist.add(";");
+		assertThat(this.blocklist.findIn(null)).isNull();
+	}
+
+	@Test
+	public void findInWhenNoEntryContainedThenNull() {
+		this.blocklist.addAll(Arrays.asList(";", "%2f", "//"));
+		assertThat(this.blocklist.findIn("/context/path/to/resource")).isNull();
+	}
+
+	@Test
+	public void findInWhenEntryContainedThenEntry() {
+		this.blocklist.addAll(Arrays.asList(";", "%2f", "//"));
+		assertThat(this.blocklist.findIn("/path;jsessionid=1")).isEqualTo(";");
+		assertThat(this.blocklist.findIn("/path//resource")).isEqualTo("//");
+	}
+
+	@Test
+	public void findInWhenEntriesShareFirstCharacterThenLongestEntry() {
+		this.blocklist.addAll(Arrays.asList("%2f", "%2f%2f"));
+		assertThat(this.blocklist.findIn("/path%2f%2fresource")).isEqualTo("%2f%2f");
+	}
+
+	@Test
+	public void findInWhenNonAsciiEntryContainedThenEntry() {
+		this.blocklist.addAll(Arrays.asList("\u2028", "\u2029"));
+		assertThat(this.blocklist.findIn("/path\u2029")).isEqualTo("\u2029");
+		assertThat(this.blocklist.findIn("/path\u00e9")).isNull();
+	}
+
+	@Test
+	public void findInWhenEmptyEntryThenAlwaysFound() {
+		this.blocklist.add("");
+		assertThat(this.blocklist.findIn("/path")).isEmpty();
+	}
+
+	@Test
+	public void findInWhenEntryRemovedThenNotFound() {
+		this.blocklist.addAll(Arrays.asList(";", "%3b"));
+		assertThat(this.blocklist.findIn("/path;")).isEqualTo(";");
+		this.blocklist.removeAll(Arrays.asList(";"));
+		assertThat(this.blocklist.findIn("/path;")).isNull();
+		assertThat(this.blocklist.findIn("/path%3b")).isEqualTo("%3b");
+	}
+
+	@Test
+	public void findInWhenEntryRemovedWithIteratorThenNotFound() {
+		this.blocklist.add(";");
+		assertThat(this.blocklist.findIn("/path;")).isEqualTo(";");
+		Iterator<String> entries = this.blocklist.iterator();
+		entries.next();
+		entries.remove();
+		assertThat(this.blocklist).isEmpty();
+		assertThat(this.blocklist.findIn("/path;")).isNull();
+	}
+
+	@Test
+	public void findInWhenClearedThenNotFound() {
+		this.blocklist.add(";");
+		assertThat(this.blocklist.findIn("/path;")).isEqualTo(";");
+		this.blocklist.clear();
+		assertThat(this.blocklist.findIn("/path;")).isNull();
+	}
+
+}
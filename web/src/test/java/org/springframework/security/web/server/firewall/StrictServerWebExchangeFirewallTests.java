@@ -19,6 +19,7 @@ package org.springframework.security.web.server.firewall;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -547,4 +548,36 @@ class StrictServerWebExchangeFirewallTests {
 			.isThrownBy(() -> headers.get(invalidHeaderName));
 	}
 
+	@Test
+	void getFirewalledExchangeGetRequestWhenCalledTwiceThenSameRequest() {
+		ServerWebExchange exchange = getFirewalledExchange();
+		assertThat(exchange.getRequest()).isSameAs(exchange.getRequest());
+		assertThat(exchange.getRequest().getHeaders()).isSameAs(exchange.getRequest().getHeaders());
+	}
+
+	@Test
+	void getFirewalledExchangeGetHeaderWhenReadTwiceThenHeaderValidatedOnce() {
+		AtomicInteger headerNameValidations = new AtomicInteger();
+		AtomicInteger headerValueValidations = new AtomicInteger();
+		this.firewall.setAllowedHeaderNames((name) -> headerNameValidations.incrementAndGet() > 0);
+		this.firewall.setAllowedHeaderValues((value) -> headerValueValidations.incrementAndGet() > 0);
+		this.request.header("Accept", "text/html");
+		ServerWebExchange exchange = getFirewalledExchange();
+		assertThat(exchange.getRequest().getHeaders().get("Accept")).containsExactly("text/html");
+		assertThat(exchange.getRequest().getHeaders().get("Accept")).containsExactly("text/html");
+		assertThat(exchange.getRequest().getHeaders().getFirst("Accept")).isEqualTo("text/html");
+		assertThat(headerNameValidations).hasValue(1);
+		assertThat(headerValueValidations).hasValue(1);
+	}
+
+	@Test
+	void getFirewalledExchangeGetHeaderWhenNotAllowedHeaderValueReadTwiceThenExceptionEachTime() {
+		this.firewall.setAllowedHeaderValues((value) -> !value.equals("bad"));
+		this.request.header("X-Header", "bad");
+		ServerWebExchange exchange = getFirewalledExchange();
+		HttpHeaders headers = exchange.getRequest().getHeaders();
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> headers.get("X-Header"));
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> headers.get("X-Header"));
+	}
+
 }
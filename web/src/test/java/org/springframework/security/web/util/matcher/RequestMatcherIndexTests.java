@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.util.matcher;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class RequestMatcherIndexTests {
+
+	private final PathPatternRequestMatcher.Builder builder = PathPatternRequestMatcher.withDefaults();
+
+	@Test
+	void constructWhenNullEntriesThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new RequestMatcherIndex<String>(null));
+	}
+
+	@Test
+	void matchWhenPathMatchesPrefixThenOnlyCandidatesEvaluated() {
+		PathPatternRequestMatcher admin = spy(this.builder.matcher("/admin/**"));
+		RequestMatcherIndex<String> index = new RequestMatcherIndex<>(
+				List.of(entry(admin, "admin"), entry(this.builder.matcher("/api/**"), "api"),
+						entry(AnyRequestMatcher.INSTANCE, "any")));
+		RequestMatcherIndex.Match<String> match = index.match(request("GET", "/api/users"));
+		assertThat(match.isMatch()).isTrue();
+		assertThat(match.getEntry().getEntry()).isEqualTo("api");
+		assertThat(match.getEvaluations()).isEqualTo(1);
+		verify(admin, never()).matcher(any());
+	}
+
+	@Test
+	void matchWhenNoEntryMatchesThenNotMatch() {
+		RequestMatcherIndex<String> index = new RequestMatcherIndex<>(
+				List.of(entry(this.builder.matcher("/api/**"), "api")));
+		RequestMatcherIndex.Match<String> match = index.match(request("GET", "/other"));
+		assertThat(match.isMatch()).isFalse();
+		assertThat(match.getEntry()).isNull();
+		assertThat(match.getMatchResult().isMatch()).isFalse();
+		assertThat(match.getEvaluations()).isZero();
+	}
+
+	@Test
+	void matchWhenOpaqueEntryDeclaredFirstThenFirstMatchWins() {
+		RequestMatcher opaque = (request) -> true;
+		RequestMatcherIndex<String> index = new RequestMatcherIndex<>(
+				List.of(entry(opaque, "opaque"), entry(this.builder.matcher("/api/**"), "api")));
+		assertThat(index.match(request("GET", "/api/users")).getEntry().getEntry()).isEqualTo("opaque");
+	}
+
+	@Test
+	void matchWhenNestedPrefixesThenDeclarationOrderWins() {
+		RequestMatcherIndex<String> index = new RequestMatcherIndex<>(
+				List.of(entry(this.builder.matcher("/api/{version}/users"), "users"),
+						entry(this.builder.matcher("/api/v1/**"), "v1"), entry(this.builder.matcher("/api/**"), "api")));
+		assertThat(index.match(request("GET", "/api/v1/users")).getEntry().getEntry()).isEqualTo("users");
+		assertThat(index.match(request("GET", "/api/v1/orders")).getEntry().getEntry()).isEqualTo("v1");
+		assertThat(index.match(request("GET", "/api/v2/orders")).getEntry().getEntry()).isEqualTo("api");
+	}
+
+	@Test
+	void matchWhenMethodSpecificEntryThenOnlyCandidateForThatMethod() {
+		PathPatternRequestMatcher post = spy(this.builder.matcher(HttpMethod.POST, "/api/**"));
+		RequestMatcherIndex<String> index = new RequestMatcherIndex<>(
+				List.of(entry(post, "post"), entry(this.builder.matcher("/api/**"), "api")));
+		assertThat(index.match(request("POST", "/api/users")).getEntry().getEntry()).isEqualTo("post");
+		assertThat(index.match(request("GET", "/api/users")).getEntry().getEntry()).isEqualTo("api");
+		verify(post).matcher(any());
+	}
+
+	@Test
+	void matchWhenPathVariablesThenMatchResultHasVariables() {
+		RequestMatcherIndex<String> index = new RequestMatcherIndex<>(
+				List.of(entry(this.builder.matcher("/users/{id}"), "user")));
+		RequestMatcherIndex.Match<String> match = index.match(request("GET", "/users/1"));
+		assertThat(match.getMatchResult().getVariables()).containsEntry("id", "1");
+	}
+
+	@Test
+	void getIndexedPathPrefixesWhenPatternsThenLiteralPrefixes() {
+		RequestMatcherIndex<String> index = new RequestMatcherIndex<>(
+				List.of(entry(this.builder.matcher("/api/{version}/**"), "api"),
+						entry(this.builder.matcher("/login"), "login"), entry(this.builder.matcher("/**"), "any")));
+		assertThat(index.getIndexedPathPrefixes()).containsExactly("/api", "/login");
+	}
+
+	private static RequestMatcherEntry<String> entry(RequestMatcher matcher, String entry) {
+		return new RequestMatcherEntry<>(matcher, entry);
+	}
+
+	private static MockHttpServletRequest request(String method, String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+		request.setServletPath(path);
+		return request;
+	}
+
+}